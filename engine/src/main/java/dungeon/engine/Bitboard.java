@@ -0,0 +1,415 @@
+package dungeon.engine;
+
+import java.util.Arrays;
+
+/**
+ * A set of tiles on a square board, stored as bits in row-major order.
+ * Tile (row, col) is bit {@code row * size + col}, so a 10×10 board fits in
+ * two longs and larger boards simply use more words. Set operations, counts,
+ * neighbour shifts and flood fills work a whole word at a time.
+ *
+ * <p>Boards handed out by a {@link GameMap} are read-only views of the map's
+ * own boards; copy one with {@link #Bitboard(Bitboard)} before changing it.</p>
+ */
+public class Bitboard {
+    private final int size;
+    private final int tiles;
+    private final long[] words;
+
+    // Tiles in the first and last column, used to stop shifts wrapping between rows
+    private final long[] firstColumn;
+    private final long[] lastColumn;
+
+    // True for a view of another board's words, which must not change through it
+    private final boolean readOnly;
+
+    /**
+     * Creates an empty board.
+     *
+     * @param size the width and height of the board
+     */
+    public Bitboard(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Board size must be positive");
+        }
+        this.size = size;
+        this.tiles = size * size;
+        this.words = new long[(tiles + Long.SIZE - 1) / Long.SIZE];
+        this.firstColumn = new long[words.length];
+        this.lastColumn = new long[words.length];
+        for (int row = 0; row < size; row++) {
+            setBit(firstColumn, row * size);
+            setBit(lastColumn, row * size + size - 1);
+        }
+        this.readOnly = false;
+    }
+
+    /**
+     * Creates a copy of another board. The copy can be changed even if the
+     * original is read-only.
+     *
+     * @param other the board to copy
+     */
+    public Bitboard(Bitboard other) {
+        this(other, other.words.clone(), false);
+    }
+
+    private Bitboard(Bitboard other, long[] words, boolean readOnly) {
+        this.size = other.size;
+        this.tiles = other.tiles;
+        this.words = words;
+        this.firstColumn = other.firstColumn;
+        this.lastColumn = other.lastColumn;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Creates a read-only view of this board that sees its later changes.
+     *
+     * @return a view sharing this board's tiles
+     */
+    Bitboard readOnlyView() {
+        return new Bitboard(this, words, true);
+    }
+
+    /**
+     * Checks if the board can be changed.
+     *
+     * @return true if this is a read-only view
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Gets the width and height of the board.
+     *
+     * @return the board size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of words backing the board.
+     *
+     * @return the word count
+     */
+    public int getWordCount() {
+        return words.length;
+    }
+
+    /**
+     * Gets one word of the board; tile index {@code i} is bit {@code i % 64} of word {@code i / 64}.
+     *
+     * @param index the word index
+     * @return the word
+     */
+    public long getWord(int index) {
+        return words[index];
+    }
+
+    /**
+     * Checks if a tile is set.
+     *
+     * @param row the row
+     * @param col the column
+     * @return true if the tile is in the set
+     */
+    public boolean get(int row, int col) {
+        int bit = row * size + col;
+        return (words[bit >>> 6] >>> bit & 1L) != 0;
+    }
+
+    /**
+     * Checks if a tile is set.
+     *
+     * @param position the tile position
+     * @return true if the tile is in the set
+     */
+    public boolean get(Position position) {
+        return get(position.getRow(), position.getCol());
+    }
+
+    /**
+     * Adds or removes a tile.
+     *
+     * @param row the row
+     * @param col the column
+     * @param value true to add the tile, false to remove it
+     */
+    public void set(int row, int col, boolean value) {
+        checkWritable();
+        int bit = row * size + col;
+        if (value) {
+            words[bit >>> 6] |= 1L << bit;
+        } else {
+            words[bit >>> 6] &= ~(1L << bit);
+        }
+    }
+
+    /**
+     * Replaces the set with the tiles of another board, without allocating.
+     *
+     * @param other a board of the same size
+     * @return this board
+     */
+    public Bitboard copyFrom(Bitboard other) {
+        checkWritable();
+        System.arraycopy(other.words, 0, words, 0, words.length);
+        return this;
+    }
+
+    /**
+     * Removes every tile.
+     */
+    public void clear() {
+        checkWritable();
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * Checks if no tiles are set.
+     *
+     * @return true if the board is empty
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the tiles that are set.
+     *
+     * @return the number of tiles in the set
+     */
+    public int count() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the next set tile in row-major order.
+     * Iterate with {@code for (int i = b.nextSetBit(0); i >= 0; i = b.nextSetBit(i + 1))};
+     * tile index {@code i} is at row {@code i / size}, column {@code i % size}.
+     *
+     * @param from the tile index to start from, inclusive
+     * @return the index of the next set tile, or -1 if there is none
+     */
+    public int nextSetBit(int from) {
+        if (from >= tiles) {
+            return -1;
+        }
+        int index = from >>> 6;
+        long word = words[index] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return index * Long.SIZE + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+
+    /**
+     * Checks if this board shares any tile with another.
+     *
+     * @param other a board of the same size
+     * @return true if the intersection is not empty
+     */
+    public boolean intersects(Bitboard other) {
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Keeps only the tiles also set in another board.
+     *
+     * @param other a board of the same size
+     * @return this board
+     */
+    public Bitboard and(Bitboard other) {
+        checkWritable();
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= other.words[i];
+        }
+        return this;
+    }
+
+    /**
+     * Adds the tiles set in another board.
+     *
+     * @param other a board of the same size
+     * @return this board
+     */
+    public Bitboard or(Bitboard other) {
+        checkWritable();
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+        return this;
+    }
+
+    /**
+     * Removes the tiles set in another board.
+     *
+     * @param other a board of the same size
+     * @return this board
+     */
+    public Bitboard andNot(Bitboard other) {
+        checkWritable();
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= ~other.words[i];
+        }
+        return this;
+    }
+
+    /**
+     * Replaces the set with every tile not currently in it.
+     *
+     * @return this board
+     */
+    public Bitboard invert() {
+        checkWritable();
+        for (int i = 0; i < words.length; i++) {
+            words[i] = ~words[i];
+        }
+        trim(words);
+        return this;
+    }
+
+    /**
+     * Floods outwards from one tile through cardinally connected tiles of this set.
+     *
+     * @param row the start row
+     * @param col the start column
+     * @return the tiles reachable from the start, or an empty board if the start is not set
+     */
+    public Bitboard floodFrom(int row, int col) {
+        Bitboard reached = new Bitboard(size);
+        if (!get(row, col)) {
+            return reached;
+        }
+        reached.set(row, col, true);
+
+        long[] fill = reached.words;
+        long[] grown = new long[words.length];
+        long[] shifted = new long[words.length];
+        boolean changed = true;
+        while (changed) {
+            // Grow by one tile in every direction, staying inside this set
+            System.arraycopy(fill, 0, grown, 0, fill.length);
+            orShifted(grown, fill, shifted, 1, lastColumn);
+            orShifted(grown, fill, shifted, -1, firstColumn);
+            orShifted(grown, fill, shifted, size, null);
+            orShifted(grown, fill, shifted, -size, null);
+
+            changed = false;
+            for (int i = 0; i < words.length; i++) {
+                long next = grown[i] & words[i];
+                if (next != fill[i]) {
+                    fill[i] = next;
+                    changed = true;
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * ORs into target the source moved by a number of tiles.
+     * Positive distances move towards higher indices (right or down).
+     * Tiles in the excluded column are dropped before moving so they cannot
+     * wrap onto the next or previous row.
+     */
+    private void orShifted(long[] target, long[] source, long[] scratch, int distance, long[] excluded) {
+        for (int i = 0; i < source.length; i++) {
+            scratch[i] = excluded == null ? source[i] : source[i] & ~excluded[i];
+        }
+        shift(scratch, distance);
+        for (int i = 0; i < target.length; i++) {
+            target[i] |= scratch[i];
+        }
+    }
+
+    /**
+     * Moves every bit of a multi-word value by a distance in place.
+     */
+    private void shift(long[] bits, int distance) {
+        int n = bits.length;
+        if (distance > 0) {
+            int wordShift = distance >>> 6;
+            int bitShift = distance & 63;
+            for (int i = n - 1; i >= 0; i--) {
+                int from = i - wordShift;
+                long value = from >= 0 ? bits[from] << bitShift : 0;
+                if (bitShift != 0 && from - 1 >= 0) {
+                    value |= bits[from - 1] >>> (64 - bitShift);
+                }
+                bits[i] = value;
+            }
+        } else if (distance < 0) {
+            int wordShift = -distance >>> 6;
+            int bitShift = -distance & 63;
+            for (int i = 0; i < n; i++) {
+                int from = i + wordShift;
+                long value = from < n ? bits[from] >>> bitShift : 0;
+                if (bitShift != 0 && from + 1 < n) {
+                    value |= bits[from + 1] << (64 - bitShift);
+                }
+                bits[i] = value;
+            }
+        }
+        trim(bits);
+    }
+
+    /**
+     * Clears the unused bits above the last tile.
+     */
+    private void trim(long[] bits) {
+        int used = tiles & 63;
+        if (used != 0) {
+            bits[bits.length - 1] &= (1L << used) - 1;
+        }
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Board is read-only; copy it before changing it");
+        }
+    }
+
+    private static void setBit(long[] bits, int bit) {
+        bits[bit >>> 6] |= 1L << bit;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Bitboard)) {
+            return false;
+        }
+        Bitboard other = (Bitboard) obj;
+        return size == other.size && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + Arrays.hashCode(words);
+    }
+}
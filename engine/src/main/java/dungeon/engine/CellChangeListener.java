@@ -0,0 +1,19 @@
+package dungeon.engine;
+
+import dungeon.engine.cells.Cell;
+
+/**
+ * Listener notified when a cell of a GameMap is replaced through setCell.
+ * Used by services that keep derived data about the map up to date incrementally.
+ */
+@FunctionalInterface
+public interface CellChangeListener {
+    /**
+     * Called after a cell has been replaced.
+     *
+     * @param position the position of the replaced cell
+     * @param oldCell the cell that was there before
+     * @param newCell the cell that is there now
+     */
+    void cellChanged(Position position, Cell oldCell, Cell newCell);
+}
@@ -0,0 +1,107 @@
+package dungeon.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/**
+ * A {@link Random} whose state can be copied cheaply.
+ * It runs the same linear congruential generator as {@code java.util.Random},
+ * so a given seed produces exactly the same numbers and therefore the same
+ * maps; it just keeps the 48-bit state where it can be read.
+ */
+public class CopyableRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state;
+
+    /**
+     * Creates a generator with the given seed.
+     *
+     * @param seed the seed, as for {@link Random#Random(long)}
+     */
+    public CopyableRandom(long seed) {
+        super(seed);
+    }
+
+    // Used by copy(), which sets the state directly
+    private CopyableRandom() {
+        super(0);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        // Called from Random's constructor, before this class's fields are initialised
+        state = (seed ^ MULTIPLIER) & MASK;
+        super.setSeed(seed);
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * Creates a generator in the same state, which will produce the same numbers.
+     *
+     * @return the copy
+     */
+    public CopyableRandom copy() {
+        CopyableRandom copy = new CopyableRandom();
+        copy.state = state;
+        return copy;
+    }
+
+    /**
+     * Puts this generator into the same state as another, without allocating.
+     *
+     * @param other the generator to copy
+     */
+    public void copyFrom(CopyableRandom other) {
+        state = other.state;
+    }
+
+    /**
+     * Gets the generator's 48-bit state.
+     *
+     * @return the state
+     */
+    long getState() {
+        return state;
+    }
+
+    /**
+     * Copies any generator. A {@code CopyableRandom} is copied directly;
+     * any other {@link Random} goes through Java serialization, which is much slower.
+     *
+     * @param random the generator to copy
+     * @return a generator in the same state
+     */
+    public static Random copyOf(Random random) {
+        if (random instanceof CopyableRandom) {
+            return ((CopyableRandom) random).copy();
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(random);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return (Random) in.readObject();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package dungeon.engine;
+
+import dungeon.engine.cells.RangedMutantCell;
+import dungeon.engine.cells.TrapCell;
+
+/**
+ * The expected damage the player takes for ending a move on each tile of a {@link GameMap}.
+ * A tile's danger is the trap damage if it holds a trap, plus
+ * {@link RangedMutantCell.RangedMutant#HIT_CHANCE} times {@link Mutant#DAMAGE}
+ * for every ranged mutant with line of sight to it.
+ * The map keeps it up to date in {@link GameMap#setCell}: a trap change touches
+ * one tile, and a changed threat mask touches only the tiles in that mask.
+ */
+public class DangerMap {
+    /** The expected damage from one ranged mutant's shot. */
+    public static final double SHOT_DAMAGE = RangedMutantCell.RangedMutant.HIT_CHANCE * Mutant.DAMAGE;
+
+    private final int size;
+
+    // The number of ranged mutants that can hit each tile
+    private final int[] shooters;
+
+    // Whether each tile holds a trap
+    private final boolean[] traps;
+
+    // The expected damage on each tile, derived from the two arrays above
+    private final double[] damage;
+
+    /**
+     * Creates a danger map with the given traps and no shooters.
+     * The map's {@link ThreatMasks} add the shooters as they are computed.
+     *
+     * @param trapTiles the map's trap layer
+     */
+    DangerMap(Bitboard trapTiles) {
+        this.size = trapTiles.getSize();
+        this.shooters = new int[size * size];
+        this.traps = new boolean[size * size];
+        this.damage = new double[size * size];
+        for (int tile = trapTiles.nextSetBit(0); tile >= 0; tile = trapTiles.nextSetBit(tile + 1)) {
+            traps[tile] = true;
+            recompute(tile);
+        }
+    }
+
+    /**
+     * Records whether a tile holds a trap.
+     *
+     * @param row the row of the tile
+     * @param col the column of the tile
+     * @param trap true if the tile now holds a trap
+     */
+    void setTrap(int row, int col, boolean trap) {
+        int tile = row * size + col;
+        if (traps[tile] != trap) {
+            traps[tile] = trap;
+            recompute(tile);
+        }
+    }
+
+    /**
+     * Overwrites this danger map with another of the same size.
+     *
+     * @param other the danger map to copy
+     */
+    void copyFrom(DangerMap other) {
+        System.arraycopy(other.shooters, 0, shooters, 0, shooters.length);
+        System.arraycopy(other.traps, 0, traps, 0, traps.length);
+        System.arraycopy(other.damage, 0, damage, 0, damage.length);
+    }
+
+    /**
+     * Adds or removes one ranged mutant's threat mask.
+     *
+     * @param mask the tiles the mutant can hit
+     * @param delta 1 to add the mutant, -1 to remove it
+     */
+    void addShooter(Bitboard mask, int delta) {
+        for (int tile = mask.nextSetBit(0); tile >= 0; tile = mask.nextSetBit(tile + 1)) {
+            shooters[tile] += delta;
+            recompute(tile);
+        }
+    }
+
+    /**
+     * Gets the expected damage for ending a move on a tile.
+     *
+     * @param row the row of the tile
+     * @param col the column of the tile
+     * @return the expected HP lost
+     */
+    public double getExpectedDamage(int row, int col) {
+        return damage[row * size + col];
+    }
+
+    /**
+     * Gets the expected damage for ending a move on a tile.
+     *
+     * @param position the tile
+     * @return the expected HP lost
+     */
+    public double getExpectedDamage(Position position) {
+        return getExpectedDamage(position.getRow(), position.getCol());
+    }
+
+    /**
+     * Gets the number of ranged mutants that can shoot at a tile.
+     *
+     * @param row the row of the tile
+     * @param col the column of the tile
+     * @return the number of shooters
+     */
+    public int getShooterCount(int row, int col) {
+        return shooters[row * size + col];
+    }
+
+    /**
+     * Gets the highest expected damage on the map.
+     *
+     * @return the maximum over all tiles
+     */
+    public double getMaxDamage() {
+        double max = 0;
+        for (double value : damage) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    /**
+     * Gets the width and height of the map.
+     *
+     * @return the map size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    private void recompute(int tile) {
+        damage[tile] = (traps[tile] ? TrapCell.DAMAGE : 0) + shooters[tile] * SHOT_DAMAGE;
+    }
+}
@@ -1,7 +1,5 @@
 package dungeon.engine;
 
-import javafx.scene.input.KeyCode;
-
 /**
  * Represents the four cardinal directions in which the player can move.
  * Each direction has associated row and column offsets.
@@ -43,33 +41,4 @@ public enum Direction {
     public int getDCol() {
         return dCol;
     }
-
-    /**
-     * Maps a key code to a direction.
-     *
-     * @param keyCode the key code to map
-     * @return the corresponding direction, or null if the key doesnt map to a direction
-     */
-    public static Direction fromKeyCode(KeyCode keyCode) {
-        if (keyCode == null) {
-            return null;
-        }
-        
-        switch (keyCode) {
-            case UP:
-            case W:
-                return Direction.UP;
-            case DOWN:
-            case S:
-                return Direction.DOWN;
-            case LEFT:
-            case A:
-                return Direction.LEFT;
-            case RIGHT:
-            case D:
-                return Direction.RIGHT;
-            default:
-                return null;
-        }
-    }
 }
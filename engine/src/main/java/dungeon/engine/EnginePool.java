@@ -0,0 +1,152 @@
+package dungeon.engine;
+
+import dungeon.engine.metrics.PerformanceMetrics;
+import dungeon.engine.persistence.SaveState;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A pool of scratch engines for lookahead search.
+ * Searching forks the game at every node, so instead of calling
+ * {@link GameEngine#copy()} each time, a search acquires a pooled engine,
+ * which {@link GameEngine#copyFrom} overwrites in place, and releases it
+ * when the branch is done. Once the pool has warmed up, forking allocates
+ * nothing. A pool is not thread-safe; give each search thread its own.
+ */
+public class EnginePool {
+    private final Deque<GameEngine> free = new ArrayDeque<>();
+    private int created;
+
+    /**
+     * Creates a pool holding copies of an engine, so that searching from it allocates nothing.
+     *
+     * @param prototype the engine to copy, typically the root of the search
+     * @param capacity the number of engines to preallocate, such as the search depth
+     */
+    public EnginePool(GameEngine prototype, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        for (int i = 0; i < capacity; i++) {
+            free.push(prototype.copy());
+            created++;
+        }
+    }
+
+    /**
+     * Gets an engine holding a copy of the given state.
+     * If the pool is empty a new copy is made.
+     *
+     * @param source the engine to copy
+     * @return an engine that is independent of the source
+     */
+    public GameEngine acquire(GameEngine source) {
+        GameEngine engine = free.poll();
+        if (engine == null) {
+            created++;
+            return source.copy();
+        }
+        engine.copyFrom(source);
+        return engine;
+    }
+
+    /**
+     * Returns an engine to the pool. It must have come from {@link #acquire}
+     * and must not be used again by the caller.
+     *
+     * @param engine the engine to return
+     */
+    public void release(GameEngine engine) {
+        free.push(engine);
+    }
+
+    /**
+     * Gets the number of engines waiting in the pool.
+     *
+     * @return the free engine count
+     */
+    public int getFreeCount() {
+        return free.size();
+    }
+
+    /**
+     * Gets the number of engines the pool has created, including those in use.
+     *
+     * @return the created engine count
+     */
+    public int getCreatedCount() {
+        return created;
+    }
+
+    /**
+     * Benchmarks forking a game with {@link GameEngine#copy()}, with a pool,
+     * and with a Java serialization round trip of a {@link SaveState}, which
+     * was the only way to copy an engine before.
+     */
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        int copies = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int difficulty = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        // A game a few moves in
+        GameEngine root = new GameEngine(difficulty, 7L);
+        root.move(Direction.RIGHT);
+        root.move(Direction.DOWN);
+        root.move(Direction.RIGHT);
+
+        EnginePool pool = new EnginePool(root, 1);
+        long checksum = 0;
+        for (int round = 0; round < 2; round++) {
+            // The first round warms up
+            boolean report = round == 1;
+
+            long allocatedBefore = PerformanceMetrics.currentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < copies; i++) {
+                checksum += root.copy().getZobristHash();
+            }
+            report(report, "copy()", copies, System.nanoTime() - start, allocatedBefore);
+
+            allocatedBefore = PerformanceMetrics.currentThreadAllocatedBytes();
+            start = System.nanoTime();
+            for (int i = 0; i < copies; i++) {
+                GameEngine engine = pool.acquire(root);
+                checksum += engine.getZobristHash();
+                pool.release(engine);
+            }
+            report(report, "pooled copyFrom()", copies, System.nanoTime() - start, allocatedBefore);
+
+            int serialized = copies / 20;
+            allocatedBefore = PerformanceMetrics.currentThreadAllocatedBytes();
+            start = System.nanoTime();
+            for (int i = 0; i < serialized; i++) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                    out.writeObject(new SaveState(root));
+                }
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                    checksum += ((SaveState) in.readObject()).restoreGame().getZobristHash();
+                }
+            }
+            report(report, "serialization", serialized, System.nanoTime() - start, allocatedBefore);
+        }
+        System.out.println("(checksum " + checksum + ")");
+    }
+
+    private static void report(boolean report, String name, int count, long elapsed, long allocatedBefore) {
+        if (!report) {
+            return;
+        }
+        long allocated = PerformanceMetrics.currentThreadAllocatedBytes() - allocatedBefore;
+        System.out.printf("%-18s %10.0f copies/s %8.1f us/copy", name, count / (elapsed / 1e9), elapsed / 1e3 / count);
+        if (allocatedBefore >= 0) {
+            System.out.printf(" %9.1f bytes/copy", (double) allocated / count);
+        }
+        System.out.println();
+    }
+}
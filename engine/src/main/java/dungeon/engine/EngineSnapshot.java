@@ -0,0 +1,140 @@
+package dungeon.engine;
+
+import dungeon.engine.cells.Cell;
+
+import java.util.Random;
+
+/**
+ * An immutable capture of everything a {@link GameEngine} needs to carry on
+ * playing exactly as it would have: the current level's cells, the player,
+ * the game-over state and both random number generators.
+ * Most cells hold no state of their own, so the snapshot shares them with
+ * the engine and only copies the grid's shape; restoring gives items, which
+ * remember being collected, fresh instances.
+ */
+public final class EngineSnapshot {
+    private final int difficulty;
+    private final long seed;
+    private final Cell[] cells;
+    private final int generationAttempts;
+    private final Position position;
+    private final int hp;
+    private final int score;
+    private final int steps;
+    private final int level;
+    private final boolean gameOver;
+    private final String statusMessage;
+    private final Random rng;
+    private final long turnRandomState;
+
+    EngineSnapshot(int difficulty, long seed, Cell[] cells, int generationAttempts, Player player,
+            boolean gameOver, String statusMessage, Random rng, long turnRandomState) {
+        this(difficulty, seed, cells, generationAttempts, player.getPosition(), player.getHp(), player.getScore(),
+            player.getSteps(), player.getLevel(), gameOver, statusMessage, rng, turnRandomState);
+    }
+
+    EngineSnapshot(int difficulty, long seed, Cell[] cells, int generationAttempts, Position position,
+            int hp, int score, int steps, int level, boolean gameOver, String statusMessage,
+            Random rng, long turnRandomState) {
+        this.difficulty = difficulty;
+        this.seed = seed;
+        this.cells = cells;
+        this.generationAttempts = generationAttempts;
+        this.position = position;
+        this.hp = hp;
+        this.score = score;
+        this.steps = steps;
+        this.level = level;
+        this.gameOver = gameOver;
+        this.statusMessage = statusMessage;
+        this.rng = rng;
+        this.turnRandomState = turnRandomState;
+    }
+
+    int getDifficulty() {
+        return difficulty;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    Cell[] getCells() {
+        return cells;
+    }
+
+    int getGenerationAttempts() {
+        return generationAttempts;
+    }
+
+    boolean isGameOver() {
+        return gameOver;
+    }
+
+    String getStatusMessage() {
+        return statusMessage;
+    }
+
+    /**
+     * Gets a fresh copy of the map generator, so the snapshot can be restored repeatedly.
+     */
+    Random copyRng() {
+        return CopyableRandom.copyOf(rng);
+    }
+
+    long getTurnRandomState() {
+        return turnRandomState;
+    }
+
+    /**
+     * Restores the player's recorded state.
+     */
+    void restorePlayer(Player player) {
+        player.restore(position, hp, score, steps, level);
+    }
+
+    /**
+     * Gets the player's position when the snapshot was taken.
+     *
+     * @return the position
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the player's HP when the snapshot was taken.
+     *
+     * @return the hit points
+     */
+    public int getHp() {
+        return hp;
+    }
+
+    /**
+     * Gets the player's score when the snapshot was taken.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the player's step count when the snapshot was taken.
+     *
+     * @return the steps taken
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /**
+     * Gets the player's level when the snapshot was taken.
+     *
+     * @return the dungeon level
+     */
+    public int getLevel() {
+        return level;
+    }
+}
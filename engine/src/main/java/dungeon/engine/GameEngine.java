@@ -0,0 +1,1032 @@
+package dungeon.engine;
+
+import dungeon.engine.cells.*;
+import dungeon.engine.event.EventRing;
+import dungeon.engine.event.GameEvent;
+import dungeon.engine.event.GameEventType;
+import dungeon.engine.path.CostModel;
+import dungeon.engine.path.PathFinder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+public class GameEngine {
+
+    /**
+     * The game map for the current dungeon level.
+     */
+    private GameMap gameMap;
+    
+    /**
+     * The player in the game.
+     */
+    private Player player;
+    
+    /**
+     * The random number generator used for the game.
+     */
+    private Random rng;
+    
+    /**
+     * The generator for per-turn randomness such as ranged mutant shots.
+     */
+    private TurnRandom turnRandom;
+    
+    /**
+     * The current difficulty level.
+     */
+    private int difficulty;
+
+    /**
+     * The maximum number of steps a player can take before losing.
+     */
+    public static final int MAX_STEPS = 100;
+    
+    /**
+     * The number of levels required to win the game.
+     */
+    public static final int WINNING_LEVEL = 2;
+    
+    /**
+     * Flag indicating if the game is over.
+     */
+    private boolean gameOver;
+    
+    /**
+     * The status message explaining the game state.
+     */
+    private String statusMessage;
+
+    // The seed of the random number generator
+    private long seed;
+    
+    /**
+     * The action logger for recording game events.
+     */
+    private ActionLogger actionLogger;
+    
+    /**
+     * The ring events are published to, created when first subscribed to.
+     */
+    private volatile EventRing events;
+    
+    /**
+     * Event reused to describe events to the logger when there is no ring.
+     */
+    private GameEvent loggedEvent;
+    
+    /**
+     * Path finder for the current map, created on first use.
+     */
+    private PathFinder pathFinder;
+    
+    /**
+     * Listeners notified after every move.
+     */
+    private final List<MoveListener> moveListeners = new ArrayList<>();
+    
+    /**
+     * Cache the levels of this seeded game come from, or null to generate them.
+     */
+    private LevelCache levelCache;
+    
+    /**
+     * Executor that generates the next level in the background, or null to generate it at the ladder.
+     */
+    private Executor levelExecutor;
+    
+    /**
+     * The next level being generated in the background, or null if there is none.
+     */
+    private CompletableFuture<NextLevel> nextLevel;
+    
+    /**
+     * A level generated ahead of time, with the map generator as it was left afterwards.
+     */
+    private static final class NextLevel {
+        final GameMap map;
+        final Random rng;
+        
+        NextLevel(GameMap map, Random rng) {
+            this.map = map;
+            this.rng = rng;
+        }
+    }
+
+    /**
+     * Creates a new game with the specified difficulty.
+     *
+     * @param difficulty the difficulty level (affects number of enemies)
+     */
+    public GameEngine(int difficulty) {
+        this(difficulty, System.currentTimeMillis());
+    }
+    
+    /**
+     * Creates a new game with the specified difficulty and random seed.
+     * This constructor is useful for testing or creating reproducible games.
+     *
+     * @param difficulty the difficulty level (affects number of enemies)
+     * @param seed the seed for the random number generator
+     */
+    public GameEngine(int difficulty, long seed) {
+        this(difficulty, new CopyableRandom(seed));
+        this.seed = seed;
+        this.turnRandom = new TurnRandom(seed).split();
+    }
+    
+    /**
+     * Creates a new game whose levels come from a cache of generated levels.
+     * It plays exactly like {@code new GameEngine(difficulty, seed)}, but a
+     * level already generated for the same seed and difficulty is copied from
+     * the cache instead of being generated again.
+     *
+     * @param difficulty the difficulty level (affects number of enemies)
+     * @param seed the seed for the random number generator
+     * @param cache the cache to take levels from
+     */
+    public GameEngine(int difficulty, long seed, LevelCache cache) {
+        LevelTemplate template = cache.get(seed, difficulty, 1);
+        this.difficulty = difficulty;
+        this.seed = seed;
+        this.levelCache = cache;
+        this.rng = template.copyRngAfter();
+        this.gameMap = template.instantiate();
+        this.gameOver = false;
+        this.statusMessage = "Game in progress. Good luck!";
+        this.player = new Player(new Position(0, 0));
+        this.turnRandom = new TurnRandom(seed).split();
+    }
+    
+    /**
+     * Creates a new game with the specified difficulty and random number generator.
+     * Without a seed, the turn generator is seeded from the first level's layout,
+     * so engines built from equally seeded generators still play out alike.
+     *
+     * @param difficulty the difficulty level (affects number of enemies)
+     * @param rng the random number generator to use
+     */
+    public GameEngine(int difficulty, Random rng) {
+        this.difficulty = difficulty;
+        this.rng = rng;
+        this.seed = 0; // Unknown seed when Random is provided directly
+        this.gameMap = new GameMap(difficulty, rng);
+        this.gameOver = false;
+        this.statusMessage = "Game in progress. Good luck!";
+        
+        // Create a player at the entry position
+        player = new Player(new Position(0, 0));
+        this.turnRandom = new TurnRandom(gameMap.getZobristHash()).split();
+    }
+    
+    /**
+     * Creates a copy of another engine; see {@link #copy()}.
+     *
+     * @param source the engine to copy
+     */
+    private GameEngine(GameEngine source) {
+        this.gameMap = new GameMap();
+        this.player = new Player(source.player.getPosition());
+        this.turnRandom = new TurnRandom(0);
+        copyFrom(source);
+    }
+
+    /**
+     * The size of the current game map.
+     *
+     * @return this is both the width and the height.
+     */
+    public int getSize() {
+        return gameMap.getSize();
+    }
+
+    /**
+     * Gets the current game map.
+     *
+     * @return the map of the current level
+     */
+    public Cell[][] getMap() {
+        return gameMap.getGrid();
+    }
+    
+    /**
+     * Gets the map object for the current level.
+     *
+     * @return the game map
+     */
+    public GameMap getGameMap() {
+        return gameMap;
+    }
+    
+    /**
+     * Gets the path finder for the current level.
+     * It uses the {@link CostModel#SAFE} cost model and caches distance fields
+     * until the level changes.
+     *
+     * @return the path finder
+     */
+    public PathFinder getPathFinder() {
+        if (pathFinder == null) {
+            pathFinder = new PathFinder(gameMap, CostModel.SAFE);
+        }
+        return pathFinder;
+    }
+    
+    /**
+     * Gets the player object.
+     *
+     * @return the player
+     */
+    public Player getPlayer() {
+        return player;
+    }
+    
+    /**
+     * Gets the generator for per-turn randomness, such as whether ranged
+     * mutant shots hit. It is split from the engine seed, so a seeded game
+     * plays out the same way every time.
+     *
+     * @return the engine's turn generator
+     */
+    public TurnRandom getTurnRandom() {
+        return turnRandom;
+    }
+    
+    /**
+     * Gets a 64-bit Zobrist hash of the game state: the tiles of the current
+     * level and the player's position, HP, steps and level. Both parts are
+     * maintained incrementally, so this is O(1).
+     *
+     * @return the state hash
+     */
+    public long getZobristHash() {
+        return gameMap.getZobristHash() ^ player.getZobristHash();
+    }
+    
+    /**
+     * Sets the action logger for recording game events.
+     * The logger is given the description of each event as it is emitted,
+     * on the engine thread; slow outputs should subscribe to
+     * {@link #getEvents()} instead.
+     * 
+     * @param logger the action logger to use
+     */
+    public void setActionLogger(ActionLogger logger) {
+        this.actionLogger = logger;
+    }
+    
+    /**
+     * Logs a message, as a {@link GameEventType#MESSAGE} event.
+     * 
+     * @param message the message to log
+     */
+    public void logAction(String message) {
+        emit(GameEventType.MESSAGE, null, 0, message);
+    }
+    
+    /**
+     * Gets the stream of events this engine emits, creating it on first use.
+     * Every change to the game is published to it as a typed event carrying
+     * the player's stats, so subscribers need not read the engine. Each
+     * subscriber {@link EventRing#subscribe subscribes} separately and polls
+     * from its own thread; the engine never waits for them.
+     *
+     * @return the event ring
+     */
+    public EventRing getEvents() {
+        return getEvents(EventRing.DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Gets the stream of events this engine emits, creating it with the given
+     * capacity on first use. A subscriber that drains the ring after every
+     * move only needs room for one turn's events.
+     *
+     * @param capacity the number of events held if the ring is created, a power of two
+     * @return the event ring, which keeps its capacity if it already existed
+     */
+    public EventRing getEvents(int capacity) {
+        EventRing ring = events;
+        if (ring == null) {
+            synchronized (this) {
+                ring = events;
+                if (ring == null) {
+                    ring = new EventRing(capacity);
+                    events = ring;
+                }
+            }
+        }
+        return ring;
+    }
+    
+    /**
+     * Emits an event caused by the player's current tile, such as picking up an item.
+     *
+     * @param type the kind of event
+     * @param amount the points or HP the event type defines
+     */
+    public void emit(GameEventType type, int amount) {
+        emit(type, null, amount, null);
+    }
+    
+    /**
+     * Publishes an event and passes its description to the logger.
+     * Nothing is done, or allocated, when no one is listening.
+     */
+    private void emit(GameEventType type, Direction direction, int amount, String message) {
+        EventRing ring = events;
+        if (ring == null && actionLogger == null) {
+            return;
+        }
+        GameEvent event;
+        if (ring != null) {
+            event = ring.claim();
+        } else {
+            if (loggedEvent == null) {
+                loggedEvent = new GameEvent();
+            }
+            event = loggedEvent;
+        }
+        event.set(type, direction, amount, message, player);
+        if (ring != null) {
+            ring.publish();
+        }
+        if (actionLogger != null) {
+            String description = event.describe();
+            if (description != null) {
+                actionLogger.log(description);
+            }
+        }
+    }
+    
+    /**
+     * Moves the player in the specified direction if possible.
+     * 
+     * @param direction the direction to move
+     * @return true if the move was successful, false otherwise
+     */
+    public boolean movePlayer(Direction direction) {
+        // If the game is already over, don't allow further moves
+        if (isGameOver()) {
+            return false;
+        }
+        
+        if (direction == null) {
+            return false;
+        }
+        
+        Position currentPosition = player.getPosition();
+        Position newPosition = currentPosition.plus(direction);
+        
+        // Check if the move is valid (not out of bounds)
+        if (newPosition == null) {
+            return false;
+        }
+        
+        // Get the destination cell
+        Cell destinationCell = gameMap.cellAt(newPosition);
+        
+        // Check if the destination is null (out of bounds) or a wall
+        if (destinationCell == null || destinationCell instanceof WallCell) {
+            return false;
+        }
+        
+        // Move is valid, so update player position
+        player.setPosition(newPosition);
+        
+        emit(GameEventType.MOVED, direction, 0, null);
+        
+        // Trigger the cell's onEnter behavior
+        destinationCell.onEnter(player, this);
+        
+        // Update step count
+        player.incrementSteps();
+        
+        // Check game over conditions
+        checkGameOverConditions();
+        
+        return true;
+    }
+    
+    /**
+     * Replaces the cell at the specified position with a new cell.
+     * This is used when items are consumed or enemies are defeated.
+     *
+     * @param position the position of the cell to replace
+     * @param newCell the new cell to place at that position
+     */
+    public void replaceCell(Position position, Cell newCell) {
+        gameMap.setCell(position, newCell);
+    }
+    
+    /**
+     * Gets the current difficulty level.
+     *
+     * @return the difficulty level
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+    
+    /**
+     * Checks if the game is over (either won or lost).
+     *
+     * @return true if the game is over, false otherwise
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+    
+    /**
+     * Gets a message describing the current game status.
+     * This will include win/loss messages when the game is over.
+     *
+     * @return the status message
+     */
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+    
+    /**
+     * Gets the seed used for the random number generator.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Ends the game without a move, for restoring a finished game from a save.
+     *
+     * @param statusMessage the message describing how the game ended
+     */
+    public void endGame(String statusMessage) {
+        this.gameOver = true;
+        this.statusMessage = statusMessage;
+    }
+    
+    /**
+     * Checks the game's win and loss conditions:
+     * - Win: Player reaches level 2 and finds the ladder
+     * - Lose: Player's HP drops to 0 or steps exceed 100
+     */
+    private void checkGameOverConditions() {
+        // Check for loss conditions
+        if (player.getHp() <= 0) {
+            gameOver = true;
+            statusMessage = "Game Over! You ran out of health.";
+            emit(GameEventType.DEFEAT_HEALTH, 0);
+        } else if (player.getSteps() >= MAX_STEPS) {
+            gameOver = true;
+            statusMessage = "Game Over! You ran out of steps.";
+            emit(GameEventType.DEFEAT_STEPS, 0);
+        }
+        
+        // Note: Win condition is checked in advanceToNextLevel()
+    }
+    
+    /**
+     * Advances the player to the next dungeon level.
+     * If they've completed the final level, they win the game.
+     */
+    public void advanceToNextLevel() {
+        // Increase player's level
+        int newLevel = player.getLevel() + 1;
+        player.setLevel(newLevel);
+        
+        // Check if they've won the game
+        if (newLevel > WINNING_LEVEL) {
+            gameOver = true;
+            statusMessage = "Congratulations! You've completed all levels and won the game!";
+            emit(GameEventType.VICTORY, 0);
+            return;
+        }
+        
+        // Generate a new map for the next level, unless it was generated in the background
+        this.gameMap = takeNextLevel();
+        this.pathFinder = null;
+        scheduleNextLevel();
+        
+        // Place player at the entry point of the new level
+        player.setPosition(new Position(0, 0));
+        
+        // Update status message
+        statusMessage = "You reached level " + newLevel + "! Find the ladder to continue.";
+        emit(GameEventType.LEVEL_REACHED, 0);
+    }
+    
+    /**
+     * Creates a new game with the specified difficulty.
+     * This is a convenience method for starting a new game.
+     *
+     * @param difficulty the difficulty level
+     * @return a new GameEngine instance
+     */
+    public static GameEngine newGame(int difficulty) {
+        return new GameEngine(difficulty);
+    }
+    
+    /**
+     * Moves the player in the specified direction, applying all game logic.
+     * This method handles movement, cell effects, mutant attacks, and step costs.
+     * It also checks for win/loss conditions after the move.
+     *
+     * @param direction the direction to move
+     * @return true if the move was successful, false otherwise
+     */
+    public boolean move(Direction direction) {
+        boolean moved = applyMove(direction);
+        emit(GameEventType.TURN_ENDED, direction, moved ? 1 : 0, null);
+        for (int i = 0; i < moveListeners.size(); i++) {
+            moveListeners.get(i).moveApplied(direction, moved);
+        }
+        return moved;
+    }
+    
+    /**
+     * Applies a move and the ranged mutant turns that follow it.
+     *
+     * @param direction the direction to move
+     * @return true if the move was successful, false otherwise
+     */
+    private boolean applyMove(Direction direction) {
+        // If the game is already over, don't allow further moves
+        if (isGameOver()) {
+            return false;
+        }
+        
+        // Execute the player movement
+        boolean moved = movePlayer(direction);
+        
+        // If the move was successful, apply additional game logic
+        if (moved) {
+            // The movePlayer method already:
+            // - Updates player position
+            // - Triggers cell onEnter behavior
+            // - Increments step count
+            // - Checks game over conditions
+            
+            // Process ranged mutant shots after player movement
+            processRangedMutantTurns();
+            
+            // Return true since the move was successful
+            return true;
+        }
+        
+        // Move was not successful
+        return false;
+    }
+    
+    /**
+     * Adds a listener notified after every call to {@link #move}, whether or not the player moved.
+     *
+     * @param listener the listener to add
+     */
+    public void addMoveListener(MoveListener listener) {
+        moveListeners.add(listener);
+    }
+    
+    /**
+     * Removes a move listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeMoveListener(MoveListener listener) {
+        moveListeners.remove(listener);
+    }
+    
+    /**
+     * Captures the full game state, so it can be restored later with {@link #restore}.
+     *
+     * @return the snapshot
+     */
+    public EngineSnapshot snapshot() {
+        int size = getSize();
+        Cell[] cells = new Cell[size * size];
+        Cell[][] grid = gameMap.getGrid();
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(grid[row], 0, cells, row * size, size);
+        }
+        return new EngineSnapshot(difficulty, seed, cells, gameMap.getGenerationAttempts(), player,
+            gameOver, statusMessage, CopyableRandom.copyOf(rng), turnRandom.getState());
+    }
+    
+    /**
+     * Puts the game back into a captured state. The same snapshot can be
+     * restored any number of times. Loggers and listeners stay attached to
+     * this engine, but the map is replaced, so map listeners must be re-added.
+     *
+     * @param snapshot the state to restore
+     */
+    public void restore(EngineSnapshot snapshot) {
+        this.difficulty = snapshot.getDifficulty();
+        this.seed = snapshot.getSeed();
+        this.gameMap = new GameMap(difficulty, snapshot.getCells(), snapshot.getGenerationAttempts());
+        if (pathFinder != null) {
+            pathFinder.detach();
+            pathFinder = null;
+        }
+        snapshot.restorePlayer(player);
+        this.gameOver = snapshot.isGameOver();
+        this.statusMessage = snapshot.getStatusMessage();
+        this.rng = snapshot.copyRng();
+        this.turnRandom.setState(snapshot.getTurnRandomState());
+        scheduleNextLevel();
+        emit(GameEventType.RESTORED, 0);
+    }
+    
+    /**
+     * Creates an independent copy of the game, for lookahead search.
+     * The copy plays out exactly as this engine would under the same moves,
+     * including ranged mutant shots and the next level's layout, and neither
+     * engine's moves affect the other. Stateless cells and threat masks are
+     * shared rather than copied. Loggers, listeners and events are not copied.
+     *
+     * @return the copy
+     */
+    public GameEngine copy() {
+        return new GameEngine(this);
+    }
+    
+    /**
+     * Overwrites this engine with the state of another, reusing this engine's
+     * map and player. Once an engine has been copied into, copying positions
+     * of the same level into it again allocates nothing, so a search can keep
+     * a few scratch engines and copy into them instead of calling {@link #copy()}.
+     * Loggers, move listeners and event subscribers stay attached to this
+     * engine, which emits a {@link GameEventType#RESTORED} event; listeners on
+     * its map are not told about the changed cells.
+     *
+     * @param source the engine to copy
+     */
+    public void copyFrom(GameEngine source) {
+        if (source == this) {
+            return;
+        }
+        this.difficulty = source.difficulty;
+        this.seed = source.seed;
+        this.levelCache = source.levelCache;
+        gameMap.copyFrom(source.gameMap);
+        if (pathFinder != null) {
+            pathFinder.detach();
+            pathFinder = null;
+        }
+        player.copyFrom(source.player);
+        this.gameOver = source.gameOver;
+        this.statusMessage = source.statusMessage;
+        if (rng instanceof CopyableRandom && source.rng instanceof CopyableRandom) {
+            ((CopyableRandom) rng).copyFrom((CopyableRandom) source.rng);
+        } else {
+            this.rng = CopyableRandom.copyOf(source.rng);
+        }
+        turnRandom.setState(source.turnRandom.getState());
+        if (levelExecutor != null) {
+            scheduleNextLevel();
+        }
+        emit(GameEventType.RESTORED, 0);
+    }
+    
+    /**
+     * Generates each next level in the background as soon as the current one
+     * starts, so that stepping onto the ladder just swaps the ready map in.
+     * The next level only depends on the map generator, which nothing else
+     * draws from during a level, so the background task works on a copy of it
+     * and produces exactly the map the ladder would have; the engine adopts
+     * the copy's final state along with the map. If the map is not ready in
+     * time, the ladder waits for it.
+     *
+     * @param executor the executor to generate levels on, such as
+     *        {@link java.util.concurrent.ForkJoinPool#commonPool()}, or null
+     *        to generate each level when the ladder is reached
+     */
+    public void setLevelPregeneration(Executor executor) {
+        this.levelExecutor = executor;
+        scheduleNextLevel();
+    }
+    
+    /**
+     * Checks if the next level has been generated in the background and is waiting for the ladder.
+     *
+     * @return true if the next level is ready
+     */
+    public boolean isNextLevelReady() {
+        return nextLevel != null && nextLevel.isDone() && !nextLevel.isCompletedExceptionally();
+    }
+    
+    /**
+     * Starts generating the next level in the background, dropping any level
+     * generated from an earlier state. Does nothing without an executor or
+     * when there is no next level to generate.
+     */
+    private void scheduleNextLevel() {
+        if (nextLevel != null) {
+            nextLevel.cancel(false);
+            nextLevel = null;
+        }
+        if (levelExecutor == null || player.getLevel() >= WINNING_LEVEL) {
+            return;
+        }
+        LevelCache cache = levelCache;
+        long nextSeed = seed;
+        int nextDifficulty = difficulty;
+        int level = player.getLevel() + 1;
+        Random nextRng = CopyableRandom.copyOf(rng);
+        nextLevel = CompletableFuture.supplyAsync(
+            () -> generateLevel(cache, nextSeed, nextDifficulty, level, nextRng), levelExecutor);
+    }
+    
+    /**
+     * Generates a level, or takes it from the level cache if there is one and
+     * the generator is in the state the cached level was generated from.
+     *
+     * @param cache the level cache, or null
+     * @param seed the game seed
+     * @param difficulty the difficulty level
+     * @param level the dungeon level being generated
+     * @param rng the map generator, which is advanced past the level unless the cache is used
+     * @return the map along with the generator to continue with
+     */
+    private static NextLevel generateLevel(LevelCache cache, long seed, int difficulty, int level, Random rng) {
+        if (cache != null && rng instanceof CopyableRandom) {
+            LevelTemplate template = cache.get(seed, difficulty, level);
+            if (template.getRngStateBefore() == ((CopyableRandom) rng).getState()) {
+                return new NextLevel(template.instantiate(), template.copyRngAfter());
+            }
+        }
+        return new NextLevel(new GameMap(difficulty, rng), rng);
+    }
+    
+    /**
+     * Gets the map for the next level, from the background if it was generated there.
+     *
+     * @return the next level's map
+     */
+    private GameMap takeNextLevel() {
+        CompletableFuture<NextLevel> pending = nextLevel;
+        nextLevel = null;
+        if (pending != null) {
+            try {
+                NextLevel ready = pending.join();
+                this.rng = ready.rng;
+                return ready.map;
+            } catch (CompletionException e) {
+                // Fall back to generating it here; the generator has not been touched
+            }
+        }
+        NextLevel generated = generateLevel(levelCache, seed, difficulty, player.getLevel(), rng);
+        this.rng = generated.rng;
+        return generated.map;
+    }
+    
+    /**
+     * Restores the parts of the game state that live outside the map and player.
+     *
+     * @param gameOver whether the game is over
+     * @param statusMessage the status message
+     * @param rng the map generator, which this engine takes ownership of
+     * @param turnRandomState the state of the turn generator
+     */
+    void restoreProgress(boolean gameOver, String statusMessage, Random rng, long turnRandomState) {
+        this.gameOver = gameOver;
+        this.statusMessage = statusMessage;
+        this.turnRandom.setState(turnRandomState);
+        if (rng != this.rng) {
+            this.rng = rng;
+            scheduleNextLevel();
+        }
+        emit(GameEventType.RESTORED, 0);
+    }
+    
+    /**
+     * Gets the map generator, for recording the game state.
+     *
+     * @return the generator used for the next level
+     */
+    Random getMapRandom() {
+        return rng;
+    }
+    
+    /**
+     * Processes all ranged mutant turns, checking for shots at the player.
+     * The map's threat masks answer whether any mutant is in range with one
+     * lookup; only then are the mutants that can hit the player asked to fire.
+     */
+    private void processRangedMutantTurns() {
+        Position playerPos = player.getPosition();
+        int row = playerPos.getRow();
+        int col = playerPos.getCol();
+        ThreatMasks threats = gameMap.getThreatMasks();
+        if (!threats.isThreatened(row, col)) {
+            return;
+        }
+        
+        // Mutants fire in row-major order
+        Cell[][] map = getMap();
+        Bitboard rangedMutants = gameMap.getBitboards().getRangedMutants();
+        for (int tile = rangedMutants.nextSetBit(0); tile >= 0; tile = rangedMutants.nextSetBit(tile + 1)) {
+            Cell cell = map[tile / map.length][tile % map.length];
+            if (threats.canHit(tile, row, col) && cell instanceof RangedMutantCell) {
+                ((RangedMutantCell) cell).fire(this, turnRandom);
+            }
+        }
+    }
+    
+    /**
+     * Console interface for the game.
+     */
+    public static void main(String[] args) {
+        java.util.Scanner scanner = new java.util.Scanner(System.in);
+        
+        // Parse difficulty from command line args or prompt user
+        int difficulty = 2; // Default difficulty
+        if (args.length > 0) {
+            try {
+                difficulty = Integer.parseInt(args[0]);
+                if (difficulty < 1) difficulty = 1;
+                if (difficulty > 5) difficulty = 5;
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid difficulty argument. Using default difficulty 2.");
+            }
+        } else {
+            System.out.println("=== MiniDungeon Console Interface ===");
+            System.out.println("Select difficulty level (1-5, default 2): ");
+            System.out.println("1 = Easy (3 Melee Mutants)");
+            System.out.println("2 = Medium (3 Melee + 2 Ranged Mutants)");
+            System.out.println("3 = Hard (3 Melee + 3 Ranged Mutants)");
+            System.out.println("4+ = Expert (3 Melee + 4+ Ranged Mutants)");
+            System.out.print("Enter difficulty (1-5) or press Enter for default: ");
+            
+            String difficultyInput = scanner.nextLine().trim();
+            if (!difficultyInput.isEmpty()) {
+                try {
+                    difficulty = Integer.parseInt(difficultyInput);
+                    if (difficulty < 1) difficulty = 1;
+                    if (difficulty > 5) difficulty = 5;
+                } catch (NumberFormatException e) {
+                    System.out.println("Invalid input. Using default difficulty 2.");
+                }
+            }
+        }
+        
+        GameEngine engine = newGame(difficulty);
+        
+        // Set up console logging
+        engine.setActionLogger(new ConsoleActionLogger());
+        
+        System.out.println("\n=== MiniDungeon Console Interface ===");
+        System.out.println("Difficulty Level: " + difficulty);
+        System.out.println("Commands: up, down, left, right, save, load, quit");
+        System.out.println("=====================================");
+        
+        printGameState(engine);
+        
+        while (!engine.isGameOver()) {
+            System.out.print("\nEnter command: ");
+            String command = scanner.nextLine().trim().toLowerCase();
+            
+            switch (command) {
+                case "up":
+                    handleMove(engine, Direction.UP);
+                    break;
+                case "down":
+                    handleMove(engine, Direction.DOWN);
+                    break;
+                case "left":
+                    handleMove(engine, Direction.LEFT);
+                    break;
+                case "right":
+                    handleMove(engine, Direction.RIGHT);
+                    break;
+                case "save":
+                    saveGame(engine, scanner);
+                    break;
+                case "load":
+                    engine = loadGame(scanner);
+                    if (engine == null) {
+                        engine = newGame(2);
+                        System.out.println("Load failed, starting new game.");
+                    }
+                    break;
+                case "quit":
+                    System.out.println("Thanks for playing!");
+                    scanner.close();
+                    return;
+                default:
+                    System.out.println("Unknown command. Use: up, down, left, right, save, load, quit");
+                    continue;
+            }
+            
+            printGameState(engine);
+            
+            if (engine.isGameOver()) {
+                System.out.println("\n" + engine.getStatusMessage());
+                System.out.print("Play again? (y/n): ");
+                String playAgain = scanner.nextLine().trim().toLowerCase();
+                if (playAgain.equals("y") || playAgain.equals("yes")) {
+                    engine = newGame(2);
+                    System.out.println("\n=== New Game Started ===");
+                    printGameState(engine);
+                } else {
+                    break;
+                }
+            }
+        }
+        
+        scanner.close();
+        System.out.println("Game ended. Thanks for playing!");
+    }
+    
+    private static void handleMove(GameEngine engine, Direction direction) {
+        boolean moved = engine.move(direction);
+        if (!moved) {
+            System.out.println("Cannot move in that direction!");
+        }
+    }
+    
+    private static void printGameState(GameEngine engine) {
+        System.out.println("\n=== Dungeon Level " + engine.getPlayer().getLevel() + " ===");
+        
+        // Print the grid
+        Cell[][] map = engine.getMap();
+        Position playerPos = engine.getPlayer().getPosition();
+        
+        for (int row = 0; row < engine.getSize(); row++) {
+            for (int col = 0; col < engine.getSize(); col++) {
+                if (row == playerPos.getRow() && col == playerPos.getCol()) {
+                    System.out.print("P ");  // Player
+                } else {
+                    Cell cell = map[row][col];
+                    if (cell instanceof dungeon.engine.cells.WallCell) {
+                        System.out.print("# ");
+                    } else if (cell instanceof dungeon.engine.cells.GoldCell) {
+                        System.out.print("G ");
+                    } else if (cell instanceof dungeon.engine.cells.HealthPotionCell) {
+                        System.out.print("H ");
+                    } else if (cell instanceof dungeon.engine.cells.TrapCell) {
+                        System.out.print("T ");
+                    } else if (cell instanceof dungeon.engine.cells.LadderCell) {
+                        System.out.print("L ");
+                    } else if (cell instanceof dungeon.engine.cells.MeleeMutantCell) {
+                        System.out.print("M ");
+                    } else if (cell instanceof dungeon.engine.cells.RangedMutantCell) {
+                        System.out.print("R ");
+                    } else if (cell instanceof dungeon.engine.cells.EntryCell) {
+                        System.out.print("E ");
+                    } else {
+                        System.out.print(". ");  // Empty
+                    }
+                }
+            }
+            System.out.println();
+        }
+        
+        // Print status
+        Player player = engine.getPlayer();
+        System.out.printf("HP: %d | Score: %d | Steps: %d/%d | Level: %d\n", 
+            player.getHp(), player.getScore(), player.getSteps(), 100, player.getLevel());
+    }
+    
+    private static void saveGame(GameEngine engine, java.util.Scanner scanner) {
+        System.out.print("Enter save filename: ");
+        String filename = scanner.nextLine().trim();
+        if (filename.isEmpty()) {
+            filename = "savegame.dat";
+        }
+        
+        try {
+            dungeon.engine.persistence.SaveState saveState = new dungeon.engine.persistence.SaveState(engine);
+            java.io.ObjectOutputStream oos = new java.io.ObjectOutputStream(
+                new java.io.FileOutputStream(filename));
+            oos.writeObject(saveState);
+            oos.close();
+            System.out.println("Game saved to " + filename);
+        } catch (Exception e) {
+            System.out.println("Save failed: " + e.getMessage());
+        }
+    }
+    
+    private static GameEngine loadGame(java.util.Scanner scanner) {
+        System.out.print("Enter save filename: ");
+        String filename = scanner.nextLine().trim();
+        if (filename.isEmpty()) {
+            filename = "savegame.dat";
+        }
+        
+        try {
+            java.io.ObjectInputStream ois = new java.io.ObjectInputStream(
+                new java.io.FileInputStream(filename));
+            dungeon.engine.persistence.SaveState saveState = 
+                (dungeon.engine.persistence.SaveState) ois.readObject();
+            ois.close();
+            System.out.println("Game loaded from " + filename);
+            return saveState.restoreGame();
+        } catch (Exception e) {
+            System.out.println("Load failed: " + e.getMessage());
+            return null;
+        }
+    }
+}
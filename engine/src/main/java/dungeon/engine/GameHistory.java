@@ -0,0 +1,236 @@
+package dungeon.engine;
+
+import dungeon.engine.cells.Cell;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * Undo and redo for a {@link GameEngine}.
+ * Every successful move adds an immutable turn holding the level's grid as a
+ * {@link PersistentGrid}, which shares every row the move did not touch with
+ * the turn before, plus the player's values. Undo and redo just move a
+ * pointer between turns; the engine is then brought in line by replaying
+ * only the tiles that differ through {@link GameMap#setCell}, so all of the
+ * map's incremental structures stay valid. Crossing a level change rebuilds
+ * the map instead.
+ * <p>
+ * Search agents can use the same mechanism: make a move, look, then undo.
+ */
+public class GameHistory implements MoveListener, CellChangeListener {
+
+    /**
+     * One recorded turn. Immutable; turns of the same level share grid rows.
+     */
+    private static final class Turn {
+        final Turn previous;
+        final int depth;
+        final int levelIndex; // Increases each time a new map is generated
+        final PersistentGrid grid;
+        final int generationAttempts;
+        final Position position;
+        final int hp;
+        final int score;
+        final int steps;
+        final int level;
+        final boolean gameOver;
+        final String statusMessage;
+        final Random rng; // Shared with the previous turn unless a level was generated
+        final long turnRandomState;
+
+        Turn(Turn previous, int levelIndex, PersistentGrid grid, int generationAttempts, GameEngine engine, Random rng) {
+            Player player = engine.getPlayer();
+            this.previous = previous;
+            this.depth = previous == null ? 0 : previous.depth + 1;
+            this.levelIndex = levelIndex;
+            this.grid = grid;
+            this.generationAttempts = generationAttempts;
+            this.position = player.getPosition();
+            this.hp = player.getHp();
+            this.score = player.getScore();
+            this.steps = player.getSteps();
+            this.level = player.getLevel();
+            this.gameOver = engine.isGameOver();
+            this.statusMessage = engine.getStatusMessage();
+            this.rng = rng;
+            this.turnRandomState = engine.getTurnRandom().getState();
+        }
+    }
+
+    private final GameEngine engine;
+
+    // The turn the engine is showing
+    private Turn current;
+
+    // Turns undone, most recent on top; cleared by a new move
+    private final Deque<Turn> redoStack = new ArrayDeque<>();
+
+    // The map the listener is attached to, and the grid as changed so far this move
+    private GameMap trackedMap;
+    private PersistentGrid pending;
+
+    // Set while the history itself is changing cells
+    private boolean applying;
+
+    /**
+     * Starts recording history from the engine's current state.
+     *
+     * @param engine the game to record
+     */
+    public GameHistory(GameEngine engine) {
+        this.engine = engine;
+        track(engine.getGameMap());
+        this.current = new Turn(null, 0, pending, trackedMap.getGenerationAttempts(), engine,
+            CopyableRandom.copyOf(engine.getMapRandom()));
+        engine.addMoveListener(this);
+    }
+
+    @Override
+    public void cellChanged(Position position, Cell oldCell, Cell newCell) {
+        if (!applying) {
+            pending = pending.with(position.getRow(), position.getCol(), newCell);
+        }
+    }
+
+    @Override
+    public void moveApplied(Direction direction, boolean moved) {
+        if (!moved) {
+            return;
+        }
+        Turn turn;
+        if (engine.getGameMap() != trackedMap) {
+            // A new level was generated, which also advanced the map generator
+            track(engine.getGameMap());
+            turn = new Turn(current, current.levelIndex + 1, pending, trackedMap.getGenerationAttempts(), engine,
+                CopyableRandom.copyOf(engine.getMapRandom()));
+        } else {
+            turn = new Turn(current, current.levelIndex, pending, current.generationAttempts, engine, current.rng);
+        }
+        current = turn;
+        redoStack.clear();
+    }
+
+    /**
+     * Checks if there is a move to undo.
+     *
+     * @return true if undo would do something
+     */
+    public boolean canUndo() {
+        return current.previous != null;
+    }
+
+    /**
+     * Checks if there is an undone move to redo.
+     *
+     * @return true if redo would do something
+     */
+    public boolean canRedo() {
+        return !redoStack.isEmpty();
+    }
+
+    /**
+     * Takes back the last move.
+     *
+     * @return false if there was nothing to undo
+     */
+    public boolean undo() {
+        if (!canUndo()) {
+            return false;
+        }
+        redoStack.push(current);
+        moveTo(current.previous);
+        return true;
+    }
+
+    /**
+     * Plays the last undone move again.
+     *
+     * @return false if there was nothing to redo
+     */
+    public boolean redo() {
+        if (!canRedo()) {
+            return false;
+        }
+        moveTo(redoStack.pop());
+        return true;
+    }
+
+    /**
+     * Gets the number of moves that can be undone.
+     *
+     * @return the undo depth
+     */
+    public int getUndoDepth() {
+        return current.depth;
+    }
+
+    /**
+     * Gets the number of moves that can be redone.
+     *
+     * @return the redo depth
+     */
+    public int getRedoDepth() {
+        return redoStack.size();
+    }
+
+    /**
+     * Stops recording. The engine keeps its current state.
+     */
+    public void detach() {
+        engine.removeMoveListener(this);
+        trackedMap.removeCellChangeListener(this);
+    }
+
+    /**
+     * Switches the cell listener to a new map and captures its grid.
+     */
+    private void track(GameMap map) {
+        if (trackedMap != null) {
+            trackedMap.removeCellChangeListener(this);
+        }
+        trackedMap = map;
+        pending = PersistentGrid.of(map.getGrid());
+        map.addCellChangeListener(this);
+    }
+
+    /**
+     * Makes a turn current and brings the engine in line with it.
+     */
+    private void moveTo(Turn target) {
+        Turn from = current;
+        current = target;
+        if (target.levelIndex != from.levelIndex) {
+            // Different level: rebuild the map and start tracking it
+            engine.restore(new EngineSnapshot(engine.getDifficulty(), engine.getSeed(), target.grid.toArray(),
+                target.generationAttempts, target.position, target.hp, target.score, target.steps, target.level,
+                target.gameOver, target.statusMessage, target.rng, target.turnRandomState));
+            track(engine.getGameMap());
+            pending = target.grid;
+            return;
+        }
+
+        // Same level: change only the tiles in rows the two turns do not share
+        applying = true;
+        try {
+            int size = target.grid.size();
+            for (int row = 0; row < size; row++) {
+                if (from.grid.sharesRow(target.grid, row)) {
+                    continue;
+                }
+                for (int col = 0; col < size; col++) {
+                    Cell cell = target.grid.get(row, col);
+                    if (from.grid.get(row, col) != cell) {
+                        trackedMap.setCell(Position.of(row, col), GameMap.restoredCell(cell));
+                    }
+                }
+            }
+        } finally {
+            applying = false;
+        }
+        pending = target.grid;
+        engine.getPlayer().restore(target.position, target.hp, target.score, target.steps, target.level);
+        Random rng = target.rng == from.rng ? engine.getMapRandom() : CopyableRandom.copyOf(target.rng);
+        engine.restoreProgress(target.gameOver, target.statusMessage, rng, target.turnRandomState);
+    }
+}
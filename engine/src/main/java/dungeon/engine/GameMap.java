@@ -0,0 +1,495 @@
+package dungeon.engine;
+
+import dungeon.engine.cells.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Represents the map of a dungeon level.
+ * The map is a 10×10 grid of cells that is procedurally generated
+ * based on a difficulty level and random seed.
+ */
+public class GameMap {
+    // Constants for map generation
+    private static final int MAP_SIZE = 10;
+    private static final int GOLD_COUNT = 5;
+    private static final int TRAP_COUNT = 5;
+    private static final int HEALTH_POTION_COUNT = 2;
+    private static final int MELEE_MUTANT_COUNT = 3;
+    
+    /** The most wall layouts tried before falling back to a map without walls. */
+    public static final int MAX_GENERATION_ATTEMPTS = 16;
+    
+    /**
+     * The version of the generation algorithm. Change it whenever the same
+     * seed would produce a different map, so cached levels are not reused.
+     */
+    public static final int GENERATOR_VERSION = 1;
+    
+    // The grid of cells
+    private Cell[][] grid;
+    
+    // The difficulty level
+    private int difficulty;
+    
+    // The random number generator used for map generation
+    private Random rng;
+    
+    // The number of wall layouts generated before the ladder was reachable
+    private int generationAttempts;
+    
+    // Bitboard layers kept in sync with the grid
+    private MapBitboards bitboards;
+    
+    // Tiles each ranged mutant can shoot at, kept in sync with the bitboards
+    private ThreatMasks threatMasks;
+    
+    // Expected damage per tile, kept in sync by the threat masks and setCell
+    private DangerMap dangerMap;
+    
+    // Zobrist hash of the tile contents, updated by setCell
+    private long zobristHash;
+    
+    // Incremented every time a cell is replaced through setCell
+    private long version;
+    
+    // Listeners notified when a cell is replaced
+    private final List<CellChangeListener> listeners = new ArrayList<>();
+    
+    /**
+     * Creates a new dungeon map with the specified difficulty.
+     *
+     * @param difficulty the difficulty level (affects number of ranged mutants)
+     * @param rng the random number generator to use
+     */
+    public GameMap(int difficulty, Random rng) {
+        this.difficulty = difficulty;
+        this.rng = rng;
+        this.grid = new Cell[MAP_SIZE][MAP_SIZE];
+        
+        generateMap();
+        this.bitboards = new MapBitboards(grid);
+        this.dangerMap = new DangerMap(bitboards.getTraps());
+        this.threatMasks = new ThreatMasks(bitboards, dangerMap);
+        this.zobristHash = computeZobristHash();
+    }
+    
+    /**
+     * Creates a map holding the given cells, without generating anything.
+     * The cells are copied into a new grid, so the array passed in is not kept.
+     * Stateless cells are shared; items get fresh instances, since the engine
+     * the cells came from may since have collected them.
+     *
+     * @param difficulty the difficulty level the map was generated at
+     * @param cells the cells in row-major order
+     * @param generationAttempts the number of wall layouts it took to generate
+     */
+    GameMap(int difficulty, Cell[] cells, int generationAttempts) {
+        this.difficulty = difficulty;
+        this.generationAttempts = generationAttempts;
+        this.grid = new Cell[MAP_SIZE][MAP_SIZE];
+        for (int row = 0; row < MAP_SIZE; row++) {
+            for (int col = 0; col < MAP_SIZE; col++) {
+                grid[row][col] = restoredCell(cells[row * MAP_SIZE + col]);
+            }
+        }
+        this.bitboards = new MapBitboards(grid);
+        this.dangerMap = new DangerMap(bitboards.getTraps());
+        this.threatMasks = new ThreatMasks(bitboards, dangerMap);
+        this.zobristHash = computeZobristHash();
+    }
+    
+    /**
+     * Creates a map with an empty grid, for {@link #copyFrom} to fill in.
+     */
+    GameMap() {
+        this.grid = new Cell[MAP_SIZE][MAP_SIZE];
+        this.bitboards = new MapBitboards(grid);
+        this.dangerMap = new DangerMap(bitboards.getTraps());
+        this.threatMasks = new ThreatMasks(bitboards, dangerMap);
+    }
+    
+    /**
+     * Overwrites this map with the contents of another, reusing this map's
+     * grid, bitboards, threat masks and danger map instead of allocating.
+     * Stateless cells are shared with the source. Items are not, since
+     * collecting one marks it; an item already on the same tile of this map
+     * is kept, as only this map can have collected it, and anything else gets
+     * a fresh instance. Listeners are not notified, but the version changes.
+     *
+     * @param source the map to copy
+     */
+    void copyFrom(GameMap source) {
+        if (source == this) {
+            return;
+        }
+        this.difficulty = source.difficulty;
+        this.generationAttempts = source.generationAttempts;
+        for (int row = 0; row < MAP_SIZE; row++) {
+            Cell[] from = source.grid[row];
+            Cell[] to = grid[row];
+            for (int col = 0; col < MAP_SIZE; col++) {
+                Cell cell = from[col];
+                if (cell instanceof GoldCell || cell instanceof HealthPotionCell) {
+                    Cell pooled = to[col];
+                    cell = pooled != cell && pooled != null && pooled.getClass() == cell.getClass()
+                        && pooled.spritePath().equals(cell.spritePath()) ? pooled : restoredCell(cell);
+                }
+                to[col] = cell;
+            }
+        }
+        bitboards.copyFrom(source.bitboards);
+        dangerMap.copyFrom(source.dangerMap);
+        threatMasks.copyFrom(source.threatMasks);
+        zobristHash = source.zobristHash;
+        version++;
+    }
+    
+    /**
+     * Gets a cell to put back into a restored grid.
+     * Items remember being collected, so they are replaced by fresh instances;
+     * every other cell is stateless and is returned as it is.
+     *
+     * @param cell the recorded cell
+     * @return a cell that behaves as the recorded one did when it was recorded
+     */
+    static Cell restoredCell(Cell cell) {
+        if (cell instanceof GoldCell) {
+            return new GoldCell(cell.spritePath());
+        }
+        if (cell instanceof HealthPotionCell) {
+            return new HealthPotionCell(cell.spritePath());
+        }
+        return cell;
+    }
+    
+    /**
+     * Generates the dungeon map.
+     * Only walls block movement, so the wall layout is checked before any
+     * items are placed. If the ladder cannot be reached from the entry, the
+     * layout is regenerated from a seed derived from the random number
+     * generator, which keeps generation reproducible for a given seed.
+     */
+    private void generateMap() {
+        generationAttempts = 0;
+        boolean reachable = false;
+        while (!reachable && generationAttempts < MAX_GENERATION_ATTEMPTS) {
+            if (generationAttempts > 0) {
+                rng = new Random(rng.nextLong());
+            }
+            generationAttempts++;
+            
+            clearGrid();
+            
+            // Place walls to create obstacles
+            placeWalls();
+            
+            reachable = isLadderReachable();
+        }
+        
+        // Give up on walls rather than produce an unwinnable level
+        if (!reachable) {
+            clearGrid();
+        }
+        
+        // Place gold
+        placeRandomCells(GOLD_COUNT, GoldCell::new);
+        
+        // Place traps
+        placeRandomCells(TRAP_COUNT, TrapCell::new);
+        
+        // Place health potions
+        placeRandomCells(HEALTH_POTION_COUNT, HealthPotionCell::new);
+        
+        // Place melee mutants
+        placeRandomCells(MELEE_MUTANT_COUNT, MeleeMutantCell::new);
+        
+        // Place ranged mutants based on difficulty
+        placeRandomCells(difficulty, RangedMutantCell::new);
+    }
+    
+    /**
+     * Resets the grid to empty cells with the entry and ladder in place.
+     */
+    private void clearGrid() {
+        for (int row = 0; row < MAP_SIZE; row++) {
+            for (int col = 0; col < MAP_SIZE; col++) {
+                grid[row][col] = new EmptyCell();
+            }
+        }
+        
+        // Place entry at top-left
+        grid[0][0] = new EntryCell();
+        
+        // Place ladder at bottom-right
+        grid[MAP_SIZE - 1][MAP_SIZE - 1] = new LadderCell();
+    }
+    
+    /**
+     * Checks if the ladder can be reached from the entry by flood filling
+     * a bitset of the tiles that are not walls.
+     *
+     * @return true if there is a path from the entry to the ladder
+     */
+    private boolean isLadderReachable() {
+        Bitboard open = new Bitboard(MAP_SIZE);
+        for (int row = 0; row < MAP_SIZE; row++) {
+            for (int col = 0; col < MAP_SIZE; col++) {
+                open.set(row, col, !(grid[row][col] instanceof WallCell));
+            }
+        }
+        return open.floodFrom(0, 0).get(MAP_SIZE - 1, MAP_SIZE - 1);
+    }
+    
+    /**
+     * Places walls in the map to create obstacles.
+     */
+    private void placeWalls() {
+        // Create a few walls along the border with lots of gaps
+        for (int i = 2; i < MAP_SIZE - 2; i += 2) {
+            if (rng.nextDouble() < 0.4) { // 40% chance to place a wall
+                // Top and bottom walls - just a few
+                grid[2][i] = new WallCell();
+                grid[MAP_SIZE - 3][i] = new WallCell();
+                
+                // Left and right walls - just a few
+                grid[i][2] = new WallCell();
+                grid[i][MAP_SIZE - 3] = new WallCell();
+            }
+        }
+        
+        // Add some internal walls
+        // Add just a few internal walls based on difficulty
+        int internalWalls = 3 + difficulty; // Much fewer walls, just enough to create some obstacles
+        for (int i = 0; i < internalWalls; i++) {
+            int row = 2 + rng.nextInt(MAP_SIZE - 4); // Avoid the border
+            int col = 2 + rng.nextInt(MAP_SIZE - 4);
+            grid[row][col] = new WallCell();
+        }
+    }
+    
+    /**
+     * Places a number of cells of the given type at random empty locations.
+     *
+     * @param count the number of cells to place
+     * @param cellSupplier a supplier for the cell type to place
+     */
+    private void placeRandomCells(int count, CellSupplier cellSupplier) {
+        for (int i = 0; i < count; i++) {
+            Position pos = findRandomEmptyPosition();
+            if (pos != null) {
+                grid[pos.getRow()][pos.getCol()] = cellSupplier.get();
+            }
+        }
+    }
+    
+    /**
+     * Finds a random empty position in the grid.
+     *
+     * @return a random position that contains an empty cell, or null if none are available
+     */
+    private Position findRandomEmptyPosition() {
+        // Count the number of empty cells
+        int emptyCount = 0;
+        for (int row = 0; row < MAP_SIZE; row++) {
+            for (int col = 0; col < MAP_SIZE; col++) {
+                if (grid[row][col] instanceof EmptyCell) {
+                    emptyCount++;
+                }
+            }
+        }
+        
+        if (emptyCount == 0) {
+            return null; // No empty cells
+        }
+        
+        // Select a random empty cell
+        int targetIndex = rng.nextInt(emptyCount);
+        int currentIndex = 0;
+        
+        for (int row = 0; row < MAP_SIZE; row++) {
+            for (int col = 0; col < MAP_SIZE; col++) {
+                if (grid[row][col] instanceof EmptyCell) {
+                    if (currentIndex == targetIndex) {
+                        return new Position(row, col);
+                    }
+                    currentIndex++;
+                }
+            }
+        }
+        
+        return null; // Should never happen
+    }
+    
+    /**
+     * Gets the cell at the specified position.
+     *
+     * @param position the position to check
+     * @return the cell at that position, or null if the position is out of bounds
+     */
+    public Cell cellAt(Position position) {
+        if (position == null || 
+            position.getRow() < 0 || position.getRow() >= MAP_SIZE ||
+            position.getCol() < 0 || position.getCol() >= MAP_SIZE) {
+            return null;
+        }
+        
+        return grid[position.getRow()][position.getCol()];
+    }
+    
+    /**
+     * Gets the size of the map.
+     *
+     * @return the size of the map (both width and height)
+     */
+    public int getSize() {
+        return MAP_SIZE;
+    }
+    
+    /**
+     * Gets the entire grid of cells.
+     *
+     * @return the 2D array of cells
+     */
+    public Cell[][] getGrid() {
+        return grid;
+    }
+    
+    /**
+     * Sets a cell at the specified position.
+     * Used for replacing cells when items are consumed or enemies defeated.
+     * All changes to the grid after generation should go through this method
+     * so that the map version and listeners stay in sync.
+     *
+     * @param position the position of the cell to replace
+     * @param cell the new cell to place at that position
+     * @return true if the cell was successfully replaced, false otherwise
+     */
+    public boolean setCell(Position position, Cell cell) {
+        if (position == null || 
+            position.getRow() < 0 || position.getRow() >= MAP_SIZE ||
+            position.getCol() < 0 || position.getCol() >= MAP_SIZE) {
+            return false;
+        }
+        
+        Cell oldCell = grid[position.getRow()][position.getCol()];
+        grid[position.getRow()][position.getCol()] = cell;
+        bitboards.update(position.getRow(), position.getCol(), oldCell, cell);
+        threatMasks.update(position.getRow(), position.getCol(),
+            (oldCell instanceof WallCell) != (cell instanceof WallCell));
+        dangerMap.setTrap(position.getRow(), position.getCol(), cell instanceof TrapCell);
+        int tile = position.getRow() * MAP_SIZE + position.getCol();
+        zobristHash ^= Zobrist.tileKey(tile, TileType.of(oldCell)) ^ Zobrist.tileKey(tile, TileType.of(cell));
+        version++;
+        
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).cellChanged(position, oldCell, cell);
+        }
+        return true;
+    }
+    
+    /**
+     * Gets the bitboard layers of the map.
+     * They are updated by {@link #setCell}; writes made directly into
+     * {@link #getGrid()} are not reflected.
+     *
+     * @return the map's bitboards
+     */
+    public MapBitboards getBitboards() {
+        return bitboards;
+    }
+    
+    /**
+     * Gets the ranged mutant threat masks of the map.
+     * Like the bitboards, they only follow changes made through {@link #setCell}.
+     *
+     * @return the map's threat masks
+     */
+    public ThreatMasks getThreatMasks() {
+        return threatMasks;
+    }
+    
+    /**
+     * Gets the expected damage for each tile of the map.
+     * Like the threat masks, it only follows changes made through {@link #setCell}.
+     *
+     * @return the map's danger map
+     */
+    public DangerMap getDangerMap() {
+        return dangerMap;
+    }
+    
+    /**
+     * Gets the Zobrist hash of the tile contents.
+     * It is updated in O(1) by {@link #setCell}.
+     *
+     * @return the 64-bit hash
+     */
+    public long getZobristHash() {
+        return zobristHash;
+    }
+    
+    /**
+     * Computes the Zobrist hash of the tile contents from scratch.
+     * This matches {@link #getZobristHash()} unless the grid was changed
+     * without going through {@link #setCell}.
+     *
+     * @return the 64-bit hash
+     */
+    public long computeZobristHash() {
+        long hash = 0;
+        for (int row = 0; row < MAP_SIZE; row++) {
+            for (int col = 0; col < MAP_SIZE; col++) {
+                hash ^= Zobrist.tileKey(row * MAP_SIZE + col, TileType.of(grid[row][col]));
+            }
+        }
+        return hash;
+    }
+    
+    /**
+     * Gets the number of wall layouts generated for this map.
+     * This is 1 unless earlier layouts cut the ladder off from the entry.
+     *
+     * @return the number of generation attempts
+     */
+    public int getGenerationAttempts() {
+        return generationAttempts;
+    }
+    
+    /**
+     * Gets the version of the map, which changes every time a cell is replaced.
+     * Derived data computed for one version is stale once the version changes.
+     *
+     * @return the current map version
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    /**
+     * Registers a listener to be notified when a cell is replaced.
+     *
+     * @param listener the listener to add
+     */
+    public void addCellChangeListener(CellChangeListener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Removes a previously registered cell change listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeCellChangeListener(CellChangeListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * A functional interface for cell creation.
+     */
+    @FunctionalInterface
+    private interface CellSupplier {
+        Cell get();
+    }
+}
@@ -0,0 +1,176 @@
+package dungeon.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, thread-safe cache of generated levels, so that restoring saves,
+ * opening replays and replaying the same seeds with different agents do not
+ * generate the same maps over and over.
+ * Templates are keyed by generator version, seed, difficulty and level, and
+ * the least recently used template is evicted once the cache is full.
+ * Engines created with a cache copy their maps from the shared templates.
+ */
+public class LevelCache {
+    /** The capacity of the {@linkplain #getShared() shared cache}. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final LevelCache SHARED = new LevelCache(DEFAULT_CAPACITY);
+
+    /**
+     * Identifies one generated level.
+     */
+    private static final class Key {
+        final int generatorVersion;
+        final long seed;
+        final int difficulty;
+        final int level;
+
+        Key(int generatorVersion, long seed, int difficulty, int level) {
+            this.generatorVersion = generatorVersion;
+            this.seed = seed;
+            this.difficulty = difficulty;
+            this.level = level;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return generatorVersion == other.generatorVersion && seed == other.seed
+                && difficulty == other.difficulty && level == other.level;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Long.hashCode(seed);
+            hash = 31 * hash + difficulty;
+            hash = 31 * hash + level;
+            return 31 * hash + generatorVersion;
+        }
+    }
+
+    private final int capacity;
+    private final LinkedHashMap<Key, LevelTemplate> templates;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity the most templates to keep
+     */
+    public LevelCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.templates = new LinkedHashMap<Key, LevelTemplate>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, LevelTemplate> eldest) {
+                if (size() > LevelCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the cache shared by the engine's own loaders, such as saves and replays.
+     *
+     * @return the shared cache
+     */
+    public static LevelCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Gets a level of a seeded game, generating it (and the levels before it) on a miss.
+     * Levels are generated outside the lock, so two threads missing on the
+     * same level at once may both generate it; they get equal templates.
+     *
+     * @param seed the game seed
+     * @param difficulty the difficulty level
+     * @param level the dungeon level, starting at 1
+     * @return the level's template
+     */
+    public LevelTemplate get(long seed, int difficulty, int level) {
+        if (level < 1) {
+            throw new IllegalArgumentException("Levels start at 1");
+        }
+        Key key = new Key(GameMap.GENERATOR_VERSION, seed, difficulty, level);
+        synchronized (this) {
+            LevelTemplate template = templates.get(key);
+            if (template != null) {
+                hits++;
+                return template;
+            }
+            misses++;
+        }
+
+        // Each level is generated from where the one before left the map generator
+        CopyableRandom rng = level == 1 ? new CopyableRandom(seed) : get(seed, difficulty, level - 1).copyRngAfter();
+        LevelTemplate template = new LevelTemplate(seed, difficulty, level, rng);
+        synchronized (this) {
+            LevelTemplate raced = templates.putIfAbsent(key, template);
+            return raced != null ? raced : template;
+        }
+    }
+
+    /**
+     * Gets the number of lookups that found a template.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that had to generate a level.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of templates dropped to stay within capacity.
+     *
+     * @return the eviction count
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the number of templates held.
+     *
+     * @return the cache size
+     */
+    public synchronized int size() {
+        return templates.size();
+    }
+
+    /**
+     * Gets the most templates the cache keeps.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Drops every template. The counters are kept.
+     */
+    public synchronized void clear() {
+        templates.clear();
+    }
+}
@@ -0,0 +1,101 @@
+package dungeon.engine;
+
+/**
+ * A generated dungeon level that many engines can share.
+ * The template keeps a map that is never changed or handed out; each engine
+ * gets its own map copied from it, which shares the template's stateless
+ * cells and threat masks and only has its own grid, bitboards, danger map
+ * and items. It also records the map generator's state before and after
+ * generating, which is what the next level is generated from.
+ */
+public final class LevelTemplate {
+    private final long seed;
+    private final int difficulty;
+    private final int level;
+    private final GameMap prototype;
+    private final long rngStateBefore;
+    private final CopyableRandom rngAfter;
+
+    /**
+     * Generates a level.
+     *
+     * @param seed the game seed
+     * @param difficulty the difficulty level
+     * @param level the dungeon level
+     * @param rng the map generator as it was before the level was generated; it is not changed
+     */
+    LevelTemplate(long seed, int difficulty, int level, CopyableRandom rng) {
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.level = level;
+        this.rngStateBefore = rng.getState();
+        this.rngAfter = rng.copy();
+        this.prototype = new GameMap(difficulty, rngAfter);
+    }
+
+    /**
+     * Creates a map for one engine to play on.
+     *
+     * @return a map with the template's contents
+     */
+    GameMap instantiate() {
+        GameMap map = new GameMap();
+        map.copyFrom(prototype);
+        return map;
+    }
+
+    /**
+     * Gets the state the map generator had before generating this level.
+     * An engine whose generator is in this state would generate this level.
+     *
+     * @return the generator state
+     */
+    long getRngStateBefore() {
+        return rngStateBefore;
+    }
+
+    /**
+     * Gets a copy of the map generator as generating this level left it.
+     *
+     * @return the generator to continue with
+     */
+    CopyableRandom copyRngAfter() {
+        return rngAfter.copy();
+    }
+
+    /**
+     * Gets the seed of the game the level belongs to.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the difficulty level the level was generated at.
+     *
+     * @return the difficulty
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Gets the dungeon level, starting at 1.
+     *
+     * @return the level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the Zobrist hash of the level's tiles.
+     *
+     * @return the 64-bit hash
+     */
+    public long getZobristHash() {
+        return prototype.getZobristHash();
+    }
+}
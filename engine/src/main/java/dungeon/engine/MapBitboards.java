@@ -0,0 +1,196 @@
+package dungeon.engine;
+
+import dungeon.engine.cells.Cell;
+import dungeon.engine.cells.TileType;
+
+/**
+ * Bitboard layers for a {@link GameMap}: one set of tiles each for walls,
+ * traps, gold, health potions, melee mutants and ranged mutants.
+ * The map keeps its layers in sync through {@link GameMap#setCell}, so
+ * the boards returned here are read-only views of the live layers.
+ */
+public class MapBitboards {
+    private final Bitboard walls;
+    private final Bitboard traps;
+    private final Bitboard gold;
+    private final Bitboard potions;
+    private final Bitboard meleeMutants;
+    private final Bitboard rangedMutants;
+
+    // Read-only views of the layers, handed out to callers
+    private final Bitboard wallsView;
+    private final Bitboard trapsView;
+    private final Bitboard goldView;
+    private final Bitboard potionsView;
+    private final Bitboard meleeMutantsView;
+    private final Bitboard rangedMutantsView;
+
+    /**
+     * Builds the layers from the current contents of a grid.
+     *
+     * @param grid the square grid of cells
+     */
+    MapBitboards(Cell[][] grid) {
+        int size = grid.length;
+        walls = new Bitboard(size);
+        traps = new Bitboard(size);
+        gold = new Bitboard(size);
+        potions = new Bitboard(size);
+        meleeMutants = new Bitboard(size);
+        rangedMutants = new Bitboard(size);
+        wallsView = walls.readOnlyView();
+        trapsView = traps.readOnlyView();
+        goldView = gold.readOnlyView();
+        potionsView = potions.readOnlyView();
+        meleeMutantsView = meleeMutants.readOnlyView();
+        rangedMutantsView = rangedMutants.readOnlyView();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                update(row, col, null, grid[row][col]);
+            }
+        }
+    }
+
+    /**
+     * Overwrites every layer with the layers of another map of the same size.
+     *
+     * @param other the layers to copy
+     */
+    void copyFrom(MapBitboards other) {
+        walls.copyFrom(other.walls);
+        traps.copyFrom(other.traps);
+        gold.copyFrom(other.gold);
+        potions.copyFrom(other.potions);
+        meleeMutants.copyFrom(other.meleeMutants);
+        rangedMutants.copyFrom(other.rangedMutants);
+    }
+
+    /**
+     * Moves a tile from the old cell's layer to the new cell's layer.
+     *
+     * @param row the row of the tile
+     * @param col the column of the tile
+     * @param oldCell the cell being replaced, or null if there was none
+     * @param newCell the new cell
+     */
+    void update(int row, int col, Cell oldCell, Cell newCell) {
+        Bitboard oldLayer = mutableLayer(TileType.of(oldCell));
+        if (oldLayer != null) {
+            oldLayer.set(row, col, false);
+        }
+        Bitboard newLayer = mutableLayer(TileType.of(newCell));
+        if (newLayer != null) {
+            newLayer.set(row, col, true);
+        }
+    }
+
+    /**
+     * Gets the layer for a tile type.
+     *
+     * @param type the tile type
+     * @return a read-only view of the matching layer, or null for tile types without one
+     */
+    public Bitboard layer(TileType type) {
+        switch (type) {
+            case WALL:
+                return wallsView;
+            case TRAP:
+                return trapsView;
+            case GOLD:
+                return goldView;
+            case HEALTH_POTION:
+                return potionsView;
+            case MELEE_MUTANT:
+                return meleeMutantsView;
+            case RANGED_MUTANT:
+                return rangedMutantsView;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Gets the tiles containing walls.
+     *
+     * @return a read-only view of the wall layer
+     */
+    public Bitboard getWalls() {
+        return wallsView;
+    }
+
+    /**
+     * Gets the tiles containing traps.
+     *
+     * @return a read-only view of the trap layer
+     */
+    public Bitboard getTraps() {
+        return trapsView;
+    }
+
+    /**
+     * Gets the tiles containing gold.
+     *
+     * @return a read-only view of the gold layer
+     */
+    public Bitboard getGold() {
+        return goldView;
+    }
+
+    /**
+     * Gets the tiles containing health potions.
+     *
+     * @return a read-only view of the health potion layer
+     */
+    public Bitboard getPotions() {
+        return potionsView;
+    }
+
+    /**
+     * Gets the tiles containing melee mutants.
+     *
+     * @return a read-only view of the melee mutant layer
+     */
+    public Bitboard getMeleeMutants() {
+        return meleeMutantsView;
+    }
+
+    /**
+     * Gets the tiles containing ranged mutants.
+     *
+     * @return a read-only view of the ranged mutant layer
+     */
+    public Bitboard getRangedMutants() {
+        return rangedMutantsView;
+    }
+
+    /**
+     * Gets the tiles the player can walk on.
+     *
+     * @return a new board of every tile that is not a wall
+     */
+    public Bitboard walkable() {
+        return new Bitboard(walls).invert();
+    }
+
+    /**
+     * Gets the writable layer for a tile type.
+     */
+    private Bitboard mutableLayer(TileType type) {
+        switch (type) {
+            case WALL:
+                return walls;
+            case TRAP:
+                return traps;
+            case GOLD:
+                return gold;
+            case HEALTH_POTION:
+                return potions;
+            case MELEE_MUTANT:
+                return meleeMutants;
+            case RANGED_MUTANT:
+                return rangedMutants;
+            default:
+                return null;
+        }
+    }
+}
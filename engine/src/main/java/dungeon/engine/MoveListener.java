@@ -0,0 +1,15 @@
+package dungeon.engine;
+
+/**
+ * Listener notified after every call to {@link GameEngine#move}.
+ */
+@FunctionalInterface
+public interface MoveListener {
+    /**
+     * Called once the move and everything it triggered have been applied.
+     *
+     * @param direction the direction passed to move, possibly null
+     * @param moved true if the player actually moved
+     */
+    void moveApplied(Direction direction, boolean moved);
+}
@@ -0,0 +1,93 @@
+package dungeon.engine;
+
+import dungeon.engine.cells.Cell;
+
+/**
+ * An immutable grid of cells that shares structure between versions.
+ * Changing a tile copies only that tile's row and the array of rows,
+ * so every version of a level costs memory in proportion to what changed.
+ */
+final class PersistentGrid {
+    private final Cell[][] rows;
+
+    private PersistentGrid(Cell[][] rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Captures the current contents of a grid.
+     *
+     * @param grid the grid to copy
+     * @return the persistent grid
+     */
+    static PersistentGrid of(Cell[][] grid) {
+        Cell[][] rows = new Cell[grid.length][];
+        for (int row = 0; row < grid.length; row++) {
+            rows[row] = grid[row].clone();
+        }
+        return new PersistentGrid(rows);
+    }
+
+    /**
+     * Gets a version of this grid with one tile changed.
+     *
+     * @param row the row of the tile
+     * @param col the column of the tile
+     * @param cell the new cell
+     * @return the new version; this one is unchanged
+     */
+    PersistentGrid with(int row, int col, Cell cell) {
+        if (rows[row][col] == cell) {
+            return this;
+        }
+        Cell[][] newRows = rows.clone();
+        newRows[row] = rows[row].clone();
+        newRows[row][col] = cell;
+        return new PersistentGrid(newRows);
+    }
+
+    /**
+     * Gets a cell.
+     *
+     * @param row the row of the tile
+     * @param col the column of the tile
+     * @return the cell
+     */
+    Cell get(int row, int col) {
+        return rows[row][col];
+    }
+
+    /**
+     * Checks if a row is shared with another version, in which case none of its tiles differ.
+     *
+     * @param other the other version
+     * @param row the row
+     * @return true if both versions hold the same row array
+     */
+    boolean sharesRow(PersistentGrid other, int row) {
+        return rows[row] == other.rows[row];
+    }
+
+    /**
+     * Gets the number of rows, which is also the number of columns.
+     *
+     * @return the grid size
+     */
+    int size() {
+        return rows.length;
+    }
+
+    /**
+     * Copies the cells out in row-major order.
+     *
+     * @return the cells
+     */
+    Cell[] toArray() {
+        int size = rows.length;
+        Cell[] cells = new Cell[size * size];
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(rows[row], 0, cells, row * size, size);
+        }
+        return cells;
+    }
+}
@@ -9,10 +9,11 @@ public class Player {
     private int score; // Player's score
     private int steps; // Number of steps taken
     private int level; // Current dungeon level
+    private long zobristHash; // Hash of position, HP, steps and level
     
     // Constants for HP limits
     private static final int MIN_HP = 0;
-    private static final int MAX_HP = 10;
+    public static final int MAX_HP = 10;
     
     /**
      * Creates a new player at the given position.
@@ -25,6 +26,41 @@ public class Player {
         this.score = 0;
         this.steps = 0;
         this.level = 1;
+        this.zobristHash = Zobrist.positionKey(position) ^ Zobrist.hpKey(hp)
+            ^ Zobrist.stepsKey(steps) ^ Zobrist.levelKey(level);
+    }
+    
+    /**
+     * Puts the player back into a previously recorded state in one go.
+     *
+     * @param position the position
+     * @param hp the hit points
+     * @param score the score
+     * @param steps the steps taken
+     * @param level the dungeon level
+     */
+    void restore(Position position, int hp, int score, int steps, int level) {
+        this.position = position;
+        this.hp = hp;
+        this.score = score;
+        this.steps = steps;
+        this.level = level;
+        this.zobristHash = Zobrist.positionKey(position) ^ Zobrist.hpKey(hp)
+            ^ Zobrist.stepsKey(steps) ^ Zobrist.levelKey(level);
+    }
+    
+    /**
+     * Overwrites this player with the state of another.
+     *
+     * @param other the player to copy
+     */
+    void copyFrom(Player other) {
+        this.position = other.position;
+        this.hp = other.hp;
+        this.score = other.score;
+        this.steps = other.steps;
+        this.level = other.level;
+        this.zobristHash = other.zobristHash;
     }
     
     /**
@@ -42,6 +78,7 @@ public class Player {
      * @param position the new position
      */
     public void setPosition(Position position) {
+        zobristHash ^= Zobrist.positionKey(this.position) ^ Zobrist.positionKey(position);
         this.position = position;
     }
     
@@ -77,6 +114,7 @@ public class Player {
      * @param amount the amount to change HP by (positive or negative)
      */
     public void modifyHp(int amount) {
+        int oldHp = hp;
         hp += amount;
         if (hp > MAX_HP) {
             hp = MAX_HP;
@@ -84,6 +122,7 @@ public class Player {
         if (hp < MIN_HP) {
             hp = MIN_HP;
         }
+        zobristHash ^= Zobrist.hpKey(oldHp) ^ Zobrist.hpKey(hp);
     }
     
     /**
@@ -127,6 +166,7 @@ public class Player {
      * Increments the step counter.
      */
     public void incrementSteps() {
+        zobristHash ^= Zobrist.stepsKey(steps) ^ Zobrist.stepsKey(steps + 1);
         this.steps++;
     }
     
@@ -145,6 +185,17 @@ public class Player {
      * @param level the new level
      */
     public void setLevel(int level) {
+        zobristHash ^= Zobrist.levelKey(this.level) ^ Zobrist.levelKey(level);
         this.level = level;
     }
+    
+    /**
+     * Gets the Zobrist hash of the player's position, HP, steps and level.
+     * It is updated in O(1) whenever one of them changes; score is not included.
+     *
+     * @return the 64-bit hash
+     */
+    public long getZobristHash() {
+        return zobristHash;
+    }
 }
\ No newline at end of file
@@ -16,6 +16,18 @@ public class Position implements Serializable {
     // The bounds of the game grid
     private static final int MIN_BOUND = 0;
     private static final int MAX_BOUND = 9;
+    
+    // One shared instance per tile, so moving around allocates nothing
+    private static final int SIZE = MAX_BOUND - MIN_BOUND + 1;
+    private static final Position[] CACHE = new Position[SIZE * SIZE];
+    
+    static {
+        for (int row = MIN_BOUND; row <= MAX_BOUND; row++) {
+            for (int col = MIN_BOUND; col <= MAX_BOUND; col++) {
+                CACHE[(row - MIN_BOUND) * SIZE + col - MIN_BOUND] = new Position(row, col);
+            }
+        }
+    }
 
     /**
      * Creates a new Position with the given coordinates.
@@ -51,6 +63,23 @@ public class Position implements Serializable {
         return col;
     }
 
+    /**
+     * Gets the shared Position for the given coordinates.
+     * Positions are immutable, so this can be used instead of the constructor
+     * wherever a position is needed without allocating.
+     *
+     * @param row the row coordinate (0-9)
+     * @param col the column coordinate (0-9)
+     * @return the shared position
+     * @throws IllegalArgumentException if coordinates are out of bounds
+     */
+    public static Position of(int row, int col) {
+        if (!isInBounds(row, col)) {
+            return new Position(row, col); // Throws with the usual message
+        }
+        return CACHE[(row - MIN_BOUND) * SIZE + col - MIN_BOUND];
+    }
+    
     /**
      * Creates a new Position by adding the offsets of the given Direction to this Position.
      * Returns null if the resulting position would be out of bounds.
@@ -67,7 +96,7 @@ public class Position implements Serializable {
         int newCol = col + direction.getDCol();
         
         if (isInBounds(newRow, newCol)) {
-            return new Position(newRow, newCol);
+            return of(newRow, newCol);
         } else {
             return null;
         }
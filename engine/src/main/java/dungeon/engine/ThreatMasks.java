@@ -0,0 +1,183 @@
+package dungeon.engine;
+
+/**
+ * The tiles each ranged mutant on a {@link GameMap} can shoot at, plus their union.
+ * A ranged mutant hits tiles exactly two steps away in a cardinal direction
+ * when the tile in between is not a wall. The map updates the masks in
+ * {@link GameMap#setCell} whenever a ranged mutant or a wall changes, so
+ * checking whether the player is in danger is a single bit lookup.
+ */
+public class ThreatMasks {
+    private static final int[][] DIRECTIONS = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+
+    private final int size;
+    private final MapBitboards bitboards;
+    private final DangerMap danger;
+
+    // The tiles each ranged mutant can hit, indexed by the mutant's tile; null where there is no mutant.
+    // A mask is replaced rather than changed and is stored read-only, so copies of the map and callers can share them
+    private final Bitboard[] masks;
+
+    // Every tile at least one ranged mutant can hit, and the read-only view handed out to callers
+    private final Bitboard union;
+    private final Bitboard unionView;
+
+    /**
+     * Computes the masks for every ranged mutant on the map.
+     *
+     * @param bitboards the map's layers, which must already be up to date
+     * @param danger the danger map to keep in step with the masks
+     */
+    ThreatMasks(MapBitboards bitboards, DangerMap danger) {
+        this.bitboards = bitboards;
+        this.danger = danger;
+        this.size = bitboards.getWalls().getSize();
+        this.masks = new Bitboard[size * size];
+        this.union = new Bitboard(size);
+        this.unionView = union.readOnlyView();
+
+        Bitboard ranged = bitboards.getRangedMutants();
+        for (int tile = ranged.nextSetBit(0); tile >= 0; tile = ranged.nextSetBit(tile + 1)) {
+            setMask(tile, computeMask(tile));
+        }
+        rebuildUnion();
+    }
+
+    /**
+     * Updates the masks after a cell has been replaced.
+     * Only a ranged mutant appearing or disappearing, or a wall appearing or
+     * disappearing next to a ranged mutant, changes anything.
+     *
+     * @param row the row of the replaced cell
+     * @param col the column of the replaced cell
+     * @param wallChanged true if the tile became or stopped being a wall
+     */
+    void update(int row, int col, boolean wallChanged) {
+        int tile = row * size + col;
+        boolean changed = false;
+
+        boolean isMutant = bitboards.getRangedMutants().get(row, col);
+        if (isMutant != (masks[tile] != null)) {
+            setMask(tile, isMutant ? computeMask(tile) : null);
+            changed = true;
+        }
+
+        // A wall here can block or unblock the mutants on either side of it
+        if (wallChanged) {
+            for (int[] direction : DIRECTIONS) {
+                int mutantRow = row + direction[0];
+                int mutantCol = col + direction[1];
+                if (inBounds(mutantRow, mutantCol) && masks[mutantRow * size + mutantCol] != null) {
+                    setMask(mutantRow * size + mutantCol, computeMask(mutantRow * size + mutantCol));
+                    changed = true;
+                }
+            }
+        }
+
+        if (changed) {
+            rebuildUnion();
+        }
+    }
+
+    /**
+     * Overwrites these masks with those of another map of the same size.
+     * The per-mutant masks are shared; only the union is copied.
+     * The danger map is not touched, since the map copies it separately.
+     *
+     * @param other the masks to copy
+     */
+    void copyFrom(ThreatMasks other) {
+        System.arraycopy(other.masks, 0, masks, 0, masks.length);
+        union.copyFrom(other.union);
+    }
+
+    /**
+     * Checks if any ranged mutant can shoot at a tile.
+     *
+     * @param row the row of the tile
+     * @param col the column of the tile
+     * @return true if the tile is in the union threat mask
+     */
+    public boolean isThreatened(int row, int col) {
+        return union.get(row, col);
+    }
+
+    /**
+     * Checks if the ranged mutant on one tile can shoot at another.
+     *
+     * @param mutantTile the row-major index of the mutant's tile
+     * @param row the row of the target tile
+     * @param col the column of the target tile
+     * @return true if there is a ranged mutant on the tile and it can hit the target
+     */
+    public boolean canHit(int mutantTile, int row, int col) {
+        Bitboard mask = masks[mutantTile];
+        return mask != null && mask.get(row, col);
+    }
+
+    /**
+     * Gets the tiles the ranged mutant on a tile can shoot at.
+     *
+     * @param row the row of the mutant
+     * @param col the column of the mutant
+     * @return the mutant's read-only threat mask, or null if there is no ranged mutant there
+     */
+    public Bitboard getMask(int row, int col) {
+        return masks[row * size + col];
+    }
+
+    /**
+     * Gets every tile at least one ranged mutant can shoot at.
+     *
+     * @return a read-only view of the union threat mask
+     */
+    public Bitboard getUnion() {
+        return unionView;
+    }
+
+    /**
+     * Replaces a mutant's mask and moves its contribution in the danger map.
+     */
+    private void setMask(int tile, Bitboard mask) {
+        if (masks[tile] != null) {
+            danger.addShooter(masks[tile], -1);
+        }
+        masks[tile] = mask;
+        if (mask != null) {
+            danger.addShooter(mask, 1);
+        }
+    }
+
+    /**
+     * Computes the tiles a mutant on a tile can hit.
+     */
+    private Bitboard computeMask(int tile) {
+        Bitboard walls = bitboards.getWalls();
+        Bitboard mask = new Bitboard(size);
+        int row = tile / size;
+        int col = tile % size;
+        for (int[] direction : DIRECTIONS) {
+            int targetRow = row + 2 * direction[0];
+            int targetCol = col + 2 * direction[1];
+            if (inBounds(targetRow, targetCol) && !walls.get(row + direction[0], col + direction[1])) {
+                mask.set(targetRow, targetCol, true);
+            }
+        }
+        return mask.readOnlyView();
+    }
+
+    /**
+     * Recomputes the union from the per-mutant masks.
+     */
+    private void rebuildUnion() {
+        union.clear();
+        Bitboard ranged = bitboards.getRangedMutants();
+        for (int tile = ranged.nextSetBit(0); tile >= 0; tile = ranged.nextSetBit(tile + 1)) {
+            union.or(masks[tile]);
+        }
+    }
+
+    private boolean inBounds(int row, int col) {
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+}
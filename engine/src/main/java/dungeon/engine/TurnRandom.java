@@ -0,0 +1,70 @@
+package dungeon.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The per-engine source of in-game randomness, such as whether a ranged
+ * mutant's shot hits. It uses the SplitMix64 algorithm behind
+ * {@link java.util.SplittableRandom}, but its state is a single long that can
+ * be read, restored and copied, so engine copies and replays stay in step.
+ * Each engine owns one, so parallel games share no state.
+ */
+public final class TurnRandom implements RandomGenerator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /**
+     * Creates a generator with the given seed.
+     *
+     * @param seed the initial state
+     */
+    public TurnRandom(long seed) {
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        long z = state;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Creates a new generator seeded from this one, for an independent stream.
+     *
+     * @return the new generator
+     */
+    public TurnRandom split() {
+        return new TurnRandom(nextLong());
+    }
+
+    /**
+     * Creates a generator in the same state, which will produce the same numbers.
+     *
+     * @return the copy
+     */
+    public TurnRandom copy() {
+        return new TurnRandom(state);
+    }
+
+    /**
+     * Gets the generator's state.
+     *
+     * @return the state
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Restores a state previously returned by {@link #getState()}.
+     *
+     * @param state the state
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+}
@@ -0,0 +1,120 @@
+package dungeon.engine;
+
+import dungeon.engine.cells.TileType;
+
+/**
+ * Random 64-bit keys for Zobrist hashing of game state.
+ * A state's hash is the XOR of one key per feature (each tile's contents,
+ * the player's position, HP, steps and level), so changing one feature
+ * updates the hash in O(1) by XORing out the old key and XORing in the new.
+ * Keys come from a fixed seed, so hashes are stable across runs.
+ */
+public final class Zobrist {
+    // Tables cover the usual ranges; anything outside falls back to mixing
+    private static final int TILES = 10 * 10;
+    private static final int STEPS = 128;
+    private static final int LEVELS = 8;
+
+    private static final long[][] TILE_KEYS = new long[TILES][TileType.values().length];
+    private static final long[] POSITION_KEYS = new long[TILES];
+    private static final long[] HP_KEYS = new long[Player.MAX_HP + 1];
+    private static final long[] STEP_KEYS = new long[STEPS];
+    private static final long[] LEVEL_KEYS = new long[LEVELS];
+
+    // Distinguishes the features when falling back to mixing
+    private static final long TILE_FEATURE = 1;
+    private static final long POSITION_FEATURE = 2;
+    private static final long HP_FEATURE = 3;
+    private static final long STEP_FEATURE = 4;
+    private static final long LEVEL_FEATURE = 5;
+
+    static {
+        for (int tile = 0; tile < TILES; tile++) {
+            for (TileType type : TileType.values()) {
+                TILE_KEYS[tile][type.ordinal()] = mix(TILE_FEATURE, tile * 16L + type.ordinal());
+            }
+            POSITION_KEYS[tile] = mix(POSITION_FEATURE, tile);
+        }
+        for (int hp = 0; hp < HP_KEYS.length; hp++) {
+            HP_KEYS[hp] = mix(HP_FEATURE, hp);
+        }
+        for (int steps = 0; steps < STEPS; steps++) {
+            STEP_KEYS[steps] = mix(STEP_FEATURE, steps);
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            LEVEL_KEYS[level] = mix(LEVEL_FEATURE, level);
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the key for a tile's contents. Empty tiles have key 0, so an
+     * all-empty board hashes to 0.
+     *
+     * @param tile the row-major tile index
+     * @param type the tile's contents
+     * @return the key
+     */
+    public static long tileKey(int tile, TileType type) {
+        if (type == TileType.EMPTY) {
+            return 0;
+        }
+        return tile < TILES ? TILE_KEYS[tile][type.ordinal()] : mix(TILE_FEATURE, tile * 16L + type.ordinal());
+    }
+
+    /**
+     * Gets the key for the player's position.
+     *
+     * @param position the position, or null
+     * @return the key, or 0 for a null position
+     */
+    public static long positionKey(Position position) {
+        if (position == null) {
+            return 0;
+        }
+        int tile = position.getRow() * 10 + position.getCol();
+        return tile < TILES ? POSITION_KEYS[tile] : mix(POSITION_FEATURE, tile);
+    }
+
+    /**
+     * Gets the key for the player's HP.
+     *
+     * @param hp the hit points
+     * @return the key
+     */
+    public static long hpKey(int hp) {
+        return hp >= 0 && hp < HP_KEYS.length ? HP_KEYS[hp] : mix(HP_FEATURE, hp);
+    }
+
+    /**
+     * Gets the key for the player's step count.
+     *
+     * @param steps the steps taken
+     * @return the key
+     */
+    public static long stepsKey(int steps) {
+        return steps >= 0 && steps < STEPS ? STEP_KEYS[steps] : mix(STEP_FEATURE, steps);
+    }
+
+    /**
+     * Gets the key for the player's level.
+     *
+     * @param level the dungeon level
+     * @return the key
+     */
+    public static long levelKey(int level) {
+        return level >= 0 && level < LEVELS ? LEVEL_KEYS[level] : mix(LEVEL_FEATURE, level);
+    }
+
+    /**
+     * Derives a well-mixed key from a feature and value (SplitMix64 finaliser).
+     */
+    private static long mix(long feature, long value) {
+        long z = feature * 0x9E3779B97F4A7C15L + value * 0xBF58476D1CE4E5B9L + 0x94D049BB133111EBL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,17 @@
+package dungeon.engine.agent;
+
+import dungeon.engine.Direction;
+
+/**
+ * A player that chooses moves from a read-only view of the game.
+ * A new agent is created for every game, so agents may keep per-game state.
+ */
+public interface Agent {
+    /**
+     * Chooses the next move.
+     *
+     * @param view the current state of the game
+     * @return the direction to move, or null to pass
+     */
+    Direction decide(GameView view);
+}
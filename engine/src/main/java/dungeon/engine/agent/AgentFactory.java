@@ -0,0 +1,16 @@
+package dungeon.engine.agent;
+
+/**
+ * Creates a fresh agent for each game.
+ * Factories are shared between threads and must be thread-safe.
+ */
+@FunctionalInterface
+public interface AgentFactory {
+    /**
+     * Creates an agent for one game.
+     *
+     * @param seed the game seed, which agents may use to seed their own randomness
+     * @return a new agent
+     */
+    Agent create(long seed);
+}
@@ -0,0 +1,115 @@
+package dungeon.engine.agent;
+
+import dungeon.engine.DangerMap;
+import dungeon.engine.GameEngine;
+import dungeon.engine.MapBitboards;
+import dungeon.engine.Position;
+import dungeon.engine.ThreatMasks;
+import dungeon.engine.cells.Cell;
+import dungeon.engine.cells.LadderCell;
+import dungeon.engine.cells.TileType;
+import dungeon.engine.path.DistanceField;
+
+/**
+ * A {@link GameView} backed by a live {@link GameEngine}.
+ */
+class EngineView implements GameView {
+    private final GameEngine engine;
+
+    // The ladder of the level it was found on
+    private Position ladder;
+    private int ladderLevel;
+
+    /**
+     * Creates a view of a game.
+     *
+     * @param engine the game to view
+     */
+    EngineView(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public int getSize() {
+        return engine.getSize();
+    }
+
+    @Override
+    public TileType getTile(int row, int col) {
+        return TileType.of(engine.getMap()[row][col]);
+    }
+
+    @Override
+    public Position getLadder() {
+        int level = engine.getPlayer().getLevel();
+        if (ladder == null || ladderLevel != level) {
+            ladder = null;
+            ladderLevel = level;
+            Cell[][] grid = engine.getMap();
+            for (int row = grid.length - 1; row >= 0 && ladder == null; row--) {
+                for (int col = grid[row].length - 1; col >= 0; col--) {
+                    if (grid[row][col] instanceof LadderCell) {
+                        ladder = new Position(row, col);
+                        break;
+                    }
+                }
+            }
+        }
+        return ladder;
+    }
+
+    @Override
+    public Position getPlayerPosition() {
+        return engine.getPlayer().getPosition();
+    }
+
+    @Override
+    public int getHp() {
+        return engine.getPlayer().getHp();
+    }
+
+    @Override
+    public int getScore() {
+        return engine.getPlayer().getScore();
+    }
+
+    @Override
+    public int getSteps() {
+        return engine.getPlayer().getSteps();
+    }
+
+    @Override
+    public int getLevel() {
+        return engine.getPlayer().getLevel();
+    }
+
+    @Override
+    public int getDifficulty() {
+        return engine.getDifficulty();
+    }
+
+    @Override
+    public boolean isGameOver() {
+        return engine.isGameOver();
+    }
+
+    @Override
+    public MapBitboards getBitboards() {
+        return engine.getGameMap().getBitboards();
+    }
+
+    @Override
+    public ThreatMasks getThreatMasks() {
+        return engine.getGameMap().getThreatMasks();
+    }
+
+    @Override
+    public DangerMap getDangerMap() {
+        return engine.getGameMap().getDangerMap();
+    }
+
+    @Override
+    public DistanceField getDistances(Position target) {
+        return engine.getPathFinder().distancesTo(target);
+    }
+}
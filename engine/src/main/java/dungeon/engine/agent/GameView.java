@@ -0,0 +1,132 @@
+package dungeon.engine.agent;
+
+import dungeon.engine.DangerMap;
+import dungeon.engine.GameEngine;
+import dungeon.engine.MapBitboards;
+import dungeon.engine.Position;
+import dungeon.engine.ThreatMasks;
+import dungeon.engine.cells.TileType;
+import dungeon.engine.path.DistanceField;
+
+/**
+ * A read-only view of a game for agents.
+ * The view follows the game live. The bitboards and threat masks it returns
+ * are read-only views of the map's own, so an agent cannot change the game
+ * through them; copy a board before combining it with others.
+ */
+public interface GameView {
+    /**
+     * Creates a view of a game.
+     *
+     * @param engine the game to view
+     * @return a live read-only view
+     */
+    static GameView of(GameEngine engine) {
+        return new EngineView(engine);
+    }
+
+    /**
+     * Gets the width and height of the map.
+     *
+     * @return the map size
+     */
+    int getSize();
+
+    /**
+     * Gets the type of a tile on the current level.
+     *
+     * @param row the row
+     * @param col the column
+     * @return the tile type
+     */
+    TileType getTile(int row, int col);
+
+    /**
+     * Gets the position of the ladder on the current level.
+     *
+     * @return the ladder position, or null if the level has none
+     */
+    Position getLadder();
+
+    /**
+     * Gets the player's position.
+     *
+     * @return the position
+     */
+    Position getPlayerPosition();
+
+    /**
+     * Gets the player's hit points.
+     *
+     * @return the HP
+     */
+    int getHp();
+
+    /**
+     * Gets the player's score.
+     *
+     * @return the score
+     */
+    int getScore();
+
+    /**
+     * Gets the steps the player has taken.
+     *
+     * @return the step count
+     */
+    int getSteps();
+
+    /**
+     * Gets the current level, starting at 1.
+     *
+     * @return the level
+     */
+    int getLevel();
+
+    /**
+     * Gets the difficulty of the game.
+     *
+     * @return the difficulty level
+     */
+    int getDifficulty();
+
+    /**
+     * Checks if the game is over.
+     *
+     * @return true if the game has been won or lost
+     */
+    boolean isGameOver();
+
+    /**
+     * Gets the bitboard layers of the current level.
+     *
+     * @return the bitboards, whose layers are read-only
+     */
+    MapBitboards getBitboards();
+
+    /**
+     * Gets the ranged mutant threat masks of the current level.
+     *
+     * @return the threat masks, whose boards are read-only
+     */
+    ThreatMasks getThreatMasks();
+
+    /**
+     * Gets the expected damage for each tile of the current level.
+     * It is kept up to date as cells change, so agents can score candidate
+     * moves with one lookup each.
+     *
+     * @return the danger map, which has no public way to change it
+     */
+    DangerMap getDangerMap();
+
+    /**
+     * Gets the safe-path distances towards a target on the current level.
+     * The fields come from the engine's own cache, so repeated queries for
+     * the same target are cheap.
+     *
+     * @param target the target position
+     * @return the distance field towards the target
+     */
+    DistanceField getDistances(Position target);
+}
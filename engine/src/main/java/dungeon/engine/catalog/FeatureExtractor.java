@@ -0,0 +1,136 @@
+package dungeon.engine.catalog;
+
+import dungeon.engine.Bitboard;
+import dungeon.engine.Direction;
+import dungeon.engine.GameMap;
+import dungeon.engine.MapBitboards;
+import dungeon.engine.path.DistanceField;
+
+import java.util.Arrays;
+
+/**
+ * Computes the {@link MapFeature} vector of a map.
+ * The walk features use breadth-first searches over the bitboards: one
+ * blocked only by walls, since only walls block movement, and one that also
+ * avoids traps and mutants. The rest are bitboard counts.
+ */
+public final class FeatureExtractor {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private FeatureExtractor() {
+    }
+
+    /**
+     * Computes every feature of a map.
+     *
+     * @param map the map
+     * @return the feature values, indexed by {@link MapFeature#ordinal()}
+     */
+    public static int[] extract(GameMap map) {
+        int[] values = new int[MapFeature.values().length];
+        extract(map, values);
+        return values;
+    }
+
+    /**
+     * Computes every feature of a map into an existing array.
+     *
+     * @param map the map
+     * @param values receives the feature values, indexed by {@link MapFeature#ordinal()}
+     */
+    public static void extract(GameMap map, int[] values) {
+        MapBitboards bitboards = map.getBitboards();
+        int size = map.getSize();
+        int tiles = size * size;
+        Bitboard walls = bitboards.getWalls();
+        Bitboard traps = bitboards.getTraps();
+
+        int[] distance = new int[tiles];
+        int[] fewestTraps = new int[tiles];
+        int[] queue = new int[tiles];
+        int ladder = tiles - 1;
+
+        // Walking around traps and mutants as well as walls
+        Bitboard hazards = new Bitboard(walls).or(traps)
+            .or(bitboards.getMeleeMutants()).or(bitboards.getRangedMutants());
+        search(hazards, traps, size, distance, fewestTraps, queue);
+        int safeDistance = distance[ladder];
+
+        int reachable = search(walls, traps, size, distance, fewestTraps, queue);
+        boolean ladderReachable = distance[ladder] != DistanceField.UNREACHABLE;
+
+        set(values, MapFeature.LADDER_DISTANCE, ladderReachable ? distance[ladder] : MapFeature.MAX_VALUE);
+        set(values, MapFeature.SAFE_LADDER_DISTANCE,
+            safeDistance != DistanceField.UNREACHABLE ? safeDistance : MapFeature.MAX_VALUE);
+        set(values, MapFeature.TRAPS_ON_SHORTEST_PATH, ladderReachable ? fewestTraps[ladder] : MapFeature.MAX_VALUE);
+        set(values, MapFeature.REACHABLE_TILES, reachable);
+        set(values, MapFeature.WALLS, walls.count());
+        set(values, MapFeature.TRAPS, traps.count());
+        set(values, MapFeature.GOLD, bitboards.getGold().count());
+        set(values, MapFeature.POTIONS, bitboards.getPotions().count());
+        set(values, MapFeature.MELEE_MUTANTS, bitboards.getMeleeMutants().count());
+        set(values, MapFeature.RANGED_MUTANTS, bitboards.getRangedMutants().count());
+        set(values, MapFeature.MUTANT_CLUSTERING, closePairs(new Bitboard(bitboards.getMeleeMutants())
+            .or(bitboards.getRangedMutants()), size));
+        set(values, MapFeature.THREATENED_TILES, map.getThreatMasks().getUnion().count());
+        set(values, MapFeature.GENERATION_ATTEMPTS, map.getGenerationAttempts());
+    }
+
+    /**
+     * Runs a breadth-first search from the entry, also tracking the fewest
+     * traps stepped on by a shortest walk to each tile.
+     *
+     * @return the number of tiles reached
+     */
+    private static int search(Bitboard blocked, Bitboard traps, int size, int[] distance, int[] fewestTraps,
+            int[] queue) {
+        Arrays.fill(distance, DistanceField.UNREACHABLE);
+        distance[0] = 0;
+        fewestTraps[0] = 0;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = 0;
+        while (head < tail) {
+            int tile = queue[head++];
+            int row = tile / size;
+            int col = tile % size;
+            for (Direction direction : DIRECTIONS) {
+                int nextRow = row + direction.getDRow();
+                int nextCol = col + direction.getDCol();
+                if (nextRow < 0 || nextRow >= size || nextCol < 0 || nextCol >= size || blocked.get(nextRow, nextCol)) {
+                    continue;
+                }
+                int neighbour = nextRow * size + nextCol;
+                int trapsThere = fewestTraps[tile] + (traps.get(nextRow, nextCol) ? 1 : 0);
+                if (distance[neighbour] == DistanceField.UNREACHABLE) {
+                    distance[neighbour] = distance[tile] + 1;
+                    fewestTraps[neighbour] = trapsThere;
+                    queue[tail++] = neighbour;
+                } else if (distance[neighbour] == distance[tile] + 1) {
+                    fewestTraps[neighbour] = Math.min(fewestTraps[neighbour], trapsThere);
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Counts the pairs of tiles in a set that are at most two steps apart.
+     */
+    private static int closePairs(Bitboard set, int size) {
+        int pairs = 0;
+        for (int first = set.nextSetBit(0); first >= 0; first = set.nextSetBit(first + 1)) {
+            for (int second = set.nextSetBit(first + 1); second >= 0; second = set.nextSetBit(second + 1)) {
+                int steps = Math.abs(first / size - second / size) + Math.abs(first % size - second % size);
+                if (steps <= 2) {
+                    pairs++;
+                }
+            }
+        }
+        return pairs;
+    }
+
+    private static void set(int[] values, MapFeature feature, int value) {
+        values[feature.ordinal()] = Math.min(value, MapFeature.MAX_VALUE);
+    }
+}
@@ -0,0 +1,88 @@
+package dungeon.engine.catalog;
+
+/**
+ * A condition on one feature: its value must lie between two bounds, inclusive.
+ */
+public final class FeatureRange {
+    private final MapFeature feature;
+    private final int min;
+    private final int max;
+
+    /**
+     * Creates a range.
+     *
+     * @param feature the feature to test
+     * @param min the smallest accepted value
+     * @param max the largest accepted value
+     */
+    public FeatureRange(MapFeature feature, int min, int max) {
+        if (feature == null) {
+            throw new IllegalArgumentException("Feature cannot be null");
+        }
+        if (min > max) {
+            throw new IllegalArgumentException("Range minimum " + min + " is above its maximum " + max);
+        }
+        this.feature = feature;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Creates a range with no upper bound.
+     *
+     * @param feature the feature to test
+     * @param min the smallest accepted value
+     * @return the range
+     */
+    public static FeatureRange atLeast(MapFeature feature, int min) {
+        return new FeatureRange(feature, min, MapFeature.MAX_VALUE);
+    }
+
+    /**
+     * Creates a range with no lower bound.
+     *
+     * @param feature the feature to test
+     * @param max the largest accepted value
+     * @return the range
+     */
+    public static FeatureRange atMost(MapFeature feature, int max) {
+        return new FeatureRange(feature, 0, max);
+    }
+
+    /**
+     * Gets the feature tested.
+     *
+     * @return the feature
+     */
+    public MapFeature getFeature() {
+        return feature;
+    }
+
+    /**
+     * Gets the smallest accepted value.
+     *
+     * @return the lower bound
+     */
+    public int getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the largest accepted value.
+     *
+     * @return the upper bound
+     */
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * Checks if a value is accepted.
+     *
+     * @param value the feature value
+     * @return true if it lies within the range
+     */
+    public boolean contains(int value) {
+        return value >= min && value <= max;
+    }
+}
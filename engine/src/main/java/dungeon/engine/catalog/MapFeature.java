@@ -0,0 +1,38 @@
+package dungeon.engine.catalog;
+
+/**
+ * A property of a generated map that the seed catalog records.
+ * Every feature is stored as one unsigned byte, so values above
+ * {@link #MAX_VALUE} are clamped.
+ */
+public enum MapFeature {
+    /** Steps on the shortest walk from the entry to the ladder, ignoring everything but walls. */
+    LADDER_DISTANCE,
+    /** Steps on the shortest walk from the entry to the ladder that steps on no trap or mutant. */
+    SAFE_LADDER_DISTANCE,
+    /** The fewest traps stepped on by any shortest walk from the entry to the ladder. */
+    TRAPS_ON_SHORTEST_PATH,
+    /** Tiles reachable from the entry. */
+    REACHABLE_TILES,
+    /** Wall tiles. */
+    WALLS,
+    /** Trap tiles. */
+    TRAPS,
+    /** Gold tiles. */
+    GOLD,
+    /** Health potion tiles. */
+    POTIONS,
+    /** Melee mutant tiles. */
+    MELEE_MUTANTS,
+    /** Ranged mutant tiles. */
+    RANGED_MUTANTS,
+    /** Pairs of mutants of either kind at most two steps apart; higher means more clustered. */
+    MUTANT_CLUSTERING,
+    /** Tiles at least one ranged mutant can shoot at. */
+    THREATENED_TILES,
+    /** Wall layouts generated before the ladder was reachable. */
+    GENERATION_ATTEMPTS;
+
+    /** The largest value a feature can hold. */
+    public static final int MAX_VALUE = 255;
+}
@@ -0,0 +1,313 @@
+package dungeon.engine.catalog;
+
+import dungeon.engine.GameMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A catalog of the first-level {@link MapFeature features} of a range of
+ * consecutive seeds, read from a file written by {@link SeedCatalogWriter}.
+ * <p>
+ * The file is columnar: a short header, then one column per feature holding
+ * one unsigned byte per seed, so 10^8 seeds with every feature take about
+ * 1.3 GB. Columns are memory-mapped, and queries scan only the columns they
+ * test, without generating any maps. The seed of entry {@code i} is
+ * {@code firstSeed + i}, so seeds are not stored.
+ */
+public class SeedCatalog {
+    /** The first four bytes of a catalog file, "DCAT". */
+    public static final int MAGIC = 0x44434154;
+
+    /** The version of the file layout. */
+    public static final int FORMAT_VERSION = 1;
+
+    private final int difficulty;
+    private final long firstSeed;
+    private final int count;
+
+    // Mapped columns, indexed by feature ordinal; null for features not in the file
+    private final ByteBuffer[] columns = new ByteBuffer[MapFeature.values().length];
+
+    private SeedCatalog(int difficulty, long firstSeed, int count) {
+        this.difficulty = difficulty;
+        this.firstSeed = firstSeed;
+        this.count = count;
+    }
+
+    /**
+     * Opens a catalog file.
+     *
+     * @param file the file to open
+     * @return the catalog
+     * @throws IOException if the file cannot be read, is not a catalog, or
+     *         was built by a different version of the map generator
+     */
+    public static SeedCatalog open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            DataInputStream in = new DataInputStream(Channels.newInputStream(channel));
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a seed catalog");
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported catalog version " + version);
+            }
+            int headerLength = in.readInt();
+            int generatorVersion = in.readInt();
+            if (generatorVersion != GameMap.GENERATOR_VERSION) {
+                throw new IOException("Catalog was built by map generator version " + generatorVersion
+                    + ", but this is version " + GameMap.GENERATOR_VERSION);
+            }
+            int difficulty = in.readInt();
+            long firstSeed = in.readLong();
+            long count = in.readLong();
+            int featureCount = in.readInt();
+            if (count < 0 || count > Integer.MAX_VALUE || featureCount < 0) {
+                throw new IOException("Corrupt catalog header");
+            }
+            if (channel.size() < headerLength + count * featureCount) {
+                throw new IOException("Catalog file is truncated");
+            }
+
+            SeedCatalog catalog = new SeedCatalog(difficulty, firstSeed, (int) count);
+            for (int column = 0; column < featureCount; column++) {
+                String name = in.readUTF();
+                MapFeature feature;
+                try {
+                    feature = MapFeature.valueOf(name);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Unknown feature " + name);
+                }
+                // Mapped buffers stay valid after the channel is closed
+                catalog.columns[feature.ordinal()] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    headerLength + column * count, count);
+            }
+            return catalog;
+        }
+    }
+
+    /**
+     * Builds the file header; the columns follow it in the order given.
+     *
+     * @param difficulty the difficulty the maps were generated at
+     * @param firstSeed the first seed
+     * @param count the number of seeds
+     * @param features the features, in column order
+     * @return the header bytes
+     */
+    static byte[] header(int difficulty, long firstSeed, long count, MapFeature[] features) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            out.writeInt(GameMap.GENERATOR_VERSION);
+            out.writeInt(difficulty);
+            out.writeLong(firstSeed);
+            out.writeLong(count);
+            out.writeInt(features.length);
+            for (MapFeature feature : features) {
+                out.writeUTF(feature.name());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Not thrown by in-memory streams
+        }
+        ByteBuffer header = ByteBuffer.allocate(3 * Integer.BYTES + body.size());
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(header.capacity()).put(body.toByteArray());
+        return header.array();
+    }
+
+    /**
+     * Gets the difficulty the maps were generated at.
+     *
+     * @return the difficulty
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Gets the first seed in the catalog.
+     *
+     * @return the first seed
+     */
+    public long getFirstSeed() {
+        return firstSeed;
+    }
+
+    /**
+     * Gets the number of seeds in the catalog.
+     *
+     * @return the seed count
+     */
+    public int getSeedCount() {
+        return count;
+    }
+
+    /**
+     * Checks if the catalog holds a feature.
+     *
+     * @param feature the feature
+     * @return true if it has a column for the feature
+     */
+    public boolean hasFeature(MapFeature feature) {
+        return columns[feature.ordinal()] != null;
+    }
+
+    /**
+     * Gets one feature of one seed.
+     *
+     * @param seed the seed, which must be in the catalog
+     * @param feature the feature
+     * @return the feature value
+     */
+    public int getFeature(long seed, MapFeature feature) {
+        long index = seed - firstSeed;
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Seed " + seed + " is not in the catalog");
+        }
+        return column(feature).get((int) index) & 0xFF;
+    }
+
+    /**
+     * Counts the seeds whose features lie in every given range.
+     *
+     * @param ranges the conditions; none means every seed
+     * @return the number of matching seeds
+     */
+    public long count(FeatureRange... ranges) {
+        Filter filter = new Filter(ranges);
+        long matches = 0;
+        for (int index = 0; index < count; index++) {
+            if (filter.matches(index)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the first matching seeds, in seed order.
+     *
+     * @param limit the most seeds to return
+     * @param ranges the conditions; none means every seed
+     * @return the matching seeds
+     */
+    public long[] find(int limit, FeatureRange... ranges) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        Filter filter = new Filter(ranges);
+        long[] seeds = new long[Math.min(limit, count)];
+        int found = 0;
+        for (int index = 0; index < count && found < seeds.length; index++) {
+            if (filter.matches(index)) {
+                seeds[found++] = firstSeed + index;
+            }
+        }
+        return Arrays.copyOf(seeds, found);
+    }
+
+    /**
+     * Finds the matching seeds with the highest or lowest value of a feature.
+     * Ties are broken by seed. The catalog is scanned twice: once to count
+     * the matches per value, which gives the cut-off value for the limit,
+     * and once to collect the seeds up to it, so memory use depends only on
+     * the limit.
+     *
+     * @param sortBy the feature to sort by
+     * @param descending true for the highest values first
+     * @param limit the most seeds to return
+     * @param ranges the conditions; none means every seed
+     * @return the matching seeds, best first
+     */
+    public long[] findTop(MapFeature sortBy, boolean descending, int limit, FeatureRange... ranges) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        Filter filter = new Filter(ranges);
+        ByteBuffer sortColumn = column(sortBy);
+
+        // Ranks run from best (0) to worst (MAX_VALUE)
+        long[] perRank = new long[MapFeature.MAX_VALUE + 1];
+        for (int index = 0; index < count; index++) {
+            if (filter.matches(index)) {
+                perRank[rank(sortColumn.get(index) & 0xFF, descending)]++;
+            }
+        }
+        int cutoff = 0;
+        long better = 0;
+        while (cutoff < MapFeature.MAX_VALUE && better + perRank[cutoff] < limit) {
+            better += perRank[cutoff++];
+        }
+        long atCutoff = Math.min(perRank[cutoff], limit - better);
+
+        // Sort keys hold the rank above the index, so sorting them orders by rank then seed
+        long[] keys = new long[(int) (better + atCutoff)];
+        int found = 0;
+        long takenAtCutoff = 0;
+        for (int index = 0; index < count && found < keys.length; index++) {
+            if (!filter.matches(index)) {
+                continue;
+            }
+            int rank = rank(sortColumn.get(index) & 0xFF, descending);
+            if (rank < cutoff || (rank == cutoff && takenAtCutoff++ < atCutoff)) {
+                keys[found++] = (long) rank << Integer.SIZE | index;
+            }
+        }
+        Arrays.sort(keys, 0, found);
+        long[] seeds = new long[found];
+        for (int i = 0; i < found; i++) {
+            seeds[i] = firstSeed + (int) keys[i];
+        }
+        return seeds;
+    }
+
+    private static int rank(int value, boolean descending) {
+        return descending ? MapFeature.MAX_VALUE - value : value;
+    }
+
+    private ByteBuffer column(MapFeature feature) {
+        ByteBuffer column = columns[feature.ordinal()];
+        if (column == null) {
+            throw new IllegalArgumentException("The catalog has no " + feature + " column");
+        }
+        return column;
+    }
+
+    /**
+     * The ranges of a query, resolved to their columns.
+     */
+    private final class Filter {
+        private final ByteBuffer[] filterColumns;
+        private final int[] mins;
+        private final int[] maxs;
+
+        Filter(FeatureRange[] ranges) {
+            filterColumns = new ByteBuffer[ranges.length];
+            mins = new int[ranges.length];
+            maxs = new int[ranges.length];
+            for (int i = 0; i < ranges.length; i++) {
+                filterColumns[i] = column(ranges[i].getFeature());
+                mins[i] = ranges[i].getMin();
+                maxs[i] = ranges[i].getMax();
+            }
+        }
+
+        boolean matches(int index) {
+            for (int i = 0; i < filterColumns.length; i++) {
+                int value = filterColumns[i].get(index) & 0xFF;
+                if (value < mins[i] || value > maxs[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
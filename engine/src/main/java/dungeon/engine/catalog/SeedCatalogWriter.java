@@ -0,0 +1,126 @@
+package dungeon.engine.catalog;
+
+import dungeon.engine.CopyableRandom;
+import dungeon.engine.GameMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Generates the first level of every seed in a range and writes their
+ * features to a {@link SeedCatalog} file.
+ * Seeds are processed in blocks: each block's maps are generated in parallel
+ * into one byte array per feature, and each array is then written straight to
+ * its place in its column. Memory use therefore depends on the block size,
+ * not on the number of seeds.
+ */
+public class SeedCatalogWriter {
+    /** Default number of seeds generated between writes. */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 18;
+
+    private final ForkJoinPool pool;
+    private final int blockSize;
+
+    /**
+     * Creates a writer using the common pool and the default block size.
+     */
+    public SeedCatalogWriter() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a writer.
+     *
+     * @param pool the pool maps are generated on
+     * @param blockSize the number of seeds generated between writes
+     */
+    public SeedCatalogWriter(ForkJoinPool pool, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.pool = pool;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Writes a catalog of every feature for seeds {@code firstSeed} to
+     * {@code firstSeed + count - 1}. Each map is the one
+     * {@code new GameEngine(difficulty, seed)} starts on.
+     *
+     * @param file the file to write, which is replaced if it exists
+     * @param difficulty the difficulty level
+     * @param firstSeed the first seed
+     * @param count the number of seeds, at most {@link Integer#MAX_VALUE}
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file, int difficulty, long firstSeed, long count) throws IOException {
+        if (count < 0 || count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Seed count must be between 0 and " + Integer.MAX_VALUE);
+        }
+        MapFeature[] features = MapFeature.values();
+        byte[] header = SeedCatalog.header(difficulty, firstSeed, count, features);
+        byte[][] columns = new byte[features.length][(int) Math.min(blockSize, count)];
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, ByteBuffer.wrap(header), 0);
+            for (long start = 0; start < count; start += blockSize) {
+                long blockStart = start;
+                int size = (int) Math.min(blockSize, count - start);
+                pool.submit(() -> IntStream.range(0, size).parallel().forEach(i -> {
+                    int[] values = FeatureExtractor.extract(
+                        new GameMap(difficulty, new CopyableRandom(firstSeed + blockStart + i)));
+                    for (int feature = 0; feature < values.length; feature++) {
+                        columns[feature][i] = (byte) values[feature];
+                    }
+                })).join();
+
+                for (int feature = 0; feature < features.length; feature++) {
+                    writeFully(channel, ByteBuffer.wrap(columns[feature], 0, size),
+                        header.length + feature * count + blockStart);
+                }
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Writes a catalog and runs a few example queries on it.
+     * Usage: SeedCatalogWriter file [count] [difficulty] [firstSeed]
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : "seeds.dcat");
+        long count = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+        int difficulty = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        long firstSeed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+
+        long start = System.nanoTime();
+        new SeedCatalogWriter().write(file, difficulty, firstSeed, count);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Wrote %d seeds in %.1f s (%.0f seeds/s)%n", count, seconds, count / seconds);
+
+        SeedCatalog catalog = SeedCatalog.open(file);
+        start = System.nanoTime();
+        long[] longest = catalog.findTop(MapFeature.SAFE_LADDER_DISTANCE, true, 10,
+            FeatureRange.atMost(MapFeature.SAFE_LADDER_DISTANCE, MapFeature.MAX_VALUE - 1),
+            FeatureRange.atLeast(MapFeature.TRAPS_ON_SHORTEST_PATH, 1));
+        System.out.printf("Longest safe ladder walks with a trap on every shortest walk: %s (%.0f ms)%n",
+            Arrays.toString(longest), (System.nanoTime() - start) / 1e6);
+        start = System.nanoTime();
+        long clustered = catalog.count(FeatureRange.atLeast(MapFeature.MUTANT_CLUSTERING, 3));
+        System.out.printf("Seeds with 3+ close mutant pairs: %d (%.0f ms)%n",
+            clustered, (System.nanoTime() - start) / 1e6);
+    }
+}
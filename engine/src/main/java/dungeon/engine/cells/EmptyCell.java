@@ -8,6 +8,9 @@ import dungeon.engine.*;
 public class EmptyCell extends AbstractItemCell {
     private static final String DEFAULT_SPRITE_PATH = null; // No sprite for empty cells
     
+    /** A shared empty cell. Empty cells have no state, so one instance can fill any number of tiles. */
+    public static final EmptyCell SHARED = new EmptyCell();
+    
     /**
      * Creates a new EmptyCell with the default sprite.
      */
@@ -1,13 +1,14 @@
 package dungeon.engine.cells;
 
 import dungeon.engine.*;
+import dungeon.engine.event.GameEventType;
 
 /**
  * Represents a cell containing gold that gives the player points when collected.
  */
 public class GoldCell extends AbstractItemCell {
     private static final String DEFAULT_SPRITE_PATH = "treasure.png";
-    private static final int SCORE_VALUE = 2;
+    public static final int SCORE_VALUE = 2;
     private boolean collected = false;
     
     /**
@@ -40,10 +41,9 @@ public class GoldCell extends AbstractItemCell {
             collected = true;
             
             // Replace this gold cell with an empty cell in the game map
-            Position playerPos = player.getPosition();
-            engine.getMap()[playerPos.getRow()][playerPos.getCol()] = new EmptyCell();
+            engine.replaceCell(player.getPosition(), EmptyCell.SHARED);
             
-            engine.logAction("Gold collected! +" + SCORE_VALUE + " points");
+            engine.emit(GameEventType.GOLD_COLLECTED, SCORE_VALUE);
         }
     }
     
@@ -1,13 +1,14 @@
 package dungeon.engine.cells;
 
 import dungeon.engine.*;
+import dungeon.engine.event.GameEventType;
 
 /**
  * Represents a health potion that restores the player's HP when collected.
  */
 public class HealthPotionCell extends AbstractItemCell {
     private static final String DEFAULT_SPRITE_PATH = "health.png";
-    private static final int HEAL_AMOUNT = 4;
+    public static final int HEAL_AMOUNT = 4;
     private boolean collected = false;
     
     /**
@@ -40,10 +41,9 @@ public class HealthPotionCell extends AbstractItemCell {
             collected = true;
             
             // Replace this potion cell with an empty cell in the game map
-            Position playerPos = player.getPosition();
-            engine.getMap()[playerPos.getRow()][playerPos.getCol()] = new EmptyCell();
+            engine.replaceCell(player.getPosition(), EmptyCell.SHARED);
             
-            engine.logAction("Health potion consumed! +" + HEAL_AMOUNT + " HP");
+            engine.emit(GameEventType.POTION_CONSUMED, HEAL_AMOUNT);
         }
     }
     
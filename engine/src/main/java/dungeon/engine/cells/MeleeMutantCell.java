@@ -1,6 +1,7 @@
 package dungeon.engine.cells;
 
 import dungeon.engine.*;
+import dungeon.engine.event.GameEventType;
 
 /**
  * A cell containing a melee mutant enemy.
@@ -36,7 +37,8 @@ public class MeleeMutantCell extends AbstractItemCell {
         mutant.giveReward(player);
         
         // Replace this cell with an empty cell (mutant disappears)
-        engine.replaceCell(player.getPosition(), new EmptyCell());
+        engine.replaceCell(player.getPosition(), EmptyCell.SHARED);
+        engine.emit(GameEventType.MELEE_MUTANT_DEFEATED, Mutant.POINTS);
     }
     
     /**
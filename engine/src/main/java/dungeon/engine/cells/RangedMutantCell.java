@@ -4,6 +4,10 @@ import dungeon.engine.GameEngine;
 import dungeon.engine.Mutant;
 import dungeon.engine.Player;
 import dungeon.engine.Position;
+import dungeon.engine.event.GameEventType;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * A cell containing a ranged mutant that can shoot at the player from a distance.
@@ -16,7 +20,8 @@ public class RangedMutantCell extends AbstractItemCell {
      * Inner class representing the ranged mutant enemy.
      */
     public static class RangedMutant extends Mutant {
-        private static final java.util.Random random = new java.util.Random();
+        /** The chance that a shot hits. */
+        public static final double HIT_CHANCE = 0.5;
         
         public RangedMutant() {
             super();
@@ -38,18 +43,9 @@ public class RangedMutantCell extends AbstractItemCell {
             int rowDiff = playerPos.getRow() - mutantPos.getRow();
             int colDiff = playerPos.getCol() - mutantPos.getCol();
             
-            // Must be exactly 2 tiles in one cardinal direction
-            if (Math.abs(rowDiff) == 2 && colDiff == 0) {
-                // Check vertical line of sight
-                int middleRow = mutantPos.getRow() + (rowDiff / 2);
-                Position middlePos = new Position(middleRow, mutantPos.getCol());
-                Cell middleCell = engine.getMap()[middlePos.getRow()][middlePos.getCol()];
-                return !(middleCell instanceof WallCell);
-            } else if (Math.abs(colDiff) == 2 && rowDiff == 0) {
-                // Check horizontal line of sight
-                int middleCol = mutantPos.getCol() + (colDiff / 2);
-                Position middlePos = new Position(mutantPos.getRow(), middleCol);
-                Cell middleCell = engine.getMap()[middlePos.getRow()][middlePos.getCol()];
+            // Must be exactly 2 tiles in one cardinal direction, with no wall on the tile between
+            if ((Math.abs(rowDiff) == 2 && colDiff == 0) || (Math.abs(colDiff) == 2 && rowDiff == 0)) {
+                Cell middleCell = engine.getMap()[mutantPos.getRow() + rowDiff / 2][mutantPos.getCol() + colDiff / 2];
                 return !(middleCell instanceof WallCell);
             }
             
@@ -59,9 +55,23 @@ public class RangedMutantCell extends AbstractItemCell {
         /**
          * Attempts to shoot at the player with 50% hit chance.
          * Returns true if shot was fired and hit.
+         * Uses the calling thread's generator; games use {@link #shootAt(Player, RandomGenerator)}
+         * with their engine's generator so shots are reproducible.
          */
         public boolean shootAt(Player player) {
-            if (random.nextBoolean()) { // 50% chance
+            return shootAt(player, ThreadLocalRandom.current());
+        }
+        
+        /**
+         * Attempts to shoot at the player with 50% hit chance.
+         * Returns true if shot was fired and hit.
+         *
+         * @param player the player to shoot at
+         * @param random the generator deciding whether the shot hits
+         * @return true if the shot hit
+         */
+        public boolean shootAt(Player player, RandomGenerator random) {
+            if (random.nextDouble() < HIT_CHANCE) {
                 player.takeDamage(DAMAGE);
                 return true;
             }
@@ -93,26 +103,58 @@ public class RangedMutantCell extends AbstractItemCell {
         
         // Replace this cell with an empty cell (mutant is defeated)
         Position currentPos = player.getPosition();
-        engine.replaceCell(currentPos, new EmptyCell());
+        engine.replaceCell(currentPos, EmptyCell.SHARED);
         
-        // Log the event
-        engine.logAction("Defeated ranged mutant! +" + Mutant.POINTS + " points");
+        engine.emit(GameEventType.RANGED_MUTANT_DEFEATED, Mutant.POINTS);
     }
     
     /**
      * Processes the ranged mutant's turn - checks for shots at the player.
+     * Shots are decided by the engine's turn generator.
      */
     public void processTurn(Position mutantPos, GameEngine engine) {
+        processTurn(mutantPos, engine, engine.getTurnRandom());
+    }
+    
+    /**
+     * Processes the ranged mutant's turn - checks for shots at the player.
+     *
+     * @param mutantPos the position of this mutant
+     * @param engine the game engine
+     * @param random the generator deciding whether shots hit
+     */
+    public void processTurn(Position mutantPos, GameEngine engine, RandomGenerator random) {
         Player player = engine.getPlayer();
         Position playerPos = player.getPosition();
         
         if (mutant.canShootAt(mutantPos, playerPos, engine)) {
-            boolean hit = mutant.shootAt(player);
-            if (hit) {
-                engine.logAction("Ranged mutant shot hit! -" + RangedMutant.DAMAGE + " HP");
-            } else {
-                engine.logAction("Ranged mutant shot missed!");
-            }
+            fire(engine, random);
+        }
+    }
+    
+    /**
+     * Takes one shot at the player, without checking range or line of sight.
+     * The engine calls this directly once the map's threat masks show the
+     * player is in range of this mutant.
+     *
+     * @param engine the game engine
+     */
+    public void fire(GameEngine engine) {
+        fire(engine, engine.getTurnRandom());
+    }
+    
+    /**
+     * Takes one shot at the player, without checking range or line of sight.
+     *
+     * @param engine the game engine
+     * @param random the generator deciding whether the shot hits
+     */
+    public void fire(GameEngine engine, RandomGenerator random) {
+        boolean hit = mutant.shootAt(engine.getPlayer(), random);
+        if (hit) {
+            engine.emit(GameEventType.SHOT_HIT, RangedMutant.DAMAGE);
+        } else {
+            engine.emit(GameEventType.SHOT_MISSED, 0);
         }
     }
 }
@@ -0,0 +1,46 @@
+package dungeon.engine.cells;
+
+/**
+ * The kinds of tile that can appear in the dungeon.
+ * Gives a compact classification of cells for analysis code such as
+ * pathfinding, so it does not need its own chain of instanceof checks.
+ */
+public enum TileType {
+    EMPTY,
+    WALL,
+    ENTRY,
+    GOLD,
+    HEALTH_POTION,
+    TRAP,
+    LADDER,
+    MELEE_MUTANT,
+    RANGED_MUTANT;
+
+    /**
+     * Classifies a cell.
+     * Unknown cell implementations are treated as empty floor.
+     *
+     * @param cell the cell to classify
+     * @return the tile type of the cell
+     */
+    public static TileType of(Cell cell) {
+        if (cell instanceof WallCell) {
+            return WALL;
+        } else if (cell instanceof EntryCell) {
+            return ENTRY;
+        } else if (cell instanceof GoldCell) {
+            return GOLD;
+        } else if (cell instanceof HealthPotionCell) {
+            return HEALTH_POTION;
+        } else if (cell instanceof TrapCell) {
+            return TRAP;
+        } else if (cell instanceof LadderCell) {
+            return LADDER;
+        } else if (cell instanceof MeleeMutantCell) {
+            return MELEE_MUTANT;
+        } else if (cell instanceof RangedMutantCell) {
+            return RANGED_MUTANT;
+        }
+        return EMPTY;
+    }
+}
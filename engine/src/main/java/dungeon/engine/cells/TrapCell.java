@@ -1,13 +1,14 @@
 package dungeon.engine.cells;
 
 import dungeon.engine.*;
+import dungeon.engine.event.GameEventType;
 
 /**
  * Represents a dangerous trap that damages the player when stepped on.
  */
 public class TrapCell extends AbstractItemCell {
     private static final String DEFAULT_SPRITE_PATH = "trap.png";
-    private static final int DAMAGE = 2;
+    public static final int DAMAGE = 2;
     
     /**
      * Creates a new TrapCell with the default sprite.
@@ -35,6 +36,6 @@ public class TrapCell extends AbstractItemCell {
     @Override
     public void onEnter(Player player, GameEngine engine) {
         player.modifyHp(-DAMAGE);
-        engine.logAction("Trap triggered! -" + DAMAGE + " HP");
+        engine.emit(GameEventType.TRAP_TRIGGERED, DAMAGE);
     }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package dungeon.engine.event;
+
+import dungeon.engine.Direction;
+import dungeon.engine.GameEngine;
+import dungeon.engine.metrics.PerformanceMetrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs an event handler on its own thread, fed by a subscription to a ring.
+ * However slow the handler is, the engine publishing to the ring never
+ * waits for it; the handler just misses events it falls too far behind on.
+ * When there is nothing to do the thread spins briefly and then parks.
+ */
+public class EventDispatcher implements AutoCloseable {
+    // Polls spent spinning before the thread starts parking
+    private static final int SPIN_POLLS = 100;
+
+    // How long the thread parks when idle
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final EventSubscription subscription;
+    private final EventHandler handler;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile long handled;
+
+    /**
+     * Subscribes a handler to a ring and starts its thread.
+     *
+     * @param ring the ring to read
+     * @param handler the handler to run for each event
+     * @param name the name of the thread
+     */
+    public EventDispatcher(EventRing ring, EventHandler handler, String name) {
+        this.subscription = ring.subscribe();
+        this.handler = handler;
+        this.thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        int idle = 0;
+        while (running) {
+            int count = subscription.drain(handler);
+            if (count > 0) {
+                handled += count;
+                idle = 0;
+            } else if (++idle < SPIN_POLLS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        handled += subscription.drain(handler);
+    }
+
+    /**
+     * Gets the number of events handled so far.
+     *
+     * @return the events handled
+     */
+    public long getHandled() {
+        return handled;
+    }
+
+    /**
+     * Gets the number of events overwritten before the handler saw them.
+     *
+     * @return the events missed
+     */
+    public long getMissed() {
+        return subscription.getMissed();
+    }
+
+    /**
+     * Handles the events already published, then stops the thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Measures engine turns with and without subscribers, one of them slow.
+     * Usage: EventDispatcher [turns] [difficulty]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int turns = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int difficulty = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        GameEngine[] starts = new GameEngine[64];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = new GameEngine(difficulty, i);
+        }
+
+        GameEngine quiet = starts[0].copy();
+        play(quiet, starts, turns / 10);
+        double quietNanos = play(quiet, starts, turns);
+
+        GameEngine observed = starts[0].copy();
+        EventRing ring = observed.getEvents();
+        long[] counts = new long[GameEventType.values().length];
+        EventDispatcher stats = new EventDispatcher(ring, event -> counts[event.getType().ordinal()]++, "stats");
+        EventDispatcher log = new EventDispatcher(ring, event -> event.describe(), "log");
+        EventDispatcher slow = new EventDispatcher(ring, event -> LockSupport.parkNanos(1_000_000), "slow");
+        play(observed, starts, turns / 10);
+        long allocatedBefore = PerformanceMetrics.currentThreadAllocatedBytes();
+        double observedNanos = play(observed, starts, turns);
+        long allocated = PerformanceMetrics.currentThreadAllocatedBytes() - allocatedBefore;
+        Thread.sleep(100);
+        stats.close();
+        log.close();
+        slow.close();
+
+        System.out.printf("No subscribers:    %.0f ns/turn%n", quietNanos);
+        System.out.printf("Three subscribers: %.0f ns/turn, %d events published%n",
+            observedNanos, ring.getCursor() + 1);
+        if (allocatedBefore >= 0) {
+            System.out.printf("Engine thread allocated %.1f bytes/turn with subscribers%n",
+                (double) allocated / turns);
+        }
+        for (EventDispatcher dispatcher : new EventDispatcher[] {stats, log, slow}) {
+            System.out.printf("  %-5s handled %d, missed %d%n",
+                dispatcher.thread.getName(), dispatcher.getHandled(), dispatcher.getMissed());
+        }
+        System.out.printf("  moves seen by stats: %d%n", counts[GameEventType.MOVED.ordinal()]);
+    }
+
+    // Plays random moves, restarting from the start positions as games end
+    private static double play(GameEngine engine, GameEngine[] starts, int turns) {
+        Direction[] directions = Direction.values();
+        int state = 0x2545F491;
+        int game = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < turns; i++) {
+            if (engine.isGameOver()) {
+                engine.copyFrom(starts[++game % starts.length]);
+            }
+            state ^= state << 13;
+            state ^= state >>> 17;
+            state ^= state << 5;
+            engine.move(directions[state & 3]);
+        }
+        return (double) (System.nanoTime() - start) / turns;
+    }
+}
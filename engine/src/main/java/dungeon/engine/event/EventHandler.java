@@ -0,0 +1,14 @@
+package dungeon.engine.event;
+
+/**
+ * Handles events delivered by an {@link EventSubscription} or {@link EventDispatcher}.
+ */
+@FunctionalInterface
+public interface EventHandler {
+    /**
+     * Called for each event, in order.
+     *
+     * @param event the event, valid only until this method returns
+     */
+    void onEvent(GameEvent event);
+}
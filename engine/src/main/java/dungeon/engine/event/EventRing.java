@@ -0,0 +1,130 @@
+package dungeon.engine.event;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A single-producer, multi-consumer ring buffer of game events.
+ * <p>
+ * The engine thread writes events into preallocated slots and never waits:
+ * the ring does not track its subscribers, so any number of them can read it
+ * at no cost to the producer. A subscriber that falls more than a ring's
+ * length behind has its oldest unread events overwritten; it notices, skips
+ * to the oldest event still held and counts the ones it missed. Publishing
+ * allocates nothing.
+ * <p>
+ * Each slot carries the sequence number of the event it holds, which is
+ * cleared while the slot is being rewritten. Readers copy the slot and then
+ * check the number again, so they never return an event that was overwritten
+ * while they copied it.
+ */
+public class EventRing {
+    /** The default number of events held, a little over a game's worth. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    // Marks a slot that holds no complete event
+    private static final long EMPTY = -1;
+
+    private final GameEvent[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+
+    // Sequence number of the last published event
+    private final AtomicLong cursor = new AtomicLong(-1);
+
+    /**
+     * Creates a ring with the default capacity.
+     */
+    public EventRing() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a ring.
+     *
+     * @param capacity the number of events held, a power of two
+     */
+    public EventRing(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two");
+        }
+        slots = new GameEvent[capacity];
+        published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new GameEvent();
+            published.set(i, EMPTY);
+        }
+        mask = capacity - 1;
+    }
+
+    /**
+     * Gets the number of events the ring holds.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * Gets the sequence number of the last published event.
+     *
+     * @return the sequence number, or -1 if nothing has been published
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    /**
+     * Subscribes to the events published from now on.
+     *
+     * @return the subscription, to be polled by one thread
+     */
+    public EventSubscription subscribe() {
+        return new EventSubscription(this, cursor.get() + 1);
+    }
+
+    /**
+     * Claims the slot for the next event, which the caller fills in and then
+     * {@link #publish publishes}. Only the producer thread may call this.
+     *
+     * @return the slot to fill in
+     */
+    public GameEvent claim() {
+        long sequence = cursor.get() + 1;
+        int index = (int) sequence & mask;
+        // Readers must see the slot cleared before any of its fields change
+        published.setOpaque(index, EMPTY);
+        VarHandle.storeStoreFence();
+        GameEvent slot = slots[index];
+        slot.setSequence(sequence);
+        return slot;
+    }
+
+    /**
+     * Publishes the event last {@link #claim claimed}.
+     */
+    public void publish() {
+        long sequence = cursor.get() + 1;
+        published.setRelease((int) sequence & mask, sequence);
+        cursor.setRelease(sequence);
+    }
+
+    /**
+     * Copies an event out of the ring.
+     *
+     * @param sequence the sequence number of the event, which must have been published
+     * @param into the event to copy into
+     * @return true if the event was copied, false if it had been overwritten
+     */
+    boolean read(long sequence, GameEvent into) {
+        int index = (int) sequence & mask;
+        if (published.getAcquire(index) != sequence) {
+            return false;
+        }
+        into.copyFrom(slots[index]);
+        VarHandle.loadLoadFence();
+        return published.getOpaque(index) == sequence;
+    }
+}
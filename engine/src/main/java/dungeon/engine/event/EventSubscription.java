@@ -0,0 +1,78 @@
+package dungeon.engine.event;
+
+/**
+ * One subscriber's position in an {@link EventRing}.
+ * A subscription is read by a single thread; every subscriber gets its own.
+ * Polling never blocks the engine, and a subscriber that falls behind by more
+ * than the ring's capacity skips the events it lost, which it can see in
+ * {@link #getMissed()}.
+ */
+public final class EventSubscription {
+    private final EventRing ring;
+    private final GameEvent event = new GameEvent();
+    private long next;
+    private long missed;
+
+    EventSubscription(EventRing ring, long next) {
+        this.ring = ring;
+        this.next = next;
+    }
+
+    /**
+     * Takes the next event, if there is one.
+     *
+     * @return the event, which is reused by the next poll, or null if the
+     *         subscriber has caught up
+     */
+    public GameEvent poll() {
+        while (true) {
+            long available = ring.getCursor();
+            if (next > available) {
+                return null;
+            }
+            long oldest = available - ring.getCapacity() + 1;
+            if (next < oldest) {
+                missed += oldest - next;
+                next = oldest;
+            }
+            if (ring.read(next, event)) {
+                next++;
+                return event;
+            }
+            // Overwritten while being copied; the cursor has moved on, so skip ahead
+        }
+    }
+
+    /**
+     * Hands every available event to a handler.
+     *
+     * @param handler the handler
+     * @return the number of events handled
+     */
+    public int drain(EventHandler handler) {
+        int handled = 0;
+        for (GameEvent next = poll(); next != null; next = poll()) {
+            handler.onEvent(next);
+            handled++;
+        }
+        return handled;
+    }
+
+    /**
+     * Gets the number of published events not yet taken.
+     *
+     * @return the backlog, at most the ring's capacity in effect
+     */
+    public long getBacklog() {
+        return Math.max(0, ring.getCursor() + 1 - next);
+    }
+
+    /**
+     * Gets the number of events overwritten before this subscriber read them.
+     *
+     * @return the events missed
+     */
+    public long getMissed() {
+        return missed;
+    }
+}
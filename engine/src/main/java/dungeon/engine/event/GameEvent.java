@@ -0,0 +1,222 @@
+package dungeon.engine.event;
+
+import dungeon.engine.Direction;
+import dungeon.engine.Player;
+
+/**
+ * One thing that happened in a game, along with the player's stats right
+ * after it happened, so subscribers never need to read the engine.
+ * <p>
+ * Events are mutable and reused: an {@link EventRing} fills its slots in
+ * place, and each {@link EventSubscription} copies them into one event of its
+ * own. An event is only valid until its subscription is next polled, so keep
+ * a {@link #copyFrom copy} to hold on to it.
+ */
+public final class GameEvent {
+    private long sequence;
+    private GameEventType type;
+    private Direction direction;
+    private int row;
+    private int col;
+    private int amount;
+    private String message;
+    private int hp;
+    private int score;
+    private int steps;
+    private int level;
+
+    /**
+     * Fills in this event. Only the engine and ring call this.
+     *
+     * @param type the kind of event
+     * @param direction the direction of the move that caused it, or null
+     * @param amount the points, HP or flag the event type defines
+     * @param message the message of a {@link GameEventType#MESSAGE} event, or null
+     * @param player the player, whose position and stats are recorded
+     */
+    public void set(GameEventType type, Direction direction, int amount, String message, Player player) {
+        this.type = type;
+        this.direction = direction;
+        this.row = player.getPosition().getRow();
+        this.col = player.getPosition().getCol();
+        this.amount = amount;
+        this.message = message;
+        this.hp = player.getHp();
+        this.score = player.getScore();
+        this.steps = player.getSteps();
+        this.level = player.getLevel();
+    }
+
+    /**
+     * Sets the position of this event in its engine's stream. Only the ring calls this.
+     *
+     * @param sequence the sequence number
+     */
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Copies another event into this one.
+     *
+     * @param source the event to copy
+     * @return this event
+     */
+    public GameEvent copyFrom(GameEvent source) {
+        this.sequence = source.sequence;
+        this.type = source.type;
+        this.direction = source.direction;
+        this.row = source.row;
+        this.col = source.col;
+        this.amount = source.amount;
+        this.message = source.message;
+        this.hp = source.hp;
+        this.score = source.score;
+        this.steps = source.steps;
+        this.level = source.level;
+        return this;
+    }
+
+    /**
+     * Gets the position of this event in its engine's stream, counting from 0.
+     *
+     * @return the sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the kind of event.
+     *
+     * @return the event type
+     */
+    public GameEventType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the direction of the move that caused the event.
+     *
+     * @return the direction, or null if the event was not caused by a move
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Gets the row the player was on.
+     *
+     * @return the row
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the column the player was on.
+     *
+     * @return the column
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * Gets the points, HP or flag the event type defines.
+     *
+     * @return the amount
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * Gets the text of a {@link GameEventType#MESSAGE} event.
+     *
+     * @return the message, or null for other events
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Gets the player's HP.
+     *
+     * @return the HP
+     */
+    public int getHp() {
+        return hp;
+    }
+
+    /**
+     * Gets the player's score.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the player's step count.
+     *
+     * @return the steps taken
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /**
+     * Gets the player's level.
+     *
+     * @return the level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Describes the event for the action log.
+     *
+     * @return the log line, or null for events that are not logged
+     */
+    public String describe() {
+        switch (type) {
+            case MOVED:
+                return "Moved " + direction.toString().toLowerCase() + " to (" + row + ", " + col + ")";
+            case GOLD_COLLECTED:
+                return "Gold collected! +" + amount + " points";
+            case POTION_CONSUMED:
+                return "Health potion consumed! +" + amount + " HP";
+            case TRAP_TRIGGERED:
+                return "Trap triggered! -" + amount + " HP";
+            case MELEE_MUTANT_DEFEATED:
+                return "Defeated melee mutant! +" + amount + " points";
+            case RANGED_MUTANT_DEFEATED:
+                return "Defeated ranged mutant! +" + amount + " points";
+            case SHOT_HIT:
+                return "Ranged mutant shot hit! -" + amount + " HP";
+            case SHOT_MISSED:
+                return "Ranged mutant shot missed!";
+            case LEVEL_REACHED:
+                return "Reached level " + level + "! Find the ladder to continue.";
+            case VICTORY:
+                return "VICTORY: Congratulations! You've completed all levels and won the game!";
+            case DEFEAT_HEALTH:
+                return "DEFEAT: You ran out of health!";
+            case DEFEAT_STEPS:
+                return "DEFEAT: You ran out of steps!";
+            case MESSAGE:
+                return message;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + " at (" + row + ", " + col + ") amount " + amount
+            + " [HP " + hp + ", score " + score + ", steps " + steps + ", level " + level + "]";
+    }
+}
@@ -0,0 +1,37 @@
+package dungeon.engine.event;
+
+/**
+ * The kinds of event a {@link dungeon.engine.GameEngine} emits.
+ */
+public enum GameEventType {
+    /** The player stepped onto a tile; the event's position is the new tile. */
+    MOVED,
+    /** The player picked up gold; the amount is the points gained. */
+    GOLD_COLLECTED,
+    /** The player drank a health potion; the amount is the HP restored. */
+    POTION_CONSUMED,
+    /** The player stepped on a trap; the amount is the damage taken. */
+    TRAP_TRIGGERED,
+    /** The player defeated a melee mutant; the amount is the points gained. */
+    MELEE_MUTANT_DEFEATED,
+    /** The player defeated a ranged mutant; the amount is the points gained. */
+    RANGED_MUTANT_DEFEATED,
+    /** A ranged mutant's shot hit the player; the amount is the damage taken. */
+    SHOT_HIT,
+    /** A ranged mutant's shot missed the player. */
+    SHOT_MISSED,
+    /** The player climbed the ladder to a new level. */
+    LEVEL_REACHED,
+    /** The player climbed the last ladder and won. */
+    VICTORY,
+    /** The player ran out of health and lost. */
+    DEFEAT_HEALTH,
+    /** The player ran out of steps and lost. */
+    DEFEAT_STEPS,
+    /** A free-form message, such as one passed to {@code logAction}. */
+    MESSAGE,
+    /** A call to {@code move} finished; the amount is 1 if the player moved and 0 if not. */
+    TURN_ENDED,
+    /** The game state was replaced, for example by restoring a snapshot or undoing a move. */
+    RESTORED
+}
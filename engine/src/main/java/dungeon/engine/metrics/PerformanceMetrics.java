@@ -0,0 +1,177 @@
+package dungeon.engine.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Collects the timing histograms for one game session:
+ * engine turn time, GUI update time, FX layout time, input-to-frame latency,
+ * and bytes allocated per engine turn and per GUI update.
+ * The metrics can be rendered as text for an overlay or exported as CSV.
+ */
+public class PerformanceMetrics {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LatencyHistogram engineTurn = new LatencyHistogram("Engine turn", "ns");
+    private final LatencyHistogram guiUpdate = new LatencyHistogram("GUI update", "ns");
+    private final LatencyHistogram fxLayout = new LatencyHistogram("FX layout", "ns");
+    private final LatencyHistogram inputToFrame = new LatencyHistogram("Input to frame", "ns");
+    private final LatencyHistogram turnAllocations = new LatencyHistogram("Allocated per turn", "bytes");
+    private final LatencyHistogram guiAllocations = new LatencyHistogram("Allocated per update", "bytes");
+
+    /**
+     * Gets the histogram of time spent in the engine for one turn.
+     *
+     * @return the engine turn histogram
+     */
+    public LatencyHistogram getEngineTurn() {
+        return engineTurn;
+    }
+
+    /**
+     * Gets the histogram of time spent redrawing the board and labels.
+     *
+     * @return the GUI update histogram
+     */
+    public LatencyHistogram getGuiUpdate() {
+        return guiUpdate;
+    }
+
+    /**
+     * Gets the histogram of time spent in the CSS and layout pass of each FX
+     * pulse. Rendering happens after layout and is not included.
+     *
+     * @return the FX layout histogram
+     */
+    public LatencyHistogram getFxLayout() {
+        return fxLayout;
+    }
+
+    /**
+     * Gets the histogram of time from handling an input to the end of the next pulse.
+     *
+     * @return the input-to-frame histogram
+     */
+    public LatencyHistogram getInputToFrame() {
+        return inputToFrame;
+    }
+
+    /**
+     * Gets the histogram of bytes allocated by the engine for one turn.
+     *
+     * @return the turn allocation histogram
+     */
+    public LatencyHistogram getTurnAllocations() {
+        return turnAllocations;
+    }
+
+    /**
+     * Gets the histogram of bytes allocated redrawing the board and labels.
+     *
+     * @return the GUI update allocation histogram
+     */
+    public LatencyHistogram getGuiAllocations() {
+        return guiAllocations;
+    }
+
+    /**
+     * Gets all histograms in display order.
+     *
+     * @return the histograms
+     */
+    public List<LatencyHistogram> getHistograms() {
+        return List.of(engineTurn, guiUpdate, fxLayout, inputToFrame, turnAllocations, guiAllocations);
+    }
+
+    /**
+     * Clears all histograms.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : getHistograms()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Formats the metrics as a short multi-line summary for an overlay.
+     * Times are shown in milliseconds and allocations in kilobytes.
+     *
+     * @return the summary text
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (LatencyHistogram histogram : getHistograms()) {
+            boolean isTime = histogram.getUnit().equals("ns");
+            double scale = isTime ? NANOS_PER_MILLI : 1024.0;
+            sb.append(String.format("%-19s n=%-5d p50=%6.2f p99=%6.2f max=%6.2f %s%n",
+                    histogram.getName(),
+                    histogram.getCount(),
+                    histogram.getPercentile(50) / scale,
+                    histogram.getPercentile(99) / scale,
+                    histogram.getMax() / scale,
+                    isTime ? "ms" : "KB"));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the metrics as CSV, one row per histogram, in raw units.
+     *
+     * @param out the writer to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeCsv(Writer out) throws IOException {
+        out.write("metric,unit,count,mean,p50,p90,p99,max\n");
+        for (LatencyHistogram histogram : getHistograms()) {
+            out.write(String.format(Locale.ROOT, "%s,%s,%d,%.1f,%d,%d,%d,%d\n",
+                    histogram.getName(),
+                    histogram.getUnit(),
+                    histogram.getCount(),
+                    histogram.getMean(),
+                    histogram.getPercentile(50),
+                    histogram.getPercentile(90),
+                    histogram.getPercentile(99),
+                    histogram.getMax()));
+        }
+        out.flush();
+    }
+
+    /**
+     * Gets the number of bytes allocated so far by the current thread.
+     *
+     * @return the allocated byte count, or -1 if the JVM does not support it
+     */
+    public static long currentThreadAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+        if (!sunThreads.isThreadAllocatedMemorySupported() || !sunThreads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return sunThreads.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Gets the number of bytes allocated so far by a platform thread.
+     *
+     * @param thread the thread
+     * @return the allocated byte count, or -1 if the JVM does not support it
+     */
+    public static long threadAllocatedBytes(Thread thread) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+        if (!sunThreads.isThreadAllocatedMemorySupported() || !sunThreads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return sunThreads.getThreadAllocatedBytes(thread.threadId());
+    }
+}
@@ -0,0 +1,235 @@
+package dungeon.engine.net;
+
+import dungeon.engine.GameEngine;
+import dungeon.engine.GameMap;
+import dungeon.engine.Player;
+import dungeon.engine.cells.Cell;
+import dungeon.engine.cells.TileType;
+import dungeon.engine.event.EventSubscription;
+import dungeon.engine.event.GameEvent;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes one game's frames for a {@link WireServer} connection.
+ * The encoder remembers the state it last sent, so each turn's DELTA holds
+ * only what changed since. Tiles are compared only when the map's version
+ * has moved on. Encoding allocates nothing.
+ */
+final class TurnEncoder {
+    /** Room for one turn's events; a turn emits a handful. */
+    static final int EVENT_CAPACITY = 64;
+
+    private final GameEngine engine;
+    private final EventSubscription events;
+    private final int size;
+
+    // The state the client was last sent
+    private final byte[] tiles;
+    private GameMap sentMap;
+    private long sentVersion;
+    private int position;
+    private int hp;
+    private int score;
+    private int steps;
+    private int level;
+
+    // Indices of the tiles changed this turn
+    private final int[] changed;
+
+    /**
+     * Creates an encoder for a game, which it subscribes to.
+     *
+     * @param engine the game
+     */
+    TurnEncoder(GameEngine engine) {
+        this.engine = engine;
+        this.size = engine.getSize();
+        if (size > WireProtocol.MAX_SIZE) {
+            throw new IllegalArgumentException("Maps larger than " + WireProtocol.MAX_SIZE + " cannot be sent");
+        }
+        this.tiles = new byte[size * size];
+        this.changed = new int[size * size];
+        this.events = engine.getEvents(EVENT_CAPACITY).subscribe();
+    }
+
+    /**
+     * Writes a FULL frame with the whole game state.
+     *
+     * @param out the buffer to write to, with room for a frame
+     */
+    void writeFull(ByteBuffer out) {
+        Player player = engine.getPlayer();
+        readTiles();
+        position = player.getPosition().getRow() * size + player.getPosition().getCol();
+        hp = player.getHp();
+        score = player.getScore();
+        steps = player.getSteps();
+        level = player.getLevel();
+
+        out.put(WireProtocol.FULL);
+        out.put((byte) WireProtocol.fullPayload(size));
+        out.put((byte) WireProtocol.VERSION);
+        out.put((byte) size);
+        out.put((byte) engine.getDifficulty());
+        out.putLong(engine.getSeed());
+        out.put((byte) level);
+        out.put((byte) hp);
+        out.putShort((short) score);
+        out.putShort((short) steps);
+        out.put((byte) position);
+        out.put((byte) (engine.isGameOver() ? 1 : 0));
+        for (int i = 0; i < tiles.length; i += 2) {
+            int high = tiles[i] << 4;
+            int low = i + 1 < tiles.length ? tiles[i + 1] : 0;
+            out.put((byte) (high | low));
+        }
+    }
+
+    /**
+     * Writes the frames for the turn just played: a DELTA, preceded by a
+     * FULL if the turn changed too much to describe as a delta.
+     *
+     * @param out the buffer to write to, with room for two frames
+     */
+    void writeTurn(ByteBuffer out) {
+        Player player = engine.getPlayer();
+        int newPosition = player.getPosition().getRow() * size + player.getPosition().getCol();
+        int hpChange = player.getHp() - hp;
+        int scoreChange = player.getScore() - score;
+        int stepsChange = player.getSteps() - steps;
+        int levelChange = player.getLevel() - level;
+        int changedCount = findChangedTiles();
+
+        // A FULL is cheaper once tile pairs outgrow the packed map, and needed
+        // when a stat moved further than a byte can say
+        if (changedCount * 2 > WireProtocol.packedTiles(size)
+                || !fitsByte(hpChange) || !fitsByte(scoreChange)
+                || !fitsByte(stepsChange) || !fitsByte(levelChange)) {
+            writeFull(out);
+            changedCount = 0;
+            hpChange = 0;
+            scoreChange = 0;
+            stepsChange = 0;
+            levelChange = 0;
+        }
+
+        out.put(WireProtocol.DELTA);
+        int lengthAt = out.position();
+        out.put((byte) 0);
+        int start = out.position();
+        out.put((byte) 0);
+        int flags = 0;
+        if (newPosition != position) {
+            flags |= WireProtocol.POSITION;
+            out.put((byte) newPosition);
+            position = newPosition;
+        }
+        if (hpChange != 0) {
+            flags |= WireProtocol.HP;
+            out.put((byte) hpChange);
+            hp += hpChange;
+        }
+        if (scoreChange != 0) {
+            flags |= WireProtocol.SCORE;
+            out.put((byte) scoreChange);
+            score += scoreChange;
+        }
+        if (stepsChange != 0) {
+            flags |= WireProtocol.STEPS;
+            out.put((byte) stepsChange);
+            steps += stepsChange;
+        }
+        if (levelChange != 0) {
+            flags |= WireProtocol.LEVEL;
+            out.put((byte) levelChange);
+            level += levelChange;
+        }
+        if (changedCount > 0) {
+            flags |= WireProtocol.TILES;
+            out.put((byte) changedCount);
+            for (int i = 0; i < changedCount; i++) {
+                out.put((byte) changed[i]);
+                out.put(tiles[changed[i]]);
+            }
+        }
+        if (writeEvents(out, WireProtocol.MAX_PAYLOAD - (out.position() - start))) {
+            flags |= WireProtocol.EVENTS;
+        }
+        if (engine.isGameOver()) {
+            flags |= WireProtocol.GAME_OVER;
+        }
+        out.put(start, (byte) flags);
+        out.put(lengthAt, (byte) (out.position() - start));
+    }
+
+    /**
+     * Writes the events published since the last turn.
+     *
+     * @param room the payload bytes left in the frame
+     * @return true if any were written
+     */
+    private boolean writeEvents(ByteBuffer out, int room) {
+        int countAt = out.position();
+        out.put((byte) 0);
+        int limit = (room - 1) / 2;
+        int count = 0;
+        for (GameEvent event = events.poll(); event != null; event = events.poll()) {
+            // A turn emits far fewer events than fit, so this never drops any in practice
+            if (WireProtocol.isSent(event.getType()) && count < limit) {
+                out.put((byte) event.getType().ordinal());
+                out.put((byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, event.getAmount())));
+                count++;
+            }
+        }
+        if (count == 0) {
+            out.position(countAt);
+            return false;
+        }
+        out.put(countAt, (byte) count);
+        return true;
+    }
+
+    /**
+     * Records the current tiles into {@code tiles} and {@code changed}.
+     *
+     * @return the number of tiles that differ from those last sent
+     */
+    private int findChangedTiles() {
+        GameMap map = engine.getGameMap();
+        if (map == sentMap && map.getVersion() == sentVersion) {
+            return 0;
+        }
+        Cell[][] grid = map.getGrid();
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int index = row * size + col;
+                byte type = (byte) TileType.of(grid[row][col]).ordinal();
+                if (tiles[index] != type) {
+                    tiles[index] = type;
+                    changed[count++] = index;
+                }
+            }
+        }
+        sentMap = map;
+        sentVersion = map.getVersion();
+        return count;
+    }
+
+    private void readTiles() {
+        GameMap map = engine.getGameMap();
+        Cell[][] grid = map.getGrid();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                tiles[row * size + col] = (byte) TileType.of(grid[row][col]).ordinal();
+            }
+        }
+        sentMap = map;
+        sentVersion = map.getVersion();
+    }
+
+    private static boolean fitsByte(int value) {
+        return value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE;
+    }
+}
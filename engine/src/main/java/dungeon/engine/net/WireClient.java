@@ -0,0 +1,440 @@
+package dungeon.engine.net;
+
+import dungeon.engine.Direction;
+import dungeon.engine.cells.TileType;
+import dungeon.engine.event.GameEventType;
+import dungeon.engine.metrics.PerformanceMetrics;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.SplittableRandom;
+
+/**
+ * A minimal client for a {@link WireServer}, standing in for a remote
+ * front end in tests and benchmarks. It keeps its own copy of the game,
+ * built from the FULL frame it gets on joining and kept up to date by
+ * applying each turn's DELTA, and never sees the server's engine.
+ * Requests block until their reply has been applied. Like the server, it
+ * reads and writes through direct buffers and allocates nothing per turn.
+ */
+public class WireClient implements AutoCloseable {
+    private final SocketChannel channel;
+    private final ByteBuffer in = ByteBuffer.allocateDirect(2 * WireProtocol.MAX_FRAME);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(WireProtocol.MAX_FRAME);
+
+    // The game as last described by the server
+    private final byte[] tiles = new byte[WireProtocol.MAX_SIZE * WireProtocol.MAX_SIZE];
+    private int size;
+    private int difficulty;
+    private long seed;
+    private int position;
+    private int hp;
+    private int score;
+    private int steps;
+    private int level;
+    private boolean gameOver;
+
+    // The events of the last turn
+    private final byte[] eventTypes = new byte[WireProtocol.MAX_PAYLOAD / 2];
+    private final byte[] eventAmounts = new byte[WireProtocol.MAX_PAYLOAD / 2];
+    private int eventCount;
+
+    private long bytesSent;
+    private long bytesReceived;
+    private long fullFrames;
+
+    /**
+     * Connects to a server.
+     *
+     * @param server the server's address
+     * @throws IOException if the connection fails
+     */
+    public WireClient(InetSocketAddress server) throws IOException {
+        this.channel = SocketChannel.open(server);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    /**
+     * Starts a new game, replacing any game this client was playing.
+     *
+     * @param difficulty the difficulty level
+     * @param seed the seed of the game
+     * @throws IOException if the server rejects the request or the connection fails
+     */
+    public void join(int difficulty, long seed) throws IOException {
+        out.put(WireProtocol.JOIN);
+        out.put((byte) 9);
+        out.put((byte) difficulty);
+        out.putLong(seed);
+        send();
+        while (receive() != WireProtocol.FULL) {
+            // Skip replies to earlier requests
+        }
+    }
+
+    /**
+     * Moves the player and applies the resulting changes.
+     *
+     * @param direction the direction to move
+     * @throws IOException if the server rejects the request or the connection fails
+     */
+    public void move(Direction direction) throws IOException {
+        out.put(WireProtocol.MOVE);
+        out.put((byte) 1);
+        out.put((byte) direction.ordinal());
+        send();
+        while (receive() != WireProtocol.DELTA) {
+            // A FULL comes first when the turn changed too much for a delta
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void send() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            bytesSent += channel.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * Reads and applies one frame.
+     *
+     * @return the frame type
+     */
+    private byte receive() throws IOException {
+        fill(WireProtocol.HEADER_BYTES);
+        int length = in.get(1) & 0xFF;
+        fill(WireProtocol.HEADER_BYTES + length);
+        in.flip();
+        byte type = in.get();
+        in.get();
+        int end = in.position() + length;
+        if (type == WireProtocol.FULL) {
+            applyFull();
+        } else if (type == WireProtocol.DELTA) {
+            applyDelta();
+        } else if (type == WireProtocol.ERROR) {
+            int code = in.get();
+            in.position(end);
+            in.compact();
+            throw new IOException("Server rejected the request with error " + code);
+        } else {
+            throw new IOException("Unknown frame type " + type);
+        }
+        in.position(end);
+        in.compact();
+        return type;
+    }
+
+    // Reads until the buffer holds at least the given number of bytes
+    private void fill(int bytes) throws IOException {
+        while (in.position() < bytes) {
+            int read = channel.read(in);
+            if (read < 0) {
+                throw new EOFException("Connection closed by server");
+            }
+            bytesReceived += read;
+        }
+    }
+
+    private void applyFull() throws IOException {
+        int version = in.get();
+        if (version != WireProtocol.VERSION) {
+            throw new IOException("Unsupported protocol version " + version);
+        }
+        size = in.get();
+        difficulty = in.get();
+        seed = in.getLong();
+        level = in.get();
+        hp = in.get();
+        score = in.getShort();
+        steps = in.getShort();
+        position = in.get() & 0xFF;
+        gameOver = in.get() != 0;
+        int count = size * size;
+        for (int i = 0; i < count; i += 2) {
+            int packed = in.get();
+            tiles[i] = (byte) ((packed >> 4) & 0x0F);
+            if (i + 1 < count) {
+                tiles[i + 1] = (byte) (packed & 0x0F);
+            }
+        }
+        fullFrames++;
+    }
+
+    private void applyDelta() {
+        int flags = in.get() & 0xFF;
+        eventCount = 0;
+        if ((flags & WireProtocol.POSITION) != 0) {
+            position = in.get() & 0xFF;
+        }
+        if ((flags & WireProtocol.HP) != 0) {
+            hp += in.get();
+        }
+        if ((flags & WireProtocol.SCORE) != 0) {
+            score += in.get();
+        }
+        if ((flags & WireProtocol.STEPS) != 0) {
+            steps += in.get();
+        }
+        if ((flags & WireProtocol.LEVEL) != 0) {
+            level += in.get();
+        }
+        if ((flags & WireProtocol.TILES) != 0) {
+            int count = in.get() & 0xFF;
+            for (int i = 0; i < count; i++) {
+                int index = in.get() & 0xFF;
+                tiles[index] = in.get();
+            }
+        }
+        if ((flags & WireProtocol.EVENTS) != 0) {
+            int count = in.get() & 0xFF;
+            for (int i = 0; i < count; i++) {
+                eventTypes[eventCount] = in.get();
+                eventAmounts[eventCount] = in.get();
+                eventCount++;
+            }
+        }
+        gameOver = (flags & WireProtocol.GAME_OVER) != 0;
+    }
+
+    /**
+     * Gets the map size.
+     *
+     * @return the size of the map (both width and height)
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the difficulty of the game.
+     *
+     * @return the difficulty level
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Gets the seed of the game.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the kind of tile at a position.
+     *
+     * @param row the row
+     * @param col the column
+     * @return the tile type
+     */
+    public TileType getTile(int row, int col) {
+        return WireProtocol.tileType(tiles[row * size + col]);
+    }
+
+    /**
+     * Gets the player's row.
+     *
+     * @return the row
+     */
+    public int getRow() {
+        return position / size;
+    }
+
+    /**
+     * Gets the player's column.
+     *
+     * @return the column
+     */
+    public int getCol() {
+        return position % size;
+    }
+
+    /**
+     * Gets the player's HP.
+     *
+     * @return the HP
+     */
+    public int getHp() {
+        return hp;
+    }
+
+    /**
+     * Gets the player's score.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the player's step count.
+     *
+     * @return the steps taken
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /**
+     * Gets the player's level.
+     *
+     * @return the level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Checks if the game is over.
+     *
+     * @return true if the game has been won or lost
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Gets the number of events the last move caused.
+     *
+     * @return the event count
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Gets the kind of one of the last move's events.
+     *
+     * @param index the event's index, in the order they happened
+     * @return the event type
+     */
+    public GameEventType getEventType(int index) {
+        if (index < 0 || index >= eventCount) {
+            throw new IndexOutOfBoundsException("No event " + index);
+        }
+        return WireProtocol.eventType(eventTypes[index]);
+    }
+
+    /**
+     * Gets the points, HP or flag of one of the last move's events.
+     *
+     * @param index the event's index, in the order they happened
+     * @return the amount
+     */
+    public int getEventAmount(int index) {
+        if (index < 0 || index >= eventCount) {
+            throw new IndexOutOfBoundsException("No event " + index);
+        }
+        return eventAmounts[index];
+    }
+
+    /**
+     * Gets the number of bytes sent to the server.
+     *
+     * @return the bytes sent
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Gets the number of bytes received from the server.
+     *
+     * @return the bytes received
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Gets the number of FULL frames received, one per game plus one per level reached.
+     *
+     * @return the FULL frames
+     */
+    public long getFullFrames() {
+        return fullFrames;
+    }
+
+    /**
+     * Plays random games against a server and prints the bandwidth and
+     * allocation per turn.
+     * Usage: WireClient [turns] [host:port]
+     * Without an address, a server is started in this JVM.
+     */
+    public static void main(String[] args) throws IOException {
+        int turns = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        WireServer server = null;
+        InetSocketAddress address;
+        if (args.length > 1) {
+            int colon = args[1].lastIndexOf(':');
+            address = new InetSocketAddress(args[1].substring(0, colon), Integer.parseInt(args[1].substring(colon + 1)));
+        } else {
+            server = new WireServer(new InetSocketAddress("localhost", 0));
+            address = new InetSocketAddress("localhost", server.getPort());
+        }
+
+        try (WireClient client = new WireClient(address)) {
+            SplittableRandom random = new SplittableRandom(1);
+            play(client, random, Math.max(1, turns / 10)); // warm up
+
+            long sentBefore = client.getBytesSent();
+            long receivedBefore = client.getBytesReceived();
+            long fullBefore = client.getFullFrames();
+            long serverAllocatedBefore = server != null ? server.getAllocatedBytes() : -1;
+            long allocatedBefore = PerformanceMetrics.currentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            int games = play(client, random, turns);
+            long elapsed = System.nanoTime() - start;
+            long allocated = PerformanceMetrics.currentThreadAllocatedBytes() - allocatedBefore;
+
+            System.out.printf("%d turns over %d games in %.2f s: %.0f turns/s%n",
+                turns, games, elapsed / 1e9, turns / (elapsed / 1e9));
+            System.out.printf("Per turn: %.2f bytes up, %.2f bytes down; %d FULL frames%n",
+                (double) (client.getBytesSent() - sentBefore) / turns,
+                (double) (client.getBytesReceived() - receivedBefore) / turns,
+                client.getFullFrames() - fullBefore);
+            System.out.printf("A FULL frame is %d bytes%n",
+                WireProtocol.HEADER_BYTES + WireProtocol.fullPayload(client.getSize()));
+            System.out.printf("Allocated per turn: client %.1f bytes", (double) allocated / turns);
+            if (server != null) {
+                System.out.printf(", server %.1f bytes (a new engine per game included)",
+                    (double) (server.getAllocatedBytes() - serverAllocatedBefore) / turns);
+            }
+            System.out.println();
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    // Plays random moves, joining a new game whenever one ends; returns the games started
+    private static int play(WireClient client, SplittableRandom random, int turns) throws IOException {
+        Direction[] directions = Direction.values();
+        client.join(3, random.nextLong());
+        int games = 1;
+        for (int i = 0; i < turns; i++) {
+            if (client.isGameOver()) {
+                client.join(3, random.nextLong());
+                games++;
+            }
+            client.move(directions[random.nextInt(directions.length)]);
+        }
+        return games;
+    }
+}
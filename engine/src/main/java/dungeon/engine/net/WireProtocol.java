@@ -0,0 +1,173 @@
+package dungeon.engine.net;
+
+import dungeon.engine.Direction;
+import dungeon.engine.cells.TileType;
+import dungeon.engine.event.GameEventType;
+
+/**
+ * The binary protocol spoken by {@link WireServer} and {@link WireClient}.
+ * <p>
+ * Every frame is a type byte, a payload length byte and the payload, so no
+ * frame is longer than {@link #MAX_FRAME} bytes. Multi-byte numbers are big-endian.
+ * <pre>
+ * Client frames
+ *   JOIN   difficulty:1 seed:8         start a new game; answered with FULL
+ *   MOVE   direction:1                 Direction ordinal; answered with DELTA
+ *
+ * Server frames
+ *   FULL   version:1 size:1 difficulty:1 seed:8 level:1 hp:1 score:2 steps:2
+ *          position:1 gameOver:1 tiles:(size*size+1)/2
+ *   DELTA  flags:1 [position:1] [hp:1] [score:1] [steps:1] [level:1]
+ *          [count:1 (tile:1 type:1)*] [count:1 (event:1 amount:1)*]
+ *   ERROR  code:1
+ * </pre>
+ * A position is a tile index, {@code row * size + col}. FULL packs two tiles
+ * into each byte, the first in the high nibble, as {@link TileType} ordinals.
+ * <p>
+ * DELTA carries only what a turn changed, as marked by its flags: the new
+ * position, the change in each stat as a signed byte, the tiles that were
+ * replaced and the turn's events as {@link GameEventType} ordinals. Moves,
+ * turn ends and messages are left out, since the stats already say they
+ * happened. When a turn changes too much for a delta, such as reaching a new
+ * level, the server sends a FULL first and the DELTA then holds only events.
+ * A plain step is a 5-byte DELTA answering a 3-byte MOVE.
+ */
+public final class WireProtocol {
+    /** The protocol version sent in FULL frames. */
+    public static final int VERSION = 1;
+
+    /** The bytes before each payload: the frame type and the payload length. */
+    public static final int HEADER_BYTES = 2;
+    /** The largest payload a frame can carry. */
+    public static final int MAX_PAYLOAD = 255;
+    /** The largest frame. */
+    public static final int MAX_FRAME = HEADER_BYTES + MAX_PAYLOAD;
+    /** The largest map the protocol can describe, so that a position fits in a byte. */
+    public static final int MAX_SIZE = 16;
+
+    /** Client frame starting a new game. */
+    public static final byte JOIN = 0x01;
+    /** Client frame moving the player. */
+    public static final byte MOVE = 0x02;
+    /** Server frame with the whole game state. */
+    public static final byte FULL = (byte) 0x81;
+    /** Server frame with the changes made by one turn. */
+    public static final byte DELTA = (byte) 0x82;
+    /** Server frame rejecting a client frame. */
+    public static final byte ERROR = (byte) 0x83;
+
+    /** DELTA flag: the player moved to a new tile. */
+    public static final int POSITION = 0x01;
+    /** DELTA flag: the player's HP changed. */
+    public static final int HP = 0x02;
+    /** DELTA flag: the player's score changed. */
+    public static final int SCORE = 0x04;
+    /** DELTA flag: the player's step count changed. */
+    public static final int STEPS = 0x08;
+    /** DELTA flag: the player's level changed. */
+    public static final int LEVEL = 0x10;
+    /** DELTA flag: tiles were replaced. */
+    public static final int TILES = 0x20;
+    /** DELTA flag: events happened. */
+    public static final int EVENTS = 0x40;
+    /** DELTA flag: the game is over. */
+    public static final int GAME_OVER = 0x80;
+
+    /** ERROR code: a MOVE was sent before any JOIN. */
+    public static final int NOT_JOINED = 1;
+    /** ERROR code: the frame type or length was not understood; the connection is closed. */
+    public static final int BAD_FRAME = 2;
+    /** ERROR code: the frame's values were rejected, such as an unknown difficulty. */
+    public static final int BAD_REQUEST = 3;
+
+    private static final TileType[] TILE_TYPES = TileType.values();
+    private static final GameEventType[] EVENT_TYPES = GameEventType.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    static {
+        // Two tiles share each byte of a FULL frame
+        if (TILE_TYPES.length > 16) {
+            throw new ExceptionInInitializerError("Too many tile types to pack into a nibble");
+        }
+    }
+
+    private WireProtocol() {
+    }
+
+    /**
+     * Gets the payload length of a FULL frame.
+     *
+     * @param size the map size
+     * @return the payload length
+     */
+    public static int fullPayload(int size) {
+        return 19 + packedTiles(size);
+    }
+
+    /**
+     * Gets the number of bytes the tiles of a FULL frame are packed into.
+     *
+     * @param size the map size
+     * @return the packed tile length
+     */
+    public static int packedTiles(int size) {
+        return (size * size + 1) / 2;
+    }
+
+    /**
+     * Gets a tile type from its code.
+     *
+     * @param code the tile type ordinal
+     * @return the tile type
+     */
+    public static TileType tileType(int code) {
+        if (code < 0 || code >= TILE_TYPES.length) {
+            throw new IllegalArgumentException("Unknown tile type " + code);
+        }
+        return TILE_TYPES[code];
+    }
+
+    /**
+     * Gets an event type from its code.
+     *
+     * @param code the event type ordinal
+     * @return the event type
+     */
+    public static GameEventType eventType(int code) {
+        if (code < 0 || code >= EVENT_TYPES.length) {
+            throw new IllegalArgumentException("Unknown event type " + code);
+        }
+        return EVENT_TYPES[code];
+    }
+
+    /**
+     * Gets a direction from its code.
+     *
+     * @param code the direction ordinal
+     * @return the direction
+     */
+    public static Direction direction(int code) {
+        if (code < 0 || code >= DIRECTIONS.length) {
+            throw new IllegalArgumentException("Unknown direction " + code);
+        }
+        return DIRECTIONS[code];
+    }
+
+    /**
+     * Checks if an event is sent in DELTA frames.
+     *
+     * @param type the event type
+     * @return false for events the stats already describe
+     */
+    public static boolean isSent(GameEventType type) {
+        switch (type) {
+            case MOVED:
+            case TURN_ENDED:
+            case MESSAGE:
+            case RESTORED:
+                return false;
+            default:
+                return true;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package dungeon.engine.net;
+
+import dungeon.engine.GameEngine;
+import dungeon.engine.LevelCache;
+import dungeon.engine.metrics.PerformanceMetrics;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.function.Consumer;
+
+/**
+ * Serves games to remote clients over the binary {@link WireProtocol}.
+ * <p>
+ * One thread runs every connection through a {@link Selector} with
+ * non-blocking channels. Each connection plays its own game and owns a pair
+ * of direct buffers allocated when it is accepted; frames are decoded from
+ * and encoded into those buffers in place, so a turn allocates nothing in
+ * the protocol layer. A client that stops reading is not read from either
+ * until its pending frames have been written.
+ */
+public class WireServer implements AutoCloseable {
+    /** The highest difficulty a client may ask for. */
+    public static final int MAX_DIFFICULTY = 10;
+
+    // Input holds a few pipelined frames; output has room for many turns' replies
+    private static final int IN_CAPACITY = 4 * WireProtocol.MAX_FRAME;
+    private static final int OUT_CAPACITY = 16 * WireProtocol.MAX_FRAME;
+    // A turn writes at most a FULL and a DELTA
+    private static final int TURN_ROOM = 2 * WireProtocol.MAX_FRAME;
+
+    /**
+     * One client's connection and game. Only touched by the server thread.
+     */
+    private static final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocateDirect(IN_CAPACITY);
+        final ByteBuffer out = ByteBuffer.allocateDirect(OUT_CAPACITY);
+        GameEngine engine;
+        TurnEncoder encoder;
+        // Set once a bad frame has been answered; the connection closes when flushed
+        boolean closing;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread thread;
+    private final Consumer<SelectionKey> readyHandler = this::ready;
+    private volatile boolean running = true;
+
+    // Written only by the server thread
+    private volatile long connections;
+    private volatile long turns;
+    private volatile long bytesRead;
+    private volatile long bytesWritten;
+
+    /**
+     * Starts serving.
+     *
+     * @param address the address to listen on; port 0 picks a free port
+     * @throws IOException if the port cannot be bound
+     */
+    public WireServer(InetSocketAddress address) throws IOException {
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.thread = new Thread(this::run, "wire-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Gets the number of connections accepted.
+     *
+     * @return the connections
+     */
+    public long getConnections() {
+        return connections;
+    }
+
+    /**
+     * Gets the number of moves played across all connections.
+     *
+     * @return the turns
+     */
+    public long getTurns() {
+        return turns;
+    }
+
+    /**
+     * Gets the number of bytes read from clients.
+     *
+     * @return the bytes read
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Gets the number of bytes written to clients.
+     *
+     * @return the bytes written
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Gets the number of bytes the server thread has allocated.
+     *
+     * @return the allocated byte count, or -1 if the JVM does not support it
+     */
+    public long getAllocatedBytes() {
+        return PerformanceMetrics.threadAllocatedBytes(thread);
+    }
+
+    /**
+     * Stops serving and closes every connection.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select(readyHandler);
+            }
+        } catch (IOException e) {
+            // The selector failed; nothing more can be served
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // Already stopping
+            }
+        }
+    }
+
+    private void ready(SelectionKey key) {
+        try {
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            Connection connection = (Connection) key.attachment();
+            if (key.isReadable()) {
+                int read = connection.channel.read(connection.in);
+                if (read < 0) {
+                    closeQuietly(key);
+                    return;
+                }
+                bytesRead += read;
+            }
+            process(connection);
+            flush(key, connection);
+        } catch (IOException e) {
+            closeQuietly(key);
+        }
+    }
+
+    private void accept() throws IOException {
+        for (SocketChannel channel = serverChannel.accept(); channel != null; channel = serverChannel.accept()) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+            connections++;
+        }
+    }
+
+    /**
+     * Answers every complete frame in the input buffer that there is room to answer.
+     */
+    private void process(Connection connection) {
+        ByteBuffer in = connection.in;
+        in.flip();
+        while (!connection.closing && in.remaining() >= WireProtocol.HEADER_BYTES
+                && connection.out.remaining() >= TURN_ROOM) {
+            int start = in.position();
+            int length = in.get(start + 1) & 0xFF;
+            if (in.remaining() < WireProtocol.HEADER_BYTES + length) {
+                break;
+            }
+            in.position(start + WireProtocol.HEADER_BYTES);
+            handle(connection, in.get(start), length);
+            in.position(start + WireProtocol.HEADER_BYTES + length);
+        }
+        in.compact();
+    }
+
+    /**
+     * Answers one frame, whose payload starts at the input buffer's position.
+     */
+    private void handle(Connection connection, byte type, int length) {
+        ByteBuffer in = connection.in;
+        ByteBuffer out = connection.out;
+        if (type == WireProtocol.JOIN && length == 9) {
+            int difficulty = in.get();
+            long seed = in.getLong();
+            if (difficulty < 0 || difficulty > MAX_DIFFICULTY) {
+                error(out, WireProtocol.BAD_REQUEST);
+                return;
+            }
+            connection.engine = new GameEngine(difficulty, seed, LevelCache.getShared());
+            connection.encoder = new TurnEncoder(connection.engine);
+            connection.encoder.writeFull(out);
+        } else if (type == WireProtocol.MOVE && length == 1) {
+            int direction = in.get();
+            if (connection.engine == null) {
+                error(out, WireProtocol.NOT_JOINED);
+                return;
+            }
+            try {
+                connection.engine.move(WireProtocol.direction(direction));
+            } catch (IllegalArgumentException e) {
+                error(out, WireProtocol.BAD_REQUEST);
+                return;
+            }
+            connection.encoder.writeTurn(out);
+            turns++;
+        } else {
+            error(out, WireProtocol.BAD_FRAME);
+            connection.closing = true;
+        }
+    }
+
+    private static void error(ByteBuffer out, int code) {
+        out.put(WireProtocol.ERROR);
+        out.put((byte) 1);
+        out.put((byte) code);
+    }
+
+    /**
+     * Writes what the channel will take, then waits to write the rest or to
+     * read more. Input left waiting for output room is answered once it drains.
+     */
+    private void flush(SelectionKey key, Connection connection) throws IOException {
+        ByteBuffer out = connection.out;
+        while (true) {
+            out.flip();
+            bytesWritten += connection.channel.write(out);
+            out.compact();
+            if (out.position() > 0) {
+                key.interestOps(SelectionKey.OP_WRITE);
+                return;
+            }
+            if (connection.closing) {
+                closeQuietly(key);
+                return;
+            }
+            if (connection.in.position() < WireProtocol.HEADER_BYTES) {
+                break;
+            }
+            int pending = connection.in.position();
+            process(connection);
+            if (connection.in.position() == pending) {
+                // Only part of a frame is waiting
+                break;
+            }
+        }
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // Nothing more to do for a broken connection
+        }
+    }
+
+    /**
+     * Runs a server until the process is killed.
+     * Usage: WireServer [port]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8222;
+        WireServer server = new WireServer(new InetSocketAddress("localhost", port));
+        System.out.println("Serving binary games on localhost:" + server.getPort());
+        server.thread.join();
+    }
+}
@@ -0,0 +1,52 @@
+package dungeon.engine.path;
+
+import dungeon.engine.Mutant;
+import dungeon.engine.cells.Cell;
+import dungeon.engine.cells.TileType;
+
+/**
+ * Assigns a cost to entering each kind of cell.
+ * Costs are positive integers; {@link #BLOCKED} marks cells that cannot be entered.
+ */
+@FunctionalInterface
+public interface CostModel {
+    /** Cost returned for cells that cannot be entered. */
+    int BLOCKED = -1;
+
+    /** Extra cost per point of expected damage in the {@link #SAFE} model. */
+    int DAMAGE_WEIGHT = 3;
+
+    /**
+     * Every enterable cell costs one step; walls are blocked.
+     * Distances in this model are step counts.
+     */
+    CostModel STEPS = cell -> TileType.of(cell) == TileType.WALL ? BLOCKED : 1;
+
+    /**
+     * One step plus a penalty for the damage the player expects to take:
+     * traps and melee mutants deal their full damage, and a ranged mutant is
+     * counted at half damage for the 50% chance of being shot while approaching.
+     * Walls are blocked.
+     */
+    CostModel SAFE = cell -> {
+        switch (TileType.of(cell)) {
+            case WALL:
+                return BLOCKED;
+            case TRAP:
+            case MELEE_MUTANT:
+                return 1 + DAMAGE_WEIGHT * Mutant.DAMAGE;
+            case RANGED_MUTANT:
+                return 1 + DAMAGE_WEIGHT * Mutant.DAMAGE / 2;
+            default:
+                return 1;
+        }
+    };
+
+    /**
+     * Gets the cost of entering a cell.
+     *
+     * @param cell the cell to enter
+     * @return the cost, or {@link #BLOCKED} if the cell cannot be entered
+     */
+    int cost(Cell cell);
+}
@@ -0,0 +1,144 @@
+package dungeon.engine.path;
+
+import dungeon.engine.Direction;
+import dungeon.engine.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The cost of the cheapest path from every tile to one target tile.
+ * Each tile also records the next tile to step to, so shortest paths can be
+ * followed without searching again. Instances are owned and kept up to date
+ * by a {@link PathFinder}; they should not be held across map changes
+ * unless obtained again from the path finder.
+ */
+public class DistanceField {
+    /** Distance reported for tiles that cannot reach the target. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final int size;
+    private final int target;
+    final int[] distances;
+    final int[] next;
+    long version;
+
+    /**
+     * Creates an empty field for a target tile.
+     *
+     * @param size the width and height of the map
+     * @param target the index (row * size + col) of the target tile
+     */
+    DistanceField(int size, int target) {
+        this.size = size;
+        this.target = target;
+        this.distances = new int[size * size];
+        this.next = new int[size * size];
+        clear();
+    }
+
+    /**
+     * Marks every tile as unreachable.
+     */
+    void clear() {
+        Arrays.fill(distances, UNREACHABLE);
+        Arrays.fill(next, -1);
+    }
+
+    /**
+     * Gets the target of this field.
+     *
+     * @return the target position
+     */
+    public Position getTarget() {
+        return new Position(target / size, target % size);
+    }
+
+    /**
+     * Gets the index (row * size + col) of the target tile.
+     */
+    int getTargetIndex() {
+        return target;
+    }
+
+    /**
+     * Gets the map version this field was last brought up to date with.
+     *
+     * @return the map version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the cost of the cheapest path from a tile to the target.
+     *
+     * @param row the row of the starting tile
+     * @param col the column of the starting tile
+     * @return the path cost, or {@link #UNREACHABLE} if there is no path
+     */
+    public int getDistance(int row, int col) {
+        return distances[row * size + col];
+    }
+
+    /**
+     * Gets the cost of the cheapest path from a position to the target.
+     *
+     * @param from the starting position
+     * @return the path cost, or {@link #UNREACHABLE} if there is no path
+     */
+    public int getDistance(Position from) {
+        return getDistance(from.getRow(), from.getCol());
+    }
+
+    /**
+     * Gets the first step of a cheapest path from a position to the target.
+     *
+     * @param from the starting position
+     * @return the direction to move, or null if already at the target or unreachable
+     */
+    public Direction getNextStep(Position from) {
+        int index = from.getRow() * size + from.getCol();
+        int step = next[index];
+        if (step < 0) {
+            return null;
+        }
+        return directionBetween(index, step);
+    }
+
+    /**
+     * Follows the cheapest path from a position to the target.
+     *
+     * @param from the starting position
+     * @return the moves to make, empty if already at the target, or null if unreachable
+     */
+    public List<Direction> getPath(Position from) {
+        int index = from.getRow() * size + from.getCol();
+        if (index != target && next[index] < 0) {
+            return null;
+        }
+
+        List<Direction> path = new ArrayList<>();
+        while (index != target) {
+            int step = next[index];
+            path.add(directionBetween(index, step));
+            index = step;
+        }
+        return path;
+    }
+
+    /**
+     * Gets the direction from one tile to an adjacent tile.
+     */
+    private Direction directionBetween(int from, int to) {
+        int dRow = to / size - from / size;
+        int dCol = to % size - from % size;
+        for (Direction direction : Direction.values()) {
+            if (direction.getDRow() == dRow && direction.getDCol() == dCol) {
+                return direction;
+            }
+        }
+        return null;
+    }
+}
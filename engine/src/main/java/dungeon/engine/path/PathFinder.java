@@ -0,0 +1,339 @@
+package dungeon.engine.path;
+
+import dungeon.engine.CellChangeListener;
+import dungeon.engine.Direction;
+import dungeon.engine.GameMap;
+import dungeon.engine.Position;
+import dungeon.engine.cells.Cell;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes and caches distance fields over a GameMap.
+ * Fields are computed with Dijkstra's algorithm using a {@link CostModel}
+ * and are cached per target tile. When a cell is replaced through
+ * {@link GameMap#setCell}, cached fields are repaired incrementally where
+ * possible instead of being recomputed from scratch.
+ *
+ * <p>A path finder is not thread-safe; use one per map and thread.</p>
+ */
+public class PathFinder implements CellChangeListener {
+    private final GameMap map;
+    private final CostModel costModel;
+    private final int size;
+    private final int[] costs;
+    private final Map<Integer, DistanceField> fields = new HashMap<>();
+
+    // Binary min-heap of (distance << 32 | tile index) used by Dijkstra
+    private long[] heap;
+    private int heapSize;
+
+    // The map version that costs and cached fields reflect
+    private long syncedVersion;
+
+    private int fullComputations;
+
+    /**
+     * Creates a path finder for a map and starts listening for cell changes.
+     *
+     * @param map the map to search
+     * @param costModel the cost of entering each kind of cell
+     */
+    public PathFinder(GameMap map, CostModel costModel) {
+        this.map = map;
+        this.costModel = costModel;
+        this.size = map.getSize();
+        this.costs = new int[size * size];
+        this.heap = new long[size * size * 4];
+        loadCosts();
+        map.addCellChangeListener(this);
+    }
+
+    /**
+     * Gets the distance field towards a target, computing it if needed.
+     *
+     * @param target the target position
+     * @return the distance field
+     */
+    public DistanceField distancesTo(Position target) {
+        if (syncedVersion != map.getVersion()) {
+            // The grid changed without us being told; start over
+            loadCosts();
+        }
+
+        int index = target.getRow() * size + target.getCol();
+        DistanceField field = fields.get(index);
+        if (field == null) {
+            field = new DistanceField(size, index);
+            compute(field);
+            fields.put(index, field);
+        }
+        return field;
+    }
+
+    /**
+     * Gets the cost of the cheapest path between two positions.
+     *
+     * @param from the starting position
+     * @param to the target position
+     * @return the path cost, or {@link DistanceField#UNREACHABLE} if there is no path
+     */
+    public int distance(Position from, Position to) {
+        return distancesTo(to).getDistance(from);
+    }
+
+    /**
+     * Finds a cheapest path between two positions.
+     *
+     * @param from the starting position
+     * @param to the target position
+     * @return the moves to make, empty if the positions are equal, or null if unreachable
+     */
+    public List<Direction> shortestPath(Position from, Position to) {
+        return distancesTo(to).getPath(from);
+    }
+
+    /**
+     * Stops listening to the map and drops all cached fields.
+     */
+    public void detach() {
+        map.removeCellChangeListener(this);
+        fields.clear();
+    }
+
+    /**
+     * Gets the number of distance fields computed from scratch so far.
+     *
+     * @return the number of full computations
+     */
+    public int getFullComputations() {
+        return fullComputations;
+    }
+
+    /**
+     * Repairs cached fields after a cell has been replaced.
+     */
+    @Override
+    public void cellChanged(Position position, Cell oldCell, Cell newCell) {
+        if (syncedVersion != map.getVersion() - 1) {
+            loadCosts();
+            return;
+        }
+        syncedVersion = map.getVersion();
+
+        int index = position.getRow() * size + position.getCol();
+        int oldCost = costs[index];
+        int newCost = costModel.cost(newCell);
+        costs[index] = newCost;
+        if (oldCost == newCost) {
+            markSynced();
+            return;
+        }
+
+        boolean cheaper = oldCost == CostModel.BLOCKED
+                || (newCost != CostModel.BLOCKED && newCost < oldCost);
+        for (DistanceField field : fields.values()) {
+            if (index == field.getTargetIndex()) {
+                compute(field);
+            } else if (cheaper) {
+                repairCheaper(field, index, oldCost == CostModel.BLOCKED);
+            } else {
+                repairDearer(field, index, newCost == CostModel.BLOCKED);
+            }
+            field.version = syncedVersion;
+        }
+    }
+
+    /**
+     * Handles a tile that became more expensive or blocked.
+     * Only the tile's own descendants in the shortest-path tree route through it,
+     * so if it has none the field is unaffected apart from the tile itself.
+     */
+    private void repairDearer(DistanceField field, int index, boolean nowBlocked) {
+        if (hasChildren(field, index)) {
+            compute(field);
+        } else if (nowBlocked) {
+            field.distances[index] = DistanceField.UNREACHABLE;
+            field.next[index] = -1;
+        }
+    }
+
+    /**
+     * Handles a tile that became cheaper or was unblocked.
+     * Distances can only shrink, so Dijkstra is resumed from the changed tile.
+     */
+    private void repairCheaper(DistanceField field, int index, boolean wasBlocked) {
+        int[] distances = field.distances;
+        if (wasBlocked) {
+            // The tile's own distance comes from its cheapest neighbour
+            int row = index / size;
+            int col = index % size;
+            for (Direction direction : Direction.values()) {
+                int neighbour = neighbourIndex(row, col, direction);
+                if (neighbour < 0 || distances[neighbour] == DistanceField.UNREACHABLE) {
+                    continue;
+                }
+                int candidate = distances[neighbour] + costs[neighbour];
+                if (candidate < distances[index]) {
+                    distances[index] = candidate;
+                    field.next[index] = neighbour;
+                }
+            }
+        }
+        if (distances[index] == DistanceField.UNREACHABLE) {
+            return;
+        }
+
+        heapSize = 0;
+        relaxNeighbours(field, index);
+        runDijkstra(field);
+    }
+
+    /**
+     * Computes a field from scratch.
+     */
+    private void compute(DistanceField field) {
+        fullComputations++;
+        field.clear();
+        field.version = syncedVersion;
+
+        int target = field.getTargetIndex();
+        if (costs[target] == CostModel.BLOCKED) {
+            return;
+        }
+        field.distances[target] = 0;
+        heapSize = 0;
+        push(0, target);
+        runDijkstra(field);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm over the queued tiles.
+     * Distances are measured towards the target, so moving from tile u into
+     * tile v costs the cost of entering v.
+     */
+    private void runDijkstra(DistanceField field) {
+        while (heapSize > 0) {
+            long entry = pop();
+            int distance = (int) (entry >>> 32);
+            int index = (int) entry;
+            if (distance > field.distances[index]) {
+                continue; // Stale heap entry
+            }
+            relaxNeighbours(field, index);
+        }
+    }
+
+    /**
+     * Offers each neighbour of a tile a path through that tile.
+     */
+    private void relaxNeighbours(DistanceField field, int index) {
+        int[] distances = field.distances;
+        int through = distances[index] + costs[index];
+        int row = index / size;
+        int col = index % size;
+        for (Direction direction : Direction.values()) {
+            int neighbour = neighbourIndex(row, col, direction);
+            if (neighbour < 0 || costs[neighbour] == CostModel.BLOCKED) {
+                continue;
+            }
+            if (through < distances[neighbour]) {
+                distances[neighbour] = through;
+                field.next[neighbour] = index;
+                push(through, neighbour);
+            }
+        }
+    }
+
+    /**
+     * Checks whether any tile's shortest path steps into the given tile.
+     */
+    private boolean hasChildren(DistanceField field, int index) {
+        int row = index / size;
+        int col = index % size;
+        for (Direction direction : Direction.values()) {
+            int neighbour = neighbourIndex(row, col, direction);
+            if (neighbour >= 0 && field.next[neighbour] == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the index of the tile next to (row, col), or -1 if off the map.
+     */
+    private int neighbourIndex(int row, int col, Direction direction) {
+        int newRow = row + direction.getDRow();
+        int newCol = col + direction.getDCol();
+        if (newRow < 0 || newRow >= size || newCol < 0 || newCol >= size) {
+            return -1;
+        }
+        return newRow * size + newCol;
+    }
+
+    /**
+     * Reads every cell's cost from the map and drops all cached fields.
+     */
+    private void loadCosts() {
+        Cell[][] grid = map.getGrid();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                costs[row * size + col] = costModel.cost(grid[row][col]);
+            }
+        }
+        fields.clear();
+        syncedVersion = map.getVersion();
+    }
+
+    /**
+     * Records that unchanged fields are still valid for the current version.
+     */
+    private void markSynced() {
+        for (DistanceField field : fields.values()) {
+            field.version = syncedVersion;
+        }
+    }
+
+    private void push(int distance, int index) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        long entry = ((long) distance << 32) | index;
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (heap[parent] <= entry) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+}
@@ -22,6 +22,9 @@ public class SaveState implements Serializable {
     private final boolean gameOver;
     private final String statusMessage;
     
+    // State of the turn generator; null in saves written before it was recorded
+    private final Long turnRandomState;
+    
     /**
      * Creates a save state from the current game engine state.
      *
@@ -32,6 +35,7 @@ public class SaveState implements Serializable {
         this.difficulty = engine.getDifficulty();
         this.gameOver = engine.isGameOver();
         this.statusMessage = engine.getStatusMessage();
+        this.turnRandomState = engine.getTurnRandom().getState();
         
         // Save player state
         Player player = engine.getPlayer();
@@ -54,6 +58,15 @@ public class SaveState implements Serializable {
         }
     }
     
+    /**
+     * Gets the difficulty the saved game was started at.
+     *
+     * @return the difficulty level
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+    
     /**
      * Restores a game engine from this save state.
      *
@@ -61,7 +74,7 @@ public class SaveState implements Serializable {
      */
     public GameEngine restoreGame() {
         // Create a new game with the same seed and difficulty
-        GameEngine engine = new GameEngine(difficulty, seed);
+        GameEngine engine = new GameEngine(difficulty, seed, LevelCache.getShared());
         
         // Restore player state
         Player player = engine.getPlayer();
@@ -83,15 +96,39 @@ public class SaveState implements Serializable {
             player.incrementSteps();
         }
         
-        // Force check of game over conditions to restore the state properly
-        if (gameOver || player.getHp() <= 0 || player.getSteps() >= 100) {
-            // Trigger a move that will check game over conditions
-            engine.move(Direction.UP); // This will fail but trigger the check
+        // Restore the saved layout, which differs from the seed's first level
+        // once items are collected or mutants defeated, or on a later level
+        Cell[][] grid = engine.getMap();
+        for (int row = 0; row < mapState.length; row++) {
+            for (int col = 0; col < mapState[row].length; col++) {
+                String cellClassName = mapState[row][col].cellClassName;
+                if (!grid[row][col].getClass().getName().equals(cellClassName)) {
+                    engine.replaceCell(Position.of(row, col), newCell(cellClassName));
+                }
+            }
+        }
+        
+        if (turnRandomState != null) {
+            engine.getTurnRandom().setState(turnRandomState);
+        }
+        if (gameOver) {
+            engine.endGame(statusMessage);
         }
         
         return engine;
     }
     
+    private static Cell newCell(String cellClassName) {
+        try {
+            // Not initialized until it is known to be a cell
+            Class<? extends Cell> type = Class.forName(cellClassName, false, SaveState.class.getClassLoader())
+                .asSubclass(Cell.class);
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Save refers to unknown cell type " + cellClassName, e);
+        }
+    }
+    
     /**
      * Saves this state to a file.
      *
@@ -0,0 +1,218 @@
+package dungeon.engine.replay;
+
+import dungeon.engine.Direction;
+import dungeon.engine.EngineSnapshot;
+import dungeon.engine.GameEngine;
+import dungeon.engine.LevelCache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A recorded game: the seed and difficulty it started from, every input
+ * passed to {@link GameEngine#move}, and a keyframe snapshot of the whole
+ * game every few inputs. Keyframe {@code k} is the state after
+ * {@code k * keyframeInterval} inputs, so any turn can be reached by
+ * restoring a keyframe and replaying fewer than {@code keyframeInterval} inputs.
+ * <p>
+ * Files only hold the seed, difficulty and inputs; keyframes are rebuilt by
+ * replaying the game once when a file is read, which takes well under a millisecond.
+ */
+public class Replay {
+    /** Inputs between keyframes when none is given. */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 10;
+
+    private static final int MAGIC = 0x44524550; // "DREP"
+    private static final int FORMAT_VERSION = 1;
+
+    // Stored in place of a direction for move(null)
+    private static final byte NO_DIRECTION = -1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final int difficulty;
+    private final long seed;
+    private final int keyframeInterval;
+    private final List<EngineSnapshot> keyframes = new ArrayList<>();
+    private byte[] moves = new byte[128];
+    private int turnCount;
+
+    /**
+     * Creates an empty replay.
+     *
+     * @param difficulty the difficulty of the recorded game
+     * @param seed the seed of the recorded game
+     * @param keyframeInterval the number of inputs between keyframes
+     */
+    Replay(int difficulty, long seed, int keyframeInterval) {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("Keyframe interval must be positive, got " + keyframeInterval);
+        }
+        this.difficulty = difficulty;
+        this.seed = seed;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Appends an input.
+     *
+     * @param direction the direction passed to move, possibly null
+     */
+    void addMove(Direction direction) {
+        if (turnCount == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[turnCount++] = direction == null ? NO_DIRECTION : (byte) direction.ordinal();
+    }
+
+    /**
+     * Appends the keyframe for the next multiple of the keyframe interval.
+     *
+     * @param snapshot the game state after that many inputs
+     */
+    void addKeyframe(EngineSnapshot snapshot) {
+        keyframes.add(snapshot);
+    }
+
+    /**
+     * Gets the difficulty of the recorded game.
+     *
+     * @return the difficulty level
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Gets the seed of the recorded game.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of inputs between keyframes.
+     *
+     * @return the keyframe interval
+     */
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    /**
+     * Gets the number of inputs recorded.
+     *
+     * @return the number of turns
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    /**
+     * Gets a recorded input.
+     *
+     * @param turn the index of the input, from 0
+     * @return the direction passed to move, possibly null
+     */
+    public Direction getMove(int turn) {
+        if (turn < 0 || turn >= turnCount) {
+            throw new IndexOutOfBoundsException("Turn " + turn + " of " + turnCount);
+        }
+        byte move = moves[turn];
+        return move == NO_DIRECTION ? null : DIRECTIONS[move];
+    }
+
+    /**
+     * Gets the number of keyframes.
+     *
+     * @return the keyframe count
+     */
+    public int getKeyframeCount() {
+        return keyframes.size();
+    }
+
+    /**
+     * Gets the keyframe for a turn: the latest one at or before it.
+     *
+     * @param turn the turn, from 0 to {@link #getTurnCount()}
+     * @return the index of the keyframe
+     */
+    public int keyframeFor(int turn) {
+        return Math.min(turn / keyframeInterval, keyframes.size() - 1);
+    }
+
+    /**
+     * Gets a keyframe.
+     *
+     * @param index the keyframe index
+     * @return the game state after {@code index * keyframeInterval} inputs
+     */
+    public EngineSnapshot getKeyframe(int index) {
+        return keyframes.get(index);
+    }
+
+    /**
+     * Writes the replay's seed, difficulty and inputs.
+     *
+     * @param output the stream to write to, which is left open
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(difficulty);
+        out.writeLong(seed);
+        out.writeInt(keyframeInterval);
+        out.writeInt(turnCount);
+        out.write(moves, 0, turnCount);
+        out.flush();
+    }
+
+    /**
+     * Reads a replay written by {@link #write} and rebuilds its keyframes
+     * by playing the game through once.
+     *
+     * @param input the stream to read from, which is left open
+     * @return the replay
+     * @throws IOException if the stream cannot be read or is not a replay
+     */
+    public static Replay read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a replay file");
+        }
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported replay format version " + version);
+        }
+        int difficulty = in.readInt();
+        long seed = in.readLong();
+        int keyframeInterval = in.readInt();
+        int turnCount = in.readInt();
+        if (turnCount < 0 || keyframeInterval < 1) {
+            throw new IOException("Corrupt replay header");
+        }
+        byte[] moves = new byte[turnCount];
+        in.readFully(moves);
+
+        GameEngine engine = new GameEngine(difficulty, seed, LevelCache.getShared());
+        ReplayRecorder recorder = new ReplayRecorder(engine, keyframeInterval);
+        for (byte move : moves) {
+            if (move != NO_DIRECTION && (move < 0 || move >= DIRECTIONS.length)) {
+                throw new IOException("Corrupt replay input " + move);
+            }
+            engine.move(move == NO_DIRECTION ? null : DIRECTIONS[move]);
+        }
+        recorder.stop();
+        return recorder.getReplay();
+    }
+}
@@ -0,0 +1,61 @@
+package dungeon.engine.replay;
+
+import dungeon.engine.Direction;
+import dungeon.engine.GameEngine;
+import dungeon.engine.MoveListener;
+
+/**
+ * Records a game as it is played by listening to {@link GameEngine#move}.
+ * The engine must be recorded from its first move, and it needs a known
+ * seed for the replay to be saved and read back.
+ */
+public class ReplayRecorder implements MoveListener {
+    private final GameEngine engine;
+    private final Replay replay;
+
+    /**
+     * Starts recording with the default keyframe interval.
+     *
+     * @param engine the game to record, before any moves
+     */
+    public ReplayRecorder(GameEngine engine) {
+        this(engine, Replay.DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Starts recording.
+     *
+     * @param engine the game to record, before any moves
+     * @param keyframeInterval the number of inputs between keyframes
+     */
+    public ReplayRecorder(GameEngine engine, int keyframeInterval) {
+        this.engine = engine;
+        this.replay = new Replay(engine.getDifficulty(), engine.getSeed(), keyframeInterval);
+        replay.addKeyframe(engine.snapshot());
+        engine.addMoveListener(this);
+    }
+
+    @Override
+    public void moveApplied(Direction direction, boolean moved) {
+        replay.addMove(direction);
+        if (replay.getTurnCount() % replay.getKeyframeInterval() == 0) {
+            replay.addKeyframe(engine.snapshot());
+        }
+    }
+
+    /**
+     * Stops recording.
+     */
+    public void stop() {
+        engine.removeMoveListener(this);
+    }
+
+    /**
+     * Gets the replay recorded so far. It keeps growing until {@link #stop()} is called.
+     *
+     * @return the replay
+     */
+    public Replay getReplay() {
+        return replay;
+    }
+}
@@ -0,0 +1,139 @@
+package dungeon.engine.replay;
+
+import dungeon.engine.GameEngine;
+import dungeon.engine.LevelCache;
+
+/**
+ * Plays a replay back on an engine, as fast as the engine can go.
+ * Seeking restores the nearest keyframe at or before the target turn and
+ * replays the inputs from there; seeking forward within the same keyframe
+ * interval just carries on from the current turn.
+ * <p>
+ * Only a single step forward is played on the viewed engine, so its logger
+ * and subscribers see that one move. Longer seeks are replayed on a scratch
+ * engine with nobody listening and then copied into the viewed engine, which
+ * emits a single {@link dungeon.engine.event.GameEventType#RESTORED} event
+ * instead of every move in between.
+ */
+public class ReplayViewer {
+    private final Replay replay;
+    private final GameEngine engine;
+    private final GameEngine scratch;
+    private int turn;
+
+    /**
+     * Creates a viewer positioned at the start of the replay.
+     *
+     * @param replay the replay to view
+     */
+    public ReplayViewer(Replay replay) {
+        this.replay = replay;
+        this.engine = new GameEngine(replay.getDifficulty(), replay.getSeed(), LevelCache.getShared());
+        engine.restore(replay.getKeyframe(0));
+        this.scratch = engine.copy();
+    }
+
+    /**
+     * Gets the engine showing the current turn. The same engine is used for
+     * the viewer's whole life, so a logger or move listener set on it stays.
+     *
+     * @return the engine
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Gets the replay being viewed.
+     *
+     * @return the replay
+     */
+    public Replay getReplay() {
+        return replay;
+    }
+
+    /**
+     * Gets the number of inputs applied so far.
+     *
+     * @return the current turn
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Checks if every input has been applied.
+     *
+     * @return true at the end of the replay
+     */
+    public boolean isAtEnd() {
+        return turn == replay.getTurnCount();
+    }
+
+    /**
+     * Moves to the state after a given number of inputs.
+     *
+     * @param target the turn, from 0 to {@link Replay#getTurnCount()}
+     */
+    public void seek(int target) {
+        if (target < 0 || target > replay.getTurnCount()) {
+            throw new IndexOutOfBoundsException("Turn " + target + " of " + replay.getTurnCount());
+        }
+        int keyframe = replay.keyframeFor(target);
+        int keyframeTurn = keyframe * replay.getKeyframeInterval();
+        boolean rewind = target < turn || turn < keyframeTurn;
+        if (!rewind && target <= turn + 1) {
+            if (target > turn) {
+                engine.move(replay.getMove(turn++));
+            }
+            return;
+        }
+
+        int scratchTurn;
+        if (rewind) {
+            scratch.restore(replay.getKeyframe(keyframe));
+            scratchTurn = keyframeTurn;
+        } else {
+            scratch.copyFrom(engine);
+            scratchTurn = turn;
+        }
+        while (scratchTurn < target) {
+            scratch.move(replay.getMove(scratchTurn++));
+        }
+        engine.copyFrom(scratch);
+        turn = target;
+    }
+
+    /**
+     * Applies the next input.
+     *
+     * @return false if already at the end
+     */
+    public boolean stepForward() {
+        if (isAtEnd()) {
+            return false;
+        }
+        seek(turn + 1);
+        return true;
+    }
+
+    /**
+     * Goes back one input.
+     *
+     * @return false if already at the start
+     */
+    public boolean stepBack() {
+        if (turn == 0) {
+            return false;
+        }
+        seek(turn - 1);
+        return true;
+    }
+
+    /**
+     * Applies every remaining input.
+     */
+    public void playToEnd() {
+        seek(replay.getTurnCount());
+    }
+}
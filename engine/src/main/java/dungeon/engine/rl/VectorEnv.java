@@ -0,0 +1,348 @@
+package dungeon.engine.rl;
+
+import dungeon.engine.CellChangeListener;
+import dungeon.engine.Direction;
+import dungeon.engine.GameEngine;
+import dungeon.engine.GameMap;
+import dungeon.engine.Player;
+import dungeon.engine.Position;
+import dungeon.engine.cells.Cell;
+import dungeon.engine.cells.TileType;
+import dungeon.engine.metrics.PerformanceMetrics;
+import dungeon.engine.sim.Simulation;
+
+/**
+ * Steps many independent games in lockstep for reinforcement learning.
+ * Observations, rewards and done flags live in arrays allocated once and
+ * overwritten by every {@link #step}, so a step that stays within a level
+ * allocates nothing. A finished game is replaced by a fresh one straight
+ * away; its final reward and done flag are reported for that step and the
+ * observation already shows the new game.
+ * <p>
+ * Each game's observation is {@link #OBSERVATION_SIZE} ints starting at
+ * {@code env * OBSERVATION_SIZE}: the {@link TileType} ordinal of every tile
+ * in row-major order, then the player's row, column, HP, steps and level.
+ * Tiles are kept up to date through cell change listeners rather than
+ * re-encoded every step. Actions are {@link Direction} ordinals.
+ */
+public class VectorEnv {
+    /** Tiles in one observation. */
+    public static final int TILES = 10 * 10;
+
+    /** Offsets of the player fields after the tiles. */
+    public static final int ROW = TILES;
+    public static final int COL = TILES + 1;
+    public static final int HP = TILES + 2;
+    public static final int STEPS = TILES + 3;
+    public static final int LEVEL = TILES + 4;
+
+    /** Ints in one game's observation. */
+    public static final int OBSERVATION_SIZE = TILES + 5;
+
+    /** Reward added when a game is won. */
+    public static final float WIN_REWARD = 10;
+
+    /** Reward added when a game is lost or abandoned. */
+    public static final float LOSS_REWARD = -10;
+
+    /** Reward for an action that walks into a wall or off the board. */
+    public static final float INVALID_MOVE_REWARD = -0.1f;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final TileType[] TILE_TYPES = TileType.values();
+
+    private final int size;
+    private final int difficulty;
+    private final long firstSeed;
+    private final GameEngine[] engines;
+    private final TileEncoder[] encoders;
+    private final int[] lastScores;
+    private final int[] decisions;
+
+    private final int[] observations;
+    private final float[] rewards;
+    private final boolean[] dones;
+
+    private long nextEpisode;
+    private long stepsTaken;
+
+    /**
+     * Creates the environments and starts a game in each.
+     * Game seeds run consecutively from the first seed.
+     *
+     * @param size the number of games stepped together
+     * @param difficulty the difficulty of every game
+     * @param firstSeed the seed of the first game
+     */
+    public VectorEnv(int size, int difficulty, long firstSeed) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Need at least one environment, got " + size);
+        }
+        this.size = size;
+        this.difficulty = difficulty;
+        this.firstSeed = firstSeed;
+        this.engines = new GameEngine[size];
+        this.encoders = new TileEncoder[size];
+        this.lastScores = new int[size];
+        this.decisions = new int[size];
+        this.observations = new int[size * OBSERVATION_SIZE];
+        this.rewards = new float[size];
+        this.dones = new boolean[size];
+        for (int env = 0; env < size; env++) {
+            encoders[env] = new TileEncoder(env * OBSERVATION_SIZE);
+        }
+        reset();
+    }
+
+    /**
+     * Starts a new game in every environment and clears rewards and done flags.
+     * The seed sequence carries on from previous games.
+     */
+    public void reset() {
+        for (int env = 0; env < size; env++) {
+            startGame(env);
+            rewards[env] = 0;
+            dones[env] = false;
+        }
+    }
+
+    /**
+     * Applies one action to every game.
+     * All actions are checked before any game is stepped.
+     *
+     * @param actions one {@link Direction} ordinal per game
+     * @throws IllegalArgumentException if there are too few actions or one is out of range
+     */
+    public void step(int[] actions) {
+        if (actions.length < size) {
+            throw new IllegalArgumentException("Expected " + size + " actions, got " + actions.length);
+        }
+        for (int env = 0; env < size; env++) {
+            if (actions[env] < 0 || actions[env] >= DIRECTIONS.length) {
+                throw new IllegalArgumentException("Action " + actions[env] + " for environment " + env + " is not a direction");
+            }
+        }
+        for (int env = 0; env < size; env++) {
+            stepGame(env, DIRECTIONS[actions[env]]);
+        }
+        stepsTaken += size;
+    }
+
+    /**
+     * Gets the observations of every game, overwritten by each step.
+     *
+     * @return {@link #OBSERVATION_SIZE} ints per game
+     */
+    public int[] getObservations() {
+        return observations;
+    }
+
+    /**
+     * Gets the rewards from the last step, overwritten by each step.
+     *
+     * @return one reward per game
+     */
+    public float[] getRewards() {
+        return rewards;
+    }
+
+    /**
+     * Gets which games ended on the last step, overwritten by each step.
+     * Games that ended have already been replaced by new ones.
+     *
+     * @return one flag per game
+     */
+    public boolean[] getDones() {
+        return dones;
+    }
+
+    /**
+     * Gets the number of games stepped together.
+     *
+     * @return the number of environments
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the engine currently running in an environment.
+     *
+     * @param env the environment index
+     * @return the game engine
+     */
+    public GameEngine getEngine(int env) {
+        return engines[env];
+    }
+
+    /**
+     * Gets the number of games started so far, including the ones running.
+     *
+     * @return the episode count
+     */
+    public long getEpisodesStarted() {
+        return nextEpisode;
+    }
+
+    /**
+     * Gets the total number of single-game steps taken.
+     *
+     * @return the number of env-steps
+     */
+    public long getStepsTaken() {
+        return stepsTaken;
+    }
+
+    /**
+     * Gets the tile type for an encoded tile.
+     *
+     * @param code a tile value from an observation
+     * @return the tile type
+     */
+    public static TileType decodeTile(int code) {
+        return TILE_TYPES[code];
+    }
+
+    /**
+     * Applies one move to one game and writes its results.
+     */
+    private void stepGame(int env, Direction direction) {
+        GameEngine engine = engines[env];
+        Player player = engine.getPlayer();
+        decisions[env]++;
+
+        float reward;
+        if (engine.move(direction)) {
+            reward = player.getScore() - lastScores[env];
+            lastScores[env] = player.getScore();
+        } else {
+            reward = INVALID_MOVE_REWARD;
+        }
+
+        boolean done = engine.isGameOver() || decisions[env] >= Simulation.MAX_DECISIONS;
+        if (done) {
+            boolean won = engine.isGameOver() && player.getLevel() > GameEngine.WINNING_LEVEL
+                && player.getHp() > 0 && player.getSteps() < GameEngine.MAX_STEPS;
+            rewards[env] = reward + (won ? WIN_REWARD : LOSS_REWARD);
+            dones[env] = true;
+            startGame(env);
+            return;
+        }
+
+        rewards[env] = reward;
+        dones[env] = false;
+        encoders[env].follow(engine.getGameMap());
+        writePlayer(env, player);
+    }
+
+    /**
+     * Replaces the game in an environment with the next seed's game.
+     */
+    private void startGame(int env) {
+        GameEngine engine = new GameEngine(difficulty, firstSeed + nextEpisode++);
+        engines[env] = engine;
+        lastScores[env] = 0;
+        decisions[env] = 0;
+        encoders[env].follow(engine.getGameMap());
+        writePlayer(env, engine.getPlayer());
+    }
+
+    private void writePlayer(int env, Player player) {
+        int base = env * OBSERVATION_SIZE;
+        Position position = player.getPosition();
+        observations[base + ROW] = position.getRow();
+        observations[base + COL] = position.getCol();
+        observations[base + HP] = player.getHp();
+        observations[base + STEPS] = player.getSteps();
+        observations[base + LEVEL] = player.getLevel();
+    }
+
+    /**
+     * Keeps one game's tile encoding in step with its current map.
+     */
+    private final class TileEncoder implements CellChangeListener {
+        private final int base;
+        private GameMap map;
+
+        TileEncoder(int base) {
+            this.base = base;
+        }
+
+        /**
+         * Switches to a new map, encoding it in full, if the game has moved on to one.
+         */
+        void follow(GameMap current) {
+            if (current == map) {
+                return;
+            }
+            if (map != null) {
+                map.removeCellChangeListener(this);
+            }
+            map = current;
+            map.addCellChangeListener(this);
+            Cell[][] grid = map.getGrid();
+            for (int row = 0; row < grid.length; row++) {
+                for (int col = 0; col < grid.length; col++) {
+                    observations[base + row * grid.length + col] = TileType.of(grid[row][col]).ordinal();
+                }
+            }
+        }
+
+        @Override
+        public void cellChanged(Position position, Cell oldCell, Cell newCell) {
+            observations[base + position.getRow() * map.getGrid().length + position.getCol()] =
+                TileType.of(newCell).ordinal();
+        }
+    }
+
+    /**
+     * Benchmarks stepping with uniformly random actions and reports
+     * env-steps per second and bytes allocated per env-step.
+     * Usage: VectorEnv [envs] [steps] [difficulty]
+     */
+    public static void main(String[] args) {
+        int envs = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int difficulty = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        VectorEnv env = new VectorEnv(envs, difficulty, 1);
+        int[] actions = new int[envs];
+        int state = 0x2545F491;
+
+        // Warm up before measuring
+        for (int i = 0; i < steps / 10; i++) {
+            for (int e = 0; e < envs; e++) {
+                state ^= state << 13;
+                state ^= state >>> 17;
+                state ^= state << 5;
+                actions[e] = state & 3;
+            }
+            env.step(actions);
+        }
+
+        long stepsBefore = env.getStepsTaken();
+        long episodesBefore = env.getEpisodesStarted();
+        long allocatedBefore = PerformanceMetrics.currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < steps; i++) {
+            for (int e = 0; e < envs; e++) {
+                state ^= state << 13;
+                state ^= state >>> 17;
+                state ^= state << 5;
+                actions[e] = state & 3;
+            }
+            env.step(actions);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = PerformanceMetrics.currentThreadAllocatedBytes() - allocatedBefore;
+
+        long envSteps = env.getStepsTaken() - stepsBefore;
+        long episodes = env.getEpisodesStarted() - episodesBefore;
+        System.out.printf("%d envs, %d env-steps, %d episodes: %.0f env-steps/s%n",
+                envs, envSteps, episodes, envSteps / (elapsed / 1e9));
+        if (allocatedBefore >= 0) {
+            System.out.printf("Allocated %.1f bytes per env-step (%.0f bytes per episode, all in resets and level changes)%n",
+                    (double) allocated / envSteps, episodes == 0 ? 0.0 : (double) allocated / episodes);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package dungeon.engine.server;
+
+import dungeon.engine.Direction;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves a {@link SessionManager} over TCP with a line-based text protocol,
+ * reading each connection on its own virtual thread. A connection may send
+ * any number of requests, one per line, and gets one line back for each:
+ * <pre>
+ * CREATE [difficulty] [seed]   OK {state}     start a game (difficulty 0-10, default 3; random seed)
+ * LOAD save                    OK {state}     start from a Base64 save
+ * STATE id                     OK {state}
+ * MOVE id direction            OK {state}     direction is up, down, left or right
+ * SAVE id                      OK save        the game as a Base64 save file
+ * CLOSE id                     OK             end the session
+ * STATS                        OK {counts}
+ * </pre>
+ * States are JSON objects. Failed requests get {@code ERR} and a message.
+ * Sessions are not tied to connections, so any connection may use any session.
+ */
+public class GameServer implements AutoCloseable {
+    private final SessionManager sessions;
+    private final ServerSocket serverSocket;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+
+    /**
+     * Starts serving.
+     *
+     * @param sessions the sessions to serve
+     * @param address the address to listen on; port 0 picks a free port
+     * @throws IOException if the port cannot be bound
+     */
+    public GameServer(SessionManager sessions, InetSocketAddress address) throws IOException {
+        this.sessions = sessions;
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(address, 1024);
+        this.acceptor = Thread.ofVirtual().name("game-server").start(this::accept);
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Stops serving and closes every connection. Sessions are left to their manager.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket connection : connections) {
+            connection.close();
+        }
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket connection = serverSocket.accept();
+                connection.setTcpNoDelay(true);
+                connections.add(connection);
+                Thread.ofVirtual().name("connection-" + connection.getPort()).start(() -> serve(connection));
+            } catch (IOException e) {
+                // Closed, or a connection failed while being accepted
+            }
+        }
+    }
+
+    private void serve(Socket connection) {
+        try (connection;
+             BufferedReader in = new BufferedReader(
+                 new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(
+                 new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                out.write(respond(line));
+                out.write('\n');
+                // Only flush once every pipelined request has been answered
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (SocketException e) {
+            // Closed by the client or by close()
+        } catch (IOException e) {
+            // Nothing more can be sent on a broken connection
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    /**
+     * Handles one request line.
+     *
+     * @param line the request
+     * @return the response, without its line break
+     */
+    private String respond(String line) {
+        String[] words = line.trim().split("\\s+");
+        try {
+            switch (words[0].toUpperCase()) {
+                case "CREATE": {
+                    int difficulty = words.length > 1 ? Integer.parseInt(words[1]) : 3;
+                    long seed = words.length > 2 ? Long.parseLong(words[2]) : System.nanoTime();
+                    return "OK " + sessions.create(difficulty, seed).toJson();
+                }
+                case "LOAD":
+                    return "OK " + sessions.load(Base64.getDecoder().decode(argument(words, 1))).toJson();
+                case "STATE":
+                    return "OK " + sessions.state(id(words)).toJson();
+                case "MOVE": {
+                    Direction direction = Direction.valueOf(argument(words, 2).toUpperCase());
+                    return "OK " + sessions.move(id(words), direction).toJson();
+                }
+                case "SAVE":
+                    return "OK " + Base64.getEncoder().encodeToString(sessions.save(id(words)));
+                case "CLOSE":
+                    sessions.close(id(words));
+                    return "OK";
+                case "STATS":
+                    return "OK {\"sessions\":" + sessions.getSessionCount()
+                        + ",\"resident\":" + sessions.getResidentCount()
+                        + ",\"evictions\":" + sessions.getEvictions()
+                        + ",\"restores\":" + sessions.getRestores() + "}";
+                default:
+                    return "ERR Unknown request " + words[0];
+            }
+        } catch (NoSuchElementException | IllegalArgumentException | IllegalStateException e) {
+            return "ERR " + e.getMessage();
+        } catch (IOException | UncheckedIOException e) {
+            return "ERR " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        }
+    }
+
+    private static String argument(String[] words, int index) {
+        if (words.length <= index) {
+            throw new IllegalArgumentException("Missing argument for " + words[0]);
+        }
+        return words[index];
+    }
+
+    private static long id(String[] words) {
+        return Long.parseLong(argument(words, 1));
+    }
+
+    /**
+     * Runs a server until the process is killed.
+     * Usage: GameServer [port] [storeDirectory] [idleSeconds]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8221;
+        String directory = args.length > 1 ? args[1] : "sessions";
+        Duration idle = args.length > 2 ? Duration.ofSeconds(Long.parseLong(args[2]))
+            : SessionManager.DEFAULT_IDLE_TIMEOUT;
+
+        SessionManager sessions = new SessionManager(Paths.get(directory), idle);
+        GameServer server = new GameServer(sessions, new InetSocketAddress("localhost", port));
+        System.out.println("Serving games on localhost:" + server.getPort());
+        server.acceptor.join();
+    }
+}
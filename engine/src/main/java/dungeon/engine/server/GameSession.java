@@ -0,0 +1,207 @@
+package dungeon.engine.server;
+
+import dungeon.engine.GameEngine;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One game hosted by a {@link SessionManager}, run as an actor: requests are
+ * queued in the session's mailbox and applied one at a time by the session's
+ * own virtual thread, so the engine is never touched by two threads at once
+ * and needs no locking of its own.
+ * <p>
+ * The thread only exists while there is work. Once the mailbox has been empty
+ * for the idle timeout, the thread writes the game to the session store and
+ * exits; the next request starts a new thread, which reads the game back.
+ */
+final class GameSession {
+    /**
+     * A request applied to the session's game on the session's thread.
+     */
+    @FunctionalInterface
+    interface Command<T> {
+        T apply(GameEngine engine) throws IOException;
+    }
+
+    private final long id;
+    private final SessionStore store;
+    private final long idleNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition mailArrived = lock.newCondition();
+
+    // Guarded by lock
+    private final ArrayDeque<Runnable> mailbox = new ArrayDeque<>();
+    private boolean running;
+    private boolean closed;
+
+    // Only touched by the session thread, or before it first starts; null while evicted
+    private GameEngine engine;
+    private volatile boolean resident = true;
+
+    /**
+     * Creates a session for a game, which stays in memory until it is idle.
+     *
+     * @param id the session id
+     * @param engine the game
+     * @param store the store to evict the game to
+     * @param idleNanos how long the session waits for a request before it is evicted
+     */
+    GameSession(long id, GameEngine engine, SessionStore store, long idleNanos) {
+        this.id = id;
+        this.engine = engine;
+        this.store = store;
+        this.idleNanos = idleNanos;
+    }
+
+    /**
+     * Gets the session id.
+     *
+     * @return the id
+     */
+    long getId() {
+        return id;
+    }
+
+    /**
+     * Checks if the game is in memory rather than on disk.
+     *
+     * @return true if the game is resident
+     */
+    boolean isResident() {
+        return resident;
+    }
+
+    /**
+     * Queues a request, starting the session's thread if it has none.
+     *
+     * @param command the request
+     * @return a future completed with the request's result once it has been applied
+     */
+    <T> CompletableFuture<T> submit(Command<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                if (engine == null) {
+                    engine = store.restore(id);
+                    resident = true;
+                }
+                result.complete(command.apply(engine));
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        };
+        lock.lock();
+        try {
+            if (closed) {
+                result.completeExceptionally(new IllegalStateException("Session " + id + " is closed"));
+                return result;
+            }
+            mailbox.add(task);
+            if (running) {
+                mailArrived.signal();
+            } else {
+                running = true;
+                Thread.ofVirtual().name("session-" + id).start(this::run);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Applies queued requests until the session has been idle for the
+     * timeout, then evicts the game and lets the thread end.
+     */
+    private void run() {
+        while (true) {
+            Runnable task;
+            lock.lock();
+            try {
+                long remaining = idleNanos;
+                while (mailbox.isEmpty() && !closed && remaining > 0) {
+                    remaining = mailArrived.awaitNanos(remaining);
+                }
+                task = mailbox.poll();
+                if (task == null) {
+                    // Still holding the lock, so no request can arrive before the game is on disk
+                    if (!closed) {
+                        evict();
+                    }
+                    running = false;
+                    return;
+                }
+            } catch (InterruptedException e) {
+                running = false;
+                return;
+            } finally {
+                lock.unlock();
+            }
+            task.run();
+        }
+    }
+
+    private void evict() {
+        if (engine == null) {
+            return;
+        }
+        try {
+            store.evict(id, engine);
+            engine = null;
+            resident = false;
+        } catch (IOException e) {
+            // Keep the game in memory and try again next time the session is idle
+        }
+    }
+
+    /**
+     * Ends the session after any requests already queued, and deletes its saved game.
+     * The file is deleted by the session's thread as its last task, so a queued
+     * request can still read an evicted game back first. Blocks until it is done.
+     *
+     * @throws IOException if the saved game cannot be deleted
+     */
+    void close() throws IOException {
+        CompletableFuture<Void> deleted = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                store.delete(id);
+                engine = null;
+                resident = false;
+                deleted.complete(null);
+            } catch (IOException | RuntimeException e) {
+                deleted.completeExceptionally(e);
+            }
+        };
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            mailbox.add(task);
+            closed = true;
+            if (running) {
+                mailArrived.signal();
+            } else {
+                running = true;
+                Thread.ofVirtual().name("session-" + id).start(this::run);
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            deleted.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package dungeon.engine.server;
+
+import dungeon.engine.metrics.LatencyHistogram;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays many games at once against a {@link GameServer} and reports how
+ * many concurrent sessions each core sustained and the move latency seen by
+ * clients. Every simulated player runs on its own virtual thread with its
+ * own connection, playing random moves and starting a new game whenever one
+ * ends.
+ * <p>
+ * Usage: LoadTestClient [sessions] [movesPerSession] [host:port]
+ * Without an address, a server is started in this JVM with a temporary store.
+ */
+public class LoadTestClient {
+    private static final String[] DIRECTIONS = {"up", "down", "left", "right"};
+
+    private final InetSocketAddress server;
+    private final LatencyHistogram moveLatency = new LatencyHistogram("Move", "ns");
+    private final AtomicLong games = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Creates a client.
+     *
+     * @param server the server's address
+     */
+    public LoadTestClient(InetSocketAddress server) {
+        this.server = server;
+    }
+
+    /**
+     * Runs the given number of players at once until each has made its moves.
+     *
+     * @param players the number of concurrent players, and so of open sessions
+     * @param moves the number of moves each player makes
+     * @return the time taken, in nanoseconds
+     * @throws InterruptedException if interrupted while waiting for the players
+     */
+    public long run(int players, int moves) throws InterruptedException {
+        long start = System.nanoTime();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < players; i++) {
+                long seed = i;
+                running.add(threads.submit(() -> play(seed, moves)));
+            }
+            for (Future<?> player : running) {
+                try {
+                    player.get();
+                } catch (ExecutionException e) {
+                    failures.incrementAndGet();
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void play(long seed, int moves) {
+        SplittableRandom random = new SplittableRandom(seed);
+        try (Socket socket = new Socket(server.getAddress(), server.getPort());
+             BufferedReader in = new BufferedReader(
+                 new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(
+                 new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            long id = jsonLong(send(in, out, "CREATE 3 " + seed), "id");
+            games.incrementAndGet();
+            for (int i = 0; i < moves; i++) {
+                long begin = System.nanoTime();
+                String state = send(in, out, "MOVE " + id + " " + DIRECTIONS[random.nextInt(4)]);
+                moveLatency.record(System.nanoTime() - begin);
+                if (state.contains("\"gameOver\":true")) {
+                    send(in, out, "CLOSE " + id);
+                    id = jsonLong(send(in, out, "CREATE 3 " + random.nextLong()), "id");
+                    games.incrementAndGet();
+                }
+            }
+            send(in, out, "CLOSE " + id);
+        } catch (IOException e) {
+            failures.incrementAndGet();
+        }
+    }
+
+    // Sends one request and waits for its response
+    private static String send(BufferedReader in, Writer out, String request) throws IOException {
+        out.write(request);
+        out.write('\n');
+        out.flush();
+        String response = in.readLine();
+        if (response == null) {
+            throw new IOException("Connection closed by server");
+        }
+        if (!response.startsWith("OK")) {
+            throw new IOException(request + " failed: " + response);
+        }
+        return response;
+    }
+
+    private static long jsonLong(String json, String key) {
+        int start = json.indexOf("\"" + key + "\":") + key.length() + 3;
+        int end = start;
+        while (end < json.length() && (Character.isDigit(json.charAt(end)) || json.charAt(end) == '-')) {
+            end++;
+        }
+        return Long.parseLong(json.substring(start, end));
+    }
+
+    /**
+     * Gets the latency of moves as seen by the client.
+     *
+     * @return the histogram of move round trips
+     */
+    public LatencyHistogram getMoveLatency() {
+        return moveLatency;
+    }
+
+    /**
+     * Gets the number of games started.
+     *
+     * @return the games started
+     */
+    public long getGames() {
+        return games.get();
+    }
+
+    /**
+     * Gets the number of players that stopped because a request failed.
+     *
+     * @return the failures
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * Runs a load test and prints the results.
+     * Usage: LoadTestClient [sessions] [movesPerSession] [host:port]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int moves = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        GameServer server = null;
+        SessionManager sessions = null;
+        InetSocketAddress address;
+        if (args.length > 2) {
+            int colon = args[2].lastIndexOf(':');
+            address = new InetSocketAddress(args[2].substring(0, colon), Integer.parseInt(args[2].substring(colon + 1)));
+        } else {
+            Path store = Files.createTempDirectory("sessions");
+            sessions = new SessionManager(store, Duration.ofSeconds(2));
+            server = new GameServer(sessions, new InetSocketAddress("localhost", 0));
+            address = new InetSocketAddress("localhost", server.getPort());
+        }
+
+        LoadTestClient client = new LoadTestClient(address);
+        client.run(Math.max(1, players / 10), Math.max(1, moves / 10)); // warm up
+        client.getMoveLatency().reset();
+        long elapsed = client.run(players, moves);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        LatencyHistogram latency = client.getMoveLatency();
+        System.out.printf("%d concurrent sessions on %d cores: %.0f sessions/core%n",
+            players, cores, (double) players / cores);
+        System.out.printf("%d moves in %.1f s: %.0f moves/s, %d games, %d failed players%n",
+            latency.getCount(), elapsed / 1e9, latency.getCount() / (elapsed / 1e9),
+            client.getGames(), client.getFailures());
+        System.out.printf("Move latency: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+            latency.getPercentile(50) / 1e6, latency.getPercentile(99) / 1e6, latency.getMax() / 1e6);
+        if (sessions != null) {
+            System.out.printf("Evictions %d, restores %d%n", sessions.getEvictions(), sessions.getRestores());
+            server.close();
+            sessions.close();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package dungeon.engine.server;
+
+import dungeon.engine.Direction;
+import dungeon.engine.GameEngine;
+import dungeon.engine.LevelCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hosts many independent games in one JVM.
+ * Each session is an actor with its own mailbox and virtual thread (see
+ * {@link GameSession}), so requests to different sessions run in parallel,
+ * requests to the same session run in order, and a session waiting for its
+ * next request costs no platform thread. Sessions left idle for the timeout
+ * are evicted to disk in the {@link dungeon.engine.persistence.SaveState}
+ * format and read back on their next request. Levels come from the shared
+ * {@link LevelCache}, so sessions playing the same seeds share map generation.
+ * Methods may be called from any thread and block until the request is applied.
+ */
+public class SessionManager implements AutoCloseable {
+    /** The default time a session may sit idle before it is evicted. */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+    /** The highest difficulty a session may be played at; map generation grows with it. */
+    public static final int MAX_DIFFICULTY = 10;
+
+    private final SessionStore store;
+    private final long idleNanos;
+    private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    /**
+     * Creates a manager.
+     *
+     * @param storeDirectory the directory idle sessions are evicted to
+     * @param idleTimeout how long a session may sit idle before it is evicted
+     * @throws IOException if the directory cannot be created
+     */
+    public SessionManager(Path storeDirectory, Duration idleTimeout) throws IOException {
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Idle timeout must be positive");
+        }
+        this.store = new SessionStore(storeDirectory);
+        this.idleNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * Starts a new game.
+     *
+     * @param difficulty the difficulty level, from 0 to {@link #MAX_DIFFICULTY}
+     * @param seed the seed of the game
+     * @return the new session's state
+     */
+    public SessionState create(int difficulty, long seed) {
+        if (!isValidDifficulty(difficulty)) {
+            throw new IllegalArgumentException("Difficulty must be between 0 and " + MAX_DIFFICULTY);
+        }
+        return open(new GameEngine(difficulty, seed, LevelCache.getShared()));
+    }
+
+    /**
+     * Starts a session from a saved game.
+     *
+     * @param save the contents of a save file
+     * @return the new session's state
+     * @throws IOException if the bytes are not a saved game, or its difficulty is out of range
+     */
+    public SessionState load(byte[] save) throws IOException {
+        return open(SessionStore.fromBytes(save));
+    }
+
+    private SessionState open(GameEngine engine) {
+        long id = nextId.getAndIncrement();
+        GameSession session = new GameSession(id, engine, store, idleNanos);
+        sessions.put(id, session);
+        return await(session.submit(game -> SessionState.of(id, game, false)));
+    }
+
+    /**
+     * Gets a session's state.
+     *
+     * @param id the session id
+     * @return the state
+     */
+    public SessionState state(long id) {
+        return await(session(id).submit(game -> SessionState.of(id, game, false)));
+    }
+
+    /**
+     * Moves the player of a session.
+     *
+     * @param id the session id
+     * @param direction the direction to move
+     * @return the state after the move
+     */
+    public SessionState move(long id, Direction direction) {
+        if (direction == null) {
+            throw new IllegalArgumentException("Direction cannot be null");
+        }
+        return await(session(id).submit(game -> SessionState.of(id, game, game.move(direction))));
+    }
+
+    /**
+     * Saves a session's game.
+     *
+     * @param id the session id
+     * @return the contents of a save file, which {@link #load} accepts
+     */
+    public byte[] save(long id) {
+        return await(session(id).submit(SessionStore::toBytes));
+    }
+
+    /**
+     * Ends a session and deletes its saved game.
+     *
+     * @param id the session id
+     * @throws IOException if the saved game cannot be deleted
+     */
+    public void close(long id) throws IOException {
+        GameSession session = sessions.remove(id);
+        if (session == null) {
+            throw new NoSuchElementException("No session " + id);
+        }
+        session.close();
+    }
+
+    /**
+     * Ends every session.
+     */
+    @Override
+    public void close() {
+        for (Long id : sessions.keySet()) {
+            try {
+                close(id);
+            } catch (IOException | NoSuchElementException e) {
+                // Already closed, or its file is gone; keep closing the rest
+            }
+        }
+    }
+
+    /**
+     * Gets the number of open sessions.
+     *
+     * @return the session count
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Gets the number of open sessions whose game is in memory.
+     *
+     * @return the resident session count
+     */
+    public int getResidentCount() {
+        int resident = 0;
+        for (GameSession session : sessions.values()) {
+            if (session.isResident()) {
+                resident++;
+            }
+        }
+        return resident;
+    }
+
+    /**
+     * Gets the number of times an idle session has been written to disk.
+     *
+     * @return the evictions
+     */
+    public long getEvictions() {
+        return store.getEvictions();
+    }
+
+    /**
+     * Gets the number of times an evicted session has been read back.
+     *
+     * @return the restores
+     */
+    public long getRestores() {
+        return store.getRestores();
+    }
+
+    /**
+     * Checks if a difficulty may be played on the server.
+     *
+     * @param difficulty the difficulty level
+     * @return true if it is from 0 to {@link #MAX_DIFFICULTY}
+     */
+    static boolean isValidDifficulty(int difficulty) {
+        return difficulty >= 0 && difficulty <= MAX_DIFFICULTY;
+    }
+
+    private GameSession session(long id) {
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            throw new NoSuchElementException("No session " + id);
+        }
+        return session;
+    }
+
+    // Waits for a request, rethrowing its failure as thrown on the session thread
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package dungeon.engine.server;
+
+import dungeon.engine.GameEngine;
+import dungeon.engine.Player;
+
+/**
+ * What a client sees of a session after each request.
+ */
+public final class SessionState {
+    private final long id;
+    private final int difficulty;
+    private final long seed;
+    private final int row;
+    private final int col;
+    private final int hp;
+    private final int score;
+    private final int steps;
+    private final int level;
+    private final boolean gameOver;
+    private final String statusMessage;
+    private final boolean moved;
+
+    private SessionState(long id, GameEngine engine, boolean moved) {
+        Player player = engine.getPlayer();
+        this.id = id;
+        this.difficulty = engine.getDifficulty();
+        this.seed = engine.getSeed();
+        this.row = player.getPosition().getRow();
+        this.col = player.getPosition().getCol();
+        this.hp = player.getHp();
+        this.score = player.getScore();
+        this.steps = player.getSteps();
+        this.level = player.getLevel();
+        this.gameOver = engine.isGameOver();
+        this.statusMessage = engine.getStatusMessage();
+        this.moved = moved;
+    }
+
+    /**
+     * Captures a session's game. Only the session's own thread may call this.
+     *
+     * @param id the session id
+     * @param engine the session's game
+     * @param moved whether the request moved the player
+     * @return the state
+     */
+    static SessionState of(long id, GameEngine engine, boolean moved) {
+        return new SessionState(id, engine, moved);
+    }
+
+    /**
+     * Gets the session id.
+     *
+     * @return the id
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the difficulty of the game.
+     *
+     * @return the difficulty
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Gets the seed of the game.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the player's row.
+     *
+     * @return the row
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the player's column.
+     *
+     * @return the column
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * Gets the player's HP.
+     *
+     * @return the HP
+     */
+    public int getHp() {
+        return hp;
+    }
+
+    /**
+     * Gets the player's score.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the player's step count.
+     *
+     * @return the steps taken
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /**
+     * Gets the player's level.
+     *
+     * @return the level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Checks if the game is over.
+     *
+     * @return true if the game has been won or lost
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Gets the game's status message.
+     *
+     * @return the status message
+     */
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    /**
+     * Checks if the request moved the player.
+     *
+     * @return true for a move request that succeeded
+     */
+    public boolean isMoved() {
+        return moved;
+    }
+
+    /**
+     * Formats the state as a JSON object.
+     *
+     * @return the JSON text
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(192);
+        json.append("{\"id\":").append(id)
+            .append(",\"difficulty\":").append(difficulty)
+            .append(",\"seed\":").append(seed)
+            .append(",\"row\":").append(row)
+            .append(",\"col\":").append(col)
+            .append(",\"hp\":").append(hp)
+            .append(",\"score\":").append(score)
+            .append(",\"steps\":").append(steps)
+            .append(",\"level\":").append(level)
+            .append(",\"gameOver\":").append(gameOver)
+            .append(",\"moved\":").append(moved)
+            .append(",\"status\":\"");
+        for (int i = 0; i < statusMessage.length(); i++) {
+            char c = statusMessage.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\');
+            }
+            json.append(c);
+        }
+        return json.append("\"}").toString();
+    }
+}
@@ -0,0 +1,138 @@
+package dungeon.engine.server;
+
+import dungeon.engine.GameEngine;
+import dungeon.engine.persistence.SaveState;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The directory idle sessions are evicted to, one {@link SaveState} file each.
+ */
+class SessionStore {
+    // Saves come from clients, so only the classes a save is made of may be deserialized
+    private static final ObjectInputFilter SAVE_FILTER = ObjectInputFilter.Config.createFilter(
+        "dungeon.engine.persistence.SaveState;dungeon.engine.persistence.SaveState$*;dungeon.engine.Position;"
+            + "java.lang.Long;java.lang.Number;java.lang.String;maxdepth=8;maxbytes=1000000;!*");
+
+    private final Path directory;
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong restores = new AtomicLong();
+
+    /**
+     * Creates a store, creating its directory if needed.
+     *
+     * @param directory the directory to keep evicted sessions in
+     * @throws IOException if the directory cannot be created
+     */
+    SessionStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    private Path fileOf(long id) {
+        return directory.resolve("session-" + id + ".save");
+    }
+
+    /**
+     * Writes a session's game to disk.
+     *
+     * @param id the session id
+     * @param engine the game
+     * @throws IOException if the file cannot be written
+     */
+    void evict(long id, GameEngine engine) throws IOException {
+        Path file = fileOf(id);
+        Path partial = directory.resolve("session-" + id + ".save.tmp");
+        // Write then rename, so a crash never leaves a half-written save
+        Files.write(partial, toBytes(engine));
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+        evictions.incrementAndGet();
+    }
+
+    /**
+     * Reads an evicted session's game back and deletes its file.
+     *
+     * @param id the session id
+     * @return the game
+     * @throws IOException if the file cannot be read
+     */
+    GameEngine restore(long id) throws IOException {
+        Path file = fileOf(id);
+        GameEngine engine = fromBytes(Files.readAllBytes(file));
+        Files.delete(file);
+        restores.incrementAndGet();
+        return engine;
+    }
+
+    /**
+     * Deletes a session's file, if it has one.
+     *
+     * @param id the session id
+     * @throws IOException if the file cannot be deleted
+     */
+    void delete(long id) throws IOException {
+        Files.deleteIfExists(fileOf(id));
+    }
+
+    /**
+     * Gets the number of sessions written to disk so far.
+     *
+     * @return the evictions
+     */
+    long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the number of sessions read back from disk so far.
+     *
+     * @return the restores
+     */
+    long getRestores() {
+        return restores.get();
+    }
+
+    /**
+     * Serializes a game in the save format.
+     *
+     * @param engine the game
+     * @return the save file contents
+     * @throws IOException if serialization fails
+     */
+    static byte[] toBytes(GameEngine engine) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new SaveState(engine));
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores a game from the save format.
+     *
+     * @param save the save file contents
+     * @return the game
+     * @throws IOException if the bytes are not a save
+     */
+    static GameEngine fromBytes(byte[] save) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(save))) {
+            in.setObjectInputFilter(SAVE_FILTER);
+            SaveState state = (SaveState) in.readObject();
+            if (!SessionManager.isValidDifficulty(state.getDifficulty())) {
+                throw new IOException("Saved game has difficulty " + state.getDifficulty()
+                    + ", outside 0.." + SessionManager.MAX_DIFFICULTY);
+            }
+            return state.restoreGame();
+        } catch (ClassNotFoundException | ClassCastException | IllegalStateException e) {
+            throw new IOException("Not a saved game", e);
+        }
+    }
+}
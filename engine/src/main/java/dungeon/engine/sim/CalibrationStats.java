@@ -0,0 +1,175 @@
+package dungeon.engine.sim;
+
+/**
+ * Running statistics for one policy at one difficulty.
+ * Proportions use 95% Wilson score intervals, which stay sensible for
+ * rates near 0 or 1; the mean score uses a normal 95% interval.
+ */
+public class CalibrationStats {
+    /** The z-value for a two-sided 95% confidence interval. */
+    public static final double Z_95 = 1.959964;
+
+    private final String policyName;
+    private final int difficulty;
+    private final long[] outcomeCounts = new long[Outcome.values().length];
+    private long games;
+    private double scoreSum;
+    private double scoreSquareSum;
+
+    /**
+     * Creates empty statistics.
+     *
+     * @param policyName the name of the policy being measured
+     * @param difficulty the difficulty being measured
+     */
+    public CalibrationStats(String policyName, int difficulty) {
+        this.policyName = policyName;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Adds one game.
+     *
+     * @param result the game result
+     */
+    public void add(GameResult result) {
+        games++;
+        outcomeCounts[result.getOutcome().ordinal()]++;
+        scoreSum += result.getScore();
+        scoreSquareSum += (double) result.getScore() * result.getScore();
+    }
+
+    /**
+     * Gets the name of the policy being measured.
+     *
+     * @return the policy name
+     */
+    public String getPolicyName() {
+        return policyName;
+    }
+
+    /**
+     * Gets the difficulty being measured.
+     *
+     * @return the difficulty level
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return the game count
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games that ended a given way.
+     *
+     * @param outcome the outcome
+     * @return the count
+     */
+    public long getCount(Outcome outcome) {
+        return outcomeCounts[outcome.ordinal()];
+    }
+
+    /**
+     * Gets the fraction of games that ended a given way.
+     *
+     * @param outcome the outcome
+     * @return the rate, or 0 if no games were played
+     */
+    public double getRate(Outcome outcome) {
+        return games == 0 ? 0 : (double) getCount(outcome) / games;
+    }
+
+    /**
+     * Gets the 95% confidence interval for the rate of an outcome.
+     *
+     * @param outcome the outcome
+     * @return the lower and upper bounds
+     */
+    public double[] getRateInterval(Outcome outcome) {
+        return wilson(getCount(outcome), games);
+    }
+
+    /**
+     * Gets the fraction of games won.
+     *
+     * @return the win rate
+     */
+    public double getWinRate() {
+        return getRate(Outcome.WON);
+    }
+
+    /**
+     * Gets the 95% confidence interval for the win rate.
+     *
+     * @return the lower and upper bounds
+     */
+    public double[] getWinRateInterval() {
+        return getRateInterval(Outcome.WON);
+    }
+
+    /**
+     * Gets the mean final score over all games.
+     *
+     * @return the mean score
+     */
+    public double getMeanScore() {
+        return games == 0 ? 0 : scoreSum / games;
+    }
+
+    /**
+     * Gets the half-width of the 95% confidence interval for the mean score.
+     *
+     * @return the half-width, or infinity with fewer than two games
+     */
+    public double getMeanScoreHalfWidth() {
+        if (games < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double mean = getMeanScore();
+        double variance = Math.max(0, (scoreSquareSum - games * mean * mean) / (games - 1));
+        return Z_95 * Math.sqrt(variance / games);
+    }
+
+    /**
+     * Computes a 95% Wilson score interval for a proportion.
+     *
+     * @param successes the number of successes
+     * @param trials the number of trials
+     * @return the lower and upper bounds, or [0, 1] with no trials
+     */
+    public static double[] wilson(long successes, long trials) {
+        if (trials == 0) {
+            return new double[] { 0, 1 };
+        }
+        double p = (double) successes / trials;
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / trials;
+        double centre = (p + z2 / (2 * trials)) / denominator;
+        double half = Z_95 * Math.sqrt(p * (1 - p) / trials + z2 / (4.0 * trials * trials)) / denominator;
+        return new double[] { Math.max(0, centre - half), Math.min(1, centre + half) };
+    }
+
+    @Override
+    public String toString() {
+        double[] win = getWinRateInterval();
+        StringBuilder text = new StringBuilder(String.format(
+                "difficulty %d %-14s games %6d  win %5.1f%% [%5.1f, %5.1f]  score %5.2f +/- %.2f",
+                difficulty, policyName, games, 100 * getWinRate(), 100 * win[0], 100 * win[1],
+                getMeanScore(), getMeanScoreHalfWidth()));
+        for (Outcome outcome : Outcome.values()) {
+            if (outcome != Outcome.WON && getCount(outcome) > 0) {
+                double[] interval = getRateInterval(outcome);
+                text.append(String.format("  %s %.1f%% [%.1f, %.1f]", outcome.name().toLowerCase(),
+                        100 * getRate(outcome), 100 * interval[0], 100 * interval[1]));
+            }
+        }
+        return text.toString();
+    }
+}
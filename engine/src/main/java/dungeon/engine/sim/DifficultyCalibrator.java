@@ -0,0 +1,131 @@
+package dungeon.engine.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/**
+ * Measures how hard each difficulty level really is by playing many seeded
+ * games with the reference policies. Games are played in parallel batches,
+ * and a policy stops early once the 95% interval for its win rate is within
+ * the target precision and the interval for its mean score is within the
+ * same fraction of the mean.
+ */
+public class DifficultyCalibrator {
+    /** Default number of games played in parallel between convergence checks. */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /** Default largest number of games per policy and difficulty. */
+    public static final int DEFAULT_MAX_GAMES = 20_000;
+
+    /** Default target half-width of the win rate interval. */
+    public static final double DEFAULT_PRECISION = 0.01;
+
+    private final int maxGames;
+    private final int batchSize;
+    private final double precision;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a calibrator with the default limits on the common pool.
+     */
+    public DifficultyCalibrator() {
+        this(DEFAULT_MAX_GAMES, DEFAULT_BATCH_SIZE, DEFAULT_PRECISION, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a calibrator.
+     *
+     * @param maxGames the most games per policy and difficulty
+     * @param batchSize the games played between convergence checks
+     * @param precision the target half-width of the win rate interval
+     * @param pool the pool games are played on
+     */
+    public DifficultyCalibrator(int maxGames, int batchSize, double precision, ForkJoinPool pool) {
+        if (maxGames < 1 || batchSize < 1 || precision <= 0) {
+            throw new IllegalArgumentException("Game limits and precision must be positive");
+        }
+        this.maxGames = maxGames;
+        this.batchSize = batchSize;
+        this.precision = precision;
+        this.pool = pool;
+    }
+
+    /**
+     * Measures one policy at one difficulty.
+     * Game {@code i} uses seed {@code firstSeed + i}, so every policy faces the same maps.
+     *
+     * @param policy the policy to measure
+     * @param difficulty the difficulty level
+     * @param firstSeed the seed of the first game
+     * @return the statistics gathered
+     */
+    public CalibrationStats calibrate(Policy policy, int difficulty, long firstSeed) {
+        CalibrationStats stats = new CalibrationStats(policy.getName(), difficulty);
+        while (stats.getGames() < maxGames && !hasConverged(stats)) {
+            long start = firstSeed + stats.getGames();
+            int count = (int) Math.min(batchSize, maxGames - stats.getGames());
+            GameResult[] results = pool.submit(() -> LongStream.range(start, start + count)
+                    .parallel()
+                    .mapToObj(seed -> Simulation.play(policy, difficulty, seed))
+                    .toArray(GameResult[]::new)).join();
+
+            // Results are added in seed order so the statistics do not depend on scheduling
+            for (GameResult result : results) {
+                stats.add(result);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Measures every policy at every difficulty from 1 to maxDifficulty.
+     *
+     * @param policies the policies to measure
+     * @param maxDifficulty the highest difficulty level
+     * @param firstSeed the seed of the first game of each run
+     * @return the statistics, by difficulty then policy
+     */
+    public List<CalibrationStats> calibrateAll(List<Policy> policies, int maxDifficulty, long firstSeed) {
+        List<CalibrationStats> all = new ArrayList<>();
+        for (int difficulty = 1; difficulty <= maxDifficulty; difficulty++) {
+            for (Policy policy : policies) {
+                all.add(calibrate(policy, difficulty, firstSeed));
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Checks if the estimates are precise enough to stop.
+     *
+     * @param stats the statistics so far
+     * @return true if both intervals are within the target precision
+     */
+    public boolean hasConverged(CalibrationStats stats) {
+        if (stats.getGames() < batchSize) {
+            return false;
+        }
+        double[] win = stats.getWinRateInterval();
+        double scoreTolerance = precision * Math.max(1, stats.getMeanScore());
+        return (win[1] - win[0]) / 2 <= precision && stats.getMeanScoreHalfWidth() <= scoreTolerance;
+    }
+
+    /**
+     * Prints a calibration table for difficulties 1 to 5.
+     * Usage: DifficultyCalibrator [maxGames] [firstSeed]
+     */
+    public static void main(String[] args) {
+        int maxGames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MAX_GAMES;
+        long firstSeed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+        DifficultyCalibrator calibrator = new DifficultyCalibrator(maxGames, DEFAULT_BATCH_SIZE,
+                DEFAULT_PRECISION, ForkJoinPool.commonPool());
+        long start = System.nanoTime();
+        for (CalibrationStats stats : calibrator.calibrateAll(Policies.all(), 5, firstSeed)) {
+            System.out.println(stats);
+        }
+        System.out.printf("Finished in %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+}
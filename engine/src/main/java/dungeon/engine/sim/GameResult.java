@@ -0,0 +1,62 @@
+package dungeon.engine.sim;
+
+/**
+ * The result of one simulated game.
+ */
+public class GameResult {
+    private final long seed;
+    private final Outcome outcome;
+    private final int score;
+    private final int steps;
+
+    /**
+     * Creates a game result.
+     *
+     * @param seed the seed the game was played with
+     * @param outcome how the game ended
+     * @param score the final score
+     * @param steps the steps taken
+     */
+    public GameResult(long seed, Outcome outcome, int score, int steps) {
+        this.seed = seed;
+        this.outcome = outcome;
+        this.score = score;
+        this.steps = steps;
+    }
+
+    /**
+     * Gets the seed the game was played with.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets how the game ended.
+     *
+     * @return the outcome
+     */
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Gets the final score.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the number of steps taken.
+     *
+     * @return the steps
+     */
+    public int getSteps() {
+        return steps;
+    }
+}
@@ -0,0 +1,25 @@
+package dungeon.engine.sim;
+
+/**
+ * How a simulated game ended. Every outcome other than {@link #WON} is a loss,
+ * and losses from running out of health record what dealt the final damage.
+ */
+public enum Outcome {
+    /** The player climbed the final ladder. */
+    WON,
+
+    /** A trap dealt the final damage. */
+    TRAP,
+
+    /** A melee mutant dealt the final damage. */
+    MELEE_MUTANT,
+
+    /** A ranged mutant's shot dealt the final damage. */
+    RANGED_MUTANT,
+
+    /** The player used up all the steps. */
+    OUT_OF_STEPS,
+
+    /** The policy stopped making progress and the game was abandoned. */
+    STALLED
+}
@@ -0,0 +1,145 @@
+package dungeon.engine.sim;
+
+import dungeon.engine.Bitboard;
+import dungeon.engine.Direction;
+import dungeon.engine.GameEngine;
+import dungeon.engine.Position;
+import dungeon.engine.agent.AgentFactory;
+import dungeon.engine.agent.GameView;
+import dungeon.engine.cells.TileType;
+import dungeon.engine.path.DistanceField;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The reference policies used to calibrate difficulty.
+ */
+public final class Policies {
+    // Mixed into the game seed so a policy's random numbers differ from the map's
+    private static final long POLICY_SEED_SALT = 0x9E3779B97F4A7C15L;
+
+    /** Moves in a uniformly random legal direction. */
+    public static final Policy RANDOM = new Policy() {
+        @Override
+        public String getName() {
+            return "random";
+        }
+
+        @Override
+        public Direction chooseMove(GameView view, Random random) {
+            return randomLegalMove(view, random);
+        }
+    };
+
+    /** Follows the engine's safe path straight to the ladder. */
+    public static final Policy SHORTEST_PATH = new Policy() {
+        @Override
+        public String getName() {
+            return "shortest-path";
+        }
+
+        @Override
+        public Direction chooseMove(GameView view, Random random) {
+            Position ladder = view.getLadder();
+            Direction step = ladder == null
+                    ? null
+                    : view.getDistances(ladder).getNextStep(view.getPlayerPosition());
+            return step != null ? step : randomLegalMove(view, random);
+        }
+    };
+
+    /**
+     * Heads for the cheapest gold that still leaves enough steps to reach
+     * the ladder, then for the ladder once no such gold is left.
+     */
+    public static final Policy GREEDY_GOLD = new Policy() {
+        @Override
+        public String getName() {
+            return "greedy-gold";
+        }
+
+        @Override
+        public Direction chooseMove(GameView view, Random random) {
+            Position position = view.getPlayerPosition();
+            Position ladder = view.getLadder();
+            if (ladder == null) {
+                return randomLegalMove(view, random);
+            }
+            DistanceField toLadder = view.getDistances(ladder);
+
+            // Keep a straight run across each level still to come
+            int size = view.getSize();
+            int reserve = (GameEngine.WINNING_LEVEL - view.getLevel()) * 2 * (size - 1);
+            int budget = GameEngine.MAX_STEPS - 1 - view.getSteps() - reserve;
+
+            DistanceField best = null;
+            int bestCost = DistanceField.UNREACHABLE;
+            Bitboard gold = view.getBitboards().getGold();
+            for (int tile = gold.nextSetBit(0); tile >= 0; tile = gold.nextSetBit(tile + 1)) {
+                Position target = new Position(tile / size, tile % size);
+                DistanceField toGold = view.getDistances(target);
+                int cost = toGold.getDistance(position);
+                if (cost >= bestCost) {
+                    continue;
+                }
+                List<Direction> there = toGold.getPath(position);
+                List<Direction> onwards = toLadder.getPath(target);
+                if (there != null && onwards != null && there.size() + onwards.size() <= budget) {
+                    best = toGold;
+                    bestCost = cost;
+                }
+            }
+
+            Direction step = (best != null ? best : toLadder).getNextStep(position);
+            return step != null ? step : randomLegalMove(view, random);
+        }
+    };
+
+    private Policies() {
+    }
+
+    /**
+     * Gets every reference policy.
+     *
+     * @return the reference policies
+     */
+    public static List<Policy> all() {
+        return Arrays.asList(RANDOM, GREEDY_GOLD, SHORTEST_PATH);
+    }
+
+    /**
+     * Adapts a policy to the agent interface.
+     * Each agent gets its own random number generator seeded from the game seed.
+     *
+     * @param policy the policy
+     * @return a factory creating agents that play the policy
+     */
+    public static AgentFactory asAgents(Policy policy) {
+        return seed -> {
+            Random random = new Random(seed ^ POLICY_SEED_SALT);
+            return view -> policy.chooseMove(view, random);
+        };
+    }
+
+    /**
+     * Picks a random direction that stays on the board and does not enter a wall.
+     *
+     * @param view the game being played
+     * @param random the random number generator
+     * @return a legal direction, or null if the player is boxed in
+     */
+    static Direction randomLegalMove(GameView view, Random random) {
+        Position position = view.getPlayerPosition();
+        Direction[] legal = new Direction[4];
+        int count = 0;
+        for (Direction direction : Direction.values()) {
+            Position next = position.plus(direction);
+            if (next != null && view.getTile(next.getRow(), next.getCol()) != TileType.WALL) {
+                legal[count++] = direction;
+            }
+        }
+        return count == 0 ? null : legal[random.nextInt(count)];
+    }
+}
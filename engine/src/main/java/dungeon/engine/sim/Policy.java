@@ -0,0 +1,30 @@
+package dungeon.engine.sim;
+
+import dungeon.engine.Direction;
+import dungeon.engine.agent.GameView;
+
+import java.util.Random;
+
+/**
+ * A reference strategy for playing the game without a human.
+ * Policies must be safe to share between threads; any randomness comes
+ * from the generator passed in for each game. {@link Policies#asAgents}
+ * adapts a policy to the {@link dungeon.engine.agent.Agent} interface.
+ */
+public interface Policy {
+    /**
+     * Gets a short name for reports.
+     *
+     * @return the policy name
+     */
+    String getName();
+
+    /**
+     * Chooses the next move.
+     *
+     * @param view the game being played
+     * @param random the random number generator for this game
+     * @return the direction to move, or null if the policy has no move
+     */
+    Direction chooseMove(GameView view, Random random);
+}
@@ -0,0 +1,103 @@
+package dungeon.engine.sim;
+
+import dungeon.engine.Direction;
+import dungeon.engine.GameEngine;
+import dungeon.engine.LevelCache;
+import dungeon.engine.Mutant;
+import dungeon.engine.Player;
+import dungeon.engine.Position;
+import dungeon.engine.agent.Agent;
+import dungeon.engine.agent.GameView;
+import dungeon.engine.cells.HealthPotionCell;
+import dungeon.engine.cells.TileType;
+import dungeon.engine.cells.TrapCell;
+import dungeon.engine.metrics.LatencyHistogram;
+
+/**
+ * Plays single games headlessly through {@link GameEngine#move}.
+ */
+public final class Simulation {
+    /** Moves an agent may attempt, legal or not, before the game is abandoned. */
+    public static final int MAX_DECISIONS = 4 * GameEngine.MAX_STEPS;
+
+    private Simulation() {
+    }
+
+    /**
+     * Plays one game to the end with a policy.
+     *
+     * @param policy the policy choosing the moves
+     * @param difficulty the difficulty level
+     * @param seed the game seed
+     * @return how the game ended
+     */
+    public static GameResult play(Policy policy, int difficulty, long seed) {
+        return play(Policies.asAgents(policy).create(seed), difficulty, seed, null);
+    }
+
+    /**
+     * Plays one game to the end with an agent.
+     *
+     * @param agent the agent choosing the moves
+     * @param difficulty the difficulty level
+     * @param seed the game seed
+     * @param decisionLatency records the time of each decision in nanoseconds, or null
+     * @return how the game ended
+     */
+    public static GameResult play(Agent agent, int difficulty, long seed, LatencyHistogram decisionLatency) {
+        GameEngine engine = new GameEngine(difficulty, seed, LevelCache.getShared());
+        GameView view = GameView.of(engine);
+        Player player = engine.getPlayer();
+        Outcome lastDamage = Outcome.TRAP;
+        int hpAfterCell = player.getHp();
+
+        for (int decisions = 0; !engine.isGameOver(); decisions++) {
+            if (decisions == MAX_DECISIONS) {
+                return new GameResult(seed, Outcome.STALLED, player.getScore(), player.getSteps());
+            }
+
+            Direction direction;
+            if (decisionLatency == null) {
+                direction = agent.decide(view);
+            } else {
+                long start = System.nanoTime();
+                direction = agent.decide(view);
+                decisionLatency.record(System.nanoTime() - start);
+            }
+
+            Position target = direction == null ? null : player.getPosition().plus(direction);
+            TileType type = target == null ? TileType.EMPTY : TileType.of(engine.getGameMap().cellAt(target));
+            int hpBefore = player.getHp();
+            if (!engine.move(direction)) {
+                continue;
+            }
+
+            // Split the HP change into what the tile did and what ranged shots did afterwards
+            if (type == TileType.TRAP) {
+                hpAfterCell = hpBefore - TrapCell.DAMAGE;
+                lastDamage = Outcome.TRAP;
+            } else if (type == TileType.MELEE_MUTANT) {
+                hpAfterCell = hpBefore - Mutant.DAMAGE;
+                lastDamage = Outcome.MELEE_MUTANT;
+            } else if (type == TileType.HEALTH_POTION) {
+                hpAfterCell = Math.min(Player.MAX_HP, hpBefore + HealthPotionCell.HEAL_AMOUNT);
+            } else {
+                hpAfterCell = hpBefore;
+            }
+            if (player.getHp() < hpAfterCell) {
+                lastDamage = Outcome.RANGED_MUTANT;
+            }
+        }
+
+        Outcome outcome;
+        if (player.getLevel() > GameEngine.WINNING_LEVEL && hpAfterCell > 0
+                && player.getSteps() < GameEngine.MAX_STEPS) {
+            outcome = Outcome.WON;
+        } else if (player.getHp() <= 0) {
+            outcome = lastDamage;
+        } else {
+            outcome = Outcome.OUT_OF_STEPS;
+        }
+        return new GameResult(seed, outcome, player.getScore(), player.getSteps());
+    }
+}
@@ -0,0 +1,94 @@
+package dungeon.engine.sim;
+
+import dungeon.engine.metrics.LatencyHistogram;
+
+/**
+ * One entrant's results from a tournament.
+ */
+public class TournamentResult {
+    private final String name;
+    private final CalibrationStats stats;
+    private final LatencyHistogram decisionLatency;
+    private final long elapsedNanos;
+
+    /**
+     * Creates a tournament result.
+     *
+     * @param name the entrant's name
+     * @param stats the game statistics
+     * @param decisionLatency the time taken by each decision, in nanoseconds
+     * @param elapsedNanos the wall-clock time taken to play all games
+     */
+    public TournamentResult(String name, CalibrationStats stats, LatencyHistogram decisionLatency,
+                            long elapsedNanos) {
+        this.name = name;
+        this.stats = stats;
+        this.decisionLatency = decisionLatency;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the entrant's name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the win rate, score and outcome statistics.
+     *
+     * @return the game statistics
+     */
+    public CalibrationStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Gets the time taken by each decision.
+     *
+     * @return the decision latency histogram, in nanoseconds
+     */
+    public LatencyHistogram getDecisionLatency() {
+        return decisionLatency;
+    }
+
+    /**
+     * Gets the number of decisions made.
+     *
+     * @return the decision count
+     */
+    public long getDecisions() {
+        return decisionLatency.getCount();
+    }
+
+    /**
+     * Gets the decisions made per second of time spent deciding.
+     * Engine time is excluded, so this measures the agent alone.
+     *
+     * @return the decision throughput
+     */
+    public double getDecisionsPerSecond() {
+        double seconds = decisionLatency.getMean() * decisionLatency.getCount() / 1e9;
+        return seconds == 0 ? 0 : decisionLatency.getCount() / seconds;
+    }
+
+    /**
+     * Gets the wall-clock time taken to play all games.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-14s games %6d  win %5.1f%%  score %5.2f  %,.0f decisions/s"
+                        + "  latency p50 %,d ns  p99 %,d ns  max %,d ns",
+                name, stats.getGames(), 100 * stats.getWinRate(), stats.getMeanScore(),
+                getDecisionsPerSecond(), decisionLatency.getPercentile(50),
+                decisionLatency.getPercentile(99), decisionLatency.getMax());
+    }
+}
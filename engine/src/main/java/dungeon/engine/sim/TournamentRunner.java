@@ -0,0 +1,102 @@
+package dungeon.engine.sim;
+
+import dungeon.engine.agent.AgentFactory;
+import dungeon.engine.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Plays several agents against the same set of seeds, headlessly and in parallel.
+ * Each game gets a fresh agent from the entrant's factory. Every decision is
+ * timed, so results include decision throughput and latency percentiles
+ * alongside win rate and score.
+ */
+public class TournamentRunner {
+    private final int difficulty;
+    private final long[] seeds;
+    private final ForkJoinPool pool;
+    private final Map<String, AgentFactory> entrants = new LinkedHashMap<>();
+
+    /**
+     * Creates a tournament.
+     *
+     * @param difficulty the difficulty every game is played at
+     * @param seeds the seeds every entrant plays
+     * @param pool the pool games are played on
+     */
+    public TournamentRunner(int difficulty, long[] seeds, ForkJoinPool pool) {
+        this.difficulty = difficulty;
+        this.seeds = seeds.clone();
+        this.pool = pool;
+    }
+
+    /**
+     * Adds an entrant.
+     *
+     * @param name a unique name for reports
+     * @param factory creates the entrant's agent for each game
+     */
+    public void addEntrant(String name, AgentFactory factory) {
+        if (entrants.putIfAbsent(name, factory) != null) {
+            throw new IllegalArgumentException("Duplicate entrant: " + name);
+        }
+    }
+
+    /**
+     * Plays every entrant on every seed.
+     *
+     * @return one result per entrant, in the order they were added
+     */
+    public List<TournamentResult> run() {
+        List<TournamentResult> results = new ArrayList<>();
+        for (Map.Entry<String, AgentFactory> entrant : entrants.entrySet()) {
+            results.add(play(entrant.getKey(), entrant.getValue()));
+        }
+        return results;
+    }
+
+    /**
+     * Plays one entrant on every seed in parallel.
+     */
+    private TournamentResult play(String name, AgentFactory factory) {
+        LatencyHistogram latency = new LatencyHistogram(name + " decision", "ns");
+        long start = System.nanoTime();
+        GameResult[] games = pool.submit(() -> Arrays.stream(seeds)
+                .parallel()
+                .mapToObj(seed -> Simulation.play(factory.create(seed), difficulty, seed, latency))
+                .toArray(GameResult[]::new)).join();
+        long elapsed = System.nanoTime() - start;
+
+        CalibrationStats stats = new CalibrationStats(name, difficulty);
+        for (GameResult game : games) {
+            stats.add(game);
+        }
+        return new TournamentResult(name, stats, latency, elapsed);
+    }
+
+    /**
+     * Runs the reference policies against each other.
+     * Usage: TournamentRunner [games] [difficulty]
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int difficulty = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        long[] seeds = new long[games];
+        for (int i = 0; i < games; i++) {
+            seeds[i] = i + 1;
+        }
+        TournamentRunner runner = new TournamentRunner(difficulty, seeds, ForkJoinPool.commonPool());
+        for (Policy policy : Policies.all()) {
+            runner.addEntrant(policy.getName(), Policies.asAgents(policy));
+        }
+        for (TournamentResult result : runner.run()) {
+            System.out.println(result);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dungeon.engine.solver;
+
+import dungeon.engine.Bitboard;
+import dungeon.engine.GameMap;
+import dungeon.engine.Position;
+import dungeon.engine.ThreatMasks;
+import dungeon.engine.cells.Cell;
+import dungeon.engine.cells.TileType;
+import dungeon.engine.path.CostModel;
+import dungeon.engine.path.DistanceField;
+import dungeon.engine.path.PathFinder;
+
+/**
+ * A compact, read-only description of one level for the solver.
+ * Consumable tiles (gold, potions, mutants) are numbered so that the set of
+ * collected items fits in an int bitset, and each tile records which ranged
+ * mutants can shoot at it.
+ */
+class LevelModel {
+    /** The most consumable items a level may have. */
+    static final int MAX_ITEMS = 32;
+
+    final int size;
+    final TileType[] types;
+    final int[] itemBits;
+    final int[] threats;
+    final int[] stepsToLadder;
+
+    /**
+     * Builds the model from a freshly generated map.
+     *
+     * @param map the level's map
+     */
+    LevelModel(GameMap map) {
+        size = map.getSize();
+        int tiles = size * size;
+        types = new TileType[tiles];
+        itemBits = new int[tiles];
+        threats = new int[tiles];
+        stepsToLadder = new int[tiles];
+
+        Cell[][] grid = map.getGrid();
+        int itemCount = 0;
+        Position ladder = null;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int index = row * size + col;
+                TileType type = TileType.of(grid[row][col]);
+                types[index] = type;
+                if (isConsumable(type)) {
+                    if (itemCount == MAX_ITEMS) {
+                        throw new IllegalArgumentException("Level has more than " + MAX_ITEMS + " items");
+                    }
+                    itemBits[index] = 1 << itemCount++;
+                }
+                if (type == TileType.LADDER) {
+                    ladder = new Position(row, col);
+                }
+            }
+        }
+
+        // Each tile records the item bits of the ranged mutants that can hit it
+        ThreatMasks threatMasks = map.getThreatMasks();
+        for (int index = 0; index < tiles; index++) {
+            Bitboard mask = threatMasks.getMask(index / size, index % size);
+            if (mask == null) {
+                continue;
+            }
+            for (int target = mask.nextSetBit(0); target >= 0; target = mask.nextSetBit(target + 1)) {
+                threats[target] |= itemBits[index];
+            }
+        }
+
+        // Fewest steps from each tile to the ladder, used to prune hopeless states
+        PathFinder pathFinder = new PathFinder(map, CostModel.STEPS);
+        DistanceField field = ladder == null ? null : pathFinder.distancesTo(ladder);
+        for (int index = 0; index < tiles; index++) {
+            stepsToLadder[index] = field == null
+                    ? DistanceField.UNREACHABLE
+                    : field.getDistance(index / size, index % size);
+        }
+        pathFinder.detach();
+    }
+
+    /**
+     * Checks if a tile type disappears once the player enters it.
+     */
+    static boolean isConsumable(TileType type) {
+        return type == TileType.GOLD || type == TileType.HEALTH_POTION
+                || type == TileType.MELEE_MUTANT || type == TileType.RANGED_MUTANT;
+    }
+}
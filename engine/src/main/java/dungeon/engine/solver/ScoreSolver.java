@@ -0,0 +1,479 @@
+package dungeon.engine.solver;
+
+import dungeon.engine.Direction;
+import dungeon.engine.GameEngine;
+import dungeon.engine.Mutant;
+import dungeon.engine.Player;
+import dungeon.engine.cells.GoldCell;
+import dungeon.engine.cells.HealthPotionCell;
+import dungeon.engine.cells.TileType;
+import dungeon.engine.cells.TrapCell;
+import dungeon.engine.path.DistanceField;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds the best achievable winning score for a seeded dungeon.
+ *
+ * <p>The solver runs a beam search over game states one step at a time,
+ * following the same rules as {@link GameEngine}: {@value GameEngine#MAX_STEPS}
+ * steps, {@value Player#MAX_HP} HP, consumable items and mutants, persistent
+ * traps and ranged mutant shots after each move. Each step's frontier is
+ * expanded in parallel with fork-join tasks. States are packed into a long
+ * (level, position, HP, steps and a bitset of collected items) and a memo
+ * table drops any state already kept at an earlier step with at least the same score.
+ * States that can no longer reach the final ladder in time are pruned.</p>
+ *
+ * <p>A player whose HP is brought to 0 by a ranged shot is treated as dead,
+ * even though the engine only notices on the following move.</p>
+ */
+public class ScoreSolver {
+    /** Default number of states kept per step. */
+    public static final int DEFAULT_BEAM_WIDTH = 4096;
+
+    // Frontier slices smaller than this are expanded without further splitting
+    private static final int SPLIT_THRESHOLD = 128;
+
+    private static final int MAX_HALF_HP = 2 * Player.MAX_HP;
+
+    // Packed state layout: mask | hp << 32 | position << 37 | level << 44 | steps << 47.
+    // The bits below the steps identify a state regardless of when it was reached.
+    private static final int HP_SHIFT = 32;
+    private static final int POSITION_SHIFT = 37;
+    private static final int LEVEL_SHIFT = 44;
+    private static final int STEPS_SHIFT = 47;
+    private static final long ID_MASK = (1L << STEPS_SHIFT) - 1;
+
+    // Successor slots are appended below a state id when sorting a step's successors
+    private static final int SLOT_BITS = 16;
+    private static final long SLOT_MASK = (1L << SLOT_BITS) - 1;
+
+    /** Largest supported beam width, limited by the successor slot bits. */
+    public static final int MAX_BEAM_WIDTH = 1 << (SLOT_BITS - 2);
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final ShotModel shotModel;
+    private final int beamWidth;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a solver that assumes every ranged shot hits, using the common pool.
+     */
+    public ScoreSolver() {
+        this(ShotModel.WORST_CASE, DEFAULT_BEAM_WIDTH, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a solver.
+     *
+     * @param shotModel how ranged mutant shots are accounted for
+     * @param beamWidth the maximum number of states kept per step
+     * @param pool the pool used to expand states in parallel
+     */
+    public ScoreSolver(ShotModel shotModel, int beamWidth, ForkJoinPool pool) {
+        if (beamWidth < 1 || beamWidth > MAX_BEAM_WIDTH) {
+            throw new IllegalArgumentException("Beam width must be between 1 and " + MAX_BEAM_WIDTH);
+        }
+        this.shotModel = shotModel;
+        this.beamWidth = beamWidth;
+        this.pool = pool;
+    }
+
+    /**
+     * Solves the dungeon generated for a seed and difficulty.
+     *
+     * @param seed the game seed
+     * @param difficulty the difficulty level
+     * @return the best winning score and the moves that achieve it
+     */
+    public SolverResult solve(long seed, int difficulty) {
+        long start = System.nanoTime();
+
+        // Generate the levels exactly as a real game with this seed would
+        GameEngine engine = new GameEngine(difficulty, seed);
+        LevelModel[] levels = new LevelModel[GameEngine.WINNING_LEVEL];
+        for (int level = 0; level < levels.length; level++) {
+            if (level > 0) {
+                engine.advanceToNextLevel();
+            }
+            levels[level] = new LevelModel(engine.getGameMap());
+        }
+
+        Search search = new Search(levels);
+        search.run();
+
+        return new SolverResult(seed, difficulty, shotModel, search.bestScore >= 0,
+                Math.max(0, search.bestScore), search.bestMoves,
+                search.expanded.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * The state of one search.
+     */
+    private final class Search {
+        private final LevelModel[] levels;
+        private final int size;
+
+        // Fewest steps needed after finishing each level
+        private final int[] stepsAfterLevel;
+
+        // Best score kept per state id; only written between steps, so tasks can read it freely
+        private final StateMemo memo = new StateMemo();
+
+        private final LongAdder expanded = new LongAdder();
+
+        // Parent index and move for every frontier entry of every step
+        private final List<int[]> parents = new ArrayList<>();
+        private final List<byte[]> moves = new ArrayList<>();
+
+        private int bestScore = -1;
+        private List<Direction> bestMoves = Collections.emptyList();
+
+        Search(LevelModel[] levels) {
+            this.levels = levels;
+            this.size = levels[0].size;
+            if (size * size > 1 << (LEVEL_SHIFT - POSITION_SHIFT)) {
+                throw new IllegalArgumentException("Map is too large to solve: " + size + "x" + size);
+            }
+            this.stepsAfterLevel = new int[levels.length];
+            for (int level = levels.length - 2; level >= 0; level--) {
+                int next = levels[level + 1].stepsToLadder[0];
+                stepsAfterLevel[level] = next == DistanceField.UNREACHABLE || stepsAfterLevel[level + 1] == Integer.MAX_VALUE
+                        ? Integer.MAX_VALUE
+                        : stepsAfterLevel[level + 1] + next;
+            }
+        }
+
+        /**
+         * Expands the frontier one step at a time until it is empty.
+         */
+        void run() {
+            long[] frontier = { pack(0, 0, MAX_HALF_HP, 0, 0) };
+            int[] scores = { 0 };
+            parents.add(new int[] { -1 });
+            moves.add(new byte[] { -1 });
+
+            long[] successors = new long[0];
+            long[] values = new long[0];
+            for (int depth = 0; depth < GameEngine.MAX_STEPS && frontier.length > 0; depth++) {
+                // Every frontier entry owns one successor slot per direction,
+                // so tasks never contend on shared state
+                int slots = frontier.length * DIRECTIONS.length;
+                if (successors.length < slots) {
+                    successors = new long[slots];
+                    values = new long[slots];
+                }
+                AtomicLong bestWin = new AtomicLong(-1);
+                pool.invoke(new ExpandTask(frontier, scores, successors, values, bestWin, 0, frontier.length));
+
+                long win = bestWin.get();
+                if (win >= 0 && (int) (win >>> 32) > bestScore) {
+                    bestScore = (int) (win >>> 32);
+                    bestMoves = rebuildMoves(depth, (int) win);
+                }
+
+                // Sort by state for a deterministic order, keeping the best value per state
+                long[] order = new long[slots];
+                int count = 0;
+                for (int slot = 0; slot < slots; slot++) {
+                    if (successors[slot] >= 0) {
+                        order[count++] = (successors[slot] & ID_MASK) << SLOT_BITS | slot;
+                    }
+                }
+                Arrays.sort(order, 0, count);
+                long[] keys = new long[count];
+                long[] bestValues = new long[count];
+                int n = 0;
+                for (int i = 0; i < count; i++) {
+                    int slot = (int) (order[i] & SLOT_MASK);
+                    if (n > 0 && (keys[n - 1] & ID_MASK) == (successors[slot] & ID_MASK)) {
+                        bestValues[n - 1] = Math.max(bestValues[n - 1], values[slot]);
+                    } else {
+                        keys[n] = successors[slot];
+                        bestValues[n++] = values[slot];
+                    }
+                }
+                int[] kept = selectBeam(keys, bestValues, n);
+
+                frontier = new long[kept.length];
+                scores = new int[kept.length];
+                int[] stepParents = new int[kept.length];
+                byte[] stepMoves = new byte[kept.length];
+                for (int i = 0; i < kept.length; i++) {
+                    long value = bestValues[kept[i]];
+                    frontier[i] = keys[kept[i]];
+                    scores[i] = (int) (value >>> 32);
+                    stepParents[i] = (int) value / DIRECTIONS.length;
+                    stepMoves[i] = (byte) ((int) value % DIRECTIONS.length);
+                }
+                parents.add(stepParents);
+                moves.add(stepMoves);
+
+                // Only states that survived the beam are remembered, so a pruned
+                // state can still be reached again later
+                for (int i = 0; i < frontier.length; i++) {
+                    memo.putMax(frontier[i] & ID_MASK, scores[i]);
+                }
+            }
+        }
+
+        /**
+         * Picks at most beamWidth entries, preferring higher score then higher HP.
+         * Uses a stable counting sort so ties keep the deterministic key order.
+         */
+        private int[] selectBeam(long[] keys, long[] values, int n) {
+            if (n <= beamWidth) {
+                int[] all = new int[n];
+                for (int i = 0; i < n; i++) {
+                    all[i] = i;
+                }
+                return all;
+            }
+
+            int maxPriority = 0;
+            int[] priorities = new int[n];
+            for (int i = 0; i < n; i++) {
+                int score = (int) (values[i] >>> 32);
+                priorities[i] = score * (MAX_HALF_HP + 1) + hp(keys[i]);
+                maxPriority = Math.max(maxPriority, priorities[i]);
+            }
+            int[] counts = new int[maxPriority + 2];
+            for (int priority : priorities) {
+                counts[maxPriority - priority + 1]++;
+            }
+            for (int i = 1; i < counts.length; i++) {
+                counts[i] += counts[i - 1];
+            }
+            int[] sorted = new int[n];
+            for (int i = 0; i < n; i++) {
+                sorted[counts[maxPriority - priorities[i]]++] = i;
+            }
+            return Arrays.copyOf(sorted, beamWidth);
+        }
+
+        /**
+         * Expands one frontier state into its successor slots.
+         * A slot is left at -1 when its move is illegal, fatal or pruned.
+         */
+        void expand(long state, int score, int parentIndex, long[] successors, long[] values, AtomicLong bestWin) {
+            expanded.increment();
+            int level = level(state);
+            int position = position(state);
+            int hp = hp(state);
+            int steps = steps(state);
+            int mask = mask(state);
+            LevelModel model = levels[level];
+            int row = position / size;
+            int col = position % size;
+
+            for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+                int slot = parentIndex * DIRECTIONS.length + dir;
+                successors[slot] = -1;
+                int newRow = row + DIRECTIONS[dir].getDRow();
+                int newCol = col + DIRECTIONS[dir].getDCol();
+                if (newRow < 0 || newRow >= size || newCol < 0 || newCol >= size) {
+                    continue;
+                }
+                int target = newRow * size + newCol;
+                TileType type = model.types[target];
+                if (type == TileType.WALL) {
+                    continue;
+                }
+
+                int bit = model.itemBits[target];
+                boolean present = bit != 0 && (mask & bit) == 0;
+                int newLevel = level;
+                int newPosition = target;
+                int newHp = hp;
+                int newScore = score;
+                int newMask = mask;
+                int newSteps = steps + 1;
+
+                switch (type) {
+                    case GOLD:
+                        if (present) {
+                            newScore += GoldCell.SCORE_VALUE;
+                            newMask |= bit;
+                        }
+                        break;
+                    case HEALTH_POTION:
+                        if (present) {
+                            newHp = Math.min(MAX_HALF_HP, newHp + 2 * HealthPotionCell.HEAL_AMOUNT);
+                            newMask |= bit;
+                        }
+                        break;
+                    case TRAP:
+                        newHp -= 2 * TrapCell.DAMAGE;
+                        break;
+                    case MELEE_MUTANT:
+                        if (present) {
+                            newHp -= 2 * Mutant.DAMAGE;
+                            newScore += Mutant.POINTS;
+                            newMask |= bit;
+                        }
+                        break;
+                    case RANGED_MUTANT:
+                        if (present) {
+                            newScore += Mutant.POINTS;
+                            newMask |= bit;
+                        }
+                        break;
+                    case LADDER:
+                        if (level == levels.length - 1) {
+                            // Winning requires finishing inside the step limit
+                            if (newSteps < GameEngine.MAX_STEPS) {
+                                bestWin.accumulateAndGet(packValue(newScore, slot), Math::max);
+                            }
+                            continue;
+                        }
+                        newLevel = level + 1;
+                        newPosition = 0;
+                        newMask = 0;
+                        break;
+                    default:
+                        break;
+                }
+
+                if (newHp <= 0 || newSteps >= GameEngine.MAX_STEPS) {
+                    continue;
+                }
+
+                // Ranged mutants still standing shoot after the move
+                LevelModel newModel = levels[newLevel];
+                int shooters = newModel.threats[newPosition] & ~newMask;
+                newHp -= Integer.bitCount(shooters) * shotModel.getHalfHpPerShot();
+                if (newHp <= 0) {
+                    continue;
+                }
+
+                // Prune states that cannot reach the final ladder in time
+                int toLadder = newModel.stepsToLadder[newPosition];
+                if (toLadder == DistanceField.UNREACHABLE || stepsAfterLevel[newLevel] == Integer.MAX_VALUE
+                        || newSteps + toLadder + stepsAfterLevel[newLevel] >= GameEngine.MAX_STEPS) {
+                    continue;
+                }
+
+                long successor = pack(newLevel, newPosition, newHp, newSteps, newMask);
+                if (memo.get(successor & ID_MASK) >= newScore) {
+                    continue; // Already kept at an earlier step with at least this score
+                }
+                successors[slot] = successor;
+                values[slot] = packValue(newScore, slot);
+            }
+        }
+
+        /**
+         * Rebuilds the moves leading to a winning move from a successor slot.
+         */
+        private List<Direction> rebuildMoves(int depth, int slot) {
+            Direction[] path = new Direction[depth + 1];
+            path[depth] = DIRECTIONS[slot % DIRECTIONS.length];
+            int index = slot / DIRECTIONS.length;
+            for (int step = depth; step > 0; step--) {
+                path[step - 1] = DIRECTIONS[moves.get(step)[index]];
+                index = parents.get(step)[index];
+            }
+            return Arrays.asList(path);
+        }
+
+        /**
+         * Expands a slice of the frontier, splitting it across the pool.
+         */
+        private final class ExpandTask extends RecursiveAction {
+            private final long[] frontier;
+            private final int[] scores;
+            private final long[] successors;
+            private final long[] values;
+            private final AtomicLong bestWin;
+            private final int from;
+            private final int to;
+
+            ExpandTask(long[] frontier, int[] scores, long[] successors, long[] values,
+                       AtomicLong bestWin, int from, int to) {
+                this.frontier = frontier;
+                this.scores = scores;
+                this.successors = successors;
+                this.values = values;
+                this.bestWin = bestWin;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from <= SPLIT_THRESHOLD) {
+                    for (int i = from; i < to; i++) {
+                        expand(frontier[i], scores[i], i, successors, values, bestWin);
+                    }
+                    return;
+                }
+                int middle = (from + to) >>> 1;
+                invokeAll(new ExpandTask(frontier, scores, successors, values, bestWin, from, middle),
+                        new ExpandTask(frontier, scores, successors, values, bestWin, middle, to));
+            }
+        }
+    }
+
+    private static long pack(int level, int position, int hp, int steps, int mask) {
+        return (mask & 0xFFFFFFFFL)
+                | (long) hp << HP_SHIFT
+                | (long) position << POSITION_SHIFT
+                | (long) level << LEVEL_SHIFT
+                | (long) steps << STEPS_SHIFT;
+    }
+
+    private static long packValue(int score, int slot) {
+        return (long) score << 32 | slot;
+    }
+
+    private static int mask(long state) {
+        return (int) state;
+    }
+
+    private static int steps(long state) {
+        return (int) (state >>> STEPS_SHIFT) & 0x7F;
+    }
+
+    private static int hp(long state) {
+        return (int) (state >>> HP_SHIFT) & 0x1F;
+    }
+
+    private static int position(long state) {
+        return (int) (state >>> POSITION_SHIFT) & 0x7F;
+    }
+
+    private static int level(long state) {
+        return (int) (state >>> LEVEL_SHIFT) & 0x7;
+    }
+
+    /**
+     * Solves a dungeon from the command line.
+     * Usage: ScoreSolver &lt;seed&gt; &lt;difficulty&gt; [expected|worst]
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: ScoreSolver <seed> <difficulty> [expected|worst]");
+            return;
+        }
+        long seed = Long.parseLong(args[0]);
+        int difficulty = Integer.parseInt(args[1]);
+        ShotModel shotModel = args.length > 2 && args[2].equalsIgnoreCase("expected")
+                ? ShotModel.EXPECTED
+                : ShotModel.WORST_CASE;
+
+        SolverResult result = new ScoreSolver(shotModel, DEFAULT_BEAM_WIDTH, ForkJoinPool.commonPool())
+                .solve(seed, difficulty);
+        System.out.println(result);
+        if (result.isWon()) {
+            System.out.println("Moves: " + result.getMoves());
+        }
+    }
+}
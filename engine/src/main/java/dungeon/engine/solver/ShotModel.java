@@ -0,0 +1,31 @@
+package dungeon.engine.solver;
+
+import dungeon.engine.Mutant;
+
+/**
+ * How the solver accounts for ranged mutant shots, which hit at random.
+ * Damage is measured in half hit points so the expected 50% hit can be
+ * represented exactly.
+ */
+public enum ShotModel {
+    /** Every shot costs half the mutant's damage, its expected value. */
+    EXPECTED(Mutant.DAMAGE),
+
+    /** Every shot hits. Plans found under this model can never fail. */
+    WORST_CASE(2 * Mutant.DAMAGE);
+
+    private final int halfHpPerShot;
+
+    ShotModel(int halfHpPerShot) {
+        this.halfHpPerShot = halfHpPerShot;
+    }
+
+    /**
+     * Gets the damage charged for one shot.
+     *
+     * @return the damage in half hit points
+     */
+    public int getHalfHpPerShot() {
+        return halfHpPerShot;
+    }
+}
@@ -0,0 +1,122 @@
+package dungeon.engine.solver;
+
+import dungeon.engine.Direction;
+
+import java.util.List;
+
+/**
+ * The outcome of solving one seeded dungeon.
+ */
+public class SolverResult {
+    private final long seed;
+    private final int difficulty;
+    private final ShotModel shotModel;
+    private final boolean won;
+    private final int score;
+    private final List<Direction> moves;
+    private final long statesExpanded;
+    private final long elapsedNanos;
+
+    /**
+     * Creates a solver result.
+     *
+     * @param seed the seed that was solved
+     * @param difficulty the difficulty that was solved
+     * @param shotModel how ranged mutant shots were accounted for
+     * @param won true if a winning sequence of moves was found
+     * @param score the final score of the best winning sequence, or 0 if none was found
+     * @param moves the best winning sequence of moves, empty if none was found
+     * @param statesExpanded the number of search states expanded
+     * @param elapsedNanos the wall-clock time taken
+     */
+    public SolverResult(long seed, int difficulty, ShotModel shotModel, boolean won, int score,
+                        List<Direction> moves, long statesExpanded, long elapsedNanos) {
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.shotModel = shotModel;
+        this.won = won;
+        this.score = score;
+        this.moves = List.copyOf(moves);
+        this.statesExpanded = statesExpanded;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the seed that was solved.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the difficulty that was solved.
+     *
+     * @return the difficulty level
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Gets how ranged mutant shots were accounted for.
+     *
+     * @return the shot model
+     */
+    public ShotModel getShotModel() {
+        return shotModel;
+    }
+
+    /**
+     * Checks if the dungeon can be won.
+     *
+     * @return true if a winning sequence of moves was found
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * Gets the best achievable score.
+     *
+     * @return the final score of the best winning sequence, or 0 if none was found
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the moves that achieve the best score.
+     *
+     * @return the moves in order, empty if no win was found
+     */
+    public List<Direction> getMoves() {
+        return moves;
+    }
+
+    /**
+     * Gets the number of search states expanded.
+     *
+     * @return the state count
+     */
+    public long getStatesExpanded() {
+        return statesExpanded;
+    }
+
+    /**
+     * Gets the wall-clock time the search took.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Seed %d, difficulty %d (%s): %s, score %d in %d moves [%d states, %.1f ms]",
+                seed, difficulty, shotModel, won ? "winnable" : "no win found", score, moves.size(),
+                statesExpanded, elapsedNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,107 @@
+package dungeon.engine.solver;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing map from packed state ids to the best score kept for them.
+ * Keys and scores live in primitive arrays, so lookups never box. The memo is
+ * written by one thread between search steps and may then be read by many.
+ */
+class StateMemo {
+    private static final long EMPTY = -1;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    private long[] keys;
+    private int[] scores;
+    private int size;
+
+    /**
+     * Creates an empty memo.
+     */
+    StateMemo() {
+        keys = new long[INITIAL_CAPACITY];
+        scores = new int[INITIAL_CAPACITY];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Gets the best score recorded for a state.
+     *
+     * @param key the non-negative state id
+     * @return the recorded score, or -1 if the state has not been recorded
+     */
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return scores[slot];
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Records a score for a state, keeping the higher one if it is already present.
+     *
+     * @param key the non-negative state id
+     * @param score the score
+     */
+    void putMax(long key, int score) {
+        if (2 * (size + 1) > keys.length) {
+            grow();
+        }
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                scores[slot] = Math.max(scores[slot], score);
+                return;
+            }
+            if (current == EMPTY) {
+                keys[slot] = key;
+                scores[slot] = score;
+                size++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of states recorded.
+     *
+     * @return the number of states
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the table and reinserts every entry.
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldScores = scores;
+        keys = new long[oldKeys.length * 2];
+        scores = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                putMax(oldKeys[i], oldScores[i]);
+            }
+        }
+    }
+
+    /**
+     * Mixes all bits of a key; packed states differ mostly in their low bits.
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
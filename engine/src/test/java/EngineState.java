@@ -0,0 +1,26 @@
+import dungeon.engine.*;
+
+/**
+ * Fingerprints of a game's state shared by the tests that check two engines
+ * play alike, such as copies, undo history and replays.
+ */
+final class EngineState {
+
+    private EngineState() {
+    }
+
+    /**
+     * Captures everything that decides how a game plays on: the Zobrist hash
+     * of the tiles and player, the stats the hash leaves out, whether the game
+     * is over and the state of the turn generator. HP, steps and level are
+     * hashed too but are listed so a failed comparison shows which one differs.
+     *
+     * @param engine the game
+     * @return the fingerprint, to compare with assertArrayEquals
+     */
+    static long[] of(GameEngine engine) {
+        Player player = engine.getPlayer();
+        return new long[] { engine.getZobristHash(), player.getScore(), player.getHp(), player.getSteps(),
+            player.getLevel(), engine.isGameOver() ? 1 : 0, engine.getTurnRandom().getState() };
+    }
+}
@@ -0,0 +1,116 @@
+import dungeon.engine.*;
+import dungeon.engine.cells.*;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBitboard {
+
+    /**
+     * Creates a board with every tile set.
+     */
+    private Bitboard fullBoard(int size) {
+        return new Bitboard(size).invert();
+    }
+
+    @Test
+    void testTenByTenFitsInTwoWords() {
+        Bitboard board = new Bitboard(10);
+        assertEquals(2, board.getWordCount());
+        board.set(9, 9, true);
+        assertEquals(1L << 35, board.getWord(1));
+        assertTrue(board.get(new Position(9, 9)));
+
+        board.set(9, 9, false);
+        assertTrue(board.isEmpty());
+        assertEquals(100, fullBoard(10).count());
+    }
+
+    @Test
+    void testSetOperations() {
+        Bitboard a = new Bitboard(10);
+        Bitboard b = new Bitboard(10);
+        a.set(1, 1, true);
+        a.set(8, 8, true);
+        b.set(8, 8, true);
+        b.set(2, 2, true);
+
+        assertTrue(a.intersects(b));
+        assertEquals(1, new Bitboard(a).and(b).count());
+        assertEquals(3, new Bitboard(a).or(b).count());
+        assertEquals(1, new Bitboard(a).andNot(b).count());
+        assertEquals(98, new Bitboard(a).invert().count());
+        assertEquals(a, new Bitboard(a));
+    }
+
+    @Test
+    void testFloodStopsAtWallsAndFollowsWindingPaths() {
+        Bitboard open = fullBoard(10);
+        // A wall across row 5 cuts the board in two
+        for (int col = 0; col < 10; col++) {
+            open.set(5, col, false);
+        }
+        assertFalse(open.floodFrom(0, 0).get(9, 9));
+
+        // A gap at the far left reopens it, so the fill has to travel back up and across
+        open.set(5, 0, true);
+        Bitboard reached = open.floodFrom(9, 9);
+        assertTrue(reached.get(0, 9));
+        assertFalse(reached.get(5, 5));
+        assertEquals(91, reached.count());
+    }
+
+    @Test
+    void testFloodDoesNotWrapBetweenRows() {
+        Bitboard open = new Bitboard(10);
+        // Last tile of row 0 and first tile of row 1 are adjacent bits but not neighbours
+        open.set(0, 9, true);
+        open.set(1, 0, true);
+        assertEquals(1, open.floodFrom(0, 9).count());
+        assertEquals(0, new Bitboard(4).floodFrom(2, 2).count());
+    }
+
+    @Test
+    void testLargeBoardFloodFill() {
+        // 20x20 needs seven words and shifts that cross word boundaries
+        Bitboard open = fullBoard(20);
+        for (int row = 0; row < 19; row++) {
+            open.set(row, 10, false);
+        }
+        Bitboard reached = open.floodFrom(0, 0);
+        assertEquals(7, open.getWordCount());
+        assertEquals(open.count(), reached.count());
+        open.set(19, 10, false);
+        assertFalse(open.floodFrom(0, 0).get(0, 19));
+    }
+
+    @Test
+    void testMapBitboardsStayInSync() {
+        GameMap map = new GameMap(3, new Random(99));
+        MapBitboards boards = map.getBitboards();
+        assertEquals(5, boards.getGold().count());
+        assertEquals(5, boards.getTraps().count());
+        assertEquals(2, boards.getPotions().count());
+        assertEquals(3, boards.getMeleeMutants().count());
+        assertEquals(3, boards.getRangedMutants().count());
+
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            Position pos = new Position(random.nextInt(10), random.nextInt(10));
+            Cell cell = random.nextBoolean() ? new WallCell() : new GoldCell();
+            map.setCell(pos, cell);
+        }
+
+        Cell[][] grid = map.getGrid();
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                Cell cell = grid[row][col];
+                assertEquals(cell instanceof WallCell, boards.getWalls().get(row, col));
+                assertEquals(cell instanceof GoldCell, boards.getGold().get(row, col));
+                assertEquals(cell instanceof TrapCell, boards.getTraps().get(row, col));
+                assertEquals(cell instanceof RangedMutantCell, boards.getRangedMutants().get(row, col));
+            }
+        }
+        assertEquals(100 - boards.getWalls().count(), boards.walkable().count());
+    }
+}
@@ -0,0 +1,89 @@
+import dungeon.engine.*;
+import dungeon.engine.cells.*;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDangerMap {
+
+    /**
+     * Checks every tile against a from-scratch computation over the grid.
+     */
+    private void assertDangerMatchesGrid(GameEngine engine) {
+        Cell[][] grid = engine.getMap();
+        DangerMap danger = engine.getGameMap().getDangerMap();
+        RangedMutantCell.RangedMutant shooter = new RangedMutantCell.RangedMutant();
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                int shooters = 0;
+                for (int mutantRow = 0; mutantRow < 10; mutantRow++) {
+                    for (int mutantCol = 0; mutantCol < 10; mutantCol++) {
+                        if (grid[mutantRow][mutantCol] instanceof RangedMutantCell
+                                && shooter.canShootAt(new Position(mutantRow, mutantCol), new Position(row, col), engine)) {
+                            shooters++;
+                        }
+                    }
+                }
+                double expected = (grid[row][col] instanceof TrapCell ? TrapCell.DAMAGE : 0)
+                    + shooters * 0.5 * Mutant.DAMAGE;
+                assertEquals(shooters, danger.getShooterCount(row, col));
+                assertEquals(expected, danger.getExpectedDamage(row, col), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void testDangerMatchesGridAfterGeneration() {
+        for (long seed = 1; seed <= 20; seed++) {
+            assertDangerMatchesGrid(new GameEngine(5, seed));
+        }
+    }
+
+    @Test
+    void testIncrementalUpdatesThroughReplaceCell() {
+        GameEngine engine = new GameEngine(4, 77L);
+        Random random = new Random(9);
+        for (int i = 0; i < 300; i++) {
+            Position pos = new Position(random.nextInt(10), random.nextInt(10));
+            Cell cell;
+            switch (random.nextInt(4)) {
+                case 0: cell = new WallCell(); break;
+                case 1: cell = new RangedMutantCell(); break;
+                case 2: cell = new TrapCell(); break;
+                default: cell = new EmptyCell(); break;
+            }
+            engine.replaceCell(pos, cell);
+            if (i % 10 == 0) {
+                assertDangerMatchesGrid(engine);
+            }
+        }
+        assertDangerMatchesGrid(engine);
+    }
+
+    @Test
+    void testWallBlocksShot() {
+        GameEngine engine = new GameEngine(1, 5L);
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                engine.replaceCell(new Position(row, col), new EmptyCell());
+            }
+        }
+        engine.replaceCell(new Position(5, 5), new RangedMutantCell());
+        engine.replaceCell(new Position(5, 7), new TrapCell());
+        DangerMap danger = engine.getGameMap().getDangerMap();
+        assertEquals(TrapCell.DAMAGE + DangerMap.SHOT_DAMAGE, danger.getExpectedDamage(5, 7), 1e-9);
+        assertEquals(DangerMap.SHOT_DAMAGE, danger.getExpectedDamage(3, 5), 1e-9);
+        assertEquals(0, danger.getExpectedDamage(5, 6), 1e-9);
+
+        engine.replaceCell(new Position(5, 6), new WallCell());
+        assertEquals(TrapCell.DAMAGE, danger.getExpectedDamage(5, 7), 1e-9);
+        assertEquals(TrapCell.DAMAGE, danger.getMaxDamage(), 1e-9);
+    }
+
+    @Test
+    void testAgentsSeeDangerMap() {
+        GameEngine engine = new GameEngine(3, 12L);
+        assertSame(engine.getGameMap().getDangerMap(),
+            dungeon.engine.agent.GameView.of(engine).getDangerMap());
+    }
+}
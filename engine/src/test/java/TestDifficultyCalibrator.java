@@ -0,0 +1,80 @@
+import dungeon.engine.*;
+import dungeon.engine.sim.*;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDifficultyCalibrator {
+
+    @Test
+    void testWilsonInterval() {
+        double[] half = CalibrationStats.wilson(50, 100);
+        assertEquals(0.404, half[0], 0.001);
+        assertEquals(0.596, half[1], 0.001);
+
+        // Never a zero-width interval at the extremes
+        double[] none = CalibrationStats.wilson(0, 100);
+        assertEquals(0.0, none[0], 1e-9);
+        assertTrue(none[1] > 0.03 && none[1] < 0.04);
+        assertArrayEquals(new double[] { 0, 1 }, CalibrationStats.wilson(0, 0), 1e-9);
+    }
+
+    @Test
+    void testStatsAccumulate() {
+        CalibrationStats stats = new CalibrationStats("test", 2);
+        stats.add(new GameResult(1, Outcome.WON, 10, 40));
+        stats.add(new GameResult(2, Outcome.TRAP, 4, 12));
+        stats.add(new GameResult(3, Outcome.WON, 16, 60));
+
+        assertEquals(3, stats.getGames());
+        assertEquals(2.0 / 3, stats.getWinRate(), 1e-9);
+        assertEquals(1, stats.getCount(Outcome.TRAP));
+        assertEquals(10.0, stats.getMeanScore(), 1e-9);
+        assertEquals(1.959964 * 6 / Math.sqrt(3), stats.getMeanScoreHalfWidth(), 1e-6);
+        assertTrue(stats.toString().contains("trap"));
+    }
+
+    @Test
+    void testPoliciesFinishGames() {
+        for (Policy policy : Policies.all()) {
+            for (long seed = 1; seed <= 20; seed++) {
+                GameResult result = Simulation.play(policy, 3, seed);
+                assertNotNull(result.getOutcome());
+                assertTrue(result.getSteps() <= GameEngine.MAX_STEPS);
+                if (result.getOutcome() == Outcome.WON) {
+                    assertTrue(result.getSteps() < GameEngine.MAX_STEPS);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testShortestPathUsuallyWinsAtEasiestLevel() {
+        int wins = 0;
+        for (long seed = 1; seed <= 50; seed++) {
+            if (Simulation.play(Policies.SHORTEST_PATH, 1, seed).getOutcome() == Outcome.WON) {
+                wins++;
+            }
+        }
+        assertTrue(wins >= 45, "Only " + wins + " wins");
+    }
+
+    @Test
+    void testStopsEarlyOnceConverged() {
+        DifficultyCalibrator loose = new DifficultyCalibrator(1000, 32, 0.5, ForkJoinPool.commonPool());
+        assertEquals(32, loose.calibrate(Policies.SHORTEST_PATH, 1, 1).getGames());
+
+        DifficultyCalibrator strict = new DifficultyCalibrator(64, 32, 0.0001, ForkJoinPool.commonPool());
+        CalibrationStats stats = strict.calibrate(Policies.RANDOM, 1, 1);
+        assertEquals(64, stats.getGames());
+        assertFalse(strict.hasConverged(stats));
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DifficultyCalibrator(0, 10, 0.01, ForkJoinPool.commonPool()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DifficultyCalibrator(10, 10, 0, ForkJoinPool.commonPool()));
+    }
+}
@@ -1,5 +1,6 @@
 import dungeon.engine.Direction;
-import javafx.scene.input.KeyCode;
+import dungeon.engine.GameEngine;
+import dungeon.engine.Position;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,32 +31,12 @@ public class TestDirection {
     }
 
     @Test
-    void testFromKeyCodeUp() {
-        assertEquals(Direction.UP, Direction.fromKeyCode(KeyCode.UP));
+    void testMoveOnKnownSeed() {
+        // Seed 1 starts the player at the entry with an empty tile to the right
+        GameEngine engine = new GameEngine(2, 1L);
+        assertEquals(new Position(0, 0), engine.getPlayer().getPosition());
+        assertTrue(engine.move(Direction.RIGHT));
+        assertEquals(new Position(0, 1), engine.getPlayer().getPosition());
+        assertEquals(1, engine.getPlayer().getSteps());
     }
-
-    @Test
-    void testFromKeyCodeDown() {
-        assertEquals(Direction.DOWN, Direction.fromKeyCode(KeyCode.DOWN));
-    }
-
-    @Test
-    void testFromKeyCodeLeft() {
-        assertEquals(Direction.LEFT, Direction.fromKeyCode(KeyCode.LEFT));
-    }
-
-    @Test
-    void testFromKeyCodeRight() {
-        assertEquals(Direction.RIGHT, Direction.fromKeyCode(KeyCode.RIGHT));
-    }
-
-    @Test
-    void testFromKeyCodeNull() {
-        assertNull(Direction.fromKeyCode(null));
-    }
-
-    @Test
-    void testFromKeyCodeInvalid() {
-        assertNull(Direction.fromKeyCode(KeyCode.SPACE));
-    }
-}
\ No newline at end of file
+}
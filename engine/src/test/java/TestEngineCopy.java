@@ -0,0 +1,102 @@
+import dungeon.engine.*;
+import dungeon.engine.cells.*;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestEngineCopy {
+
+    /**
+     * Plays random moves on two engines side by side, checking they stay identical.
+     */
+    private void assertPlayAlike(GameEngine first, GameEngine second, long seed) {
+        Random random = new Random(seed);
+        while (!first.isGameOver()) {
+            Direction direction = Direction.values()[random.nextInt(4)];
+            assertEquals(first.move(direction), second.move(direction));
+            assertArrayEquals(EngineState.of(first), EngineState.of(second));
+        }
+        assertTrue(second.isGameOver());
+        assertEquals(first.getStatusMessage(), second.getStatusMessage());
+    }
+
+    @Test
+    void testCopyPlaysOutLikeOriginal() {
+        for (long seed = 1; seed <= 20; seed++) {
+            GameEngine engine = new GameEngine(4, seed);
+            engine.move(Direction.RIGHT);
+            engine.move(Direction.DOWN);
+            GameEngine copy = engine.copy();
+            assertArrayEquals(EngineState.of(engine), EngineState.of(copy));
+            assertNotSame(engine.getGameMap(), copy.getGameMap());
+            assertPlayAlike(engine, copy, seed);
+        }
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        GameEngine engine = new GameEngine(1, 3L);
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                if (row + col > 0) {
+                    engine.replaceCell(new Position(row, col), new EmptyCell());
+                }
+            }
+        }
+        engine.replaceCell(new Position(0, 1), new GoldCell());
+        GameEngine copy = engine.copy();
+        long[] before = EngineState.of(engine);
+
+        // Both can collect the same gold
+        assertTrue(copy.move(Direction.RIGHT));
+        assertEquals(GoldCell.SCORE_VALUE, copy.getPlayer().getScore());
+        assertArrayEquals(before, EngineState.of(engine));
+        assertTrue(engine.getMap()[0][1] instanceof GoldCell);
+        assertTrue(engine.move(Direction.RIGHT));
+        assertEquals(GoldCell.SCORE_VALUE, engine.getPlayer().getScore());
+    }
+
+    @Test
+    void testCopyFromReusesBuffers() {
+        GameEngine root = new GameEngine(3, 11L);
+        root.move(Direction.RIGHT);
+        EnginePool pool = new EnginePool(root, 1);
+        GameEngine scratch = pool.acquire(root);
+        Cell[][] grid = scratch.getMap();
+        MapBitboards bitboards = scratch.getGameMap().getBitboards();
+
+        for (long seed = 0; seed < 10; seed++) {
+            Random random = new Random(seed);
+            for (int i = 0; i < 15; i++) {
+                scratch.move(Direction.values()[random.nextInt(4)]);
+            }
+            pool.release(scratch);
+            scratch = pool.acquire(root);
+            assertSame(grid, scratch.getMap());
+            assertSame(bitboards, scratch.getGameMap().getBitboards());
+            assertArrayEquals(EngineState.of(root), EngineState.of(scratch));
+            assertEquals(scratch.getGameMap().computeZobristHash(), scratch.getGameMap().getZobristHash());
+        }
+        assertEquals(1, pool.getCreatedCount());
+        assertPlayAlike(root, scratch, 5L);
+    }
+
+    @Test
+    void testCopyAcrossLevels() {
+        // A scratch engine on level 2 can be overwritten with a level 1 game and vice versa
+        GameEngine engine = new GameEngine(1, 42L);
+        GameEngine start = engine.copy();
+        Position ladder = new Position(9, 9);
+        for (Direction direction : engine.getPathFinder().shortestPath(engine.getPlayer().getPosition(), ladder)) {
+            assertTrue(engine.move(direction));
+        }
+        assertEquals(2, engine.getPlayer().getLevel());
+
+        GameEngine scratch = engine.copy();
+        scratch.copyFrom(start);
+        assertArrayEquals(EngineState.of(start), EngineState.of(scratch));
+        assertEquals(1, scratch.getPlayer().getLevel());
+        assertPlayAlike(start, scratch, 2L);
+        assertEquals(scratch.getGameMap().computeZobristHash(), scratch.getGameMap().getZobristHash());
+    }
+}
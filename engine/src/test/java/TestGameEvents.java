@@ -0,0 +1,184 @@
+import dungeon.engine.*;
+import dungeon.engine.cells.*;
+import dungeon.engine.event.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestGameEvents {
+
+    private GameEngine emptyGame() {
+        GameEngine engine = new GameEngine(1, 5L);
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                engine.replaceCell(new Position(row, col), new EmptyCell());
+            }
+        }
+        return engine;
+    }
+
+    private List<GameEvent> drain(EventSubscription subscription) {
+        List<GameEvent> events = new ArrayList<>();
+        subscription.drain(event -> events.add(new GameEvent().copyFrom(event)));
+        return events;
+    }
+
+    @Test
+    void testEngineEmitsTypedEvents() {
+        GameEngine engine = emptyGame();
+        engine.replaceCell(new Position(0, 1), new GoldCell());
+        engine.replaceCell(new Position(0, 2), new TrapCell());
+        List<String> logged = new ArrayList<>();
+        engine.setActionLogger(new ActionLogger() {
+            @Override
+            public void log(String message) {
+                logged.add(message);
+            }
+
+            @Override
+            public void clear() {
+                logged.clear();
+            }
+        });
+        EventSubscription subscription = engine.getEvents().subscribe();
+
+        engine.move(Direction.RIGHT);
+        engine.move(Direction.UP);
+        engine.move(Direction.RIGHT);
+
+        List<GameEvent> events = drain(subscription);
+        GameEventType[] expected = {
+            GameEventType.MOVED, GameEventType.GOLD_COLLECTED, GameEventType.TURN_ENDED,
+            GameEventType.TURN_ENDED,
+            GameEventType.MOVED, GameEventType.TRAP_TRIGGERED, GameEventType.TURN_ENDED
+        };
+        assertEquals(expected.length, events.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], events.get(i).getType());
+            assertEquals(i, events.get(i).getSequence());
+        }
+
+        GameEvent gold = events.get(1);
+        assertEquals(GoldCell.SCORE_VALUE, gold.getAmount());
+        assertEquals(GoldCell.SCORE_VALUE, gold.getScore());
+        assertEquals(1, gold.getCol());
+        GameEvent blocked = events.get(3);
+        assertEquals(Direction.UP, blocked.getDirection());
+        assertEquals(0, blocked.getAmount());
+        GameEvent last = events.get(6);
+        assertEquals(engine.getPlayer().getHp(), last.getHp());
+        assertEquals(2, last.getSteps());
+        assertEquals(1, last.getAmount());
+
+        // The logger sees the same events, described as before
+        assertEquals(List.of("Moved right to (0, 1)", "Gold collected! +2 points",
+            "Moved right to (0, 2)", "Trap triggered! -2 HP"), logged);
+
+        engine.logAction("Hello");
+        GameEvent message = subscription.poll();
+        assertEquals(GameEventType.MESSAGE, message.getType());
+        assertEquals("Hello", message.describe());
+        assertNull(subscription.poll());
+    }
+
+    @Test
+    void testLappedSubscriberSkipsToOldestEvent() {
+        EventRing ring = new EventRing(8);
+        Player player = new Player(new Position(0, 0));
+        EventSubscription subscription = ring.subscribe();
+        for (int i = 0; i < 20; i++) {
+            ring.claim().set(GameEventType.MESSAGE, null, i, null, player);
+            ring.publish();
+        }
+        assertEquals(20, subscription.getBacklog());
+
+        List<GameEvent> events = drain(subscription);
+        assertEquals(8, events.size());
+        assertEquals(12, subscription.getMissed());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(12 + i, events.get(i).getSequence());
+            assertEquals(12 + i, events.get(i).getAmount());
+        }
+
+        // A late subscriber only sees what comes next
+        EventSubscription late = ring.subscribe();
+        assertNull(late.poll());
+        ring.claim().set(GameEventType.MESSAGE, null, 20, null, player);
+        ring.publish();
+        assertEquals(20, late.poll().getAmount());
+        assertEquals(20, subscription.poll().getAmount());
+        assertThrows(IllegalArgumentException.class, () -> new EventRing(6));
+    }
+
+    @Test
+    void testSlowSubscriberDoesNotBlockEngine() throws InterruptedException {
+        GameEngine engine = emptyGame();
+        EventRing ring = engine.getEvents();
+        CountDownLatch release = new CountDownLatch(1);
+        EventDispatcher slow = new EventDispatcher(ring, event -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "slow");
+
+        // Far more events than the ring holds, while the subscriber is stuck on the first
+        GameEngine start = engine.copy();
+        for (int game = 0; game < 100; game++) {
+            engine.copyFrom(start);
+            while (!engine.isGameOver()) {
+                engine.move(engine.getPlayer().getSteps() % 2 == 0 ? Direction.RIGHT : Direction.LEFT);
+            }
+        }
+        long published = ring.getCursor() + 1;
+        assertTrue(published > 10L * ring.getCapacity());
+
+        release.countDown();
+        slow.close();
+        assertTrue(slow.getMissed() > 0);
+        assertEquals(published, slow.getHandled() + slow.getMissed());
+    }
+
+    @Test
+    void testConcurrentReadersNeverSeeTornEvents() throws InterruptedException {
+        EventRing ring = new EventRing(16);
+        int count = 200_000;
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            EventSubscription subscription = ring.subscribe();
+            readers[r] = new Thread(() -> {
+                long last = -1;
+                while (last < count - 1 && failure.get() == null) {
+                    GameEvent event = subscription.poll();
+                    if (event == null) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    // Every field was written from the sequence number, so a torn copy shows
+                    if (event.getSequence() <= last || event.getAmount() != (int) event.getSequence()
+                        || event.getScore() != (int) event.getSequence()) {
+                        failure.set("Bad event " + event + " after " + last);
+                    }
+                    last = event.getSequence();
+                }
+            });
+            readers[r].start();
+        }
+
+        Player player = new Player(new Position(0, 0));
+        for (int i = 0; i < count; i++) {
+            player.addScore(i - player.getScore());
+            ring.claim().set(GameEventType.MESSAGE, null, i, null, player);
+            ring.publish();
+        }
+        for (Thread reader : readers) {
+            reader.join(30_000);
+        }
+        assertNull(failure.get());
+    }
+}
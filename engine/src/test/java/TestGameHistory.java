@@ -0,0 +1,142 @@
+import dungeon.engine.*;
+import dungeon.engine.cells.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestGameHistory {
+
+    /**
+     * Checks the map's incremental structures agree with its grid.
+     */
+    private void assertMapConsistent(GameEngine engine) {
+        GameMap map = engine.getGameMap();
+        assertEquals(map.computeZobristHash(), map.getZobristHash());
+        Cell[][] grid = map.getGrid();
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                assertEquals(grid[row][col] instanceof GoldCell, map.getBitboards().getGold().get(row, col));
+            }
+        }
+    }
+
+    /**
+     * Plays a random game with history, recording the state after every successful move.
+     */
+    private List<long[]> playRandomGame(GameEngine engine, GameHistory history, long seed) {
+        List<long[]> states = new ArrayList<>();
+        states.add(EngineState.of(engine));
+        Random random = new Random(seed);
+        while (!engine.isGameOver()) {
+            if (engine.move(Direction.values()[random.nextInt(4)])) {
+                states.add(EngineState.of(engine));
+            }
+        }
+        assertEquals(states.size() - 1, history.getUndoDepth());
+        return states;
+    }
+
+    @Test
+    void testUndoAndRedoWholeGames() {
+        for (long seed = 1; seed <= 15; seed++) {
+            GameEngine engine = new GameEngine(4, seed);
+            GameHistory history = new GameHistory(engine);
+            List<long[]> states = playRandomGame(engine, history, seed);
+
+            for (int turn = states.size() - 2; turn >= 0; turn--) {
+                assertTrue(history.undo());
+                assertArrayEquals(states.get(turn), EngineState.of(engine));
+                assertMapConsistent(engine);
+            }
+            assertFalse(history.undo());
+
+            for (int turn = 1; turn < states.size(); turn++) {
+                assertTrue(history.redo());
+                assertArrayEquals(states.get(turn), EngineState.of(engine));
+                assertMapConsistent(engine);
+            }
+            assertFalse(history.redo());
+        }
+    }
+
+    @Test
+    void testUndoAcrossLevelChange() {
+        // Walk the shortest path to the ladder on level 1
+        GameEngine engine = new GameEngine(1, 42L);
+        GameHistory history = new GameHistory(engine);
+        Position ladder = null;
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                if (engine.getMap()[row][col] instanceof LadderCell) {
+                    ladder = new Position(row, col);
+                }
+            }
+        }
+        List<Direction> path = engine.getPathFinder().shortestPath(engine.getPlayer().getPosition(), ladder);
+        for (Direction direction : path) {
+            assertTrue(engine.move(direction));
+        }
+        assertEquals(2, engine.getPlayer().getLevel());
+        long[] levelTwo = EngineState.of(engine);
+        GameMap levelTwoMap = engine.getGameMap();
+
+        assertTrue(history.undo());
+        assertEquals(1, engine.getPlayer().getLevel());
+        assertNotSame(levelTwoMap, engine.getGameMap());
+        assertMapConsistent(engine);
+
+        assertTrue(history.redo());
+        assertArrayEquals(levelTwo, EngineState.of(engine));
+        assertMapConsistent(engine);
+
+        // Moves on the rebuilt level are still recorded
+        int depth = history.getUndoDepth();
+        for (Direction direction : Direction.values()) {
+            if (engine.move(direction)) {
+                break;
+            }
+        }
+        assertEquals(depth + 1, history.getUndoDepth());
+        assertTrue(history.undo());
+        assertArrayEquals(levelTwo, EngineState.of(engine));
+    }
+
+    @Test
+    void testCollectedGoldComesBack() {
+        GameEngine engine = new GameEngine(1, 3L);
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                if (row + col > 0) {
+                    engine.replaceCell(new Position(row, col), new EmptyCell());
+                }
+            }
+        }
+        engine.replaceCell(new Position(0, 1), new GoldCell());
+        GameHistory history = new GameHistory(engine);
+
+        assertTrue(engine.move(Direction.RIGHT));
+        assertEquals(GoldCell.SCORE_VALUE, engine.getPlayer().getScore());
+        assertTrue(history.undo());
+        assertEquals(0, engine.getPlayer().getScore());
+        assertTrue(engine.getMap()[0][1] instanceof GoldCell);
+
+        // Collecting it again after undo scores again, and clears redo
+        assertTrue(engine.move(Direction.RIGHT));
+        assertEquals(GoldCell.SCORE_VALUE, engine.getPlayer().getScore());
+        assertFalse(history.canRedo());
+    }
+
+    @Test
+    void testFailedMovesAreNotRecorded() {
+        GameEngine engine = new GameEngine(2, 8L);
+        GameHistory history = new GameHistory(engine);
+        assertFalse(engine.move(Direction.UP));
+        assertFalse(history.canUndo());
+        history.detach();
+        engine.move(Direction.RIGHT);
+        engine.move(Direction.DOWN);
+        assertFalse(history.canUndo());
+    }
+}
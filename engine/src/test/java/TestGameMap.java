@@ -1,5 +1,7 @@
 import dungeon.engine.*;
-import dungeon.engine.cells.*;import org.junit.jupiter.api.Test;
+import dungeon.engine.cells.*;
+import dungeon.engine.path.*;
+import org.junit.jupiter.api.Test;
 import java.util.Random;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -109,4 +111,27 @@ public class TestGameMap {
             }
         }
     }
+    
+    @Test
+    public void testLadderAlwaysReachable() {
+        for (long seed = 0; seed < 500; seed++) {
+            for (int difficulty = 1; difficulty <= 5; difficulty++) {
+                GameMap map = new GameMap(difficulty, new Random(seed));
+                assertTrue(map.getGenerationAttempts() >= 1);
+                assertTrue(map.getGenerationAttempts() <= GameMap.MAX_GENERATION_ATTEMPTS);
+                
+                PathFinder finder = new PathFinder(map, CostModel.STEPS);
+                assertNotEquals(DistanceField.UNREACHABLE,
+                    finder.distance(new Position(0, 0), new Position(9, 9)),
+                    "Ladder should be reachable for seed " + seed + ", difficulty " + difficulty);
+            }
+        }
+    }
+    
+    @Test
+    public void testGenerationAttemptsReproducible() {
+        GameMap map1 = new GameMap(5, new Random(777L));
+        GameMap map2 = new GameMap(5, new Random(777L));
+        assertEquals(map1.getGenerationAttempts(), map2.getGenerationAttempts());
+    }
 }
@@ -0,0 +1,109 @@
+import dungeon.engine.metrics.LatencyHistogram;
+import dungeon.engine.metrics.PerformanceMetrics;
+import org.junit.jupiter.api.Test;
+import java.io.StringWriter;
+import java.util.Locale;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLatencyHistogram {
+
+    @Test
+    void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram("test", "ns");
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0.0, histogram.getMean(), 0.0001);
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram("test", "ns");
+        for (int i = 0; i < 8; i++) {
+            histogram.record(i);
+        }
+        assertEquals(8, histogram.getCount());
+        assertEquals(3, histogram.getPercentile(50));
+        assertEquals(7, histogram.getMax());
+    }
+
+    @Test
+    void testPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram("test", "ns");
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        long p50 = histogram.getPercentile(50);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(p50 >= 5_000_000L && p50 <= 5_000_000L * 1.13, "p50 was " + p50);
+        assertTrue(p99 >= 9_900_000L && p99 <= 10_000_000L, "p99 was " + p99);
+        assertEquals(10_000_000L, histogram.getPercentile(100));
+        assertEquals(5_000_500.0, histogram.getMean(), 0.5);
+    }
+
+    @Test
+    void testNegativeValuesIgnoredAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram("test", "ns");
+        histogram.record(-5);
+        assertEquals(0, histogram.getCount());
+
+        histogram.record(42);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram("test", "ns");
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(9_999, histogram.getMax());
+    }
+
+    @Test
+    void testMetricsCsvExport() throws Exception {
+        PerformanceMetrics metrics = new PerformanceMetrics();
+        metrics.getEngineTurn().record(1500);
+
+        StringWriter out = new StringWriter();
+        metrics.writeCsv(out);
+        String csv = out.toString();
+        assertTrue(csv.startsWith("metric,unit,count"));
+        assertTrue(csv.contains("Engine turn,ns,1,"));
+        assertEquals(metrics.getHistograms().size() + 1, csv.split("\n").length);
+    }
+
+    @Test
+    void testMetricsCsvIgnoresDefaultLocale() throws Exception {
+        PerformanceMetrics metrics = new PerformanceMetrics();
+        metrics.getEngineTurn().record(1500);
+
+        Locale previous = Locale.getDefault();
+        StringWriter out = new StringWriter();
+        try {
+            // German formatting would write the mean as 1500,0 and add a column
+            Locale.setDefault(Locale.GERMANY);
+            metrics.writeCsv(out);
+        } finally {
+            Locale.setDefault(previous);
+        }
+        String csv = out.toString();
+        assertTrue(csv.contains("Engine turn,ns,1,1500.0,"));
+        assertFalse(csv.contains("\r"));
+        for (String row : csv.split("\n")) {
+            assertEquals(8, row.split(",").length);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+import dungeon.engine.*;
+import dungeon.engine.cells.*;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLevelCache {
+
+    private void walkToLadder(GameEngine engine) {
+        List<Direction> path = engine.getPathFinder().shortestPath(engine.getPlayer().getPosition(), new Position(9, 9));
+        for (Direction direction : path) {
+            assertTrue(engine.move(direction));
+        }
+    }
+
+    @Test
+    void testCachedGamesPlayLikeGeneratedOnes() {
+        LevelCache cache = new LevelCache(64);
+        for (int round = 0; round < 2; round++) {
+            for (long seed = 1; seed <= 10; seed++) {
+                GameEngine plain = new GameEngine(1, seed);
+                GameEngine cached = new GameEngine(1, seed, cache);
+                assertEquals(plain.getZobristHash(), cached.getZobristHash());
+                assertEquals(plain.getGameMap().getGenerationAttempts(), cached.getGameMap().getGenerationAttempts());
+
+                walkToLadder(plain);
+                walkToLadder(cached);
+                assertEquals(2, cached.getPlayer().getLevel());
+                assertEquals(plain.getZobristHash(), cached.getZobristHash());
+                assertEquals(cached.getGameMap().computeZobristHash(), cached.getGameMap().getZobristHash());
+
+                Random moves = new Random(seed);
+                while (!plain.isGameOver()) {
+                    Direction direction = Direction.values()[moves.nextInt(4)];
+                    assertEquals(plain.move(direction), cached.move(direction));
+                    assertEquals(plain.getZobristHash(), cached.getZobristHash());
+                }
+            }
+        }
+        // Generating level 2 looked level 1 up again; the second round found both levels of every seed
+        assertEquals(20, cache.getMisses());
+        assertEquals(30, cache.getHits());
+    }
+
+    @Test
+    void testEnginesDoNotShareItems() {
+        LevelCache cache = new LevelCache(4);
+        GameEngine first = new GameEngine(2, 5L, cache);
+        GameEngine second = new GameEngine(2, 5L, cache);
+        Cell[][] grid = first.getMap();
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                Cell cell = grid[row][col];
+                if (cell instanceof GoldCell || cell instanceof HealthPotionCell) {
+                    assertNotSame(cell, second.getMap()[row][col]);
+                } else {
+                    assertSame(cell, second.getMap()[row][col]);
+                }
+            }
+        }
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        LevelCache cache = new LevelCache(2);
+        cache.get(1L, 2, 1);
+        cache.get(2L, 2, 1);
+        cache.get(1L, 2, 1); // Seed 2 is now the least recently used
+        cache.get(3L, 2, 1);
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.size());
+
+        long misses = cache.getMisses();
+        cache.get(1L, 2, 1);
+        cache.get(3L, 2, 1);
+        assertEquals(misses, cache.getMisses());
+        cache.get(2L, 2, 1);
+        assertEquals(misses + 1, cache.getMisses());
+
+        assertEquals(2, cache.get(3L, 2, 2).getLevel());
+        assertThrows(IllegalArgumentException.class, () -> cache.get(1L, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new LevelCache(0));
+    }
+
+    @Test
+    void testConcurrentLookups() {
+        LevelCache cache = new LevelCache(16);
+        long[] hashes = IntStream.range(0, 400).parallel()
+            .mapToLong(i -> cache.get(i / 2 % 8, 3, 1 + i % 2).getZobristHash())
+            .toArray();
+        for (int i = 0; i < hashes.length; i++) {
+            assertEquals(new LevelCache(4).get(i / 2 % 8, 3, 1 + i % 2).getZobristHash(), hashes[i]);
+        }
+        assertEquals(16, cache.size());
+    }
+}
@@ -0,0 +1,82 @@
+import dungeon.engine.*;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLevelPregeneration {
+
+    private static final Position LADDER = new Position(9, 9);
+
+    private void walkToLadder(GameEngine engine) {
+        List<Direction> path = engine.getPathFinder().shortestPath(engine.getPlayer().getPosition(), LADDER);
+        for (Direction direction : path) {
+            assertTrue(engine.move(direction));
+        }
+    }
+
+    @Test
+    void testSameLevelsAsGeneratingAtTheLadder() {
+        for (long seed = 1; seed <= 10; seed++) {
+            GameEngine plain = new GameEngine(1, seed);
+            GameEngine pregenerated = new GameEngine(1, seed);
+            pregenerated.setLevelPregeneration(ForkJoinPool.commonPool());
+
+            walkToLadder(plain);
+            walkToLadder(pregenerated);
+            assertEquals(2, plain.getPlayer().getLevel());
+            assertEquals(plain.getGameMap().getZobristHash(), pregenerated.getGameMap().getZobristHash());
+            assertEquals(plain.getZobristHash(), pregenerated.getZobristHash());
+
+            // The map generator ends up in the same state too
+            assertEquals(plain.copy().getGameMap().getZobristHash(), pregenerated.copy().getGameMap().getZobristHash());
+            Random moves = new Random(seed);
+            while (!plain.isGameOver()) {
+                Direction direction = Direction.values()[moves.nextInt(4)];
+                assertEquals(plain.move(direction), pregenerated.move(direction));
+                assertEquals(plain.getZobristHash(), pregenerated.getZobristHash());
+            }
+        }
+    }
+
+    @Test
+    void testNextLevelIsReadyBeforeTheLadder() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            GameEngine engine = new GameEngine(1, 42L);
+            assertFalse(engine.isNextLevelReady());
+            engine.setLevelPregeneration(executor);
+            executor.submit(() -> { }).get();
+            assertTrue(engine.isNextLevelReady());
+
+            GameMap first = engine.getGameMap();
+            walkToLadder(engine);
+            assertEquals(2, engine.getPlayer().getLevel());
+            assertNotSame(first, engine.getGameMap());
+
+            // There is no level after the last one
+            executor.submit(() -> { }).get();
+            assertFalse(engine.isNextLevelReady());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testRestoreDropsStaleLevel() {
+        GameEngine reference = new GameEngine(1, 42L);
+        walkToLadder(reference);
+
+        GameEngine engine = new GameEngine(1, 42L);
+        EngineSnapshot start = engine.snapshot();
+        engine.setLevelPregeneration(Runnable::run);
+        walkToLadder(engine);
+        engine.restore(start);
+        assertTrue(engine.isNextLevelReady());
+        walkToLadder(engine);
+        assertEquals(reference.getZobristHash(), engine.getZobristHash());
+    }
+}
@@ -0,0 +1,139 @@
+import dungeon.engine.*;
+import dungeon.engine.cells.*;
+import dungeon.engine.path.*;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPathFinder {
+
+    /**
+     * Creates a map with every cell set to empty.
+     */
+    private GameMap emptyMap() {
+        GameMap map = new GameMap(1, new Random(1));
+        for (int row = 0; row < map.getSize(); row++) {
+            for (int col = 0; col < map.getSize(); col++) {
+                map.setCell(new Position(row, col), new EmptyCell());
+            }
+        }
+        return map;
+    }
+
+    @Test
+    void testStepDistancesOnOpenMap() {
+        GameMap map = emptyMap();
+        PathFinder finder = new PathFinder(map, CostModel.STEPS);
+
+        assertEquals(18, finder.distance(new Position(0, 0), new Position(9, 9)));
+        assertEquals(0, finder.distance(new Position(4, 4), new Position(4, 4)));
+        assertEquals(18, finder.shortestPath(new Position(0, 0), new Position(9, 9)).size());
+        assertTrue(finder.shortestPath(new Position(3, 3), new Position(3, 3)).isEmpty());
+    }
+
+    @Test
+    void testWallsBlockAndDetour() {
+        GameMap map = emptyMap();
+        // Wall across row 5 except the last column
+        for (int col = 0; col < 9; col++) {
+            map.setCell(new Position(5, col), new WallCell());
+        }
+        PathFinder finder = new PathFinder(map, CostModel.STEPS);
+
+        assertEquals(DistanceField.UNREACHABLE, finder.distance(new Position(5, 0), new Position(0, 0)));
+        // Right along the top, down the open column, then back left
+        assertEquals(27, finder.distance(new Position(0, 0), new Position(9, 0)));
+
+        // Following the path never enters a wall and ends at the target
+        Position current = new Position(0, 0);
+        for (Direction step : finder.shortestPath(current, new Position(9, 0))) {
+            current = current.plus(step);
+            assertFalse(map.cellAt(current) instanceof WallCell);
+        }
+        assertEquals(new Position(9, 0), current);
+    }
+
+    @Test
+    void testSafeModelAvoidsTraps() {
+        GameMap map = emptyMap();
+        map.setCell(new Position(0, 1), new TrapCell());
+        PathFinder finder = new PathFinder(map, CostModel.SAFE);
+
+        // Going round the trap (4 steps) is cheaper than stepping on it
+        assertEquals(4, finder.distance(new Position(0, 0), new Position(0, 2)));
+        assertEquals(Direction.DOWN, finder.distancesTo(new Position(0, 2)).getNextStep(new Position(0, 0)));
+    }
+
+    @Test
+    void testUnaffectedChangeDoesNotRecompute() {
+        GameMap map = emptyMap();
+        PathFinder finder = new PathFinder(map, CostModel.STEPS);
+        finder.distancesTo(new Position(9, 9));
+        int computations = finder.getFullComputations();
+
+        // Gold is as cheap as empty floor in the step model
+        map.setCell(new Position(4, 4), new GoldCell());
+        // A wall on a tile no path goes through
+        map.setCell(new Position(0, 0), new WallCell());
+
+        DistanceField field = finder.distancesTo(new Position(9, 9));
+        assertEquals(computations, finder.getFullComputations());
+        assertEquals(map.getVersion(), field.getVersion());
+        assertEquals(DistanceField.UNREACHABLE, field.getDistance(0, 0));
+    }
+
+    @Test
+    void testIncrementalUpdatesMatchFreshComputation() {
+        GameMap map = emptyMap();
+        PathFinder incremental = new PathFinder(map, CostModel.SAFE);
+        Position[] targets = { new Position(9, 9), new Position(0, 0), new Position(4, 7) };
+        Random random = new Random(42);
+
+        for (int i = 0; i < 300; i++) {
+            for (Position target : targets) {
+                incremental.distancesTo(target);
+            }
+
+            Position pos = new Position(random.nextInt(10), random.nextInt(10));
+            Cell cell;
+            switch (random.nextInt(4)) {
+                case 0: cell = new WallCell(); break;
+                case 1: cell = new TrapCell(); break;
+                case 2: cell = new RangedMutantCell(); break;
+                default: cell = new EmptyCell(); break;
+            }
+            map.setCell(pos, cell);
+
+            PathFinder fresh = new PathFinder(map, CostModel.SAFE);
+            for (Position target : targets) {
+                DistanceField expected = fresh.distancesTo(target);
+                DistanceField actual = incremental.distancesTo(target);
+                for (int row = 0; row < 10; row++) {
+                    for (int col = 0; col < 10; col++) {
+                        assertEquals(expected.getDistance(row, col), actual.getDistance(row, col),
+                                "Mismatch at (" + row + ", " + col + ") after change " + i);
+                    }
+                }
+            }
+            fresh.detach();
+        }
+        assertTrue(incremental.getFullComputations() < 300 * targets.length,
+                "Most changes should be repaired incrementally");
+    }
+
+    @Test
+    void testEnginePathFinderFollowsLevel() {
+        GameEngine engine = new GameEngine(1, 12345L);
+        PathFinder finder = engine.getPathFinder();
+        assertSame(finder, engine.getPathFinder());
+
+        List<Direction> path = finder.shortestPath(engine.getPlayer().getPosition(), new Position(9, 9));
+        if (path != null) {
+            assertFalse(path.isEmpty());
+        }
+
+        engine.advanceToNextLevel();
+        assertNotSame(finder, engine.getPathFinder());
+    }
+}
@@ -152,4 +152,12 @@ public class TestPosition {
         Position position = new Position(5, 5);
         assertEquals("Position(5,5)", position.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOfReturnsSharedInstances() {
+        assertSame(Position.of(3, 4), Position.of(3, 4));
+        assertEquals(new Position(3, 4), Position.of(3, 4));
+        assertSame(Position.of(3, 5), Position.of(3, 4).plus(Direction.RIGHT));
+        assertThrows(IllegalArgumentException.class, () -> Position.of(10, 0));
+    }
+}
@@ -0,0 +1,159 @@
+import dungeon.engine.*;
+import dungeon.engine.replay.Replay;
+import dungeon.engine.replay.ReplayRecorder;
+import dungeon.engine.replay.ReplayViewer;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestReplay {
+
+    /**
+     * Plays a random game to the end, returning the state fingerprint after every input.
+     */
+    private Replay recordRandomGame(long seed, int interval, List<long[]> states) {
+        GameEngine engine = new GameEngine(4, seed);
+        ReplayRecorder recorder = new ReplayRecorder(engine, interval);
+        Random random = new Random(seed);
+        states.add(EngineState.of(engine));
+        while (!engine.isGameOver() && states.size() < 300) {
+            engine.move(Direction.values()[random.nextInt(4)]);
+            states.add(EngineState.of(engine));
+        }
+        recorder.stop();
+        return recorder.getReplay();
+    }
+
+    @Test
+    void testSeekMatchesRecordedStates() {
+        List<long[]> states = new ArrayList<>();
+        Replay replay = recordRandomGame(3L, 5, states);
+        assertEquals(states.size() - 1, replay.getTurnCount());
+        assertEquals(replay.getTurnCount() / 5 + 1, replay.getKeyframeCount());
+
+        ReplayViewer viewer = new ReplayViewer(replay);
+        Random random = new Random(8);
+        for (int i = 0; i < 200; i++) {
+            int turn = random.nextInt(replay.getTurnCount() + 1);
+            viewer.seek(turn);
+            assertEquals(turn, viewer.getTurn());
+            assertArrayEquals(states.get(turn), EngineState.of(viewer.getEngine()));
+        }
+    }
+
+    @Test
+    void testStepBackAndForth() {
+        List<long[]> states = new ArrayList<>();
+        Replay replay = recordRandomGame(11L, 4, states);
+        ReplayViewer viewer = new ReplayViewer(replay);
+        assertFalse(viewer.stepBack());
+
+        while (viewer.stepForward()) {
+            assertArrayEquals(states.get(viewer.getTurn()), EngineState.of(viewer.getEngine()));
+        }
+        assertTrue(viewer.isAtEnd());
+        while (viewer.stepBack()) {
+            assertArrayEquals(states.get(viewer.getTurn()), EngineState.of(viewer.getEngine()));
+        }
+        assertEquals(0, viewer.getTurn());
+    }
+
+    @Test
+    void testSeekingDoesNotReplayMovesToListeners() {
+        List<long[]> states = new ArrayList<>();
+        Replay replay = recordRandomGame(11L, 10, states);
+        ReplayViewer viewer = new ReplayViewer(replay);
+        List<String> logged = new ArrayList<>();
+        viewer.getEngine().setActionLogger(new ActionLogger() {
+            @Override
+            public void log(String message) {
+                logged.add(message);
+            }
+
+            @Override
+            public void clear() {
+                logged.clear();
+            }
+        });
+
+        // Jumps and steps back are copied in whole, without the moves in between
+        viewer.playToEnd();
+        viewer.stepBack();
+        viewer.seek(replay.getTurnCount() / 2);
+        viewer.seek(0);
+        assertEquals(List.of(), logged);
+        assertArrayEquals(states.get(0), EngineState.of(viewer.getEngine()));
+    }
+
+    @Test
+    void testWriteAndReadRoundTrip() throws IOException {
+        List<long[]> states = new ArrayList<>();
+        Replay replay = recordRandomGame(21L, Replay.DEFAULT_KEYFRAME_INTERVAL, states);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        replay.write(bytes);
+
+        Replay read = Replay.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(replay.getTurnCount(), read.getTurnCount());
+        assertEquals(replay.getKeyframeCount(), read.getKeyframeCount());
+        for (int turn = 0; turn < replay.getTurnCount(); turn++) {
+            assertEquals(replay.getMove(turn), read.getMove(turn));
+        }
+        ReplayViewer viewer = new ReplayViewer(read);
+        viewer.playToEnd();
+        assertArrayEquals(states.get(states.size() - 1), EngineState.of(viewer.getEngine()));
+    }
+
+    @Test
+    void testRejectsNonReplay() {
+        assertThrows(IOException.class, () -> Replay.read(new ByteArrayInputStream(new byte[32])));
+    }
+
+    @Test
+    void testSnapshotRestoresRepeatedly() {
+        GameEngine engine = new GameEngine(5, 17L);
+        engine.move(Direction.RIGHT);
+        EngineSnapshot snapshot = engine.snapshot();
+        long[] before = EngineState.of(engine);
+        for (int round = 0; round < 3; round++) {
+            List<long[]> path = new ArrayList<>();
+            Random moves = new Random(round);
+            for (int i = 0; i < 40; i++) {
+                engine.move(Direction.values()[moves.nextInt(4)]);
+                path.add(EngineState.of(engine));
+            }
+            engine.restore(snapshot);
+            assertArrayEquals(before, EngineState.of(engine));
+            moves = new Random(round);
+            for (int i = 0; i < 40; i++) {
+                engine.move(Direction.values()[moves.nextInt(4)]);
+                assertArrayEquals(path.get(i), EngineState.of(engine));
+            }
+            engine.restore(snapshot);
+        }
+        assertEquals(engine.getGameMap().computeZobristHash(), engine.getGameMap().getZobristHash());
+    }
+
+    @Test
+    void testCopyableRandomMatchesRandom() {
+        for (long seed = 0; seed < 50; seed++) {
+            Random reference = new Random(seed);
+            CopyableRandom random = new CopyableRandom(seed);
+            for (int i = 0; i < 20; i++) {
+                assertEquals(reference.nextInt(7), random.nextInt(7));
+                assertEquals(reference.nextDouble(), random.nextDouble());
+                assertEquals(reference.nextLong(), random.nextLong());
+            }
+            Random copy = CopyableRandom.copyOf(random);
+            assertEquals(random.nextLong(), copy.nextLong());
+            Random serialized = CopyableRandom.copyOf(reference);
+            assertEquals(reference.nextLong(), serialized.nextLong());
+            assertEquals(new GameMap(3, new Random(seed)).getZobristHash(),
+                new GameMap(3, new CopyableRandom(seed)).getZobristHash());
+        }
+    }
+}
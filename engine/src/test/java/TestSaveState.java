@@ -127,4 +127,31 @@ public class TestSaveState {
             }
         }
     }
+    
+    @Test
+    void testRestoredGamePlaysOnLikeOriginal() {
+        for (long seed = 1; seed <= 20; seed++) {
+            GameEngine original = new GameEngine(4, seed);
+            java.util.Random random = new java.util.Random(seed);
+            for (int i = 0; i < 15 && !original.isGameOver(); i++) {
+                original.move(Direction.values()[random.nextInt(4)]);
+            }
+            
+            // Collected items, defeated mutants and the turn generator all survive the save
+            GameEngine restored = new SaveState(original).restoreGame();
+            assertEquals(original.getZobristHash(), restored.getZobristHash());
+            assertEquals(original.getTurnRandom().getState(), restored.getTurnRandom().getState());
+            assertEquals(original.isGameOver(), restored.isGameOver());
+            assertEquals(original.getStatusMessage(), restored.getStatusMessage());
+            
+            while (!original.isGameOver()) {
+                Direction direction = Direction.values()[random.nextInt(4)];
+                assertEquals(original.move(direction), restored.move(direction));
+                assertEquals(original.getZobristHash(), restored.getZobristHash());
+                assertEquals(original.getPlayer().getHp(), restored.getPlayer().getHp());
+                assertEquals(original.getPlayer().getScore(), restored.getPlayer().getScore());
+            }
+            assertTrue(restored.isGameOver());
+        }
+    }
 }
@@ -0,0 +1,61 @@
+import dungeon.engine.*;
+import dungeon.engine.solver.*;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestScoreSolver {
+
+    @Test
+    void testWorstCasePlanWinsInRealGame() {
+        ScoreSolver solver = new ScoreSolver();
+        for (long seed = 1; seed <= 5; seed++) {
+            SolverResult result = solver.solve(seed, 3);
+            assertTrue(result.isWon(), "Seed " + seed + " should be winnable");
+
+            // Shots may miss in the real game, but the plan must survive either way
+            GameEngine engine = new GameEngine(3, seed);
+            for (Direction move : result.getMoves()) {
+                assertFalse(engine.isGameOver(), "Game ended early for seed " + seed);
+                assertTrue(engine.move(move));
+            }
+            assertTrue(engine.isGameOver());
+            assertTrue(engine.getStatusMessage().startsWith("Congratulations"), engine.getStatusMessage());
+            assertEquals(result.getScore(), engine.getPlayer().getScore());
+            assertTrue(result.getMoves().size() < GameEngine.MAX_STEPS);
+        }
+    }
+
+    @Test
+    void testSolveIsDeterministic() {
+        SolverResult first = new ScoreSolver().solve(42, 2);
+        SolverResult second = new ScoreSolver(ShotModel.WORST_CASE, ScoreSolver.DEFAULT_BEAM_WIDTH,
+                new ForkJoinPool(3)).solve(42, 2);
+        assertEquals(first.getScore(), second.getScore());
+        assertEquals(first.getMoves(), second.getMoves());
+    }
+
+    @Test
+    void testExpectedModelScoresAtLeastWorstCase() {
+        SolverResult worst = new ScoreSolver().solve(7, 5);
+        SolverResult expected = new ScoreSolver(ShotModel.EXPECTED, ScoreSolver.DEFAULT_BEAM_WIDTH,
+                ForkJoinPool.commonPool()).solve(7, 5);
+        assertTrue(expected.getScore() >= worst.getScore());
+        assertEquals(ShotModel.EXPECTED, expected.getShotModel());
+    }
+
+    @Test
+    void testSolvesWellUnderASecond() {
+        ScoreSolver solver = new ScoreSolver();
+        solver.solve(1, 3); // Warm up
+        SolverResult result = solver.solve(2, 3);
+        assertTrue(result.getElapsedNanos() < 1_000_000_000L,
+                "Took " + result.getElapsedNanos() / 1_000_000 + " ms");
+    }
+
+    @Test
+    void testInvalidBeamWidth() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ScoreSolver(ShotModel.WORST_CASE, 0, ForkJoinPool.commonPool()));
+    }
+}
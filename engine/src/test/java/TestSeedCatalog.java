@@ -0,0 +1,142 @@
+import dungeon.engine.*;
+import dungeon.engine.catalog.*;
+import dungeon.engine.cells.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSeedCatalog {
+
+    private static final long FIRST_SEED = 100;
+    private static final int COUNT = 1500;
+
+    private SeedCatalog writeCatalog(File dir) throws IOException {
+        Path file = dir.toPath().resolve("seeds.dcat");
+        // A small block size so the catalog is written in several blocks
+        new SeedCatalogWriter(ForkJoinPool.commonPool(), 256).write(file, 3, FIRST_SEED, COUNT);
+        return SeedCatalog.open(file);
+    }
+
+    private int[][] expectedFeatures() {
+        int[][] features = new int[COUNT][];
+        for (int i = 0; i < COUNT; i++) {
+            features[i] = FeatureExtractor.extract(new GameEngine(3, FIRST_SEED + i).getGameMap());
+        }
+        return features;
+    }
+
+    @Test
+    void testFeaturesMatchGeneratedMaps(@TempDir File dir) throws IOException {
+        SeedCatalog catalog = writeCatalog(dir);
+        assertEquals(COUNT, catalog.getSeedCount());
+        assertEquals(FIRST_SEED, catalog.getFirstSeed());
+        assertEquals(3, catalog.getDifficulty());
+
+        int[][] expected = expectedFeatures();
+        for (int i = 0; i < COUNT; i++) {
+            for (MapFeature feature : MapFeature.values()) {
+                assertEquals(expected[i][feature.ordinal()], catalog.getFeature(FIRST_SEED + i, feature));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> catalog.getFeature(FIRST_SEED - 1, MapFeature.WALLS));
+    }
+
+    @Test
+    void testExtractedFeatures() {
+        GameEngine engine = new GameEngine(1, 5L);
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                engine.replaceCell(new Position(row, col), new EmptyCell());
+            }
+        }
+        // A wall across row 1 except the last column forces the walk along it
+        for (int col = 0; col < 9; col++) {
+            engine.replaceCell(new Position(1, col), new WallCell());
+        }
+        engine.replaceCell(new Position(0, 5), new TrapCell());
+        engine.replaceCell(new Position(5, 8), new TrapCell());
+        engine.replaceCell(new Position(7, 2), new MeleeMutantCell());
+        engine.replaceCell(new Position(7, 4), new RangedMutantCell());
+        engine.replaceCell(new Position(3, 3), new RangedMutantCell());
+
+        int[] values = FeatureExtractor.extract(engine.getGameMap());
+        assertEquals(18, values[MapFeature.LADDER_DISTANCE.ordinal()]);
+        assertEquals(MapFeature.MAX_VALUE, values[MapFeature.SAFE_LADDER_DISTANCE.ordinal()]);
+        assertEquals(1, values[MapFeature.TRAPS_ON_SHORTEST_PATH.ordinal()]);
+        assertEquals(91, values[MapFeature.REACHABLE_TILES.ordinal()]);
+        assertEquals(9, values[MapFeature.WALLS.ordinal()]);
+        assertEquals(2, values[MapFeature.TRAPS.ordinal()]);
+        assertEquals(2, values[MapFeature.RANGED_MUTANTS.ordinal()]);
+        assertEquals(1, values[MapFeature.MUTANT_CLUSTERING.ordinal()]);
+    }
+
+    @Test
+    void testQueriesMatchBruteForce(@TempDir File dir) throws IOException {
+        SeedCatalog catalog = writeCatalog(dir);
+        int[][] expected = expectedFeatures();
+        FeatureRange[] ranges = {
+            FeatureRange.atLeast(MapFeature.MUTANT_CLUSTERING, 2),
+            new FeatureRange(MapFeature.THREATENED_TILES, 4, 8)
+        };
+
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            boolean match = true;
+            for (FeatureRange range : ranges) {
+                match &= range.contains(expected[i][range.getFeature().ordinal()]);
+            }
+            if (match) {
+                matches.add(i);
+            }
+        }
+        assertTrue(matches.size() > 20);
+        assertEquals(matches.size(), catalog.count(ranges));
+        assertEquals(COUNT, catalog.count());
+
+        long[] first = catalog.find(20, ranges);
+        assertEquals(20, first.length);
+        for (int i = 0; i < first.length; i++) {
+            assertEquals(FIRST_SEED + matches.get(i), first[i]);
+        }
+
+        int distance = MapFeature.SAFE_LADDER_DISTANCE.ordinal();
+        matches.sort(Comparator.<Integer>comparingInt(i -> -expected[i][distance]).thenComparingInt(i -> i));
+        long[] top = catalog.findTop(MapFeature.SAFE_LADDER_DISTANCE, true, 25, ranges);
+        assertEquals(25, top.length);
+        for (int i = 0; i < top.length; i++) {
+            assertEquals(FIRST_SEED + matches.get(i), top[i]);
+        }
+
+        matches.sort(Comparator.<Integer>comparingInt(i -> expected[i][distance]).thenComparingInt(i -> i));
+        long[] bottom = catalog.findTop(MapFeature.SAFE_LADDER_DISTANCE, false, matches.size() + 10, ranges);
+        assertEquals(matches.size(), bottom.length);
+        for (int i = 0; i < bottom.length; i++) {
+            assertEquals(FIRST_SEED + matches.get(i), bottom[i]);
+        }
+    }
+
+    @Test
+    void testRejectsBadFiles(@TempDir File dir) throws IOException {
+        Path garbage = dir.toPath().resolve("garbage.dcat");
+        Files.write(garbage, new byte[64]);
+        assertThrows(IOException.class, () -> SeedCatalog.open(garbage));
+
+        writeCatalog(dir);
+        Path file = dir.toPath().resolve("seeds.dcat");
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = dir.toPath().resolve("truncated.dcat");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> SeedCatalog.open(truncated));
+
+        assertThrows(IllegalArgumentException.class, () -> new FeatureRange(MapFeature.GOLD, 3, 2));
+    }
+}
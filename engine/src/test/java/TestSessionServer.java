@@ -0,0 +1,208 @@
+import dungeon.engine.*;
+import dungeon.engine.persistence.SaveState;
+import dungeon.engine.server.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectOutputStream;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSessionServer {
+
+    private void assertSameGame(GameEngine expected, SessionState actual) {
+        Player player = expected.getPlayer();
+        assertEquals(player.getPosition().getRow(), actual.getRow());
+        assertEquals(player.getPosition().getCol(), actual.getCol());
+        assertEquals(player.getHp(), actual.getHp());
+        assertEquals(player.getScore(), actual.getScore());
+        assertEquals(player.getSteps(), actual.getSteps());
+        assertEquals(player.getLevel(), actual.getLevel());
+        assertEquals(expected.isGameOver(), actual.isGameOver());
+    }
+
+    /**
+     * Plays random moves on a session and a local engine side by side.
+     */
+    private void playAlike(SessionManager sessions, long id, GameEngine expected, Random random, int moves) {
+        for (int i = 0; i < moves && !expected.isGameOver(); i++) {
+            Direction direction = Direction.values()[random.nextInt(4)];
+            boolean moved = expected.move(direction);
+            SessionState state = sessions.move(id, direction);
+            assertEquals(moved, state.isMoved());
+            assertSameGame(expected, state);
+        }
+    }
+
+    @Test
+    void testConcurrentSessionsPlayLikeEngines(@TempDir File dir) throws Exception {
+        try (SessionManager sessions = new SessionManager(dir.toPath(), Duration.ofMinutes(1));
+             ExecutorService players = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> games = new ArrayList<>();
+            for (long seed = 1; seed <= 200; seed++) {
+                long gameSeed = seed;
+                games.add(players.submit(() -> {
+                    SessionState created = sessions.create(3, gameSeed);
+                    GameEngine expected = new GameEngine(3, gameSeed);
+                    assertSameGame(expected, created);
+                    playAlike(sessions, created.getId(), expected, new Random(gameSeed), 200);
+                    return null;
+                }));
+            }
+            for (Future<?> game : games) {
+                game.get();
+            }
+            assertEquals(200, sessions.getSessionCount());
+            assertEquals(0, sessions.getEvictions());
+        }
+    }
+
+    @Test
+    void testIdleSessionsAreEvictedAndRestored(@TempDir File dir) throws IOException, InterruptedException {
+        try (SessionManager sessions = new SessionManager(dir.toPath(), Duration.ofMillis(50))) {
+            List<Long> ids = new ArrayList<>();
+            List<GameEngine> expected = new ArrayList<>();
+            List<Random> randoms = new ArrayList<>();
+            for (long seed = 1; seed <= 20; seed++) {
+                ids.add(sessions.create(4, seed).getId());
+                expected.add(new GameEngine(4, seed));
+                randoms.add(new Random(seed));
+                playAlike(sessions, ids.get(ids.size() - 1), expected.get(expected.size() - 1),
+                    randoms.get(randoms.size() - 1), 10);
+            }
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (sessions.getResidentCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, sessions.getResidentCount());
+            assertTrue(sessions.getEvictions() >= 20);
+            assertEquals(20, dir.listFiles().length);
+
+            // Each session carries on exactly where it was, items and shots included
+            for (int i = 0; i < ids.size(); i++) {
+                assertSameGame(expected.get(i), sessions.state(ids.get(i)));
+                playAlike(sessions, ids.get(i), expected.get(i), randoms.get(i), 100);
+            }
+            assertTrue(sessions.getRestores() >= 20);
+
+            sessions.close(ids.get(0));
+            assertThrows(NoSuchElementException.class, () -> sessions.state(ids.get(0)));
+        }
+    }
+
+    @Test
+    void testCloseAfterQueuedRequestsOnEvictedSessions(@TempDir File dir) throws Exception {
+        try (SessionManager sessions = new SessionManager(dir.toPath(), Duration.ofMillis(20));
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Long> ids = new ArrayList<>();
+            for (long seed = 1; seed <= 20; seed++) {
+                ids.add(sessions.create(2, seed).getId());
+            }
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (sessions.getResidentCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, sessions.getResidentCount());
+
+            // Requests racing a close either run first, reading the game back, or are refused
+            List<Future<SessionState>> states = new ArrayList<>();
+            for (long id : ids) {
+                states.add(clients.submit(() -> sessions.state(id)));
+                sessions.close(id);
+            }
+            for (Future<SessionState> state : states) {
+                try {
+                    assertNotNull(state.get());
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof IllegalStateException
+                        || e.getCause() instanceof NoSuchElementException, e.getCause().toString());
+                }
+            }
+            assertEquals(0, dir.listFiles().length);
+        }
+    }
+
+    @Test
+    void testSaveAndLoad(@TempDir File dir) throws IOException {
+        try (SessionManager sessions = new SessionManager(dir.toPath(), Duration.ofMinutes(1))) {
+            long id = sessions.create(2, 99).getId();
+            GameEngine expected = new GameEngine(2, 99);
+            playAlike(sessions, id, expected, new Random(99), 12);
+
+            SessionState loaded = sessions.load(sessions.save(id));
+            assertNotEquals(id, loaded.getId());
+            assertSameGame(expected, loaded);
+            GameEngine copy = expected.copy();
+            playAlike(sessions, loaded.getId(), copy, new Random(7), 50);
+
+            assertThrows(IOException.class, () -> sessions.load(new byte[] {1, 2, 3}));
+
+            // Difficulty drives map generation, so clients cannot pick one out of range
+            assertThrows(IllegalArgumentException.class, () -> sessions.create(SessionManager.MAX_DIFFICULTY + 1, 1));
+            assertThrows(IllegalArgumentException.class, () -> sessions.create(-1, 1));
+            ByteArrayOutputStream tooHard = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(tooHard)) {
+                out.writeObject(new SaveState(new GameEngine(SessionManager.MAX_DIFFICULTY + 1, 1)));
+            }
+            assertThrows(IOException.class, () -> sessions.load(tooHard.toByteArray()));
+        }
+    }
+
+    @Test
+    void testServerProtocol(@TempDir File dir) throws IOException {
+        try (SessionManager sessions = new SessionManager(dir.toPath(), Duration.ofMinutes(1));
+             GameServer server = new GameServer(sessions, new InetSocketAddress("localhost", 0));
+             Socket socket = new Socket("localhost", server.getPort());
+             BufferedReader in = new BufferedReader(
+                 new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            out.println("CREATE 2 7");
+            String created = in.readLine();
+            assertTrue(created.startsWith("OK {\"id\":1,"), created);
+            assertTrue(created.contains("\"seed\":7"), created);
+
+            GameEngine expected = new GameEngine(2, 7);
+            expected.move(Direction.RIGHT);
+            out.println("MOVE 1 right");
+            String moved = in.readLine();
+            assertTrue(moved.contains("\"col\":" + expected.getPlayer().getPosition().getCol()), moved);
+            assertTrue(moved.contains("\"steps\":" + expected.getPlayer().getSteps()), moved);
+
+            out.println("SAVE 1");
+            String save = in.readLine();
+            assertTrue(save.startsWith("OK "));
+            out.println("LOAD " + save.substring(3));
+            assertTrue(in.readLine().startsWith("OK {\"id\":2,"));
+
+            out.println("CLOSE 1");
+            assertEquals("OK", in.readLine());
+            out.println("STATE 1");
+            assertTrue(in.readLine().startsWith("ERR "));
+            out.println("MOVE 2 sideways");
+            assertTrue(in.readLine().startsWith("ERR "));
+            out.println("CREATE 2000000000 1");
+            assertTrue(in.readLine().startsWith("ERR "));
+            out.println("JUMP");
+            assertTrue(in.readLine().startsWith("ERR "));
+            out.println("STATS");
+            assertTrue(in.readLine().startsWith("OK {\"sessions\":1,"));
+        }
+    }
+}
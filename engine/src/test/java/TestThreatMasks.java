@@ -0,0 +1,101 @@
+import dungeon.engine.*;
+import dungeon.engine.cells.*;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestThreatMasks {
+
+    /**
+     * Checks every mask against canShootAt, which reads the grid directly.
+     */
+    private void assertMasksMatchGrid(GameEngine engine) {
+        Cell[][] grid = engine.getMap();
+        ThreatMasks threats = engine.getGameMap().getThreatMasks();
+        RangedMutantCell.RangedMutant shooter = new RangedMutantCell.RangedMutant();
+        for (int targetRow = 0; targetRow < 10; targetRow++) {
+            for (int targetCol = 0; targetCol < 10; targetCol++) {
+                boolean anyHit = false;
+                for (int row = 0; row < 10; row++) {
+                    for (int col = 0; col < 10; col++) {
+                        boolean mutant = grid[row][col] instanceof RangedMutantCell;
+                        boolean hit = mutant && shooter.canShootAt(new Position(row, col),
+                                new Position(targetRow, targetCol), engine);
+                        assertEquals(hit, threats.canHit(row * 10 + col, targetRow, targetCol));
+                        anyHit |= hit;
+                    }
+                }
+                assertEquals(anyHit, threats.isThreatened(targetRow, targetCol));
+            }
+        }
+    }
+
+    @Test
+    void testMasksMatchLineOfSight() {
+        for (long seed = 1; seed <= 20; seed++) {
+            assertMasksMatchGrid(new GameEngine(5, seed));
+        }
+    }
+
+    @Test
+    void testIncrementalUpdatesThroughReplaceCell() {
+        GameEngine engine = new GameEngine(3, 2024L);
+        Random random = new Random(5);
+        for (int i = 0; i < 300; i++) {
+            Position pos = new Position(random.nextInt(10), random.nextInt(10));
+            Cell cell;
+            switch (random.nextInt(3)) {
+                case 0: cell = new WallCell(); break;
+                case 1: cell = new RangedMutantCell(); break;
+                default: cell = new EmptyCell(); break;
+            }
+            engine.replaceCell(pos, cell);
+            if (i % 10 == 0) {
+                assertMasksMatchGrid(engine);
+            }
+        }
+        assertMasksMatchGrid(engine);
+    }
+
+    @Test
+    void testWallBlocksAndUnblocks() {
+        GameEngine engine = new GameEngine(1, 1L);
+        engine.replaceCell(new Position(5, 5), new RangedMutantCell());
+        engine.replaceCell(new Position(5, 4), new EmptyCell());
+        ThreatMasks threats = engine.getGameMap().getThreatMasks();
+        assertTrue(threats.isThreatened(5, 3));
+
+        engine.replaceCell(new Position(5, 4), new WallCell());
+        assertFalse(threats.canHit(55, 5, 3));
+
+        engine.replaceCell(new Position(5, 4), new EmptyCell());
+        assertTrue(threats.canHit(55, 5, 3));
+
+        engine.replaceCell(new Position(5, 5), new EmptyCell());
+        assertNull(threats.getMask(5, 5));
+    }
+
+    @Test
+    void testEngineOnlyShootsWhenThreatened() {
+        GameEngine engine = new GameEngine(1, 3L);
+        // Clear the board so only our mutant can shoot
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                engine.replaceCell(new Position(row, col), new EmptyCell());
+            }
+        }
+        engine.replaceCell(new Position(2, 4), new RangedMutantCell());
+        Player player = engine.getPlayer();
+        player.setPosition(new Position(2, 1));
+
+        // Moving right lands two tiles from the mutant: HP drops by 0 or 2
+        int before = player.getHp();
+        assertTrue(engine.move(Direction.RIGHT));
+        assertTrue(player.getHp() == before || player.getHp() == before - Mutant.DAMAGE);
+
+        // Moving down leaves its line: no shot can land
+        before = player.getHp();
+        assertTrue(engine.move(Direction.DOWN));
+        assertEquals(before, player.getHp());
+    }
+}
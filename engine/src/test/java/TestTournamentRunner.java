@@ -0,0 +1,86 @@
+import dungeon.engine.*;
+import dungeon.engine.agent.*;
+import dungeon.engine.cells.*;
+import dungeon.engine.sim.*;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTournamentRunner {
+
+    @Test
+    void testGameViewFollowsEngine() {
+        GameEngine engine = new GameEngine(2, 42L);
+        GameView view = GameView.of(engine);
+        assertEquals(10, view.getSize());
+        assertEquals(TileType.ENTRY, view.getTile(0, 0));
+        assertEquals(new Position(9, 9), view.getLadder());
+        assertEquals(1, view.getLevel());
+
+        engine.getPlayer().setPosition(new Position(9, 8));
+        engine.replaceCell(new Position(9, 8), new EmptyCell());
+        engine.move(Direction.RIGHT);
+        assertEquals(2, view.getLevel());
+        assertEquals(new Position(0, 0), view.getPlayerPosition());
+        assertEquals(engine.getGameMap().getBitboards(), view.getBitboards());
+    }
+
+    @Test
+    void testAgentCannotChangeMapThroughView() {
+        GameEngine engine = new GameEngine(2, 42L);
+        GameView view = GameView.of(engine);
+        Bitboard walls = new Bitboard(engine.getGameMap().getBitboards().getWalls());
+        Bitboard everything = new Bitboard(view.getSize()).invert();
+
+        Agent agent = v -> {
+            v.getBitboards().getWalls().or(everything);
+            return Direction.RIGHT;
+        };
+        assertThrows(UnsupportedOperationException.class, () -> agent.decide(view));
+        assertThrows(UnsupportedOperationException.class, () -> view.getThreatMasks().getUnion().clear());
+        assertEquals(walls, engine.getGameMap().getBitboards().getWalls());
+
+        // A copy can be combined freely without touching the map
+        Bitboard blocked = new Bitboard(view.getBitboards().getWalls()).or(everything);
+        assertEquals(view.getSize() * view.getSize(), blocked.count());
+        assertEquals(walls, engine.getGameMap().getBitboards().getWalls());
+        assertTrue(view.getBitboards().getWalls().isReadOnly());
+        assertFalse(blocked.isReadOnly());
+    }
+
+    @Test
+    void testEntrantsPlaySharedSeeds() {
+        long[] seeds = { 1, 2, 3, 4, 5, 6, 7, 8 };
+        TournamentRunner runner = new TournamentRunner(2, seeds, ForkJoinPool.commonPool());
+        AtomicInteger created = new AtomicInteger();
+        runner.addEntrant("shortest-path", Policies.asAgents(Policies.SHORTEST_PATH));
+        runner.addEntrant("stuck", seed -> {
+            created.incrementAndGet();
+            return view -> null;
+        });
+
+        List<TournamentResult> results = runner.run();
+        assertEquals(2, results.size());
+        assertEquals("shortest-path", results.get(0).getName());
+        assertEquals(seeds.length, results.get(0).getStats().getGames());
+        assertTrue(results.get(0).getDecisions() > 0);
+        assertTrue(results.get(0).getDecisionsPerSecond() > 0);
+
+        // A fresh agent per game, and an agent that never moves is abandoned
+        assertEquals(seeds.length, created.get());
+        TournamentResult stuck = results.get(1);
+        assertEquals(seeds.length, stuck.getStats().getCount(Outcome.STALLED));
+        assertEquals(seeds.length * Simulation.MAX_DECISIONS, stuck.getDecisions());
+        assertTrue(stuck.toString().contains("decisions/s"));
+    }
+
+    @Test
+    void testDuplicateEntrantRejected() {
+        TournamentRunner runner = new TournamentRunner(1, new long[] { 1 }, ForkJoinPool.commonPool());
+        runner.addEntrant("a", Policies.asAgents(Policies.RANDOM));
+        assertThrows(IllegalArgumentException.class,
+                () -> runner.addEntrant("a", Policies.asAgents(Policies.RANDOM)));
+    }
+}
@@ -0,0 +1,72 @@
+import dungeon.engine.*;
+import dungeon.engine.cells.*;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTurnRandom {
+
+    /**
+     * Plays a seeded random walk and records the HP after every move.
+     */
+    private int[] playRandomWalk(long seed) {
+        GameEngine engine = new GameEngine(5, seed);
+        Random moves = new Random(seed);
+        int[] hp = new int[200];
+        for (int i = 0; i < hp.length && !engine.isGameOver(); i++) {
+            engine.move(Direction.values()[moves.nextInt(4)]);
+            hp[i] = engine.getPlayer().getHp();
+        }
+        return hp;
+    }
+
+    @Test
+    void testMatchesSplittableRandom() {
+        TurnRandom random = new TurnRandom(42L);
+        SplittableRandom reference = new SplittableRandom(42L);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(reference.nextLong(), random.nextLong());
+        }
+    }
+
+    @Test
+    void testCopyAndStateReplay() {
+        TurnRandom random = new TurnRandom(7L);
+        random.nextLong();
+        TurnRandom copy = random.copy();
+        long state = random.getState();
+        long first = random.nextLong();
+        assertEquals(first, copy.nextLong());
+        random.setState(state);
+        assertEquals(first, random.nextLong());
+        assertNotEquals(random.split().nextLong(), random.nextLong());
+    }
+
+    @Test
+    void testSeededGamesShootAlike() {
+        for (long seed = 1; seed <= 30; seed++) {
+            assertArrayEquals(playRandomWalk(seed), playRandomWalk(seed));
+        }
+    }
+
+    @Test
+    void testShotsFollowGivenGenerator() {
+        RangedMutantCell.RangedMutant mutant = new RangedMutantCell.RangedMutant();
+        TurnRandom first = new TurnRandom(3L);
+        TurnRandom second = new TurnRandom(3L);
+        for (int i = 0; i < 50; i++) {
+            Player a = new Player(new Position(0, 0));
+            Player b = new Player(new Position(0, 0));
+            assertEquals(mutant.shootAt(a, first), mutant.shootAt(b, second));
+            assertEquals(a.getHp(), b.getHp());
+        }
+    }
+
+    @Test
+    void testEnginesFromEqualGeneratorsShootAlike() {
+        GameEngine first = new GameEngine(3, new Random(9));
+        GameEngine second = new GameEngine(3, new Random(9));
+        assertEquals(first.getTurnRandom().nextLong(), second.getTurnRandom().nextLong());
+    }
+}
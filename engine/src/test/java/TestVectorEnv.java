@@ -0,0 +1,99 @@
+import dungeon.engine.*;
+import dungeon.engine.cells.*;
+import dungeon.engine.rl.VectorEnv;
+import dungeon.engine.sim.Simulation;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestVectorEnv {
+
+    /**
+     * Checks an environment's observation against its engine.
+     */
+    private void assertObservationMatches(VectorEnv env, int index) {
+        int[] obs = env.getObservations();
+        int base = index * VectorEnv.OBSERVATION_SIZE;
+        GameEngine engine = env.getEngine(index);
+        Cell[][] grid = engine.getMap();
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                assertEquals(TileType.of(grid[row][col]), VectorEnv.decodeTile(obs[base + row * 10 + col]));
+            }
+        }
+        Player player = engine.getPlayer();
+        assertEquals(player.getPosition().getRow(), obs[base + VectorEnv.ROW]);
+        assertEquals(player.getPosition().getCol(), obs[base + VectorEnv.COL]);
+        assertEquals(player.getHp(), obs[base + VectorEnv.HP]);
+        assertEquals(player.getSteps(), obs[base + VectorEnv.STEPS]);
+        assertEquals(player.getLevel(), obs[base + VectorEnv.LEVEL]);
+    }
+
+    @Test
+    void testObservationsTrackEngines() {
+        VectorEnv env = new VectorEnv(8, 4, 100L);
+        int[] actions = new int[8];
+        Random random = new Random(1);
+        int[] observations = env.getObservations();
+        for (int step = 0; step < 2000; step++) {
+            for (int i = 0; i < actions.length; i++) {
+                actions[i] = random.nextInt(4);
+            }
+            env.step(actions);
+            assertSame(observations, env.getObservations());
+            for (int i = 0; i < 8; i++) {
+                assertFalse(env.getEngine(i).isGameOver());
+                assertObservationMatches(env, i);
+            }
+        }
+        assertTrue(env.getEpisodesStarted() > 8);
+    }
+
+    @Test
+    void testFinishedGamesAutoReset() {
+        VectorEnv env = new VectorEnv(1, 1, 7L);
+        GameEngine first = env.getEngine(0);
+        int[] actions = { Direction.UP.ordinal() };
+
+        // Walking into the top edge never ends the game by itself, so it is abandoned
+        for (int i = 1; i < Simulation.MAX_DECISIONS; i++) {
+            env.step(actions);
+            assertFalse(env.getDones()[0]);
+            assertEquals(VectorEnv.INVALID_MOVE_REWARD, env.getRewards()[0], 1e-6);
+        }
+        env.step(actions);
+        assertTrue(env.getDones()[0]);
+        assertEquals(VectorEnv.INVALID_MOVE_REWARD + VectorEnv.LOSS_REWARD, env.getRewards()[0], 1e-6);
+        assertNotSame(first, env.getEngine(0));
+        assertEquals(8L, env.getEngine(0).getSeed());
+        assertEquals(0, env.getObservations()[VectorEnv.STEPS]);
+    }
+
+    @Test
+    void testRewardsFollowScore() {
+        VectorEnv env = new VectorEnv(4, 3, 55L);
+        int[] actions = new int[4];
+        Random random = new Random(2);
+        int[] scores = new int[4];
+        for (int step = 0; step < 500; step++) {
+            for (int i = 0; i < 4; i++) {
+                actions[i] = random.nextInt(4);
+                scores[i] = env.getEngine(i).getPlayer().getScore();
+            }
+            env.step(actions);
+            for (int i = 0; i < 4; i++) {
+                if (!env.getDones()[i] && env.getRewards()[i] != VectorEnv.INVALID_MOVE_REWARD) {
+                    assertEquals(env.getEngine(i).getPlayer().getScore() - scores[i], env.getRewards()[i], 1e-6);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRejectsBadActions() {
+        VectorEnv env = new VectorEnv(2, 1, 1L);
+        assertThrows(IllegalArgumentException.class, () -> env.step(new int[] { 0 }));
+        assertThrows(IllegalArgumentException.class, () -> env.step(new int[] { 0, 4 }));
+        assertThrows(IllegalArgumentException.class, () -> new VectorEnv(0, 1, 1L));
+    }
+}
@@ -0,0 +1,132 @@
+import dungeon.engine.*;
+import dungeon.engine.cells.*;
+import dungeon.engine.event.*;
+import dungeon.engine.net.*;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestWireProtocol {
+
+    private void assertMirrors(GameEngine expected, WireClient client) {
+        Player player = expected.getPlayer();
+        assertEquals(player.getPosition().getRow(), client.getRow());
+        assertEquals(player.getPosition().getCol(), client.getCol());
+        assertEquals(player.getHp(), client.getHp());
+        assertEquals(player.getScore(), client.getScore());
+        assertEquals(player.getSteps(), client.getSteps());
+        assertEquals(player.getLevel(), client.getLevel());
+        assertEquals(expected.isGameOver(), client.isGameOver());
+        Cell[][] map = expected.getMap();
+        for (int row = 0; row < expected.getSize(); row++) {
+            for (int col = 0; col < expected.getSize(); col++) {
+                assertEquals(TileType.of(map[row][col]), client.getTile(row, col), "(" + row + ", " + col + ")");
+            }
+        }
+    }
+
+    @Test
+    void testClientMirrorsEngine() throws IOException {
+        try (WireServer server = new WireServer(new InetSocketAddress("localhost", 0));
+             WireClient client = new WireClient(new InetSocketAddress("localhost", server.getPort()))) {
+            int turns = 0;
+            for (long seed = 1; seed <= 40; seed++) {
+                client.join(3, seed);
+                GameEngine expected = new GameEngine(3, seed);
+                EventSubscription events = expected.getEvents().subscribe();
+                assertEquals(seed, client.getSeed());
+                assertEquals(3, client.getDifficulty());
+                assertMirrors(expected, client);
+
+                Random random = new Random(seed);
+                while (!expected.isGameOver()) {
+                    Direction direction = Direction.values()[random.nextInt(4)];
+                    expected.move(direction);
+                    client.move(direction);
+                    turns++;
+                    assertMirrors(expected, client);
+
+                    List<GameEventType> sent = new ArrayList<>();
+                    for (GameEvent event = events.poll(); event != null; event = events.poll()) {
+                        if (WireProtocol.isSent(event.getType())) {
+                            sent.add(event.getType());
+                            assertEquals(event.getAmount(), client.getEventAmount(sent.size() - 1));
+                        }
+                    }
+                    assertEquals(sent.size(), client.getEventCount());
+                    for (int i = 0; i < sent.size(); i++) {
+                        assertEquals(sent.get(i), client.getEventType(i));
+                    }
+                }
+            }
+            assertEquals(turns, server.getTurns());
+            assertTrue(client.getFullFrames() >= 40);
+        }
+    }
+
+    @Test
+    void testPlainStepCostsAFewBytes() throws IOException {
+        try (WireServer server = new WireServer(new InetSocketAddress("localhost", 0));
+             WireClient client = new WireClient(new InetSocketAddress("localhost", server.getPort()))) {
+            client.join(1, 11);
+            assertEquals(WireProtocol.HEADER_BYTES + WireProtocol.fullPayload(client.getSize()),
+                client.getBytesReceived());
+
+            Random random = new Random(11);
+            int plainSteps = 0;
+            while (!client.isGameOver()) {
+                long sent = client.getBytesSent();
+                long received = client.getBytesReceived();
+                long fullFrames = client.getFullFrames();
+                int row = client.getRow();
+                int col = client.getCol();
+                int hp = client.getHp();
+                int score = client.getScore();
+                client.move(Direction.values()[random.nextInt(4)]);
+                assertEquals(3, client.getBytesSent() - sent);
+                boolean moved = row != client.getRow() || col != client.getCol();
+                if (moved && client.getEventCount() == 0 && hp == client.getHp()
+                        && score == client.getScore() && fullFrames == client.getFullFrames()) {
+                    // Type, length, flags, position and one step
+                    assertEquals(5, client.getBytesReceived() - received);
+                    plainSteps++;
+                }
+            }
+            assertTrue(plainSteps > 0);
+        }
+    }
+
+    @Test
+    void testRejectedRequests() throws IOException {
+        try (WireServer server = new WireServer(new InetSocketAddress("localhost", 0))) {
+            InetSocketAddress address = new InetSocketAddress("localhost", server.getPort());
+            try (WireClient client = new WireClient(address)) {
+                assertThrows(IOException.class, () -> client.move(Direction.UP));
+                assertThrows(IOException.class, () -> client.join(99, 1));
+                // The connection survives rejected requests
+                client.join(2, 5);
+                client.move(Direction.RIGHT);
+                assertEquals(2, client.getDifficulty());
+            }
+
+            try (SocketChannel channel = SocketChannel.open(address)) {
+                channel.write(ByteBuffer.wrap(new byte[] {0x7F, 0}));
+                ByteBuffer reply = ByteBuffer.allocate(16);
+                while (channel.read(reply) >= 0) {
+                    // Read until the server closes the connection
+                }
+                reply.flip();
+                assertEquals(3, reply.remaining());
+                assertEquals(WireProtocol.ERROR, reply.get());
+                assertEquals(1, reply.get());
+                assertEquals(WireProtocol.BAD_FRAME, reply.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+import dungeon.engine.*;
+import dungeon.engine.cells.*;
+import org.junit.jupiter.api.Test;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestZobrist {
+
+    /**
+     * Recomputes the whole-state hash from scratch.
+     */
+    private long recompute(GameEngine engine) {
+        Player player = engine.getPlayer();
+        return engine.getGameMap().computeZobristHash()
+            ^ Zobrist.positionKey(player.getPosition())
+            ^ Zobrist.hpKey(player.getHp())
+            ^ Zobrist.stepsKey(player.getSteps())
+            ^ Zobrist.levelKey(player.getLevel());
+    }
+
+    @Test
+    void testIncrementalHashMatchesRecompute() {
+        Random random = new Random(11);
+        for (long seed = 1; seed <= 20; seed++) {
+            GameEngine engine = new GameEngine(1 + (int) (seed % 5), seed);
+            assertEquals(recompute(engine), engine.getZobristHash());
+            while (!engine.isGameOver()) {
+                engine.move(Direction.values()[random.nextInt(4)]);
+                assertEquals(recompute(engine), engine.getZobristHash());
+            }
+        }
+    }
+
+    @Test
+    void testReplaceCellUpdatesHash() {
+        GameEngine engine = new GameEngine(3, 42L);
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            Position pos = new Position(random.nextInt(10), random.nextInt(10));
+            Cell cell;
+            switch (random.nextInt(4)) {
+                case 0: cell = new WallCell(); break;
+                case 1: cell = new GoldCell(); break;
+                case 2: cell = new RangedMutantCell(); break;
+                default: cell = new EmptyCell(); break;
+            }
+            long before = engine.getZobristHash();
+            Cell old = engine.getGameMap().cellAt(pos);
+            engine.replaceCell(pos, cell);
+            assertEquals(recompute(engine), engine.getZobristHash());
+            if (TileType.of(old) == TileType.of(cell)) {
+                assertEquals(before, engine.getZobristHash());
+            }
+        }
+    }
+
+    @Test
+    void testIdenticalStatesHashEqual() {
+        GameEngine first = new GameEngine(4, 99L);
+        GameEngine second = new GameEngine(4, 99L);
+        assertEquals(first.getZobristHash(), second.getZobristHash());
+
+        first.move(Direction.RIGHT);
+        second.move(Direction.RIGHT);
+        assertEquals(first.getZobristHash(), second.getZobristHash());
+    }
+
+    @Test
+    void testPlayerFeaturesChangeHash() {
+        Player player = new Player(new Position(0, 0));
+        long start = player.getZobristHash();
+        Set<Long> seen = new HashSet<>();
+        seen.add(start);
+
+        player.modifyHp(-2);
+        assertTrue(seen.add(player.getZobristHash()));
+        player.modifyHp(2);
+        assertEquals(start, player.getZobristHash());
+
+        player.incrementSteps();
+        assertTrue(seen.add(player.getZobristHash()));
+        player.setPosition(new Position(0, 1));
+        assertTrue(seen.add(player.getZobristHash()));
+        player.setLevel(2);
+        assertTrue(seen.add(player.getZobristHash()));
+    }
+
+    @Test
+    void testClampedHpLeavesHashUnchanged() {
+        Player player = new Player(new Position(0, 0));
+        long start = player.getZobristHash();
+        player.modifyHp(5);
+        assertEquals(Player.MAX_HP, player.getHp());
+        assertEquals(start, player.getZobristHash());
+    }
+}
@@ -0,0 +1,115 @@
+package dungeon.gui;
+
+import javafx.scene.Node;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.GridPane;
+
+/**
+ * A single debug tooltip shared by every tile on the board.
+ * The tooltip text is only built when the tooltip is actually shown, so
+ * redrawing the board no longer formats or installs anything per tile.
+ * The hovered tile is remembered by position rather than by node, since the
+ * board's tiles are replaced on every redraw. It is only installed when the
+ * game runs in debug mode.
+ */
+public class BoardTooltip {
+    /** System property that enables debug aids such as this tooltip. */
+    public static final String DEBUG_PROPERTY = "dungeon.debug";
+
+    private final Tooltip tooltip = new Tooltip();
+    private final GridPane board;
+    // Position of the tile under the mouse; -1 when the mouse is off the tiles
+    private int hoveredRow = -1;
+    private int hoveredCol = -1;
+
+    /**
+     * Creates a tooltip handler; use {@link #install(GridPane)} to attach one.
+     *
+     * @param board the grid pane holding the CellViews
+     */
+    private BoardTooltip(GridPane board) {
+        this.board = board;
+        tooltip.setOnShowing(event -> refreshText());
+    }
+
+    /**
+     * Checks whether debug mode is enabled.
+     *
+     * @return true if the debug system property is set to true
+     */
+    public static boolean isDebugEnabled() {
+        return Boolean.getBoolean(DEBUG_PROPERTY);
+    }
+
+    /**
+     * Installs one shared tooltip on the board.
+     *
+     * @param board the grid pane holding the CellViews
+     */
+    public static void install(GridPane board) {
+        BoardTooltip boardTooltip = new BoardTooltip(board);
+
+        // Track which position is under the mouse; the tiles are recreated on
+        // every redraw so they are looked up from the event each time
+        board.addEventFilter(MouseEvent.MOUSE_MOVED, event -> {
+            CellView tile = findTile(event.getPickResult().getIntersectedNode());
+            int row = tile != null ? tile.getRow() : -1;
+            int col = tile != null ? tile.getCol() : -1;
+            if (row != boardTooltip.hoveredRow || col != boardTooltip.hoveredCol) {
+                boardTooltip.hoveredRow = row;
+                boardTooltip.hoveredCol = col;
+                if (boardTooltip.tooltip.isShowing()) {
+                    boardTooltip.refreshText();
+                }
+            }
+        });
+        board.addEventFilter(MouseEvent.MOUSE_EXITED, event -> {
+            boardTooltip.hoveredRow = -1;
+            boardTooltip.hoveredCol = -1;
+        });
+
+        Tooltip.install(board, boardTooltip.tooltip);
+    }
+
+    /**
+     * Updates the tooltip text from the tile now drawn at the hovered position.
+     */
+    private void refreshText() {
+        CellView tile = currentTile();
+        tooltip.setText(tile != null ? tile.getDebugText() : "");
+    }
+
+    /**
+     * Finds the CellView currently on the board at the hovered position.
+     *
+     * @return the tile, or null if nothing is hovered
+     */
+    private CellView currentTile() {
+        if (hoveredRow < 0) {
+            return null;
+        }
+        for (Node child : board.getChildren()) {
+            if (child instanceof CellView) {
+                CellView tile = (CellView) child;
+                if (tile.getRow() == hoveredRow && tile.getCol() == hoveredCol) {
+                    return tile;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the CellView containing the given node.
+     *
+     * @param node the node under the mouse
+     * @return the enclosing CellView, or null if the node is not part of a tile
+     */
+    private static CellView findTile(Node node) {
+        while (node != null && !(node instanceof CellView)) {
+            node = node.getParent();
+        }
+        return (CellView) node;
+    }
+}
@@ -4,8 +4,6 @@ import dungeon.engine.cells.Cell;
 import dungeon.engine.cells.EmptyCell;
 import dungeon.engine.cells.EntryCell;
 import dungeon.engine.cells.WallCell;
-import javafx.scene.control.Tooltip;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
@@ -13,12 +11,19 @@ import javafx.scene.shape.Rectangle;
 
 /**
  * A JavaFX component that renders a Cell as a StackPane.
- * This component displays the sprite from the cell's spritePath() and includes 
- * a tooltip for debugging information.
+ * This component displays the sprite from the cell's spritePath() and provides
+ * debugging information for the board's shared tooltip.
  */
 public class CellView extends StackPane {
     private static final int CELL_SIZE = 40;
     
+    // Sprite sizes; these must match the tile sizes packed by the packSprites task
+    private static final int SPRITE_SIZE = CELL_SIZE - 4; // Leave small border
+    private static final int PLAYER_SPRITE_SIZE = CELL_SIZE - 8;
+    
+    // Opacity of the danger overlay on the most dangerous tile
+    private static final double MAX_DANGER_OPACITY = 0.5;
+    
     private final Cell cell;
     private final int row;
     private final int col;
@@ -36,7 +41,6 @@ public class CellView extends StackPane {
         this.col = col;
         
         initializeView();
-        setupTooltip();
     }
     
     /**
@@ -64,27 +68,15 @@ public class CellView extends StackPane {
         
         getChildren().add(background);
         
-        // Try to load and display sprite
+        // Display the sprite from the shared atlas
         String spritePath = cell.spritePath();
         if (spritePath != null && !spritePath.isEmpty()) {
-            try {
-                // Load image from resources
-                Image sprite = new Image(getClass().getResourceAsStream("/" + spritePath));
-                
-                if (!sprite.isError()) {
-                    ImageView spriteView = new ImageView(sprite);
-                    spriteView.setFitWidth(CELL_SIZE - 4); // Leave small border
-                    spriteView.setFitHeight(CELL_SIZE - 4);
-                    spriteView.setPreserveRatio(true);
-                    
-                    getChildren().add(spriteView);
-                } else {
-                    // If sprite fails to load, keep the background color
-                    System.out.println("Warning: Could not load sprite: " + spritePath);
-                }
-            } catch (Exception e) {
-                // If sprite loading fails, keep the background color
-                System.out.println("Warning: Could not load sprite: " + spritePath + " - " + e.getMessage());
+            ImageView spriteView = SpriteAtlas.getInstance().createView(spritePath, SPRITE_SIZE);
+            if (spriteView != null) {
+                getChildren().add(spriteView);
+            } else {
+                // If the sprite is not in the atlas, keep the background color
+                System.out.println("Warning: Could not load sprite: " + spritePath);
             }
         }
         
@@ -93,15 +85,14 @@ public class CellView extends StackPane {
     }
     
     /**
-     * Sets up a tooltip showing debug information about this cell.
+     * Builds the debug information shown in the board tooltip for this cell.
+     *
+     * @return a description of the cell's position, type and sprite
      */
-    private void setupTooltip() {
+    public String getDebugText() {
         String cellType = cell.getClass().getSimpleName();
-        String tooltipText = String.format("Position: (%d, %d)\nType: %s\nSprite: %s", 
-                                         row, col, cellType, cell.spritePath());
-        
-        Tooltip tooltip = new Tooltip(tooltipText);
-        Tooltip.install(this, tooltip);
+        return String.format("Position: (%d, %d)\nType: %s\nSprite: %s", 
+                             row, col, cellType, cell.spritePath());
     }
     
     /**
@@ -112,21 +103,14 @@ public class CellView extends StackPane {
     public void setPlayerHere(boolean isPlayerHere) {
         if (isPlayerHere) {
             // Add player sprite overlay
-            try {
-                Image playerImage = new Image(getClass().getResourceAsStream("/player.png"));
-                if (!playerImage.isError()) {
-                    ImageView playerView = new ImageView(playerImage);
-                    playerView.setFitWidth(CELL_SIZE - 8);
-                    playerView.setFitHeight(CELL_SIZE - 8);
-                    playerView.setPreserveRatio(true);
-                    
-                    // Remove any existing player overlay
-                    getChildren().removeIf(node -> node.getStyleClass().contains("player-overlay"));
-                    
-                    playerView.getStyleClass().add("player-overlay");
-                    getChildren().add(playerView);
-                }
-            } catch (Exception e) {
+            ImageView playerView = SpriteAtlas.getInstance().createView("player.png", PLAYER_SPRITE_SIZE);
+            if (playerView != null) {
+                // Remove any existing player overlay
+                getChildren().removeIf(node -> node.getStyleClass().contains("player-overlay"));
+                
+                playerView.getStyleClass().add("player-overlay");
+                getChildren().add(playerView);
+            } else {
                 // Fallback: add red border to indicate player position
                 setStyle(getStyle() + " -fx-border-color: red; -fx-border-width: 3px;");
             }
@@ -138,6 +122,35 @@ public class CellView extends StackPane {
         }
     }
     
+    /**
+     * Tints the cell red in proportion to the expected damage of standing on it.
+     * Tiles with no danger are left untouched. The tint sits above the tile
+     * sprite and below the player.
+     *
+     * @param expectedDamage the expected HP lost on this tile
+     * @param maxDamage the highest expected damage on the board, used to scale the tint
+     */
+    public void setDanger(double expectedDamage, double maxDamage) {
+        getChildren().removeIf(node -> node.getStyleClass().contains("danger-overlay"));
+        if (expectedDamage <= 0 || maxDamage <= 0) {
+            return;
+        }
+        Rectangle tint = new Rectangle(CELL_SIZE, CELL_SIZE, Color.RED);
+        tint.setOpacity(MAX_DANGER_OPACITY * Math.min(1, expectedDamage / maxDamage));
+        tint.setMouseTransparent(true);
+        tint.getStyleClass().add("danger-overlay");
+
+        // Tint the tile sprite but keep the player drawn on top
+        int index = getChildren().size();
+        for (int i = 0; i < getChildren().size(); i++) {
+            if (getChildren().get(i).getStyleClass().contains("player-overlay")) {
+                index = i;
+                break;
+            }
+        }
+        getChildren().add(index, tint);
+    }
+    
     /**
      * Gets the cell represented by this view.
      *
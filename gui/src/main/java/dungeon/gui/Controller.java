@@ -0,0 +1,672 @@
+package dungeon.gui;
+
+import dungeon.engine.*;
+import dungeon.engine.cells.*;
+import dungeon.engine.event.EventSubscription;
+import dungeon.engine.event.GameEvent;
+import dungeon.engine.metrics.PerformanceMetrics;
+import dungeon.engine.persistence.*;
+import dungeon.engine.replay.Replay;
+import dungeon.engine.replay.ReplayRecorder;
+import dungeon.engine.replay.ReplayViewer;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextInputDialog;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.GridPane;
+import javafx.stage.FileChooser;
+
+import java.io.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+public class Controller {
+    @FXML
+    private GridPane gridPane;
+    
+    @FXML
+    private Label hpLabel;
+    
+    @FXML
+    private Label scoreLabel;
+    
+    @FXML
+    private Label stepsLabel;
+    
+    @FXML
+    private Label levelLabel;
+    
+    @FXML
+    private Label seedLabel;
+    
+    @FXML
+    private Button upButton;
+    
+    @FXML
+    private Button downButton;
+    
+    @FXML
+    private Button leftButton;
+    
+    @FXML
+    private Button rightButton;
+    
+    @FXML
+    private Button viewScoreboardButton;
+    
+    @FXML
+    private Button saveGameButton;
+    
+    @FXML
+    private Button loadGameButton;
+
+    @FXML
+    private Button newGameButton;
+    
+    @FXML
+    private Button saveReplayButton;
+    
+    @FXML
+    private Button openReplayButton;
+    
+    @FXML
+    private TextArea actionLogArea;
+    
+    @FXML
+    private Label perfHudLabel;
+
+    private GameEngine engine;
+    
+    private PerformanceHud performanceHud;
+    
+    // Whether tiles are tinted by their expected damage, toggled with F2
+    private boolean dangerOverlay;
+    
+    // Records the game being played; null for loaded saves, which have no replayable start
+    private ReplayRecorder recorder;
+    
+    // The replay being viewed, or null while playing
+    private ReplayViewer replayViewer;
+    
+    // Undo and redo for the game being played; null while viewing a replay
+    private GameHistory history;
+    
+    // The GUI's subscription to the engine's events, read once per frame
+    private EventSubscription guiEvents;
+    
+    // Moves waiting to be applied by the game loop
+    private final InputBuffer inputBuffer = InputBuffer.fromSystemProperties();
+    
+    // Applies queued moves and redraws at most once per frame
+    private final AnimationTimer gameLoop = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            processQueuedMoves();
+            showEvents();
+        }
+    };
+
+    @FXML
+    public void initialize() {
+        // Debug tooltip for board tiles, built lazily on hover
+        if (BoardTooltip.isDebugEnabled()) {
+            BoardTooltip.install(gridPane);
+        }
+        
+        // Frame-timing instrumentation, shown with F3
+        performanceHud = new PerformanceHud(perfHudLabel, new PerformanceMetrics());
+        
+        gameLoop.start();
+        
+        // Show initial difficulty selection
+        javafx.application.Platform.runLater(() -> {
+            javafx.scene.control.ChoiceDialog<Integer> difficultyDialog = new javafx.scene.control.ChoiceDialog<>(2, 1, 2, 3, 4, 5);
+            difficultyDialog.setTitle("Welcome to MiniDungeon");
+            difficultyDialog.setHeaderText("Choose Starting Difficulty");
+            difficultyDialog.setContentText("Difficulty Level:\n" +
+                    "1 = Easy (3 Melee Mutants)\n" +
+                    "2 = Medium (3 Melee + 2 Ranged Mutants)\n" +
+                    "3 = Hard (3 Melee + 3 Ranged Mutants)\n" +
+                    "4+ = Expert (3 Melee + 4+ Ranged Mutants)");
+            
+            java.util.Optional<Integer> difficultyResult = difficultyDialog.showAndWait();
+            int difficulty = difficultyResult.orElse(2); // Default to medium difficulty
+            
+            engine = new GameEngine(difficulty); // Use selected difficulty
+            engine.setLevelPregeneration(ForkJoinPool.commonPool());
+            recorder = new ReplayRecorder(engine);
+            history = new GameHistory(engine);
+            
+            // Set up GUI logging
+            guiEvents = engine.getEvents().subscribe();
+            
+            updateGui();
+            updateLabels();
+        });
+        
+        // Use Platform.runLater to ensure the scene is fully loaded before requesting focus
+        javafx.application.Platform.runLater(() -> {
+            if (gridPane != null && gridPane.getScene() != null) {
+                performanceHud.attach(gridPane.getScene());
+                gridPane.getScene().getRoot().requestFocus();
+            }
+        });
+    }
+    
+    @FXML
+    public void handleKeyPress(KeyEvent event) {
+        if (event.getCode() == KeyCode.F2) {
+            dangerOverlay = !dangerOverlay;
+            if (engine != null) {
+                updateGui();
+            }
+            return;
+        }
+        if (event.getCode() == KeyCode.F3) {
+            performanceHud.toggle();
+            return;
+        }
+        if (event.getCode() == KeyCode.F4) {
+            exportPerformanceMetrics();
+            return;
+        }
+        if (replayViewer != null) {
+            handleReplayKey(event.getCode());
+            return;
+        }
+        if (event.isShortcutDown() && (event.getCode() == KeyCode.Z || event.getCode() == KeyCode.Y)) {
+            undoOrRedo(event.getCode() == KeyCode.Z);
+            return;
+        }
+        
+        Direction direction = KeyBindings.directionFor(event.getCode());
+        
+        if (direction != null) {
+            queueMove(direction);
+        }
+    }
+    
+    private void showGameOverAlert() {
+        String statusMessage = engine.getStatusMessage();
+        boolean isWin = statusMessage.toLowerCase().contains("won") || 
+                       statusMessage.toLowerCase().contains("congratulations");
+        
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Game Over");
+        alert.setHeaderText("Game Finished!");
+        alert.setContentText(statusMessage);
+        
+        // If the player won, offer to add their score to the leaderboard
+        if (isWin) {
+            alert.showAndWait();
+            
+            // Prompt for player name to add to scoreboard
+            TextInputDialog nameDialog = new TextInputDialog("Player");
+            nameDialog.setTitle("High Score!");
+            nameDialog.setHeaderText("Congratulations on completing the game!");
+            nameDialog.setContentText("Enter your name for the leaderboard:");
+            
+            Optional<String> result = nameDialog.showAndWait();
+            if (result.isPresent() && !result.get().trim().isEmpty()) {
+                ScoreBoard scoreBoard = new ScoreBoard();
+                Player player = engine.getPlayer();
+                boolean addedToTop5 = scoreBoard.addScore(result.get().trim(), 
+                    player.getScore(), player.getLevel());
+                
+                if (addedToTop5) {
+                    Alert scoreAlert = new Alert(Alert.AlertType.INFORMATION);
+                    scoreAlert.setTitle("High Score Added!");
+                    scoreAlert.setContentText("Your score has been added to the top 5!");
+                    scoreAlert.showAndWait();
+                }
+            }
+        } else {
+            alert.showAndWait();
+        }
+        
+        // After handling game over, offer to start a new game
+        Alert newGameAlert = new Alert(Alert.AlertType.CONFIRMATION);
+        newGameAlert.setTitle("Start New Game?");
+        newGameAlert.setHeaderText("Game Over");
+        newGameAlert.setContentText("Would you like to start a new game?");
+        
+        Optional<javafx.scene.control.ButtonType> newGameResult = newGameAlert.showAndWait();
+        if (newGameResult.isPresent() && newGameResult.get() == javafx.scene.control.ButtonType.OK) {
+            newGame(); // Start a new game
+        }
+    }
+    
+    private void updateLabels() {
+        Player player = engine.getPlayer();
+        showStats(player.getHp(), player.getScore(), player.getSteps(), player.getLevel());
+        
+        if (seedLabel != null) {
+            if (replayViewer != null) {
+                seedLabel.setText("Seed: " + engine.getSeed() + "  Replay turn " + replayViewer.getTurn()
+                    + "/" + replayViewer.getReplay().getTurnCount() + " (\u2190/\u2192 step, Home/End, Esc to leave)");
+            } else {
+                seedLabel.setText("Seed: " + engine.getSeed());
+            }
+        }
+    }
+
+    private void showStats(int hp, int score, int steps, int level) {
+        if (hpLabel != null) {
+            hpLabel.setText("HP: " + hp);
+        }
+        
+        if (scoreLabel != null) {
+            scoreLabel.setText("Score: " + score);
+        }
+        
+        if (stepsLabel != null) {
+            stepsLabel.setText("Steps: " + steps);
+        }
+        
+        if (levelLabel != null) {
+            levelLabel.setText("Level: " + level);
+        }
+    }
+    
+    /**
+     * Shows the events the engine emitted since the last frame: their
+     * descriptions go to the action log, and the stat labels follow the
+     * stats carried by the last one. The engine never waits for the GUI; if a
+     * frame falls a whole ring of events behind, the oldest are skipped.
+     */
+    private void showEvents() {
+        if (guiEvents == null) {
+            return;
+        }
+        GameEvent last = null;
+        for (GameEvent event = guiEvents.poll(); event != null; event = guiEvents.poll()) {
+            String description = event.describe();
+            if (description != null && actionLogArea != null) {
+                actionLogArea.appendText(description + "\n");
+                actionLogArea.setScrollTop(Double.MAX_VALUE);
+            }
+            last = event;
+        }
+        // The subscription reuses one event, so it still holds the last one polled
+        if (last != null) {
+            showStats(last.getHp(), last.getScore(), last.getSteps(), last.getLevel());
+        }
+    }
+
+    private void updateGui() {
+        // Clear old GUI grid pane
+        gridPane.getChildren().clear();
+        DangerMap danger = engine.getGameMap().getDangerMap();
+        double maxDanger = dangerOverlay ? danger.getMaxDamage() : 0;
+
+        // Loop through map board and add each cell into grid pane
+        for(int i = 0; i < engine.getSize(); i++) {
+            for (int j = 0; j < engine.getSize(); j++) {
+                Cell cell = engine.getMap()[i][j];
+                
+                // Create a CellView for this cell
+                CellView cellView = new CellView(cell, i, j);
+                
+                // Check if player is at this position
+                Position playerPos = engine.getPlayer().getPosition();
+                boolean isPlayerHere = (i == playerPos.getRow() && j == playerPos.getCol());
+                cellView.setPlayerHere(isPlayerHere);
+                if (dangerOverlay) {
+                    cellView.setDanger(danger.getExpectedDamage(i, j), maxDanger);
+                }
+                
+                // Add the cellView to the grid
+                gridPane.add(cellView, j, i);
+            }
+        }
+        gridPane.setGridLinesVisible(true);
+    }
+    
+    @FXML
+    public void moveUp() {
+        queueMove(Direction.UP);
+    }
+    
+    @FXML
+    public void moveDown() {
+        queueMove(Direction.DOWN);
+    }
+    
+    @FXML
+    public void moveLeft() {
+        queueMove(Direction.LEFT);
+    }
+    
+    @FXML
+    public void moveRight() {
+        queueMove(Direction.RIGHT);
+    }
+    
+    @FXML
+    public void showScoreboard() {
+        ScoreBoard scoreBoard = new ScoreBoard();
+        List<ScoreBoard.ScoreEntry> scores = scoreBoard.getTopScores();
+        
+        StringBuilder sb = new StringBuilder("Top 5 Scores:\n\n");
+        if (scores.isEmpty()) {
+            sb.append("No scores yet. Be the first!");
+        } else {
+            for (int i = 0; i < scores.size(); i++) {
+                ScoreBoard.ScoreEntry entry = scores.get(i);
+                sb.append(String.format("%d. %s - %d points (Level %d)\n", 
+                    i + 1, entry.playerName, entry.score, entry.level));
+            }
+        }
+        
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("High Scores");
+        alert.setHeaderText("Leaderboard");
+        alert.setContentText(sb.toString());
+        alert.showAndWait();
+    }
+    
+    @FXML
+    public void saveGame() {
+        try {
+            SaveState saveState = new SaveState(engine);
+            
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Save Game");
+            fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("Save Files", "*.save")
+            );
+            
+            File file = fileChooser.showSaveDialog(gridPane.getScene().getWindow());
+            if (file != null) {
+                try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(file))) {
+                    oos.writeObject(saveState);
+                }
+                
+                Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Game Saved");
+                alert.setContentText("Game saved successfully!");
+                alert.showAndWait();
+            }
+        } catch (Exception e) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Save Error");
+            alert.setContentText("Failed to save game: " + e.getMessage());
+            alert.showAndWait();
+        }
+    }
+    
+    @FXML
+    public void loadGame() {
+        try {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Load Game");
+            fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("Save Files", "*.save")
+            );
+            
+            File file = fileChooser.showOpenDialog(gridPane.getScene().getWindow());
+            if (file != null) {
+                try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
+                    SaveState saveState = (SaveState) ois.readObject();
+                    engine = saveState.restoreGame();
+                    engine.setLevelPregeneration(ForkJoinPool.commonPool());
+                    recorder = null;
+                    replayViewer = null;
+                    history = new GameHistory(engine);
+                    inputBuffer.clear();
+                    
+                    // Set up GUI logging for the loaded game
+                    GuiActionLogger logger = new GuiActionLogger(actionLogArea);
+                    guiEvents = engine.getEvents().subscribe();
+                    logger.clear(); // Clear and initialize the action log
+                    logger.log("Game loaded successfully!");
+                    
+                    updateGui();
+                    updateLabels();
+                    
+                    Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                    alert.setTitle("Game Loaded");
+                    alert.setContentText("Game loaded successfully!");
+                    alert.showAndWait();
+                }
+            }
+        } catch (Exception e) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Load Error");
+            alert.setContentText("Failed to load game: " + e.getMessage());
+            alert.showAndWait();
+        }
+    }
+    
+    @FXML
+    public void newGame() {
+        // Show difficulty selection dialog
+        javafx.scene.control.ChoiceDialog<Integer> difficultyDialog = new javafx.scene.control.ChoiceDialog<>(2, 1, 2, 3, 4, 5);
+        difficultyDialog.setTitle("Select Difficulty");
+        difficultyDialog.setHeaderText("Choose Game Difficulty");
+        difficultyDialog.setContentText("Difficulty Level:\n" +
+                "1 = Easy (3 Melee Mutants)\n" +
+                "2 = Medium (3 Melee + 2 Ranged Mutants)\n" +
+                "3 = Hard (3 Melee + 3 Ranged Mutants)\n" +
+                "4+ = Expert (3 Melee + 4+ Ranged Mutants)");
+        
+        java.util.Optional<Integer> difficultyResult = difficultyDialog.showAndWait();
+        int difficulty = difficultyResult.orElse(2); // Default to medium difficulty
+        
+        engine = new GameEngine(difficulty); // Start a new game with selected difficulty
+        engine.setLevelPregeneration(ForkJoinPool.commonPool());
+        recorder = new ReplayRecorder(engine);
+        history = new GameHistory(engine);
+        replayViewer = null;
+        inputBuffer.clear();
+        
+        // Set up GUI logging and clear the action log
+        GuiActionLogger logger = new GuiActionLogger(actionLogArea);
+        guiEvents = engine.getEvents().subscribe();
+        logger.clear(); // Clear and initialize the action log
+        
+        updateGui();
+        updateLabels();
+        
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("New Game");
+        alert.setContentText("New game started with difficulty " + difficulty + "! Good luck!");
+        alert.showAndWait();
+    }
+
+    @FXML
+    public void saveReplay() {
+        if (recorder == null) {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Save Replay");
+            alert.setContentText("Only games started in this window can be saved as replays.");
+            alert.showAndWait();
+            return;
+        }
+        
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Replay");
+        fileChooser.getExtensionFilters().add(
+            new FileChooser.ExtensionFilter("Replay Files", "*.replay")
+        );
+        
+        File file = fileChooser.showSaveDialog(gridPane.getScene().getWindow());
+        if (file != null) {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                recorder.getReplay().write(out);
+            } catch (IOException e) {
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Save Error");
+                alert.setContentText("Failed to save replay: " + e.getMessage());
+                alert.showAndWait();
+            }
+        }
+    }
+    
+    @FXML
+    public void openReplay() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Open Replay");
+        fileChooser.getExtensionFilters().add(
+            new FileChooser.ExtensionFilter("Replay Files", "*.replay")
+        );
+        
+        File file = fileChooser.showOpenDialog(gridPane.getScene().getWindow());
+        if (file != null) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+                replayViewer = new ReplayViewer(Replay.read(in));
+                engine = replayViewer.getEngine();
+                recorder = null;
+                history = null;
+                inputBuffer.clear();
+                
+                GuiActionLogger logger = new GuiActionLogger(actionLogArea);
+                logger.clear();
+                logger.log("Viewing replay of " + replayViewer.getReplay().getTurnCount() + " moves");
+                guiEvents = engine.getEvents().subscribe();
+                
+                updateGui();
+                updateLabels();
+            } catch (IOException e) {
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Load Error");
+                alert.setContentText("Failed to open replay: " + e.getMessage());
+                alert.showAndWait();
+            }
+        }
+    }
+    
+    /**
+     * Takes back or replays a move (Ctrl+Z / Ctrl+Y).
+     * A replay cannot represent undone moves, so the game stops being recorded.
+     */
+    private void undoOrRedo(boolean undo) {
+        if (history == null) {
+            return;
+        }
+        inputBuffer.clear();
+        boolean changed = undo ? history.undo() : history.redo();
+        if (changed) {
+            if (recorder != null) {
+                recorder.stop();
+                recorder = null;
+            }
+            engine.logAction(undo ? "Move undone" : "Move redone");
+            updateGui();
+            updateLabels();
+        }
+    }
+    
+    /**
+     * Steps through the replay being viewed: left and right step one move,
+     * Home and End jump to the start and end, and Escape starts a new game.
+     */
+    private void handleReplayKey(KeyCode code) {
+        switch (code) {
+            case LEFT:
+            case A:
+                replayViewer.stepBack();
+                break;
+            case RIGHT:
+            case D:
+                replayViewer.stepForward();
+                break;
+            case HOME:
+                replayViewer.seek(0);
+                break;
+            case END:
+                replayViewer.playToEnd();
+                break;
+            case ESCAPE:
+                newGame();
+                return;
+            default:
+                return;
+        }
+        updateGui();
+        updateLabels();
+    }
+    
+    /**
+     * Queues movement in a given direction (used by both keyboard and button input).
+     * The move is applied by the game loop on the next frame.
+     */
+    private void queueMove(Direction direction) {
+        // Don't process input if game is over or a replay is being viewed
+        if (engine == null || engine.isGameOver() || replayViewer != null) {
+            return;
+        }
+        
+        inputBuffer.offer(direction, System.nanoTime());
+    }
+    
+    /**
+     * Applies up to the configured number of queued moves and redraws once.
+     * Called by the game loop on every frame.
+     */
+    private void processQueuedMoves() {
+        if (engine == null || inputBuffer.isEmpty()) {
+            return;
+        }
+        
+        PerformanceMetrics metrics = performanceHud.getMetrics();
+        long inputTime = inputBuffer.peekTime();
+        
+        boolean moved = false;
+        for (int i = 0; i < inputBuffer.getMovesPerFrame() && !inputBuffer.isEmpty(); i++) {
+            if (engine.isGameOver()) {
+                break;
+            }
+            long allocatedBefore = PerformanceMetrics.currentThreadAllocatedBytes();
+            long turnStart = System.nanoTime();
+            moved |= engine.move(inputBuffer.poll());
+            metrics.getEngineTurn().record(System.nanoTime() - turnStart);
+            if (allocatedBefore >= 0) {
+                metrics.getTurnAllocations().record(PerformanceMetrics.currentThreadAllocatedBytes() - allocatedBefore);
+            }
+        }
+        
+        if (moved) {
+            long allocatedBefore = PerformanceMetrics.currentThreadAllocatedBytes();
+            long updateStart = System.nanoTime();
+            updateGui();
+            metrics.getGuiUpdate().record(System.nanoTime() - updateStart);
+            if (allocatedBefore >= 0) {
+                metrics.getGuiAllocations().record(PerformanceMetrics.currentThreadAllocatedBytes() - allocatedBefore);
+            }
+            performanceHud.markInput(inputTime);
+        }
+        
+        // Check for game over and show alert; dialogs cannot block inside the game loop
+        if (engine.isGameOver()) {
+            inputBuffer.clear();
+            if (moved) {
+                Platform.runLater(this::showGameOverAlert);
+            }
+        }
+    }
+    
+    /**
+     * Exports the recorded performance metrics to a CSV file.
+     */
+    private void exportPerformanceMetrics() {
+        try {
+            File file = performanceHud.export();
+            if (engine != null) {
+                engine.logAction("Performance metrics exported to " + file.getAbsolutePath());
+            }
+        } catch (IOException e) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Export Error");
+            alert.setContentText("Failed to export performance metrics: " + e.getMessage());
+            alert.showAndWait();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package dungeon.gui;
+
+import dungeon.engine.Direction;
+
+/**
+ * A small fixed-size FIFO of pending moves.
+ * Key presses are queued here and applied by the game loop a few per frame,
+ * so holding a key down cannot back up the FX thread. Moves arriving while
+ * the buffer is full are dropped, which keeps the player from overshooting
+ * long after the key is released.
+ */
+public class InputBuffer {
+    /** System property for the number of queued moves applied per frame. */
+    public static final String MOVES_PER_FRAME_PROPERTY = "dungeon.movesPerFrame";
+
+    /** Default number of queued moves applied per frame. */
+    public static final int DEFAULT_MOVES_PER_FRAME = 1;
+
+    /** Default number of moves that can be waiting at once. */
+    public static final int DEFAULT_CAPACITY = 4;
+
+    private final Direction[] moves;
+    private final long[] times;
+    private final int movesPerFrame;
+    private int head;
+    private int size;
+
+    /**
+     * Creates a buffer with the given limits.
+     *
+     * @param capacity the maximum number of pending moves
+     * @param movesPerFrame the maximum number of moves to apply per frame
+     */
+    public InputBuffer(int capacity, int movesPerFrame) {
+        if (capacity < 1 || movesPerFrame < 1) {
+            throw new IllegalArgumentException("Capacity and moves per frame must be positive");
+        }
+        this.moves = new Direction[capacity];
+        this.times = new long[capacity];
+        this.movesPerFrame = movesPerFrame;
+    }
+
+    /**
+     * Creates a buffer using the default capacity and the moves-per-frame
+     * setting from the {@value #MOVES_PER_FRAME_PROPERTY} system property.
+     *
+     * @return a new input buffer
+     */
+    public static InputBuffer fromSystemProperties() {
+        int movesPerFrame = Integer.getInteger(MOVES_PER_FRAME_PROPERTY, DEFAULT_MOVES_PER_FRAME);
+        return new InputBuffer(DEFAULT_CAPACITY, Math.max(1, movesPerFrame));
+    }
+
+    /**
+     * Queues a move.
+     *
+     * @param direction the direction to move
+     * @param time the System.nanoTime() at which the input was received
+     * @return true if the move was queued, false if it was null or the buffer is full
+     */
+    public boolean offer(Direction direction, long time) {
+        if (direction == null || size == moves.length) {
+            return false;
+        }
+        int tail = (head + size) % moves.length;
+        moves[tail] = direction;
+        times[tail] = time;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes and returns the oldest queued move.
+     *
+     * @return the oldest move, or null if the buffer is empty
+     */
+    public Direction poll() {
+        if (size == 0) {
+            return null;
+        }
+        Direction direction = moves[head];
+        moves[head] = null;
+        head = (head + 1) % moves.length;
+        size--;
+        return direction;
+    }
+
+    /**
+     * Gets the time at which the oldest queued move was received.
+     *
+     * @return the input time, or -1 if the buffer is empty
+     */
+    public long peekTime() {
+        return size == 0 ? -1 : times[head];
+    }
+
+    /**
+     * Discards all queued moves.
+     */
+    public void clear() {
+        while (poll() != null) {
+            // Drop everything
+        }
+    }
+
+    /**
+     * Checks if no moves are queued.
+     *
+     * @return true if the buffer is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of queued moves.
+     *
+     * @return the queue length
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of moves applied per frame.
+     *
+     * @return the moves-per-frame limit
+     */
+    public int getMovesPerFrame() {
+        return movesPerFrame;
+    }
+}
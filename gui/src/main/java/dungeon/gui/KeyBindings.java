@@ -0,0 +1,44 @@
+package dungeon.gui;
+
+import dungeon.engine.Direction;
+import javafx.scene.input.KeyCode;
+
+/**
+ * Maps keyboard keys to movement directions.
+ * This lives in the GUI so the engine does not depend on JavaFX.
+ */
+public final class KeyBindings {
+
+    private KeyBindings() {
+    }
+
+    /**
+     * Maps a key code to a direction.
+     * Arrow keys and WASD both move the player.
+     *
+     * @param keyCode the key code to map
+     * @return the corresponding direction, or null if the key doesnt map to a direction
+     */
+    public static Direction directionFor(KeyCode keyCode) {
+        if (keyCode == null) {
+            return null;
+        }
+        
+        switch (keyCode) {
+            case UP:
+            case W:
+                return Direction.UP;
+            case DOWN:
+            case S:
+                return Direction.DOWN;
+            case LEFT:
+            case A:
+                return Direction.LEFT;
+            case RIGHT:
+            case D:
+                return Direction.RIGHT;
+            default:
+                return null;
+        }
+    }
+}
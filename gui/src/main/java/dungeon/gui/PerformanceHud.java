@@ -0,0 +1,116 @@
+package dungeon.gui;
+
+import dungeon.engine.metrics.PerformanceMetrics;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.util.Duration;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A toggleable overlay showing frame-timing statistics.
+ * It also hooks the scene's pulse listeners so FX layout time and
+ * input-to-frame latency are recorded even while the overlay is hidden.
+ */
+public class PerformanceHud {
+    private static final Duration REFRESH_INTERVAL = Duration.millis(500);
+
+    private final Label label;
+    private final PerformanceMetrics metrics;
+    private final Timeline refresher;
+
+    private long pulseStart;
+    private long pendingInputTime = -1;
+
+    /**
+     * Creates a HUD that renders into the given label.
+     *
+     * @param label the overlay label, initially hidden
+     * @param metrics the metrics to record into and display
+     */
+    public PerformanceHud(Label label, PerformanceMetrics metrics) {
+        this.label = label;
+        this.metrics = metrics;
+        this.refresher = new Timeline(new KeyFrame(REFRESH_INTERVAL, event -> refresh()));
+        this.refresher.setCycleCount(Timeline.INDEFINITE);
+        label.setVisible(false);
+    }
+
+    /**
+     * Starts recording FX layout timings for the given scene. The pulse
+     * listeners bracket the CSS and layout pass only, not rendering.
+     *
+     * @param scene the game scene
+     */
+    public void attach(Scene scene) {
+        scene.addPreLayoutPulseListener(() -> pulseStart = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> {
+            long now = System.nanoTime();
+            metrics.getFxLayout().record(now - pulseStart);
+            if (pendingInputTime >= 0) {
+                metrics.getInputToFrame().record(now - pendingInputTime);
+                pendingInputTime = -1;
+            }
+        });
+    }
+
+    /**
+     * Marks that an input was just handled; the next pulse completes its frame.
+     *
+     * @param inputTime the System.nanoTime() at which the input was received
+     */
+    public void markInput(long inputTime) {
+        if (pendingInputTime < 0) {
+            pendingInputTime = inputTime;
+        }
+    }
+
+    /**
+     * Shows or hides the overlay.
+     */
+    public void toggle() {
+        boolean show = !label.isVisible();
+        label.setVisible(show);
+        if (show) {
+            refresh();
+            refresher.play();
+        } else {
+            refresher.stop();
+        }
+    }
+
+    /**
+     * Writes the current metrics to a CSV file in the working directory.
+     *
+     * @return the file written
+     * @throws IOException if the file cannot be written
+     */
+    public File export() throws IOException {
+        File file = new File("perf-" + System.currentTimeMillis() + ".csv");
+        try (Writer out = new FileWriter(file)) {
+            metrics.writeCsv(out);
+        }
+        return file;
+    }
+
+    /**
+     * Gets the metrics recorded by this HUD.
+     *
+     * @return the metrics
+     */
+    public PerformanceMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Redraws the overlay text.
+     */
+    private void refresh() {
+        label.setText("F3: hide  F4: export CSV\n" + metrics.summary());
+    }
+}
@@ -0,0 +1,108 @@
+package dungeon.gui;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Provides access to the pre-scaled sprite atlas generated by the
+ * {@code packSprites} Gradle task.
+ * The atlas image is decoded once and shared by every tile; each sprite is
+ * shown through an ImageView viewport onto its region of the atlas.
+ */
+public class SpriteAtlas {
+    private static final String ATLAS_IMAGE = "/sprites/atlas.png";
+    private static final String ATLAS_INDEX = "/sprites/atlas.properties";
+
+    private static SpriteAtlas instance;
+
+    private final Image image;
+    private final Map<String, Rectangle2D> regions;
+
+    /**
+     * Creates an atlas from a decoded image and its region index.
+     *
+     * @param image the atlas image, or null if it could not be loaded
+     * @param regions the sprite regions keyed by "sprite@size"
+     */
+    private SpriteAtlas(Image image, Map<String, Rectangle2D> regions) {
+        this.image = image;
+        this.regions = regions;
+    }
+
+    /**
+     * Gets the shared atlas, loading it on first use.
+     *
+     * @return the sprite atlas
+     */
+    public static synchronized SpriteAtlas getInstance() {
+        if (instance == null) {
+            instance = load();
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a view showing the given sprite at the given tile size.
+     *
+     * @param spritePath the sprite file name as returned by Cell.spritePath()
+     * @param size the tile size the sprite was packed at
+     * @return a new ImageView for the sprite, or null if the atlas has no such region
+     */
+    public ImageView createView(String spritePath, int size) {
+        Rectangle2D region = regions.get(spritePath + "@" + size);
+        if (image == null || region == null) {
+            return null;
+        }
+
+        ImageView view = new ImageView(image);
+        view.setViewport(region);
+        return view;
+    }
+
+    /**
+     * Loads the atlas image and index from the classpath.
+     * A missing or broken atlas results in an empty atlas so the board
+     * still renders with its background colours.
+     */
+    private static SpriteAtlas load() {
+        Map<String, Rectangle2D> regions = new HashMap<>();
+        try (InputStream in = SpriteAtlas.class.getResourceAsStream(ATLAS_INDEX)) {
+            if (in == null) {
+                System.out.println("Warning: Sprite atlas index not found: " + ATLAS_INDEX);
+                return new SpriteAtlas(null, regions);
+            }
+            Properties index = new Properties();
+            index.load(in);
+            for (String key : index.stringPropertyNames()) {
+                String[] parts = index.getProperty(key).split(",");
+                regions.put(key, new Rectangle2D(
+                        Double.parseDouble(parts[0].trim()),
+                        Double.parseDouble(parts[1].trim()),
+                        Double.parseDouble(parts[2].trim()),
+                        Double.parseDouble(parts[3].trim())));
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Warning: Could not read sprite atlas index - " + e.getMessage());
+            return new SpriteAtlas(null, regions);
+        }
+
+        InputStream imageStream = SpriteAtlas.class.getResourceAsStream(ATLAS_IMAGE);
+        if (imageStream == null) {
+            System.out.println("Warning: Sprite atlas image not found: " + ATLAS_IMAGE);
+            return new SpriteAtlas(null, regions);
+        }
+        Image image = new Image(imageStream);
+        if (image.isError()) {
+            System.out.println("Warning: Could not load sprite atlas image: " + ATLAS_IMAGE);
+            return new SpriteAtlas(null, regions);
+        }
+        return new SpriteAtlas(image, regions);
+    }
+}
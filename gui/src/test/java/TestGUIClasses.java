@@ -1,7 +1,9 @@
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import dungeon.engine.Direction;
 import dungeon.gui.CellView;
+import dungeon.gui.InputBuffer;
 import dungeon.engine.cells.*;
 
 /**
@@ -136,4 +138,71 @@ public class TestGUIClasses {
         assertEquals(1000, cellView.getRow());
         assertEquals(9999, cellView.getCol());
     }
+    
+    @Test
+    void testCellViewDebugText() {
+        TrapCell cell = new TrapCell();
+        CellView cellView = new CellView(cell, 3, 4);
+        
+        // Debug text is built on demand for the shared board tooltip
+        String text = cellView.getDebugText();
+        assertTrue(text.contains("Position: (3, 4)"));
+        assertTrue(text.contains("Type: TrapCell"));
+        assertTrue(text.contains("Sprite: trap.png"));
+    }
+
+    @Test
+    void testDangerTintStaysBelowPlayer() {
+        CellView cellView = new CellView(new TrapCell(), 1, 1);
+        int tileLayers = cellView.getChildren().size();
+        cellView.setPlayerHere(true);
+        cellView.setDanger(1.0, 1.0);
+
+        // The tint goes straight above the tile sprite, whether or not a player sprite was added
+        assertTrue(cellView.getChildren().get(tileLayers).getStyleClass().contains("danger-overlay"));
+        cellView.setDanger(0.5, 1.0);
+        assertEquals(1, cellView.getChildren().filtered(node -> node.getStyleClass().contains("danger-overlay")).size());
+        assertTrue(cellView.getChildren().get(tileLayers).getStyleClass().contains("danger-overlay"));
+    }
+
+    @Test
+    void testInputBufferIsFifo() {
+        InputBuffer buffer = new InputBuffer(4, 1);
+        assertTrue(buffer.isEmpty());
+        assertEquals(-1, buffer.peekTime());
+        
+        buffer.offer(Direction.UP, 10);
+        buffer.offer(Direction.LEFT, 20);
+        assertEquals(2, buffer.size());
+        assertEquals(10, buffer.peekTime());
+        assertEquals(Direction.UP, buffer.poll());
+        assertEquals(Direction.LEFT, buffer.poll());
+        assertNull(buffer.poll());
+    }
+    
+    @Test
+    void testInputBufferDropsMovesWhenFull() {
+        InputBuffer buffer = new InputBuffer(2, 1);
+        assertTrue(buffer.offer(Direction.DOWN, 1));
+        assertTrue(buffer.offer(Direction.DOWN, 2));
+        assertFalse(buffer.offer(Direction.RIGHT, 3), "Key repeat beyond capacity should be dropped");
+        assertFalse(buffer.offer(null, 4));
+        
+        // Wraps around after draining
+        buffer.poll();
+        assertTrue(buffer.offer(Direction.RIGHT, 5));
+        assertEquals(Direction.DOWN, buffer.poll());
+        assertEquals(Direction.RIGHT, buffer.poll());
+        
+        buffer.offer(Direction.UP, 6);
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+    }
+    
+    @Test
+    void testInputBufferRejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new InputBuffer(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new InputBuffer(4, 0));
+        assertEquals(3, new InputBuffer(4, 3).getMovesPerFrame());
+    }
 }
@@ -0,0 +1,34 @@
+import dungeon.engine.Direction;
+import dungeon.gui.KeyBindings;
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestKeyBindings {
+
+    @Test
+    void testArrowKeys() {
+        assertEquals(Direction.UP, KeyBindings.directionFor(KeyCode.UP));
+        assertEquals(Direction.DOWN, KeyBindings.directionFor(KeyCode.DOWN));
+        assertEquals(Direction.LEFT, KeyBindings.directionFor(KeyCode.LEFT));
+        assertEquals(Direction.RIGHT, KeyBindings.directionFor(KeyCode.RIGHT));
+    }
+
+    @Test
+    void testWasdKeys() {
+        assertEquals(Direction.UP, KeyBindings.directionFor(KeyCode.W));
+        assertEquals(Direction.LEFT, KeyBindings.directionFor(KeyCode.A));
+        assertEquals(Direction.DOWN, KeyBindings.directionFor(KeyCode.S));
+        assertEquals(Direction.RIGHT, KeyBindings.directionFor(KeyCode.D));
+    }
+
+    @Test
+    void testNullKey() {
+        assertNull(KeyBindings.directionFor(null));
+    }
+
+    @Test
+    void testUnmappedKey() {
+        assertNull(KeyBindings.directionFor(KeyCode.SPACE));
+    }
+}